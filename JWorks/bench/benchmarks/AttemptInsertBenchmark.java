@@ -0,0 +1,37 @@
+package benchmarks;
+
+import models.ProblemSet;
+import models.ProblemSetAttempt;
+import models.SimpleProblemSet;
+import models.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures storing a problem set attempt, which goes through DatabaseInserter.insertStudentsAttempt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttemptInsertBenchmark {
+
+    private ProblemSetAttempt attempt;
+
+    @Setup(Level.Trial)
+    public void createAttempt(BenchmarkDatabase database) throws Exception {
+        ProblemSet problemSet = database.extract.actOnDatabase(database.nextProblemSetId(), new SimpleProblemSet());
+        attempt = BenchmarkDatabase.createAttempt(new Random(database.seed), new Student(database.firstStudentNumber),
+                problemSet, new Date());
+    }
+
+    @Benchmark
+    public boolean insertStudentsAttempt(BenchmarkDatabase database) throws Exception {
+        return database.store.actOnDatabase(attempt);
+    }
+}
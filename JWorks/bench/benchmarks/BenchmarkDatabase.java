@@ -0,0 +1,102 @@
+package benchmarks;
+
+import database.DatabaseDriver;
+import databaseAPI.DatabaseDriverAPI;
+import databaseAPI.DatabaseExtractAPI;
+import databaseAPI.DatabaseStoreAPI;
+import generator.DatasetGenerator;
+import models.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A synthetic database shared by the database benchmarks. The database is written to a temporary file by the
+ * DatasetGenerator, so every run of a benchmark sees the same data. The size can be changed with JMH parameters,
+ * for example -p students=50000.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    // Fraction of the answers of createAttempt that are correct
+    private static final double CORRECT_RATE = 0.7;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"200"})
+    public int students;
+
+    @Param({"1000"})
+    public int problems;
+
+    @Param({"50"})
+    public int problemSets;
+
+    @Param({"20"})
+    public int problemsPerSet;
+
+    @Param({"400"})
+    public int attempts;
+
+    DatabaseExtractAPI extract;
+    DatabaseStoreAPI store;
+    int[] problemSetIds;
+    int firstStudentNumber;
+
+    private int nextProblemSet;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws Exception {
+        File databaseFile = File.createTempFile("jworks-bench", ".db");
+        databaseFile.deleteOnExit();
+        System.setProperty(DatabaseDriver.DATABASE_FILE_PROPERTY, databaseFile.getAbsolutePath());
+
+        Connection connection = DatabaseDriverAPI.connectOrCreateDataBase();
+        DatabaseDriverAPI.initialize(connection);
+
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        generator.setStudents(students);
+        generator.setProblems(problems);
+        generator.setProblemSets(problemSets);
+        generator.setProblemsPerSet(problemsPerSet);
+        generator.setAttempts(attempts);
+        generator.generate(connection);
+
+        extract = new DatabaseExtractAPI();
+        store = new DatabaseStoreAPI();
+        problemSetIds = generator.getProblemSetIds();
+        firstStudentNumber = generator.getFirstStudentNumber();
+    }
+
+    /**
+     * Returns the id of a problem set, cycling through all of the problem sets in the database.
+     * @return the id of a problem set in the database
+     */
+    int nextProblemSetId() {
+        nextProblemSet = (nextProblemSet + 1) % problemSetIds.length;
+        return problemSetIds[nextProblemSet];
+    }
+
+    /**
+     * Creates an attempt of the given problem set where most of the answers are correct.
+     * @param random the source of randomness
+     * @param student the student making the attempt
+     * @param problemSet the problem set being attempted, with its problems
+     * @param attemptTime the time of the attempt
+     * @return the new attempt
+     */
+    static ProblemSetAttempt createAttempt(Random random, Student student, ProblemSet problemSet, Date attemptTime) {
+        ProblemSetAttempt attempt = new ProblemSetAttempt(student, problemSet, attemptTime);
+        List<Problem> questions = problemSet.getQuestions();
+        for (int i = 0; i < questions.size(); i++) {
+            attempt.setAnswer(i, random.nextDouble() < CORRECT_RATE ? questions.get(i).getAnswer() : "wrong");
+        }
+
+        return attempt;
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import models.ProblemSet;
+import models.ProblemSetAttempt;
+import models.ProblemSetSummary;
+import models.SimpleProblemSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading problem sets and attempts from the synthetic database through DatabaseExtractAPI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseLoadBenchmark {
+
+    @Benchmark
+    public ProblemSet loadProblemSet(BenchmarkDatabase database) throws Exception {
+        return database.extract.actOnDatabase(database.nextProblemSetId(), new SimpleProblemSet());
+    }
+
+    @Benchmark
+    public List<ProblemSet> loadAllProblemSets(BenchmarkDatabase database) {
+        return database.extract.actOnDatabase(new ArrayList<ProblemSet>());
+    }
+
+    @Benchmark
+    public List<ProblemSetSummary> loadProblemSetSummaries(BenchmarkDatabase database) throws Exception {
+        return database.extract.getProblemSetSummaries();
+    }
+
+    @Benchmark
+    public List<ProblemSetAttempt> loadAllAttempts(BenchmarkDatabase database) throws Exception {
+        return database.extract.getAllAttempts();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import generator.DatasetGenerator;
+import models.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in memory hot paths of the models: searching, grading and serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"1000"})
+    public int problems;
+
+    @Param({"50"})
+    public int problemsPerSet;
+
+    @Param({"algebra what"})
+    public String searchString;
+
+    private List<Problem> problemBank;
+    private ProblemSetAttempt attempt;
+    private String serializedAttempt;
+
+    @Setup(Level.Trial)
+    public void createModels() {
+        Random random = new Random(seed);
+
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        problemBank = new ArrayList<>(problems);
+        for (int i = 0; i < problems; i++) {
+            Problem problem = generator.createProblem(i);
+            problem.setId(i + 1);
+            problemBank.add(problem);
+        }
+
+        ProblemSet problemSet = new SimpleProblemSet(new ArrayList<>(problemBank.subList(0,
+                Math.min(problemsPerSet, problemBank.size()))));
+        problemSet.setId(1);
+        problemSet.setStartTime(new Date(0));
+        problemSet.setEndTime(new Date(0));
+
+        attempt = BenchmarkDatabase.createAttempt(random, new Student("Student", "student@jworks", "password",
+                1000), problemSet, new Date(0));
+        serializedAttempt = attempt.serialize();
+    }
+
+    @Benchmark
+    public int matchesSearchString() {
+        int matches = 0;
+        for (Problem problem : problemBank) {
+            if (problem.matchesSearchString(searchString)) {
+                matches++;
+            }
+        }
+
+        return matches;
+    }
+
+    @Benchmark
+    public int getNumberofCorrectAnswers() {
+        return attempt.getNumberofCorrectAnswers();
+    }
+
+    @Benchmark
+    public String serializeAttempt() {
+        return attempt.serialize();
+    }
+
+    @Benchmark
+    public ProblemSetAttempt deserializeAttempt() {
+        return ProblemSetAttempt.deserialize(serializedAttempt);
+    }
+}
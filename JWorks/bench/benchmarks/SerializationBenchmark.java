@@ -0,0 +1,135 @@
+package benchmarks;
+
+import generator.DatasetGenerator;
+import models.*;
+import org.openjdk.jmh.annotations.*;
+import serialization.BinaryModelCodec;
+import serialization.ModelCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and binary encodings of problem set attempts, for a single attempt and for a list of attempts
+ * sharing a few problem sets. The encoded sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"20"})
+    public int problemsPerSet;
+
+    @Param({"5"})
+    public int problemSets;
+
+    @Param({"500"})
+    public int attempts;
+
+    private ProblemSetAttempt attempt;
+    private List<ProblemSetAttempt> attemptList;
+    private String attemptJson;
+    private byte[] attemptBinary;
+    private String listJson;
+    private byte[] listBinary;
+
+    @Setup(Level.Trial)
+    public void createAttempts() throws IOException {
+        Random random = new Random(seed);
+        DatasetGenerator generator = new DatasetGenerator(seed);
+
+        List<ProblemSet> sets = new ArrayList<>(problemSets);
+        for (int s = 0; s < problemSets; s++) {
+            List<Problem> questions = new ArrayList<>(problemsPerSet);
+            for (int i = 0; i < problemsPerSet; i++) {
+                Problem problem = generator.createProblem(s * problemsPerSet + i);
+                problem.setId(s * problemsPerSet + i + 1);
+                questions.add(problem);
+            }
+
+            ProblemSet problemSet = new SimpleProblemSet(questions);
+            problemSet.setId(s + 1);
+            problemSet.setStartTime(new Date(0));
+            problemSet.setEndTime(new Date(0));
+            sets.add(problemSet);
+        }
+
+        attemptList = new ArrayList<>(attempts);
+        for (int i = 0; i < attempts; i++) {
+            Student student = new Student("Student " + i, "student" + i + "@jworks", "password", 1000 + i);
+            attemptList.add(BenchmarkDatabase.createAttempt(random, student, sets.get(i % sets.size()),
+                    new Date(i * 1000L)));
+        }
+        attempt = attemptList.get(0);
+
+        attemptJson = ModelCodec.toJson(attempt);
+        attemptBinary = BinaryModelCodec.encode(attempt);
+        listJson = writeJsonList();
+        listBinary = writeBinaryList();
+
+        System.out.println("Encoded attempt: " + attemptJson.getBytes(StandardCharsets.UTF_8).length
+                + " bytes as JSON, " + attemptBinary.length + " bytes as binary");
+        System.out.println("Encoded " + attempts + " attempts: " + listJson.getBytes(StandardCharsets.UTF_8).length
+                + " bytes as JSON, " + listBinary.length + " bytes as binary");
+    }
+
+    @Benchmark
+    public String writeJsonAttempt() {
+        return ModelCodec.toJson(attempt);
+    }
+
+    @Benchmark
+    public ProblemSetAttempt readJsonAttempt() {
+        return ModelCodec.fromJson(attemptJson, ProblemSetAttempt.class);
+    }
+
+    @Benchmark
+    public byte[] writeBinaryAttempt() {
+        return BinaryModelCodec.encode(attempt);
+    }
+
+    @Benchmark
+    public ProblemSetAttempt readBinaryAttempt() throws IOException {
+        return BinaryModelCodec.decodeAttempt(attemptBinary);
+    }
+
+    @Benchmark
+    public String writeJsonList() throws IOException {
+        StringWriter out = new StringWriter();
+        ModelCodec.writeAttempts(attemptList, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public int readJsonList() throws IOException {
+        return ModelCodec.readAttempts(new StringReader(listJson), read -> { });
+    }
+
+    @Benchmark
+    public byte[] writeBinaryList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryModelCodec.writeAttempts(attemptList, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public int readBinaryList() throws IOException {
+        return BinaryModelCodec.readAttempts(new ByteArrayInputStream(listBinary), read -> { });
+    }
+}
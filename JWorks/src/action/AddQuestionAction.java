@@ -6,6 +6,7 @@ import databaseAPI.DatabaseStoreAPI;
 import exceptions.DatabaseInsertException;
 import io.OutputGenerator;
 import models.Problem;
+import models.StoredProblem;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -16,7 +17,8 @@ public class AddQuestionAction extends Action {
      * @param params The parameters to pass into the Action.
      *               The first parameter is the Problem to add.
      *               The second parameter is the database API to use.
-     * @return the problem added
+     * @return the problem added and whether it was stored or found in the bank already, null if it could not be
+     * stored
      */
     @Override
     public Object execute(Object... params) {
@@ -25,13 +27,14 @@ public class AddQuestionAction extends Action {
 
         // Instantiate database access
         DatabaseStoreAPI api = (DatabaseStoreAPI) params[1];
+        boolean created;
         try {
-            api.actOnDatabase(problem);
+            created = api.storeProblem(problem);
             api.actOnDatabase(problem.getTags(), problem);
         } catch (DatabaseInsertException | SQLException e) {
             return null;
         }
 
-        return problem;
+        return new StoredProblem(problem, created);
     }
 }
@@ -0,0 +1,35 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+import export.GradebookExporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+public class ExportGradebookAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the database extract API used.
+     *               The second parameter is the GradebookExporter.Report to export.
+     *               The third parameter is the Path of the file to write.
+     * @return the ExportResult of the export, returns null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
+        GradebookExporter.Report report = (GradebookExporter.Report) params[1];
+        Path file = (Path) params[2];
+
+        try {
+            return new GradebookExporter(api).export(report, file);
+        } catch (IOException | SQLException | DatabaseSelectException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+import search.TagIndex;
+import search.TagQuery;
+
+import java.sql.SQLException;
+
+public class FindByTagsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the database extract API used.
+     *               The second parameter is true to search problem sets, false to search problems.
+     *               The third parameter is the TagQuery to evaluate.
+     * @return a RoaringBitmap of the matching IDs, returns null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
+        boolean problemSets = (Boolean) params[1];
+        TagQuery query = (TagQuery) params[2];
+
+        try {
+            TagIndex index = problemSets ? api.getProblemSetTagIndex() : api.getProblemTagIndex();
+            return index.evaluate(query);
+        } catch (SQLException | DatabaseSelectException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
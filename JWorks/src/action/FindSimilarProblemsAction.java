@@ -0,0 +1,41 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+import search.SimilarityIndex;
+import util.MinHash;
+
+import java.sql.SQLException;
+
+public class FindSimilarProblemsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the database extract API used.
+     *               The second parameter is the Integer ID of a problem, or the String text of a question.
+     *               The third parameter is the lowest Double similarity to find, from 0 to 1.
+     *               The fourth parameter is the maximum number of problems to find.
+     * @return a List of SearchHits of the most similar problems with their similarity, most similar first, returns
+     * null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
+        Object target = params[1];
+        double minimumSimilarity = (Double) params[2];
+        int limit = (Integer) params[3];
+
+        try {
+            SimilarityIndex index = api.getProblemSimilarityIndex();
+            if (target instanceof Integer) {
+                return index.findSimilar((Integer) target, minimumSimilarity, limit);
+            }
+            return index.findSimilar(MinHash.signature((String) target), minimumSimilarity, limit);
+        } catch (SQLException | DatabaseSelectException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package action;
+
+import databaseAPI.DatabaseDriverAPI;
+import export.ExportResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+public class ImportSnapshotAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the Path of the snapshot file to read.
+     * @return the ExportResult of the import, returns null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        Path file = (Path) params[0];
+
+        try {
+            long start = System.nanoTime();
+            long rows = DatabaseDriverAPI.importSnapshot(file);
+            return ExportResult.imported(file, rows, Files.size(file), System.nanoTime() - start);
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
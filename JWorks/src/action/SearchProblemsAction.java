@@ -0,0 +1,32 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+
+import java.sql.SQLException;
+
+public class SearchProblemsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the database extract API used.
+     *               The second parameter is the query to search for.
+     *               The third parameter is the maximum number of problems to find.
+     * @return a List of SearchHits of the most relevant problems, most relevant first, returns null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
+        String query = (String) params[1];
+        int limit = (Integer) params[2];
+
+        try {
+            return api.getProblemSearchIndex().search(query, limit);
+        } catch (SQLException | DatabaseSelectException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
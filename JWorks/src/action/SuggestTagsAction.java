@@ -0,0 +1,32 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+
+import java.sql.SQLException;
+
+public class SuggestTagsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the database extract API used.
+     *               The second parameter is the start of the tag.
+     *               The third parameter is the maximum number of tags to suggest.
+     * @return a List of the most used tags starting with the prefix, returns null if otherwise
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
+        String prefix = (String) params[1];
+        int limit = (Integer) params[2];
+
+        try {
+            return api.getTagTrie().complete(prefix, limit);
+        } catch (SQLException | DatabaseSelectException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package action;
+
+import util.CommandMetrics;
+import util.LatencyReport;
+
+public class ViewCommandMetricsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the CommandMetrics of the interpreter.
+     *               The second parameter is whether or not to reset the metrics after reading them.
+     * @return a LatencyReport of the commands run so far
+     */
+    @Override
+    public Object execute(Object... params) {
+        CommandMetrics metrics = (CommandMetrics) params[0];
+        boolean reset = params.length > 1 && (Boolean) params[1];
+
+        LatencyReport report = metrics.getReport();
+        if (reset) {
+            metrics.reset();
+        }
+
+        return report;
+    }
+}
@@ -0,0 +1,25 @@
+package action;
+
+import databaseAPI.DatabaseDriverAPI;
+import util.LatencyReport;
+
+public class ViewDatabaseMetricsAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is whether or not to reset the metrics after reading them.
+     * @return a LatencyReport of the SQL statements run so far, grouped by database method
+     */
+    @Override
+    public Object execute(Object... params) {
+        boolean reset = params.length > 0 && (Boolean) params[0];
+
+        LatencyReport report = DatabaseDriverAPI.getStatementMetrics();
+        if (reset) {
+            DatabaseDriverAPI.resetStatementMetrics();
+        }
+
+        return report;
+    }
+}
@@ -0,0 +1,29 @@
+package action;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+
+import java.sql.SQLException;
+
+public class ViewProblemSetAction extends Action {
+    /**
+     * Executes this Action with the given parameters.
+     *
+     * @param params The parameters to pass into the Action.
+     *               The first parameter is the id of the problem set as an Integer.
+     *               The second parameter is the database extract API used.
+     * @return the Problem Set with the given id, its problems are loaded when first needed. Null if otherwise.
+     */
+    @Override
+    public Object execute(Object... params) {
+        // Parse params
+        int problemSetId = (Integer) params[0];
+        DatabaseExtractAPI api = (DatabaseExtractAPI) params[1];
+
+        try {
+            return api.getLazyProblemSet(problemSetId);
+        } catch (SQLException | DatabaseSelectException e) {
+            return null;
+        }
+    }
+}
@@ -9,12 +9,14 @@ import models.Problem;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ViewQuestionAction extends Action {
     /**
      * Executes this Action to output a list of all saved Problems.
      * @param params The parameters to pass into the Action.
-     *               The first parameter is the database API to use.
+     *               The first parameter is the database API to use. The optional second
+     *               parameter is a Consumer that receives the problems while they are loaded.
      */
     @Override
     public Object execute(Object... params) {
@@ -22,7 +24,8 @@ public class ViewQuestionAction extends Action {
         DatabaseExtractAPI api = (DatabaseExtractAPI) params[0];
         List<Problem> problems = new ArrayList<>();
         try {
-            problems = api.actOnDatabase(problems);
+            Consumer<List<Problem>> rows = params.length > 1 ? (Consumer<List<Problem>>) params[1] : null;
+            problems = api.getAllProblems(problems, rows);
         } catch (DatabaseSelectException | SQLException e) {
             e.printStackTrace();
         }
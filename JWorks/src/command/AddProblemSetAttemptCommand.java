@@ -10,7 +10,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 
-public class AddProblemSetAttemptCommand extends Command {
+public class AddProblemSetAttemptCommand extends Command implements ModelCommand<ProblemSetAttempt> {
     /**
      * Creates a new command using the specified database API method and output generator.
      *
@@ -31,11 +31,27 @@ public class AddProblemSetAttemptCommand extends Command {
      */
     @Override
     public boolean execute(String[] args) {
+        return execute(ProblemSetAttempt.deserialize(args[0]));
+    }
+
+    @Override
+    public Class<ProblemSetAttempt> getModelType() {
+        return ProblemSetAttempt.class;
+    }
+
+    /**
+     * Saves the problem set attempt.
+     *
+     * @param attempt the problem set attempt to save
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(ProblemSetAttempt attempt) {
         // Init properties
         AddProblemSetAttemptAction action = new AddProblemSetAttemptAction();
 
         // Send to action
-        Object result = action.execute(ProblemSetAttempt.deserialize(args[0]), databaseAPI);
-        return (result == null);
+        Object result = action.execute(attempt, databaseAPI);
+        return (result != null);
     }
 }
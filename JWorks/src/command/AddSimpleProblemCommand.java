@@ -16,7 +16,9 @@ public class AddSimpleProblemCommand extends Command {
     }
 
     /**
-     * Given a question and answer, generates a Problem and adds it to storage.
+     * Given a question and answer, generates a Problem and adds it to storage, then outputs it with its ID and whether
+     * it was stored. A problem with the same content as a stored problem is not stored again, and gets the ID of the
+     * stored problem.
      * @param args the arguments for the command to use. The first argument is the question and the second should be
      *             the answer. The third argument is the space separated tag string used for the tags.
      */
@@ -40,6 +42,9 @@ public class AddSimpleProblemCommand extends Command {
         // Pass to appropriate action -- TODO: get instance of actions rather than creating new
         Action action =  new AddQuestionAction();
         Object result = action.execute(problem, databaseAPI);
+        if (result != null) {
+            outputStream.outputPayload(result);
+        }
         return (result != null);
     }
 }
@@ -3,6 +3,7 @@ package command;
 import action.AddProblemSetAction;
 import databaseAPI.DatabaseAPI;
 import io.OutputGen;
+import models.ProblemSet;
 import models.ProblemStub;
 import models.SimpleProblemSet;
 
@@ -12,7 +13,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-public class AddSimpleProblemSetCommand extends Command {
+public class AddSimpleProblemSetCommand extends Command implements ModelCommand<ProblemSet> {
     public AddSimpleProblemSetCommand(DatabaseAPI api, OutputGen outputStream) {
         super(api, outputStream);
     }
@@ -69,6 +70,21 @@ public class AddSimpleProblemSetCommand extends Command {
 
         problemSet.addTags(problemSetTags);
 
+        return execute(problemSet);
+    }
+
+    @Override
+    public Class<ProblemSet> getModelType() {
+        return ProblemSet.class;
+    }
+
+    /**
+     * Saves a new Problem Set, with its start and end times, attempts, problems and tags already set.
+     * @param problemSet the problem set to save. Only the IDs of its problems are needed.
+     * @return whether or not the Problem Set is created
+     */
+    @Override
+    public boolean execute(ProblemSet problemSet) {
         AddProblemSetAction action = new AddProblemSetAction();
         Object result = action.execute(problemSet, databaseAPI);
         if (result != null) {
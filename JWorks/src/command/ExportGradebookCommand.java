@@ -0,0 +1,57 @@
+package command;
+
+import action.ExportGradebookAction;
+import databaseAPI.DatabaseAPI;
+import export.ExportResult;
+import export.GradebookExporter;
+import io.OutputGen;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class ExportGradebookCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ExportGradebookCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Exports grades to a file and outputs the ExportResult, or a message saying why nothing was exported.
+     *
+     * @param args the arguments for the command to use.
+     *             First argument is the report: "attempts", "best-scores" or "problems".
+     *             Second argument is the file to write. Files ending in .jsonl are written as JSON Lines and any
+     *             other file as CSV. A trailing .gz compresses the file.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length != 2) {
+            outputStream.outputPayload("Usage: ExportGradebookCommand attempts|best-scores|problems file");
+            return false;
+        }
+
+        GradebookExporter.Report report = GradebookExporter.Report.forName(args[0]);
+        if (report == null) {
+            outputStream.outputPayload("Unknown report " + args[0] + ", expected attempts, best-scores or problems");
+            return false;
+        }
+
+        ExportGradebookAction action = new ExportGradebookAction();
+        ExportResult result = (ExportResult) action.execute(databaseAPI, report, Paths.get(args[1]));
+
+        if (result == null) {
+            outputStream.outputPayload("Could not export the " + report.getName() + " report to " + args[1]);
+            return false;
+        }
+        outputStream.outputPayload(result);
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package command;
+
+import action.ExportSnapshotAction;
+import databaseAPI.DatabaseAPI;
+import export.ExportResult;
+import io.OutputGen;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class ExportSnapshotCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ExportSnapshotCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Writes every row of the database to a snapshot file and outputs the ExportResult, or a message saying why
+     * nothing was written.
+     *
+     * @param args the arguments for the command to use. The only argument is the snapshot file to write.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length != 1) {
+            outputStream.outputPayload("Usage: ExportSnapshotCommand file");
+            return false;
+        }
+
+        ExportSnapshotAction action = new ExportSnapshotAction();
+        ExportResult result = (ExportResult) action.execute(Paths.get(args[0]));
+
+        if (result == null) {
+            outputStream.outputPayload("Could not write the snapshot to " + args[0]);
+            return false;
+        }
+        outputStream.outputPayload(result);
+        return true;
+    }
+}
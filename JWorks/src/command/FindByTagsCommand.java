@@ -0,0 +1,57 @@
+package command;
+
+import action.FindByTagsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import search.TagQuery;
+import util.RoaringBitmap;
+
+import java.util.Arrays;
+
+public class FindByTagsCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public FindByTagsCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the IDs of the problems or problem sets whose tags match a boolean query, as a RoaringBitmap. Only the
+     * in-memory tag index is searched, no problems are loaded.
+     *
+     * @param args the arguments for the command to use.
+     *             First argument is "problems" or "sets".
+     *             The remaining arguments form the query, such as: calculus AND (midterm OR review) AND NOT retired
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length < 2 || !(args[0].equals("problems") || args[0].equals("sets"))) {
+            outputStream.outputPayload("Usage: FindByTagsCommand problems|sets query");
+            return false;
+        }
+
+        TagQuery query;
+        try {
+            query = TagQuery.parse(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+        } catch (IllegalArgumentException e) {
+            outputStream.outputPayload("Invalid query: " + e.getMessage());
+            return false;
+        }
+
+        FindByTagsAction action = new FindByTagsAction();
+        RoaringBitmap ids = (RoaringBitmap) action.execute(databaseAPI, args[0].equals("sets"), query);
+
+        if (ids == null) {
+            return false;
+        }
+        outputStream.outputPayload(ids);
+        return true;
+    }
+}
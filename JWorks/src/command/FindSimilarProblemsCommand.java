@@ -0,0 +1,75 @@
+package command;
+
+import action.FindSimilarProblemsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import search.SearchHit;
+import search.SimilarityIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FindSimilarProblemsCommand extends Command {
+    /**
+     * The lowest similarity of the problems listed as similar.
+     */
+    private static final double SIMILAR = 0.5;
+
+    /**
+     * The maximum number of problems listed.
+     */
+    private static final int LIMIT = 20;
+
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public FindSimilarProblemsCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the problems whose questions are similar to a problem or to the text of a question, as a List of
+     * SearchHits with their estimated similarity, most similar first.
+     *
+     * @param args the arguments for the command to use.
+     *             First argument is "problem" to compare to the problem with the ID in the second argument,
+     *             "question" to compare to the question in the remaining arguments, or "duplicates" to only find
+     *             the likely duplicates of the question in the remaining arguments.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length < 2 || !Arrays.asList("problem", "question", "duplicates").contains(args[0])) {
+            outputStream.outputPayload("Usage: FindSimilarProblemsCommand problem ID | question|duplicates text");
+            return false;
+        }
+
+        Object target;
+        if (args[0].equals("problem")) {
+            try {
+                target = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                outputStream.outputPayload("The problem ID must be a number.");
+                return false;
+            }
+        } else {
+            target = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+        }
+        double minimumSimilarity = args[0].equals("duplicates") ? SimilarityIndex.DUPLICATE_SIMILARITY : SIMILAR;
+
+        FindSimilarProblemsAction action = new FindSimilarProblemsAction();
+        @SuppressWarnings("unchecked")
+        List<SearchHit> hits = (List<SearchHit>) action.execute(databaseAPI, target, minimumSimilarity, LIMIT);
+
+        if (hits == null) {
+            return false;
+        }
+        outputStream.outputPayload(hits);
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package command;
+
+import action.ImportSnapshotAction;
+import databaseAPI.DatabaseAPI;
+import export.ExportResult;
+import io.OutputGen;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class ImportSnapshotCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ImportSnapshotCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Replaces every row of the database with the rows of a snapshot file written by ExportSnapshotCommand, and
+     * outputs how many rows were imported. The database is left as it was if the import fails.
+     *
+     * @param args the arguments for the command to use. The only argument is the snapshot file to read.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length != 1) {
+            outputStream.outputPayload("Usage: ImportSnapshotCommand file");
+            return false;
+        }
+
+        ImportSnapshotAction action = new ImportSnapshotAction();
+        ExportResult result = (ExportResult) action.execute(Paths.get(args[0]));
+
+        if (result == null) {
+            outputStream.outputPayload("Could not import the snapshot " + args[0]);
+            return false;
+        }
+        outputStream.outputPayload(result);
+        return true;
+    }
+}
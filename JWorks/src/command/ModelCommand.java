@@ -0,0 +1,23 @@
+package command;
+
+/**
+ * A command that can also be executed with a model object, so callers within the process do not have to turn the
+ * model into string arguments that the command parses back.
+ *
+ * @param <T> the type of model the command takes
+ */
+public interface ModelCommand<T> {
+
+    /**
+     * Returns the type of model the command takes.
+     * @return the class of the model
+     */
+    Class<T> getModelType();
+
+    /**
+     * Executes the command with the given model. Any outputs created are the command's output generator.
+     * @param model the model to act on
+     * @return whether or not the command succeeded
+     */
+    boolean execute(T model);
+}
@@ -0,0 +1,59 @@
+package command;
+
+import action.SearchProblemsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import search.SearchHit;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SearchProblemsCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public SearchProblemsCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the problems most relevant to a query as a List of SearchHits, most relevant first. Problems match when
+     * their question, answer or tags have every word of the query, or the start of it.
+     *
+     * @param args the arguments for the command to use.
+     *             First argument is the maximum number of problems to output.
+     *             The remaining arguments are the words to search for.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length < 2) {
+            outputStream.outputPayload("Usage: SearchProblemsCommand count words");
+            return false;
+        }
+
+        int count;
+        try {
+            count = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            outputStream.outputPayload("The count must be a number.");
+            return false;
+        }
+
+        SearchProblemsAction action = new SearchProblemsAction();
+        @SuppressWarnings("unchecked")
+        List<SearchHit> hits = (List<SearchHit>) action.execute(databaseAPI,
+                String.join(" ", Arrays.copyOfRange(args, 1, args.length)), count);
+
+        if (hits == null) {
+            return false;
+        }
+        outputStream.outputPayload(hits);
+        return true;
+    }
+}
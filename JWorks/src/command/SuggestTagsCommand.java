@@ -0,0 +1,64 @@
+package command;
+
+import action.SuggestTagsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SuggestTagsCommand extends Command {
+    /**
+     * The number of tags suggested when no count is given.
+     */
+    private static final int DEFAULT_COUNT = 8;
+
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public SuggestTagsCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the most used tags that start with a prefix, as a List of Strings, most used first. The prefix matches
+     * regardless of case.
+     *
+     * @param args the arguments for the command to use.
+     *             First argument is the start of the tag.
+     *             Second argument is optional, the maximum number of tags to suggest.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        // the command line parser can leave empty arguments between the command and its arguments
+        args = Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        if (args.length < 1 || args.length > 2) {
+            outputStream.outputPayload("Usage: SuggestTagsCommand prefix [count]");
+            return false;
+        }
+
+        int count = DEFAULT_COUNT;
+        if (args.length == 2) {
+            try {
+                count = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                outputStream.outputPayload("The count must be a number.");
+                return false;
+            }
+        }
+
+        SuggestTagsAction action = new SuggestTagsAction();
+        @SuppressWarnings("unchecked")
+        List<String> tags = (List<String>) action.execute(databaseAPI, args[0], count);
+
+        if (tags == null) {
+            return false;
+        }
+        outputStream.outputPayload(tags);
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package command;
+
+import action.ViewCommandMetricsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import util.CommandMetrics;
+
+public class ViewCommandMetricsCommand extends Command {
+
+    private CommandMetrics metrics;
+
+    /**
+     * Creates a new command that outputs the given command metrics.
+     *
+     * @param metrics      the metrics of the commands run by the interpreter
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ViewCommandMetricsCommand(CommandMetrics metrics, DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Outputs the invocation counts, failure counts and latency percentiles of the commands run so far.
+     *
+     * @param args the arguments for the command to use. If the first argument is "reset", the metrics are cleared
+     *             after they are output.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        boolean reset = args.length > 0 && args[0].equals("reset");
+        ViewCommandMetricsAction action = new ViewCommandMetricsAction();
+
+        outputStream.outputPayload(action.execute(metrics, reset));
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package command;
+
+import action.ViewDatabaseMetricsAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+
+public class ViewDatabaseMetricsCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ViewDatabaseMetricsCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the call counts, row counts and latency percentiles of the SQL statements run so far, grouped by
+     * database method.
+     *
+     * @param args the arguments for the command to use. If the first argument is "reset", the metrics are cleared
+     *             after they are output.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        boolean reset = args.length > 0 && args[0].equals("reset");
+        ViewDatabaseMetricsAction action = new ViewDatabaseMetricsAction();
+
+        outputStream.outputPayload(action.execute(reset));
+        return true;
+    }
+}
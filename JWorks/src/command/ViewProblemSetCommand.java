@@ -0,0 +1,48 @@
+package command;
+
+import action.ViewProblemSetAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import models.ProblemSet;
+
+public class ViewProblemSetCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ViewProblemSetCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs a single problem set to the output generator.
+     *
+     * @param args the arguments for the command to use. The first and only argument is the id of the problem set.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        if (args.length != 1) {
+            return false;
+        }
+
+        int problemSetId;
+        try {
+            problemSetId = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        ViewProblemSetAction action = new ViewProblemSetAction();
+        ProblemSet problemSet = (ProblemSet) action.execute(problemSetId, databaseAPI);
+
+        if (problemSet == null) {
+            return false;
+        }
+
+        outputStream.outputPayload(problemSet);
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package command;
+
+import action.ViewProblemSetSummariesAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import models.ProblemSetSummary;
+
+import java.util.List;
+
+public class ViewProblemSetSummariesCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ViewProblemSetSummariesCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the summaries of all problem sets to the output generator. The summaries only hold the id, dates,
+     * attempts, number of problems and tags of each problem set.
+     *
+     * @param args the arguments for the command to use. No arguments are needed.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        ViewProblemSetSummariesAction action = new ViewProblemSetSummariesAction();
+        List<ProblemSetSummary> summaries = (List<ProblemSetSummary>) action.execute(databaseAPI);
+
+        if (summaries == null) {
+            return false;
+        }
+
+        outputStream.outputPayload(summaries);
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package command;
+
+import action.ViewProblemSummariesAction;
+import databaseAPI.DatabaseAPI;
+import io.OutputGen;
+import models.ProblemSummary;
+
+import java.util.List;
+
+public class ViewProblemSummariesCommand extends Command {
+    /**
+     * Creates a new command using the specified database API method and output generator.
+     *
+     * @param databaseAPI  the database API instance to use with the action
+     * @param outputStream the output generator to use with the command
+     */
+    public ViewProblemSummariesCommand(DatabaseAPI databaseAPI, OutputGen outputStream) {
+        super(databaseAPI, outputStream);
+    }
+
+    /**
+     * Outputs the summaries of all problems to the output generator. The summaries only hold the id, the start of
+     * the question and the tags of each problem.
+     *
+     * @param args the arguments for the command to use. No arguments are needed.
+     * @return whether or not the command succeeded
+     */
+    @Override
+    public boolean execute(String[] args) {
+        ViewProblemSummariesAction action = new ViewProblemSummariesAction();
+        List<ProblemSummary> summaries = (List<ProblemSummary>) action.execute(databaseAPI);
+
+        if (summaries == null) {
+            return false;
+        }
+
+        outputStream.outputPayload(summaries);
+        return true;
+    }
+}
@@ -7,6 +7,7 @@ import io.OutputGen;
 import models.Problem;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ViewProblemsCommand extends Command {
     public ViewProblemsCommand(DatabaseAPI api, OutputGen outputStream) {
@@ -21,7 +22,8 @@ public class ViewProblemsCommand extends Command {
     public boolean execute(String[] args) {
         // Pass to appropriate action -- TODO: get instance of actions rather than creating new
         Action action =  new ViewQuestionAction();
-        List<Problem> problems = (List<Problem>) action.execute(databaseAPI);
+        Consumer<List<Problem>> rows = outputStream::outputRows;
+        List<Problem> problems = (List<Problem>) action.execute(databaseAPI, rows);
 
         // Uncomment once we can retrieve objects from API
         outputStream.outputPayload(problems);
@@ -119,7 +119,8 @@ public class DatabaseDeleter {
    */
   protected static boolean deleteProblemTag(int problemKey, String tag, Connection connection) {
     boolean result = false;
-    String sql = "DELETE FROM PROBLEMTAGS WHERE (PROBLEM,TAG) = (?,?)";
+    String sql = "DELETE FROM PROBLEMTAGS WHERE PROBLEM = ? "
+        + "AND TAG = (SELECT ID FROM TAGS WHERE TAG = ?)";
     
     try {
       PreparedStatement preparedStatement = connection.prepareStatement(sql);
@@ -149,7 +150,8 @@ public class DatabaseDeleter {
       Connection connection) {
     
     boolean result = false;
-    String sql = "DELETE FROM PROBLEMSETTAGS WHERE (PROBLEMSET,TAG) = (?,?)";
+    String sql = "DELETE FROM PROBLEMSETTAGS WHERE PROBLEMSET = ? "
+        + "AND TAG = (SELECT ID FROM TAGS WHERE TAG = ?)";
     
     try {
       PreparedStatement preparedStatement = connection.prepareStatement(sql);
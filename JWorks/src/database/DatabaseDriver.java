@@ -1,21 +1,34 @@
 package database;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Properties;
 
 import exceptions.ConnectionFailedException;
+import util.ContentHash;
+import util.MinHash;
 
 public class DatabaseDriver {
 
+  /**
+   * System property naming the database file to use instead of jworks.db in the working
+   * directory, so that benchmarks and tools can work on their own database.
+   */
+  public static final String DATABASE_FILE_PROPERTY = "jworks.database";
+
   protected static Connection connection = null;
   /**
    * If the database exists, will connect to it. Otherwise, will create the database.
    * @return The connection to the SQLite database.
    */
-  protected static Connection connectOrCreateDatabase() {
+  protected static synchronized Connection connectOrCreateDatabase() {
     if (connection != null) {
       return connection;
     }
@@ -25,7 +38,13 @@ public class DatabaseDriver {
     
     try {
       Class.forName("org.sqlite.JDBC");
-      connection = DriverManager.getConnection("jdbc:sqlite:jworks.db", properties);
+      String databaseFile = System.getProperty(DATABASE_FILE_PROPERTY, "jworks.db");
+      connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile, properties);
+
+      if (StatementMetrics.isEnabled()) {
+        connection = InstrumentedConnection.wrap(connection);
+        StatementMetrics.dumpOnShutdown();
+      }
     } catch (ClassNotFoundException e) {
       e.printStackTrace();
       System.out.println("The required SQLite class could not be found.");
@@ -52,75 +71,85 @@ public class DatabaseDriver {
   }
   
   /**
-   * Creates all of the tables to be used in the database.
-   * @param connection The connection to the database file.
-   * @return True if all tables were created; false otherwise.
+   * Writes every row of every table to a snapshot file.
+   * @param file The snapshot file to write, replaced if it exists.
+   * @return The number of rows written.
+   * @throws IOException Thrown if the file could not be written.
+   * @throws SQLException Thrown if the tables could not be read.
    */
-  private static boolean initializeDatabase(Connection connection) {
-    Statement statement = null;
-    boolean result = false;
-    
-    try {
-      statement = connection.createStatement();
-      
-      String sql = "CREATE TABLE IF NOT EXISTS PROBLEMS " 
-          + "(ID INTEGER PRIMARY KEY NOT NULL," 
+  protected static long exportSnapshot(Path file) throws IOException, SQLException {
+    return DatabaseSnapshot.write(connectOrCreateDatabase(), file);
+  }
+
+  /**
+   * Replaces every row of the database with the rows of a snapshot file. The database is left as
+   * it was if the snapshot could not be imported.
+   * @param file The snapshot file to read.
+   * @return The number of rows imported.
+   * @throws IOException Thrown if the file could not be read or does not match the tables.
+   * @throws SQLException Thrown if the rows could not be inserted.
+   */
+  protected static long importSnapshot(Path file) throws IOException, SQLException {
+    return DatabaseSnapshot.read(connectOrCreateDatabase(), file);
+  }
+  
+  /**
+   * The statements that create all of the tables used by JWorks, in the order they are run.
+   */
+  private static final String[] SCHEMA = {
+      "CREATE TABLE IF NOT EXISTS PROBLEMS "
+          + "(ID INTEGER PRIMARY KEY NOT NULL,"
           + "TYPE INTEGER NOT NULL,"
           + "QUESTION TEXT NOT NULL,"
-          + "ANSWER NOT NULL)";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS PROBLEMSETS "
+          + "ANSWER NOT NULL,"
+          + "CONTENTHASH TEXT)",
+
+      "CREATE UNIQUE INDEX IF NOT EXISTS PROBLEMS_CONTENTHASH ON PROBLEMS(CONTENTHASH)",
+
+      "CREATE TABLE IF NOT EXISTS PROBLEMSETS "
           + "(ID INTEGER PRIMARY KEY NOT NULL,"
           + "MAXATTEMPTS INTEGER NOT NULL,"
           + "STARTTIME INTEGER NOT NULL,"
-          + "ENDTIME INTEGER NOT NULL)";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS PROBLEMSETS_PROBLEMS_RELATIONSHIP "
+          + "ENDTIME INTEGER NOT NULL)",
+
+      "CREATE TABLE IF NOT EXISTS PROBLEMSETS_PROBLEMS_RELATIONSHIP "
           + "(PROBLEMSET INTEGER NOT NULL,"
           + "PROBLEM INTEGER NOT NULL,"
           + "FOREIGN KEY (PROBLEMSET) REFERENCES PROBLEMSETS(ID),"
-          + "FOREIGN KEY (PROBLEM) REFERENCES PROBLEMS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS STUDENTS "
+          + "FOREIGN KEY (PROBLEM) REFERENCES PROBLEMS(ID))",
+
+      "CREATE TABLE IF NOT EXISTS STUDENTS "
           + "(STUDENTNUMBER INTEGER PRIMARY KEY NOT NULL,"
           + "NAME TEXT NOT NULL,"
           + "EMAIL TEXT NOT NULL,"
-          + "PASSWORD TEXT NOT NULL)";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS INSTRUCTORS "
+          + "PASSWORD TEXT NOT NULL)",
+
+      "CREATE TABLE IF NOT EXISTS INSTRUCTORS "
           + "(ID INTEGER PRIMARY KEY NOT NULL,"
           + "NAME TEXT NOT NULL,"
           + "EMAIL TEXT NOT NULL,"
-          + "PASSWORD TEXT NOT NULL)";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS INSTRUCTORS_PROBLEMS_RELATIONSHIP "
+          + "PASSWORD TEXT NOT NULL)",
+
+      "CREATE TABLE IF NOT EXISTS INSTRUCTORS_PROBLEMS_RELATIONSHIP "
           + "(INSTRUCTOR INTEGER NOT NULL,"
           + "PROBLEM INTEGER PRIMARY KEY NOT NULL,"
           + "FOREIGN KEY (INSTRUCTOR) REFERENCES INSTRUCTORS(ID),"
-          + "FOREIGN KEY (PROBLEM) REFERENCES PROBLEMS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS INSTRUCTORS_PROBLEMSETS_RELATIONSHIP "
+          + "FOREIGN KEY (PROBLEM) REFERENCES PROBLEMS(ID))",
+
+      "CREATE TABLE IF NOT EXISTS INSTRUCTORS_PROBLEMSETS_RELATIONSHIP "
           + "(INSTRUCTOR INTEGER NOT NULL,"
           + "PROBLEMSET INTEGER PRIMARY KEY NOT NULL,"
           + "FOREIGN KEY (INSTRUCTOR) REFERENCES INSTRUCTORS(ID),"
-          + "FOREIGN KEY (PROBLEMSET) REFERENCES PROBLEMSETS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS ATTEMPTSREMAINING "
+          + "FOREIGN KEY (PROBLEMSET) REFERENCES PROBLEMSETS(ID))",
+
+      "CREATE TABLE IF NOT EXISTS ATTEMPTSREMAINING "
           + "(STUDENTNUMBER INTEGER NOT NULL,"
           + "PROBLEMSET INTEGER NOT NULL,"
           + "ATTEMPTSREMAINING INTEGER NOT NULL,"
           + "FOREIGN KEY(STUDENTNUMBER) REFERENCES STUDENTS(STUDENTNUMBER)"
-          + "FOREIGN KEY(PROBLEMSET) REFERENCES PROBLEMSETS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS PREVIOUSATTEMPTS "
+          + "FOREIGN KEY(PROBLEMSET) REFERENCES PROBLEMSETS(ID))",
+
+      "CREATE TABLE IF NOT EXISTS PREVIOUSATTEMPTS "
           + "(STUDENTNUMBER INTEGER NOT NULL,"
           + "PROBLEMSET INTEGER NOT NULL,"
           + "TIME INTEGER NOT NULL,"
@@ -128,23 +157,94 @@ public class DatabaseDriver {
           + "STUDENTANSWER TEXT NOT NULL,"
           + "FOREIGN KEY(STUDENTNUMBER) REFERENCES STUDENTS(STUDENTNUMBER)"
           + "FOREIGN KEY(PROBLEMSET) REFERENCES PROBLEMSETS(ID)"
-          + "FOREIGN KEY(PROBLEM) REFERENCES PROBLEMS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS PROBLEMTAGS "
+          + "FOREIGN KEY(PROBLEM) REFERENCES PROBLEMS(ID))",
+
+      "CREATE TABLE IF NOT EXISTS TAGS "
+          + "(ID INTEGER PRIMARY KEY NOT NULL,"
+          + "TAG TEXT NOT NULL UNIQUE)",
+
+      "CREATE TABLE IF NOT EXISTS PROBLEMTAGS "
           + "(PROBLEM INTEGER NOT NULL,"
-          + "TAG TEXT NOT NULL,"
-          + "FOREIGN KEY(PROBLEM) REFERENCES PROBLEMS(ID))";
-      statement.executeUpdate(sql);
-      
-      sql = "CREATE TABLE IF NOT EXISTS PROBLEMSETTAGS "
+          + "TAG INTEGER NOT NULL,"
+          + "FOREIGN KEY(PROBLEM) REFERENCES PROBLEMS(ID)"
+          + "FOREIGN KEY(TAG) REFERENCES TAGS(ID))",
+
+      "CREATE INDEX IF NOT EXISTS PROBLEMTAGS_TAG ON PROBLEMTAGS(TAG)",
+
+      "CREATE INDEX IF NOT EXISTS PROBLEMTAGS_PROBLEM ON PROBLEMTAGS(PROBLEM, TAG)",
+
+      "CREATE TABLE IF NOT EXISTS PROBLEMSETTAGS "
           + "(PROBLEMSET INTEGER NOT NULL,"
-          + "TAG TEXT NOT NULL,"
-          + "FOREIGN KEY(PROBLEMSET) REFERENCES PROBLEMSETS(ID))";
-      statement.executeUpdate(sql);
-      
-      statement.close();
-      result = true;
+          + "TAG INTEGER NOT NULL,"
+          + "FOREIGN KEY(PROBLEMSET) REFERENCES PROBLEMSETS(ID)"
+          + "FOREIGN KEY(TAG) REFERENCES TAGS(ID))",
+
+      "CREATE INDEX IF NOT EXISTS PROBLEMSETTAGS_TAG ON PROBLEMSETTAGS(TAG)",
+
+      "CREATE TABLE IF NOT EXISTS PROBLEMSIGNATURES "
+          + "(PROBLEM INTEGER PRIMARY KEY NOT NULL,"
+          + "SIGNATURE TEXT NOT NULL,"
+          + "FOREIGN KEY(PROBLEM) REFERENCES PROBLEMS(ID))"
+  };
+
+  /**
+   * The tables that used to store the text of each tag on every row, before tags were given an
+   * id in TAGS.
+   */
+  private static final String[] TAG_TABLES = {"PROBLEMTAGS", "PROBLEMSETTAGS"};
+
+  /**
+   * The fingerprint of SCHEMA, stored in the user_version of the database once the tables are
+   * created. It changes whenever a statement does, so an older database gets the new tables, and
+   * is never 0, which is the user_version of a new database.
+   */
+  static final int SCHEMA_FINGERPRINT = Arrays.hashCode(SCHEMA) == 0 ? 1 : Arrays.hashCode(SCHEMA);
+
+  /**
+   * Creates all of the tables to be used in the database, unless the database was already created
+   * with the current schema.
+   * @param connection The connection to the database file.
+   * @return True if all tables exist; false otherwise.
+   */
+  private static boolean initializeDatabase(Connection connection) {
+    boolean result = false;
+    
+    try (Statement statement = connection.createStatement()) {
+      if (getSchemaVersion(statement) == SCHEMA_FINGERPRINT) {
+        return true;
+      }
+
+      // create every table and record the fingerprint in a single transaction
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        boolean textTags = hasTextTags(statement);
+        if (textTags) {
+          // move the old tables aside, so the new ones are created in their place
+          for (String table : TAG_TABLES) {
+            statement.executeUpdate("ALTER TABLE " + table + " RENAME TO OLD_" + table);
+          }
+        }
+        if (!hasContentHashes(statement)) {
+          statement.executeUpdate("ALTER TABLE PROBLEMS ADD COLUMN CONTENTHASH TEXT");
+        }
+        for (String sql : SCHEMA) {
+          statement.executeUpdate(sql);
+        }
+        if (textTags) {
+          migrateTextTags(statement);
+        }
+        hashProblems(connection);
+        signProblems(connection);
+        statement.executeUpdate("PRAGMA user_version = " + SCHEMA_FINGERPRINT);
+        connection.commit();
+        result = true;
+      } catch (SQLException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
       
     } catch (SQLException e) {
       e.printStackTrace();
@@ -153,4 +253,122 @@ public class DatabaseDriver {
     
     return result;
   }
+
+  /**
+   * Returns whether or not the database stores the text of each tag in the tag tables, as it did
+   * before the TAGS table existed.
+   * @param statement A statement on the connection to the database file.
+   * @return True if PROBLEMTAGS has a text TAG column; false if it has ids or does not exist.
+   * @throws SQLException Thrown if the columns could not be read.
+   */
+  private static boolean hasTextTags(Statement statement) throws SQLException {
+    try (ResultSet results = statement.executeQuery("PRAGMA table_info(PROBLEMTAGS)")) {
+      while (results.next()) {
+        if (results.getString(2).equalsIgnoreCase("TAG")) {
+          return results.getString(3).equalsIgnoreCase("TEXT");
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns whether or not PROBLEMS has the CONTENTHASH column, which databases created before
+   * problems were hashed lack.
+   * @param statement A statement on the connection to the database file.
+   * @return True if PROBLEMS has a CONTENTHASH column or does not exist yet; false otherwise.
+   * @throws SQLException Thrown if the columns could not be read.
+   */
+  private static boolean hasContentHashes(Statement statement) throws SQLException {
+    boolean exists = false;
+    try (ResultSet results = statement.executeQuery("PRAGMA table_info(PROBLEMS)")) {
+      while (results.next()) {
+        if (results.getString(2).equalsIgnoreCase("CONTENTHASH")) {
+          return true;
+        }
+        exists = true;
+      }
+    }
+    return !exists;
+  }
+
+  /**
+   * Gives every tag of the old tag tables an id in TAGS, copies the tags into the new tables by
+   * id and drops the old tables.
+   * @param statement A statement on the connection to the database file.
+   * @throws SQLException Thrown if the tags could not be copied.
+   */
+  private static void migrateTextTags(Statement statement) throws SQLException {
+    statement.executeUpdate("INSERT OR IGNORE INTO TAGS(TAG) "
+        + "SELECT TAG FROM OLD_PROBLEMTAGS UNION SELECT TAG FROM OLD_PROBLEMSETTAGS");
+    statement.executeUpdate("INSERT INTO PROBLEMTAGS(PROBLEM, TAG) "
+        + "SELECT O.PROBLEM, T.ID FROM OLD_PROBLEMTAGS O JOIN TAGS T ON T.TAG = O.TAG");
+    statement.executeUpdate("INSERT INTO PROBLEMSETTAGS(PROBLEMSET, TAG) "
+        + "SELECT O.PROBLEMSET, T.ID FROM OLD_PROBLEMSETTAGS O JOIN TAGS T ON T.TAG = O.TAG");
+
+    for (String table : TAG_TABLES) {
+      statement.executeUpdate("DROP TABLE OLD_" + table);
+    }
+  }
+
+  /**
+   * Stores the content hash of every problem that has none, such as the problems of a database
+   * created before problems were hashed. When several problems have the same content, only the
+   * oldest is given the hash, and the others keep none so that the rows that refer to them stay
+   * as they are.
+   * @param connection The connection to the database file.
+   * @throws SQLException Thrown if the hashes could not be stored.
+   */
+  private static void hashProblems(Connection connection) throws SQLException {
+    String sql = "SELECT ID, TYPE, QUESTION, ANSWER FROM PROBLEMS WHERE CONTENTHASH IS NULL "
+        + "ORDER BY ID";
+
+    try (Statement statement = connection.createStatement();
+        ResultSet results = statement.executeQuery(sql);
+        PreparedStatement update = connection.prepareStatement(
+            "UPDATE OR IGNORE PROBLEMS SET CONTENTHASH = ? WHERE ID = ?")) {
+      while (results.next()) {
+        update.setString(1, ContentHash.of(results.getInt(2), results.getString(3),
+            results.getString(4)));
+        update.setInt(2, results.getInt(1));
+        update.addBatch();
+      }
+      update.executeBatch();
+    }
+  }
+
+  /**
+   * Stores the MinHash signature of the question of every problem that has none, such as the
+   * problems of a database created before PROBLEMSIGNATURES existed.
+   * @param connection The connection to the database file.
+   * @throws SQLException Thrown if the signatures could not be stored.
+   */
+  private static void signProblems(Connection connection) throws SQLException {
+    String sql = "SELECT ID, QUESTION FROM PROBLEMS "
+        + "WHERE ID NOT IN (SELECT PROBLEM FROM PROBLEMSIGNATURES)";
+
+    try (Statement statement = connection.createStatement();
+        ResultSet results = statement.executeQuery(sql);
+        PreparedStatement insert = connection.prepareStatement(
+            "INSERT INTO PROBLEMSIGNATURES(PROBLEM, SIGNATURE) VALUES(?,?)")) {
+      while (results.next()) {
+        insert.setInt(1, results.getInt(1));
+        insert.setString(2, MinHash.encode(MinHash.signature(results.getString(2))));
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+  }
+
+  /**
+   * Reads the schema fingerprint stored in the database.
+   * @param statement A statement on the connection to the database file.
+   * @return The stored fingerprint, or 0 if the tables were never created.
+   * @throws SQLException Thrown if the user_version could not be read.
+   */
+  private static int getSchemaVersion(Statement statement) throws SQLException {
+    try (ResultSet results = statement.executeQuery("PRAGMA user_version")) {
+      return results.next() ? results.getInt(1) : 0;
+    }
+  }
 }
@@ -8,11 +8,23 @@ import java.sql.Statement;
 import java.util.Date;
 
 import exceptions.DatabaseInsertException;
+import util.ContentHash;
+import util.MinHash;
 
 public class DatabaseInserter {
 
   /**
-   * Inserts a problem into the database.
+   * Associates a tag with a problem unless the problem already has it, so that storing a problem
+   * again with its tags does not repeat them.
+   */
+  private static final String PROBLEM_TAG_SQL = "INSERT INTO PROBLEMTAGS(PROBLEM, TAG) "
+      + "SELECT ?, ID FROM TAGS WHERE TAG = ? AND NOT EXISTS "
+      + "(SELECT 1 FROM PROBLEMTAGS P WHERE P.PROBLEM = ? AND P.TAG = TAGS.ID)";
+
+  /**
+   * Inserts a problem into the database, along with the MinHash signature of its question. A
+   * problem with the same content as a stored problem, as told by its content hash, is not stored
+   * again, and the unique key of the stored problem is returned instead.
    * @param type An integer used to represent the questions type.
    * @param question The text that would be prompted to the student.
    * @param answer The answer to the question.
@@ -23,16 +35,42 @@ public class DatabaseInserter {
    */
   protected static int insertProblem(int type, String question, String answer, int instructorID,
       Connection connection) throws DatabaseInsertException {
-    String sql = "INSERT INTO PROBLEMS(TYPE, QUESTION, ANSWER) VALUES(?,?,?)";
+    return insertProblem(type, question, answer, instructorID, new boolean[1], connection);
+  }
+
+  /**
+   * Inserts a problem into the database like insertProblem, and tells whether it was stored or
+   * found stored already.
+   * @param type An integer used to represent the questions type.
+   * @param question The text that would be prompted to the student.
+   * @param answer The answer to the question.
+   * @param instructorID The unique ID of the instructor who created the problem.
+   * @param created Its first element is set to whether the problem was stored, rather than found
+   *                already stored.
+   * @param connection The connection to the database.
+   * @return The unique key of the problem, -1 if an uncaught error occurred.
+   * @throws DatabaseInsertException Thrown if the question could not be added to the database.
+   */
+  protected static int insertProblem(int type, String question, String answer, int instructorID,
+      boolean[] created, Connection connection) throws DatabaseInsertException {
+    String sql = "INSERT INTO PROBLEMS(TYPE, QUESTION, ANSWER, CONTENTHASH) VALUES(?,?,?,?)";
+    String contentHash = ContentHash.of(type, question, answer);
     int result = -1;
     
     PreparedStatement preparedStatement = null;
     try {
+      result = findProblem(contentHash, connection);
+      created[0] = result < 0;
+      if (!created[0]) {
+        return result;
+      }
+      
         preparedStatement = connection.prepareStatement(sql, 
             Statement.RETURN_GENERATED_KEYS);
         preparedStatement.setInt(1, type);
         preparedStatement.setString(2, question);
         preparedStatement.setString(3, answer);
+        preparedStatement.setString(4, contentHash);
       
       int id = 0;
       id = preparedStatement.executeUpdate();
@@ -50,6 +88,15 @@ public class DatabaseInserter {
           preparedStatement.setInt(1, instructorID);
           preparedStatement.setInt(2, result);
           
+          preparedStatement.executeUpdate();
+          preparedStatement.close();
+          
+          sql = "INSERT INTO PROBLEMSIGNATURES(PROBLEM, SIGNATURE) VALUES(?,?)";
+          
+          preparedStatement = connection.prepareStatement(sql);
+          preparedStatement.setInt(1, result);
+          preparedStatement.setString(2, MinHash.encode(MinHash.signature(question)));
+          
           preparedStatement.executeUpdate();
         }
         
@@ -63,6 +110,21 @@ public class DatabaseInserter {
     return result;
   }
 
+  private static int findProblem(String contentHash, Connection connection) throws SQLException {
+    try (PreparedStatement preparedStatement = connection.prepareStatement(
+        "SELECT ID FROM PROBLEMS WHERE CONTENTHASH = ?")) {
+      return findProblem(contentHash, preparedStatement);
+    }
+  }
+
+  private static int findProblem(String contentHash, PreparedStatement lookup)
+      throws SQLException {
+    lookup.setString(1, contentHash);
+    try (ResultSet results = lookup.executeQuery()) {
+      return results.next() ? results.getInt(1) : -1;
+    }
+  }
+
   /**
    * Inserts a problem set into the database by collecting an array of numbers.
    * @param maxAttempts The amount of attempts allowed for this problem set, -8 for infinite.
@@ -271,28 +333,28 @@ public class DatabaseInserter {
    * @param problemID The unique ID of the problem.
    * @param tag The tag to be associated with the problem.
    * @param connection The connection to the database file.
-   * @return True if the tag was associated with the problem; false indicates an error occurred.
+   * @return True if the tag was associated with the problem; false if it already was.
    * @throws DatabaseInsertException Thrown if the tag could not be added to the database.
    */
   protected static boolean insertProblemTag(int problemID, String tag, Connection connection)
       throws DatabaseInsertException {
    
     boolean result = false;
-    String sql = "INSERT INTO PROBLEMTAGS(PROBLEM, TAG) VALUES (?,?)";
+    String sql = PROBLEM_TAG_SQL;
     
     PreparedStatement preparedStatement = null;
     
     try {
+      insertTagNames(new String[] {tag}, connection);
       preparedStatement = connection.prepareStatement(sql);
       
       preparedStatement.setInt(1, problemID);
       preparedStatement.setString(2, tag);
+      preparedStatement.setInt(3, problemID);
       
-      preparedStatement.executeUpdate();
+      result = preparedStatement.executeUpdate() > 0;
       
       preparedStatement.close();
-      
-      result = true;
     } catch (SQLException e) {
       String errorMessage = "Failed to insert a problem tag into the database.";
       throw new DatabaseInsertException(errorMessage);
@@ -313,11 +375,12 @@ public class DatabaseInserter {
       throws DatabaseInsertException {
    
     boolean result = false;
-    String sql = "INSERT INTO PROBLEMSETTAGS(PROBLEMSET, TAG) VALUES (?,?)";
+    String sql = "INSERT INTO PROBLEMSETTAGS(PROBLEMSET, TAG) SELECT ?, ID FROM TAGS WHERE TAG = ?";
     
     PreparedStatement preparedStatement = null;
     
     try {
+      insertTagNames(new String[] {tag}, connection);
       preparedStatement = connection.prepareStatement(sql);
       
       preparedStatement.setInt(1, problemSetID);
@@ -336,6 +399,249 @@ public class DatabaseInserter {
     return result;
   }
   
+  /**
+   * Inserts many problems into the database in a single transaction, reusing one statement for
+   * all of the rows. The MinHash signature of each question is stored as well. Problems with the
+   * same content as a stored problem, or as an earlier problem of the batch, are given the unique
+   * key of that problem instead of being stored again, so storing the same problems twice stores
+   * nothing the second time.
+   * @param type An integer used to represent the questions type.
+   * @param questions The text of each problem.
+   * @param answers The answer of each problem. Corresponds with questions by index.
+   * @param instructorIDs The unique ID of the instructor who created each problem. Corresponds
+   *                      with questions by index.
+   * @param created Set to whether each problem was stored, rather than found already stored.
+   *                Corresponds with questions by index.
+   * @param connection The connection to the database.
+   * @return The unique keys of the problems, in the same order as the questions.
+   * @throws DatabaseInsertException Thrown if the problems could not be added to the database.
+   *                                 None of the problems are added in that case.
+   */
+  protected static int[] insertProblems(int type, String[] questions, String[] answers,
+      int[] instructorIDs, boolean[] created, Connection connection)
+      throws DatabaseInsertException {
+    String sql = "INSERT INTO PROBLEMS(TYPE, QUESTION, ANSWER, CONTENTHASH) VALUES(?,?,?,?)";
+    String lookupSql = "SELECT ID FROM PROBLEMS WHERE CONTENTHASH = ?";
+    String relationshipSql = "INSERT INTO INSTRUCTORS_PROBLEMS_RELATIONSHIP(INSTRUCTOR, PROBLEM) "
+        + "VALUES(?,?)";
+    String signatureSql = "INSERT INTO PROBLEMSIGNATURES(PROBLEM, SIGNATURE) VALUES(?,?)";
+    int[] result = new int[questions.length];
+
+    try {
+      boolean autoCommit = beginBatch(connection);
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql,
+          Statement.RETURN_GENERATED_KEYS);
+          PreparedStatement relationshipStatement = connection.prepareStatement(
+              relationshipSql);
+          PreparedStatement signatureStatement = connection.prepareStatement(signatureSql);
+          PreparedStatement lookupStatement = connection.prepareStatement(lookupSql)) {
+        preparedStatement.setInt(1, type);
+
+        for (int i = 0; i < questions.length; i++) {
+          String contentHash = ContentHash.of(type, questions[i], answers[i]);
+          result[i] = findProblem(contentHash, lookupStatement);
+          created[i] = result[i] < 0;
+          if (!created[i]) {
+            continue;
+          }
+
+          preparedStatement.setString(2, questions[i]);
+          preparedStatement.setString(3, answers[i]);
+          preparedStatement.setString(4, contentHash);
+          preparedStatement.executeUpdate();
+
+          // The key is needed for the relationship, so problems can not be sent as one batch.
+          ResultSet uniqueKey = preparedStatement.getGeneratedKeys();
+          uniqueKey.next();
+          result[i] = uniqueKey.getInt(1);
+          uniqueKey.close();
+
+          relationshipStatement.setInt(1, instructorIDs[i]);
+          relationshipStatement.setInt(2, result[i]);
+          relationshipStatement.addBatch();
+
+          signatureStatement.setInt(1, result[i]);
+          signatureStatement.setString(2, MinHash.encode(MinHash.signature(questions[i])));
+          signatureStatement.addBatch();
+        }
+
+        relationshipStatement.executeBatch();
+        signatureStatement.executeBatch();
+        endBatch(connection, autoCommit);
+      } catch (SQLException e) {
+        abortBatch(connection, autoCommit);
+        throw e;
+      }
+    } catch (SQLException e) {
+      String errorMessage = "Failed to insert a batch of problems into the database.";
+      throw new DatabaseInsertException(errorMessage);
+    }
+
+    return result;
+  }
+
+  /**
+   * Associates many tags with problems in a single transaction.
+   * @param problemIDs The unique ID of the problem of each tag.
+   * @param tags The tags to be associated with the problems. Corresponds with problemIDs by index.
+   * @param connection The connection to the database file.
+   * @return Whether each tag was associated with its problem, false for the tags the problem
+   *         already had. Corresponds with tags by index.
+   * @throws DatabaseInsertException Thrown if the tags could not be added to the database. None of
+   *                                 the tags are added in that case.
+   */
+  protected static boolean[] insertProblemTags(int[] problemIDs, String[] tags,
+      Connection connection) throws DatabaseInsertException {
+    String sql = PROBLEM_TAG_SQL;
+    boolean[] result = new boolean[tags.length];
+
+    try {
+      boolean autoCommit = beginBatch(connection);
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        insertTagNames(tags, connection);
+        for (int i = 0; i < problemIDs.length; i++) {
+          preparedStatement.setInt(1, problemIDs[i]);
+          preparedStatement.setString(2, tags[i]);
+          preparedStatement.setInt(3, problemIDs[i]);
+          preparedStatement.addBatch();
+        }
+
+        int[] counts = preparedStatement.executeBatch();
+        for (int i = 0; i < counts.length; i++) {
+          result[i] = counts[i] > 0;
+        }
+        endBatch(connection, autoCommit);
+      } catch (SQLException e) {
+        abortBatch(connection, autoCommit);
+        throw e;
+      }
+    } catch (SQLException e) {
+      String errorMessage = "Failed to insert a batch of problem tags into the database.";
+      throw new DatabaseInsertException(errorMessage);
+    }
+
+    return result;
+  }
+
+  /**
+   * Gives each of the given tags an id in the TAGS table, unless it already has one.
+   * @param tags The tags to add.
+   * @param connection The connection to the database file.
+   * @throws SQLException Thrown if the tags could not be added.
+   */
+  private static void insertTagNames(String[] tags, Connection connection) throws SQLException {
+    String sql = "INSERT OR IGNORE INTO TAGS(TAG) VALUES (?)";
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+      for (String tag : tags) {
+        preparedStatement.setString(1, tag);
+        preparedStatement.addBatch();
+      }
+      preparedStatement.executeBatch();
+    }
+  }
+
+  /**
+   * Inserts many students into the database in a single transaction. Each student is given the
+   * initial attempt count of every existing problem set, as insertStudent does.
+   * @param studentNumbers The unique ID of each student, as determined by the user.
+   * @param names The name of each student. Corresponds with studentNumbers by index.
+   * @param emails The email of each student. Corresponds with studentNumbers by index.
+   * @param passwords The password of each student. Corresponds with studentNumbers by index.
+   * @param connection The connection to the database file.
+   * @return True if all of the students were added.
+   * @throws DatabaseInsertException Thrown if the students could not be added to the database.
+   *                                 None of the students are added in that case.
+   */
+  protected static boolean insertStudents(int[] studentNumbers, String[] names, String[] emails,
+      String[] passwords, Connection connection) throws DatabaseInsertException {
+    String sql = "INSERT INTO STUDENTS(STUDENTNUMBER, NAME, EMAIL, PASSWORD) VALUES(?,?,?,?)";
+    String attemptCountSql = "INSERT INTO ATTEMPTSREMAINING(STUDENTNUMBER, PROBLEMSET, "
+        + "ATTEMPTSREMAINING) SELECT ?, ID, MAXATTEMPTS FROM PROBLEMSETS";
+
+    try {
+      boolean autoCommit = beginBatch(connection);
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql);
+          PreparedStatement attemptCountStatement = connection.prepareStatement(
+              attemptCountSql)) {
+        for (int i = 0; i < studentNumbers.length; i++) {
+          preparedStatement.setInt(1, studentNumbers[i]);
+          preparedStatement.setString(2, names[i]);
+          preparedStatement.setString(3, emails[i]);
+          preparedStatement.setString(4, passwords[i]);
+          preparedStatement.addBatch();
+
+          attemptCountStatement.setInt(1, studentNumbers[i]);
+          attemptCountStatement.addBatch();
+        }
+
+        preparedStatement.executeBatch();
+        attemptCountStatement.executeBatch();
+        endBatch(connection, autoCommit);
+      } catch (SQLException e) {
+        abortBatch(connection, autoCommit);
+        throw e;
+      }
+    } catch (SQLException e) {
+      String errorMessage = "Failed to insert a batch of students into the database.";
+      throw new DatabaseInsertException(errorMessage);
+    }
+
+    return true;
+  }
+
+  /**
+   * Keeps a record of many student attempts in a single transaction.
+   * @param studentNumbers The unique ID of the student of each attempt.
+   * @param problemSetKeys The unique ID of the problem set of each attempt.
+   * @param times The time of each attempt in seconds from the epoch.
+   * @param problems The unique IDs of the problems answered in each attempt.
+   * @param answers The student's answers of each attempt. Each array corresponds directly with
+   *                the problems of the attempt by index.
+   * @param connection The connection to the database file.
+   * @return True if all of the attempts were stored in the database.
+   * @throws DatabaseInsertException Thrown if the attempts could not be stored in the database.
+   *                                 None of the attempts are stored in that case.
+   */
+  protected static boolean insertStudentsAttempts(int[] studentNumbers, int[] problemSetKeys,
+      long[] times, int[][] problems, String[][] answers, Connection connection)
+      throws DatabaseInsertException {
+    String sql = "INSERT INTO PREVIOUSATTEMPTS(STUDENTNUMBER, PROBLEMSET, TIME, PROBLEM, "
+        + "STUDENTANSWER) VALUES(?,?,?,?,?)";
+
+    try {
+      boolean autoCommit = beginBatch(connection);
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        for (int i = 0; i < studentNumbers.length; i++) {
+          preparedStatement.setInt(1, studentNumbers[i]);
+          preparedStatement.setInt(2, problemSetKeys[i]);
+          preparedStatement.setLong(3, times[i]);
+
+          for (int j = 0; j < problems[i].length; j++) {
+            preparedStatement.setInt(4, problems[i][j]);
+            preparedStatement.setString(5, answers[i][j]);
+            preparedStatement.addBatch();
+          }
+        }
+
+        preparedStatement.executeBatch();
+        endBatch(connection, autoCommit);
+      } catch (SQLException e) {
+        abortBatch(connection, autoCommit);
+        throw e;
+      }
+    } catch (SQLException e) {
+      String errorMessage = "Failed to insert a batch of student attempts.";
+      throw new DatabaseInsertException(errorMessage);
+    }
+
+    return true;
+  }
+
   /**
    * For each student, gives them the initial attempt count for the given problem set.
    * @param problemSetKey The unique key of the problem set.
@@ -439,4 +745,45 @@ public class DatabaseInserter {
     return result;
   }
 
+  /**
+   * Starts a transaction for a batch insert, unless the caller already has one open.
+   * @param connection The connection to the database file.
+   * @return The auto commit mode of the connection before the batch.
+   * @throws SQLException Thrown if the auto commit mode could not be changed.
+   */
+  private static boolean beginBatch(Connection connection) throws SQLException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    return autoCommit;
+  }
+
+  /**
+   * Commits the transaction of a batch insert if beginBatch started it.
+   * @param connection The connection to the database file.
+   * @param autoCommit The auto commit mode returned by beginBatch.
+   * @throws SQLException Thrown if the transaction could not be committed.
+   */
+  private static void endBatch(Connection connection, boolean autoCommit) throws SQLException {
+    if (autoCommit) {
+      connection.commit();
+      connection.setAutoCommit(true);
+    }
+  }
+
+  /**
+   * Rolls back the transaction of a failed batch insert if beginBatch started it.
+   * @param connection The connection to the database file.
+   * @param autoCommit The auto commit mode returned by beginBatch.
+   */
+  private static void abortBatch(Connection connection, boolean autoCommit) {
+    if (autoCommit) {
+      try {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      } catch (SQLException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
 }
@@ -36,6 +36,49 @@ public class DatabaseSelector {
     return results;
   }
   
+  /**
+   * Gets the ID of every problem, without any of the problems columns.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing one column, the ID of each problem.
+   * @throws DatabaseSelectException Thrown if the IDs could not be retrieved from the database.
+   */
+  protected static ResultSet getProblemIds(Connection connection) throws DatabaseSelectException {
+    String sql = "SELECT ID FROM PROBLEMS";
+    ResultSet results = null;
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem IDs from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets the ID of every problem set, without any of the problem sets columns.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing one column, the ID of each problem set.
+   * @throws DatabaseSelectException Thrown if the IDs could not be retrieved from the database.
+   */
+  protected static ResultSet getProblemSetIds(Connection connection)
+      throws DatabaseSelectException {
+    String sql = "SELECT ID FROM PROBLEMSETS";
+    ResultSet results = null;
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem set IDs from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
   /**
    * Gets a problem from the database.
    * @param problemKey The unique key of the question in the database.
@@ -62,6 +105,38 @@ public class DatabaseSelector {
     return results;
   }
   
+  /**
+   * Gets a batch of problems from the database along with the instructor who created each of them.
+   * @param problemKeys The unique keys of the questions in the database. Should not contain more
+   *                    than 999 keys, the limit of parameters in a single SQLite statement.
+   * @param connection The connection to the database.
+   * @return A ResultSet containing the columns ID, TYPE, QUESTION, ANSWER and INSTRUCTOR for each
+   *         problem found, in no particular order; null if there was an uncaught error.
+   * @throws DatabaseSelectException Thrown if the questions could not be retrieved from the
+   *                                 database.
+   */
+  protected static ResultSet getProblems(int[] problemKeys, Connection connection)
+      throws DatabaseSelectException {
+    
+    String sql = "SELECT P.ID, P.TYPE, P.QUESTION, P.ANSWER, R.INSTRUCTOR FROM PROBLEMS P "
+        + "LEFT JOIN INSTRUCTORS_PROBLEMS_RELATIONSHIP R ON R.PROBLEM = P.ID WHERE P.ID IN ("
+        + createParameterList(problemKeys.length) + ")";
+    ResultSet results = null;
+    
+    try {
+      PreparedStatement preparedStatement = connection.prepareStatement(sql);
+      for (int i = 0; i < problemKeys.length; i++) {
+        preparedStatement.setInt(i + 1, problemKeys[i]);
+      }
+      results = preparedStatement.executeQuery();
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the batch of problems from database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
   /**
    * Returns a student from the database.
    * @param studentNumber The unique number associated with the student.
@@ -490,7 +565,7 @@ public class DatabaseSelector {
    * Returns a result set containing all of the tags associated with the given problem.
    * @param problemID The unique ID of the problem.
    * @param connection The connection to the database file.
-   * @return A result set containing one column, consisting of the problems tags as Strings.
+   * @return A result set containing one column, consisting of the ids of the problems tags.
    * @throws DatabaseSelectException Thrown if the tags could not be retrieved.
    */
   protected static ResultSet getProblemTags(int problemID, Connection connection) throws
@@ -514,11 +589,40 @@ public class DatabaseSelector {
     return results;
   }
   
+  /**
+   * Returns a result set containing all of the tags associated with any of the given problems.
+   * @param problemKeys The unique IDs of the problems. Should not contain more than 999 keys.
+   * @param connection The connection to the database file.
+   * @return A result set containing the columns PROBLEM and the TAG id for every tag of the
+   *         problems.
+   * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+   */
+  protected static ResultSet getProblemTags(int[] problemKeys, Connection connection) throws
+      DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT PROBLEM, TAG FROM PROBLEMTAGS WHERE PROBLEM IN ("
+        + createParameterList(problemKeys.length) + ")";
+    
+    try {
+      PreparedStatement preparedStatement = connection.prepareStatement(sql);
+      for (int i = 0; i < problemKeys.length; i++) {
+        preparedStatement.setInt(i + 1, problemKeys[i]);
+      }
+      results = preparedStatement.executeQuery();
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the tags of the batch of problems.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
   /**
    * Returns all of the tags associate with the given problem set.
    * @param problemSetID The unique ID of the problem set.
    * @param connection The connection to the database file.
-   * @return A results set containing one column composed of the tags as Strings.
+   * @return A results set containing one column composed of the ids of the tags.
    * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
    */
   protected static ResultSet getProblemSetTags(int problemSetID, Connection connection) throws
@@ -544,13 +648,13 @@ public class DatabaseSelector {
 
   /**
    * Returns the ID's of the problems with the given tag as a result set.
-   * @param tag The tag that we want to use to find problems.
+   * @param tagID The id of the tag that we want to use to find problems.
    * @param connection The connection to the database file.
    * @return A result set containing one column of integers where the integers are the problem IDs.
    * @throws DatabaseSelectException Thrown if the problems with the given tag could not be
    *                                 retrieved from the database.
    */
-  protected static ResultSet getProblemsWithTag(String tag, Connection connection) throws
+  protected static ResultSet getProblemsWithTag(int tagID, Connection connection) throws
       DatabaseSelectException {
     
     ResultSet results = null;
@@ -559,7 +663,7 @@ public class DatabaseSelector {
     try {
       PreparedStatement preparedStatement = connection.prepareStatement(sql);
       
-      preparedStatement.setString(1, tag);
+      preparedStatement.setInt(1, tagID);
       
       results = preparedStatement.executeQuery();
     } catch (SQLException e) {
@@ -572,14 +676,14 @@ public class DatabaseSelector {
 
   /**
    * Returns the ID's of the problem sets with the given tag as a result set.
-   * @param tag The tag that we want to use to find problem sets.
+   * @param tagID The id of the tag that we want to use to find problem sets.
    * @param connection The connection to the database file.
    * @return A result set containing one column of integers where the integers are the problem set
    *         IDs.
    * @throws DatabaseSelectException Thrown if the problem set's with the given tag could not be
    *                                 retrieved from the database.
    */
-  protected static ResultSet getProblemSetsWithTag(String tag, Connection connection) throws
+  protected static ResultSet getProblemSetsWithTag(int tagID, Connection connection) throws
       DatabaseSelectException {
     
     ResultSet results = null;
@@ -588,7 +692,7 @@ public class DatabaseSelector {
     try {
       PreparedStatement preparedStatement = connection.prepareStatement(sql);
       
-      preparedStatement.setString(1, tag);
+      preparedStatement.setInt(1, tagID);
       
       results = preparedStatement.executeQuery();
     } catch (SQLException e) {
@@ -611,7 +715,7 @@ public class DatabaseSelector {
       throws DatabaseSelectException {
     
     ResultSet allTags = null;
-    String sql = "SELECT TAG FROM PROBLEMTAGS";
+    String sql = "SELECT TAG FROM TAGS WHERE ID IN (SELECT TAG FROM PROBLEMTAGS) ORDER BY ID";
     
     List<String> results = new ArrayList<String>();
     
@@ -620,10 +724,9 @@ public class DatabaseSelector {
       allTags = statement.executeQuery(sql);
       
       while (allTags.next()) {
-        if (!(results.contains(allTags.getString(1)))) {
-          results.add(allTags.getString(1));
-        }
+        results.add(allTags.getString(1));
       }
+      statement.close();
     } catch (SQLException e) {
       results.clear();
       String errorMessage = "Failed to get the collection of problems and tags from the database.";
@@ -645,7 +748,7 @@ public class DatabaseSelector {
       throws DatabaseSelectException {
     
     ResultSet allTags = null;
-    String sql = "SELECT TAG FROM PROBLEMSETTAGS";
+    String sql = "SELECT TAG FROM TAGS WHERE ID IN (SELECT TAG FROM PROBLEMSETTAGS) ORDER BY ID";
     
     List<String> results = new ArrayList<String>();
     
@@ -654,10 +757,9 @@ public class DatabaseSelector {
       allTags = statement.executeQuery(sql);
       
       while (allTags.next()) {
-        if (!(results.contains(allTags.getString(1)))) {
-          results.add(allTags.getString(1));
-        }
+        results.add(allTags.getString(1));
       }
+      statement.close();
     } catch (SQLException e) {
       String errorMessage = "Failed to get the collection of problems sets and tags.";
       throw new DatabaseSelectException(errorMessage);
@@ -665,5 +767,226 @@ public class DatabaseSelector {
     
     return results;
   }
+  
+  /**
+   * Gets the summary of every problem set in the database, without any of their problems.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns ID, MAXATTEMPTS, STARTTIME, ENDTIME and the number
+   *         of problems for every problem set; null if there was an uncaught error.
+   * @throws DatabaseSelectException Thrown if the summaries could not be retrieved from the
+   *                                 database.
+   */
+  protected static ResultSet getProblemSetSummaries(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT PS.ID, PS.MAXATTEMPTS, PS.STARTTIME, PS.ENDTIME, COUNT(R.PROBLEM) "
+        + "FROM PROBLEMSETS PS LEFT JOIN PROBLEMSETS_PROBLEMS_RELATIONSHIP R "
+        + "ON R.PROBLEMSET = PS.ID GROUP BY PS.ID";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem set summaries from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets the summary of every problem in the database, with the question cut to the given length.
+   * @param questionLength The maximum amount of characters of each question to retrieve.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns ID and the truncated QUESTION for every problem;
+   *         null if there was an uncaught error.
+   * @throws DatabaseSelectException Thrown if the summaries could not be retrieved from the
+   *                                 database.
+   */
+  protected static ResultSet getProblemSummaries(int questionLength, Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT ID, SUBSTR(QUESTION, 1, ?) FROM PROBLEMS";
+    
+    try {
+      PreparedStatement preparedStatement = connection.prepareStatement(sql);
+      preparedStatement.setInt(1, questionLength);
+      results = preparedStatement.executeQuery();
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem summaries from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets every tag in the database with its id. Tags are never removed from TAGS, so an id always
+   * refers to the same tag.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns ID and TAG.
+   * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+   */
+  protected static ResultSet getTags(Connection connection) throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT ID, TAG FROM TAGS";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the tags from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets the MinHash signature of the question of every problem.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns ID, QUESTION and SIGNATURE of each problem. The
+   *         SIGNATURE is null for a problem that was not signed yet.
+   * @throws DatabaseSelectException Thrown if the signatures could not be retrieved from the
+   *                                 database.
+   */
+  protected static ResultSet getProblemSignatures(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT P.ID, P.QUESTION, S.SIGNATURE FROM PROBLEMS P "
+        + "LEFT JOIN PROBLEMSIGNATURES S ON S.PROBLEM = P.ID";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem signatures from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets every problem and tag pair in the database.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns PROBLEM and the TAG id.
+   * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+   */
+  protected static ResultSet getAllProblemTagPairs(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT PROBLEM, TAG FROM PROBLEMTAGS";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem tags from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets every problem set and tag pair in the database.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns PROBLEMSET and the TAG id.
+   * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+   */
+  protected static ResultSet getAllProblemSetTagPairs(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT PROBLEMSET, TAG FROM PROBLEMSETTAGS";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the problem set tags from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets every answer of every attempt with the expected answer of its problem, grouped by attempt.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns STUDENTNUMBER, student NAME, PROBLEMSET, TIME,
+   *         STUDENTANSWER and the expected ANSWER, ordered by student number, problem set and time
+   *         so that the answers of an attempt are next to each other. The name is null if the
+   *         student no longer exists and the expected answer is null if the problem no longer
+   *         exists, so that such answers are still counted as incorrect.
+   * @throws DatabaseSelectException Thrown if the answers could not be retrieved from the database.
+   */
+  protected static ResultSet getGradedAnswers(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT A.STUDENTNUMBER, S.NAME, A.PROBLEMSET, A.TIME, A.STUDENTANSWER, P.ANSWER "
+        + "FROM PREVIOUSATTEMPTS A LEFT JOIN PROBLEMS P ON P.ID = A.PROBLEM "
+        + "LEFT JOIN STUDENTS S ON S.STUDENTNUMBER = A.STUDENTNUMBER "
+        + "ORDER BY A.STUDENTNUMBER, A.PROBLEMSET, A.TIME";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the answers of the attempts from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Gets every answer of every attempt with the expected answer of its problem, grouped by problem.
+   * @param connection The connection to the database file.
+   * @return A ResultSet containing the columns PROBLEM, STUDENTANSWER and the expected ANSWER,
+   *         ordered by problem. The expected answer is null if the problem no longer exists.
+   * @throws DatabaseSelectException Thrown if the answers could not be retrieved from the database.
+   */
+  protected static ResultSet getGradedAnswersByProblem(Connection connection)
+      throws DatabaseSelectException {
+    
+    ResultSet results = null;
+    String sql = "SELECT A.PROBLEM, A.STUDENTANSWER, P.ANSWER "
+        + "FROM PREVIOUSATTEMPTS A LEFT JOIN PROBLEMS P ON P.ID = A.PROBLEM ORDER BY A.PROBLEM";
+    
+    try {
+      Statement statement = connection.createStatement();
+      results = statement.executeQuery(sql);
+    } catch (SQLException e) {
+      String errorMessage = "Failed to get the answers of the problems from the database.";
+      throw new DatabaseSelectException(errorMessage);
+    }
+    
+    return results;
+  }
+  
+  /**
+   * Creates a comma separated list of parameter markers to be used in an IN clause.
+   * @param count The amount of parameters in the list.
+   * @return A string of the form "?,?,?" with the given amount of markers.
+   */
+  private static String createParameterList(int count) {
+    StringBuilder parameters = new StringBuilder(count * 2);
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        parameters.append(',');
+      }
+      parameters.append('?');
+    }
+    
+    return parameters.toString();
+  }
 
 }
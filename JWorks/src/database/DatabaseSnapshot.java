@@ -0,0 +1,498 @@
+package database;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes every row of every table to a snapshot file, and replaces the contents of the database
+ * with a snapshot. Used to move a course to another machine or to reset a test database.
+ *
+ * A snapshot starts with "JWSNAP" and the format version. Each table follows with its name and
+ * columns, then its rows in blocks of up to BLOCK_ROWS rows. A block is its length in bytes, its
+ * row count and then all values of one column after another. Integer columns are stored as the
+ * difference to the value in the row before, as variable length numbers, so ids and times that
+ * increase take one or two bytes, and tags, which are stored by their id, take one or two bytes as
+ * well. Text is stored as UTF-8. An empty block ends a table and an empty table name ends the file.
+ */
+class DatabaseSnapshot {
+
+  /**
+   * The version of the snapshot format. Snapshots of other versions can not be imported.
+   */
+  static final int VERSION = 2;
+
+  /**
+   * The maximum amount of rows in a block, which is also the size of an insert batch.
+   */
+  static final int BLOCK_ROWS = 4096;
+
+  private static final byte[] MAGIC = "JWSNAP".getBytes(StandardCharsets.US_ASCII);
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private static final int INTEGER = 1;
+  private static final int TEXT = 2;
+
+  private DatabaseSnapshot() {
+  }
+
+  /**
+   * Writes every table of the database to a snapshot. The tables are read in one transaction, so
+   * the snapshot is consistent.
+   * @param connection The connection to the database file.
+   * @param file The snapshot file to write, replaced if it exists.
+   * @return The number of rows written.
+   * @throws IOException Thrown if the file could not be written.
+   * @throws SQLException Thrown if the tables could not be read.
+   */
+  static long write(Connection connection, Path file) throws IOException, SQLException {
+    long rows = 0;
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      SnapshotWriter out = new SnapshotWriter(channel);
+      out.buffer.write(MAGIC, 0, MAGIC.length);
+      out.buffer.writeVarLong(VERSION);
+
+      for (String table : getTables(connection)) {
+        rows += writeTable(connection, table, out);
+      }
+
+      out.buffer.writeString("");
+      out.flush();
+    } finally {
+      // end the read transaction, unless the caller has one open
+      if (autoCommit) {
+        connection.commit();
+        connection.setAutoCommit(true);
+      }
+    }
+
+    return rows;
+  }
+
+  /**
+   * Replaces every row of the database with the rows of a snapshot, in a single transaction. If
+   * the import fails, the database is left as it was. Indexes are dropped while the rows are
+   * inserted and created again once they are all in.
+   * @param connection The connection to the database file.
+   * @param file The snapshot file to read.
+   * @return The number of rows imported.
+   * @throws IOException Thrown if the file could not be read, or is not a snapshot of a database
+   *                     with the same tables.
+   * @throws SQLException Thrown if the rows could not be inserted.
+   */
+  static long read(Connection connection, Path file) throws IOException, SQLException {
+    long rows = 0;
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Snapshots over 2 GB can not be imported.");
+      }
+      MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      readHeader(in);
+
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("PRAGMA defer_foreign_keys = ON");
+        List<String> indexes = dropIndexes(statement);
+
+        List<String> tables = getTables(connection);
+        for (int i = tables.size() - 1; i >= 0; i--) {
+          statement.executeUpdate("DELETE FROM " + tables.get(i));
+        }
+
+        for (String table = readString(in); table != null && !table.isEmpty();
+            table = readString(in)) {
+          if (!tables.contains(table)) {
+            throw new IOException("The database has no table " + table + ".");
+          }
+          rows += readTable(connection, table, in);
+        }
+
+        for (String index : indexes) {
+          statement.execute(index);
+        }
+        if (autoCommit) {
+          connection.commit();
+        }
+      } catch (IOException | SQLException | RuntimeException e) {
+        if (autoCommit) {
+          connection.rollback();
+        }
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    }
+
+    return rows;
+  }
+
+  /**
+   * Gets the names of the tables of the database, in the order they were created.
+   * @param connection The connection to the database file.
+   * @return The table names, tables that others refer to first.
+   * @throws SQLException Thrown if the tables could not be listed.
+   */
+  private static List<String> getTables(Connection connection) throws SQLException {
+    List<String> tables = new ArrayList<String>();
+    String sql = "SELECT NAME FROM SQLITE_MASTER WHERE TYPE = 'table' "
+        + "AND NAME NOT LIKE 'sqlite_%' ORDER BY ROWID";
+
+    try (Statement statement = connection.createStatement();
+        ResultSet results = statement.executeQuery(sql)) {
+      while (results.next()) {
+        tables.add(results.getString(1));
+      }
+    }
+
+    return tables;
+  }
+
+  /**
+   * Gets the columns of a table and how each of them is stored in a snapshot.
+   * @param connection The connection to the database file.
+   * @param table The name of the table.
+   * @param names Receives the names of the columns.
+   * @return The encoding of each column, in the same order as the names.
+   * @throws SQLException Thrown if the columns could not be read.
+   */
+  private static int[] getColumns(Connection connection, String table, List<String> names)
+      throws SQLException {
+    List<Integer> kinds = new ArrayList<Integer>();
+
+    try (Statement statement = connection.createStatement();
+        ResultSet results = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+      while (results.next()) {
+        String name = results.getString(2);
+        String type = results.getString(3).toUpperCase();
+        names.add(name);
+        if (type.contains("INT")) {
+          kinds.add(INTEGER);
+        } else {
+          kinds.add(TEXT);
+        }
+      }
+    }
+
+    int[] columnKinds = new int[kinds.size()];
+    for (int i = 0; i < columnKinds.length; i++) {
+      columnKinds[i] = kinds.get(i);
+    }
+    return columnKinds;
+  }
+
+  /**
+   * Drops every index that was created with SQL, so rows can be inserted without updating them.
+   * @param statement A statement on the connection to the database file.
+   * @return The statements that create the dropped indexes again.
+   * @throws SQLException Thrown if the indexes could not be dropped.
+   */
+  private static List<String> dropIndexes(Statement statement) throws SQLException {
+    List<String> names = new ArrayList<String>();
+    List<String> indexes = new ArrayList<String>();
+
+    try (ResultSet results = statement.executeQuery("SELECT NAME, SQL FROM SQLITE_MASTER "
+        + "WHERE TYPE = 'index' AND SQL IS NOT NULL")) {
+      while (results.next()) {
+        names.add(results.getString(1));
+        indexes.add(results.getString(2));
+      }
+    }
+
+    for (String name : names) {
+      statement.execute("DROP INDEX \"" + name + "\"");
+    }
+    return indexes;
+  }
+
+  private static long writeTable(Connection connection, String table, SnapshotWriter out)
+      throws IOException, SQLException {
+    List<String> names = new ArrayList<String>();
+    int[] kinds = getColumns(connection, table, names);
+
+    out.buffer.writeString(table);
+    out.buffer.writeVarLong(kinds.length);
+    for (int i = 0; i < kinds.length; i++) {
+      out.buffer.writeString(names.get(i));
+      out.buffer.writeVarLong(kinds[i]);
+    }
+
+    long[][] numbers = new long[kinds.length][];
+    String[][] texts = new String[kinds.length][];
+    for (int i = 0; i < kinds.length; i++) {
+      if (kinds[i] == INTEGER) {
+        numbers[i] = new long[BLOCK_ROWS];
+      } else {
+        texts[i] = new String[BLOCK_ROWS];
+      }
+    }
+
+    long rows = 0;
+    String sql = "SELECT " + String.join(", ", names) + " FROM " + table + " ORDER BY ROWID";
+    try (Statement statement = connection.createStatement();
+        ResultSet results = statement.executeQuery(sql)) {
+      int blockRows = 0;
+      while (results.next()) {
+        for (int i = 0; i < kinds.length; i++) {
+          if (kinds[i] == INTEGER) {
+            numbers[i][blockRows] = results.getLong(i + 1);
+          } else {
+            texts[i][blockRows] = results.getString(i + 1);
+          }
+        }
+
+        blockRows++;
+        if (blockRows == BLOCK_ROWS) {
+          out.writeBlock(kinds, numbers, texts, blockRows);
+          rows += blockRows;
+          blockRows = 0;
+        }
+      }
+
+      if (blockRows > 0) {
+        out.writeBlock(kinds, numbers, texts, blockRows);
+        rows += blockRows;
+      }
+    }
+
+    // an empty block ends the table
+    out.buffer.writeVarLong(0);
+    return rows;
+  }
+
+  private static long readTable(Connection connection, String table, ByteBuffer in)
+      throws IOException, SQLException {
+    List<String> names = new ArrayList<String>();
+    int[] kinds = getColumns(connection, table, names);
+
+    int columns = (int) readVarLong(in);
+    List<String> snapshotNames = new ArrayList<String>();
+    int[] snapshotKinds = new int[columns];
+    for (int i = 0; i < columns; i++) {
+      snapshotNames.add(readString(in));
+      snapshotKinds[i] = (int) readVarLong(in);
+    }
+    if (!names.equals(snapshotNames) || !Arrays.equals(kinds, snapshotKinds)) {
+      throw new IOException("The columns of " + table + " in the snapshot are " + snapshotNames
+          + " but the database has " + names + ".");
+    }
+
+    long[][] numbers = new long[columns][];
+    String[][] texts = new String[columns][];
+    for (int i = 0; i < columns; i++) {
+      if (kinds[i] == INTEGER) {
+        numbers[i] = new long[BLOCK_ROWS];
+      } else {
+        texts[i] = new String[BLOCK_ROWS];
+      }
+    }
+
+    long rows = 0;
+    String sql = "INSERT INTO " + table + "(" + String.join(", ", names) + ") VALUES("
+        + String.join(",", Collections.nCopies(columns, "?")) + ")";
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+      for (int length = (int) readVarLong(in); length > 0; length = (int) readVarLong(in)) {
+        int end = in.position() + length;
+        int blockRows = (int) readVarLong(in);
+        if (blockRows > BLOCK_ROWS) {
+          throw new IOException("The snapshot has a block of " + blockRows + " rows.");
+        }
+
+        for (int i = 0; i < columns; i++) {
+          readColumn(in, kinds[i], numbers[i], texts[i], blockRows);
+        }
+        if (in.position() != end) {
+          throw new IOException("The snapshot is corrupt, a block of " + table
+              + " does not have the expected length.");
+        }
+
+        for (int row = 0; row < blockRows; row++) {
+          for (int i = 0; i < columns; i++) {
+            if (kinds[i] == INTEGER) {
+              preparedStatement.setLong(i + 1, numbers[i][row]);
+            } else {
+              preparedStatement.setString(i + 1, texts[i][row]);
+            }
+          }
+          preparedStatement.addBatch();
+        }
+        preparedStatement.executeBatch();
+        rows += blockRows;
+      }
+    }
+
+    return rows;
+  }
+
+  private static void readColumn(ByteBuffer in, int kind, long[] numbers, String[] texts,
+      int rows) throws IOException {
+    long previous = 0;
+    for (int row = 0; row < rows; row++) {
+      if (kind == INTEGER) {
+        previous += readVarLong(in);
+        numbers[row] = previous;
+      } else {
+        texts[row] = readString(in);
+      }
+    }
+  }
+
+  private static void readHeader(ByteBuffer in) throws IOException {
+    byte[] magic = new byte[MAGIC.length];
+    try {
+      in.get(magic);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("The file is not a JWorks snapshot.");
+    }
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("The file is not a JWorks snapshot.");
+    }
+
+    long version = readVarLong(in);
+    if (version != VERSION) {
+      throw new IOException("Snapshot version " + version + " can not be imported, expected "
+          + VERSION + ".");
+    }
+  }
+
+  private static String readString(ByteBuffer in) throws IOException {
+    int length = (int) readVarLong(in) - 1;
+    if (length < 0) {
+      return null;
+    }
+    if (length > in.remaining()) {
+      throw new IOException("The snapshot ends in the middle of a value.");
+    }
+
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long readVarLong(ByteBuffer in) throws IOException {
+    long bits = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      if (!in.hasRemaining()) {
+        throw new IOException("The snapshot ends in the middle of a value.");
+      }
+      int b = in.get();
+      bits |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (bits >>> 1) ^ -(bits & 1);
+      }
+    }
+    throw new IOException("The snapshot has a malformed number.");
+  }
+
+  /**
+   * A growable byte array with the encodings of the snapshot.
+   */
+  private static class Bytes {
+    private byte[] bytes = new byte[1 << 16];
+    private int size;
+
+    void write(byte[] source, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(source, offset, bytes, size, length);
+      size += length;
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      // zigzag, so that negative differences stay small
+      long bits = (value << 1) ^ (value >> 63);
+      while ((bits & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((bits & 0x7F) | 0x80);
+        bits >>>= 7;
+      }
+      bytes[size++] = (byte) bits;
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        writeVarLong(0);
+        return;
+      }
+
+      byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(encoded.length + 1);
+      write(encoded, 0, encoded.length);
+    }
+
+    private void ensureCapacity(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+  }
+
+  /**
+   * Encodes blocks and writes them to the file channel through a direct buffer.
+   */
+  private static class SnapshotWriter {
+    private final FileChannel channel;
+    private final ByteBuffer direct = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Bytes buffer = new Bytes();
+    private final Bytes block = new Bytes();
+
+    SnapshotWriter(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    void writeBlock(int[] kinds, long[][] numbers, String[][] texts, int rows) throws IOException {
+      block.size = 0;
+      block.writeVarLong(rows);
+      for (int i = 0; i < kinds.length; i++) {
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+          if (kinds[i] == INTEGER) {
+            block.writeVarLong(numbers[i][row] - previous);
+            previous = numbers[i][row];
+          } else {
+            block.writeString(texts[i][row]);
+          }
+        }
+      }
+
+      buffer.writeVarLong(block.size);
+      buffer.write(block.bytes, 0, block.size);
+      if (buffer.size >= BUFFER_SIZE) {
+        flush();
+      }
+    }
+
+    void flush() throws IOException {
+      int offset = 0;
+      while (offset < buffer.size) {
+        int length = Math.min(direct.remaining(), buffer.size - offset);
+        direct.put(buffer.bytes, offset, length);
+        offset += length;
+        direct.flip();
+        while (direct.hasRemaining()) {
+          channel.write(direct);
+        }
+        direct.clear();
+      }
+      buffer.size = 0;
+    }
+  }
+}
@@ -185,8 +185,8 @@ public class DatabaseTester {
     @Test
     public void insertAndRetrieveProblem() {
         int questionType = 1;
-        String question = "1 + 1";
-        String answer = "2";
+        String question = "51 + 1";
+        String answer = "52";
 
         int instructorID = 3;
         String name = "Jim";
@@ -233,12 +233,12 @@ public class DatabaseTester {
     @Test
     public void insertAndRetrieveProblemSet() {
         int questionType = 1;
-        String questionOne = "1 + 1";
-        String answerOne = "2";
-        String questionTwo = "1 + 2";
-        String answerTwo = "3";
-        String questionThree = "2 + 2";
-        String answerThree = "4";
+        String questionOne = "61 + 1";
+        String answerOne = "62";
+        String questionTwo = "61 + 2";
+        String answerTwo = "63";
+        String questionThree = "62 + 2";
+        String answerThree = "64";
 
         int instructorID = 4;
         String name = "Jim";
@@ -318,8 +318,8 @@ public class DatabaseTester {
     @Test
     public void modifyAndRetrieveAttemptsRemainingProblemSetFirst() {
         int questionType = 1;
-        String questionOne = "1 + 1";
-        String answerOne = "2";
+        String questionOne = "71 + 1";
+        String answerOne = "72";
 
         int instructorID = 5;
         String nameInstructor = "Jim";
@@ -394,8 +394,8 @@ public class DatabaseTester {
     @Test
     public void modifyAndRetrieveAttemptsRemainingStudentFirst() {
         int questionType = 1;
-        String questionOne = "1 + 1";
-        String answerOne = "2";
+        String questionOne = "81 + 1";
+        String answerOne = "82";
 
         int instructorID = 6;
         String nameInstructor = "Jim";
@@ -469,12 +469,12 @@ public class DatabaseTester {
   @Test
   public void insertAndRetrievePreviousAttempt() {
       int questionType = 1;
-      String questionOne = "1 + 1";
-      String answerOne = "2";
-      String questionTwo = "1 + 2";
-      String answerTwo = "3";
-      String questionThree = "2 + 2";
-      String answerThree = "4";
+      String questionOne = "91 + 1";
+      String answerOne = "92";
+      String questionTwo = "91 + 2";
+      String answerTwo = "93";
+      String questionThree = "92 + 2";
+      String answerThree = "94";
 
       int instructorID = 7;
       String nameInstructor = "Jim";
@@ -567,12 +567,12 @@ public class DatabaseTester {
     @Test
     public void retrieveInstructorsProblems() {
         int questionType = 1;
-        String questionOne = "1 + 1";
-        String answerOne = "2";
-        String questionTwo = "1 + 2";
-        String answerTwo = "3";
-        String questionThree = "2 + 2";
-        String answerThree = "4";
+        String questionOne = "101 + 1";
+        String answerOne = "102";
+        String questionTwo = "101 + 2";
+        String answerTwo = "103";
+        String questionThree = "102 + 2";
+        String answerThree = "104";
 
         int instructorID = 8;
         String name = "Jim";
@@ -624,12 +624,12 @@ public class DatabaseTester {
     @Test
     public void retrieveInstructorsProblemSets() {
         int questionType = 1;
-        String questionOne = "1 + 1";
-        String answerOne = "2";
-        String questionTwo = "1 + 2";
-        String answerTwo = "3";
-        String questionThree = "2 + 2";
-        String answerThree = "4";
+        String questionOne = "111 + 1";
+        String answerOne = "112";
+        String questionTwo = "111 + 2";
+        String answerTwo = "113";
+        String questionThree = "112 + 2";
+        String answerThree = "114";
 
         int instructorID = 9;
         String name = "Jim";
@@ -698,4 +698,71 @@ public class DatabaseTester {
             fail();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a batch of problems is inserted with one key per problem, in order, and that the
+     * problems can be retrieved along with their creators.
+     */
+    @Test
+    public void insertAndRetrieveBatchOfProblems() {
+        String[] questions = {"122 + 2", "123 + 3"};
+        String[] answers = {"124", "126"};
+        int[] instructorIDs = {1, 1};
+
+        try {
+            int[] result = DatabaseInserter.insertProblems(1, questions, answers, instructorIDs,
+                    new boolean[questions.length], connection);
+
+            // Make sure that each problem was given its own key.
+            assertEquals(2, result.length);
+            assertTrue(result[0] > 0);
+            assertTrue(result[1] > result[0]);
+
+            ResultSet results = DatabaseSelector.getSingleProblem(result[1], connection);
+
+            // Make sure that the keys correspond to the problems in the order given.
+            assertEquals(questions[1], results.getString(3));
+            assertEquals(answers[1], results.getString(4));
+            assertEquals(instructorIDs[1], DatabaseSelector.getProblemCreator(result[1], connection));
+        } catch (DatabaseInsertException | DatabaseSelectException | SQLException e) {
+            fail();
+        }
+    }
+
+    /**
+     * Tests that a batch of students containing a duplicate student number is rejected as a whole,
+     * so that none of the students in the batch are inserted.
+     */
+    @Test
+    public void insertBatchOfStudentsDuplicate() {
+        int[] studentNumbers = {901, 902, 901};
+        String[] names = {"Jim", "Jane", "Jim"};
+        String[] emails = {"jim.mail", "jane.mail", "jim.mail"};
+        String[] passwords = {"SECRET", "SECRET", "SECRET"};
+
+        boolean actual = false;
+
+        try {
+            actual = DatabaseInserter.insertStudents(studentNumbers, names, emails, passwords,
+                    connection);
+        } catch (DatabaseInsertException e) {
+            // Make sure that we are getting the correct error message.
+            assertEquals("Failed to insert a batch of students into the database.", e.getMessage());
+        }
+
+        assertFalse(actual);
+
+        try {
+            ResultSet results = connection.createStatement().executeQuery(
+                    "SELECT COUNT(*) FROM STUDENTS WHERE STUDENTNUMBER IN (901, 902)");
+
+            // Make sure that the whole batch was rolled back.
+            results.next();
+            assertEquals(0, results.getInt(1));
+            assertTrue(connection.getAutoCommit());
+            results.getStatement().close();
+        } catch (SQLException e) {
+            fail();
+        }
+    }
+}
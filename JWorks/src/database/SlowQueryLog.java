@@ -0,0 +1,258 @@
+package database;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs the statements that take longer than a threshold to a rotating file, along with their
+ * bound parameters, the rows they returned or changed and SQLite's query plan. A query is checked
+ * once its results are read, since SQLite does most of the work of a query as its rows are stepped
+ * through. Parameters bound to password columns are never written.
+ */
+final class SlowQueryLog {
+
+  /**
+   * System property holding the threshold in milliseconds. A negative value turns the log off.
+   */
+  static final String THRESHOLD_PROPERTY = "jworks.slowquery.ms";
+
+  /**
+   * System property naming the log file. The current log ends in .0 and older logs in .1, .2 and
+   * so on.
+   */
+  static final String FILE_PROPERTY = "jworks.slowquery.file";
+
+  private static final long DEFAULT_THRESHOLD_MILLIS = 100;
+  private static final String DEFAULT_FILE = "jworks-slow-queries.log";
+  private static final int FILE_LIMIT_BYTES = 1024 * 1024;
+  private static final int FILE_COUNT = 5;
+  private static final int MAX_PARAMETER_LENGTH = 100;
+  private static final String REDACTED = "<redacted>";
+
+  // A column list followed by the values or tuple it is compared with, like (A, B) VALUES (?, ?)
+  private static final Pattern COLUMN_LIST = Pattern.compile(
+      "\\(([\\w\\s,]+)\\)\\s*(?:VALUES|=)\\s*\\(", Pattern.CASE_INSENSITIVE);
+  private static final Pattern COMPARISON = Pattern.compile(
+      "(\\w+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE\\b)\\s*\\?", Pattern.CASE_INSENSITIVE);
+  private static final Pattern IN_LIST = Pattern.compile("(\\w+)\\s+IN\\s*\\(",
+      Pattern.CASE_INSENSITIVE);
+
+  private static final long thresholdNanos = readThreshold();
+  private static final Map<String, boolean[]> redactionsBySql = new ConcurrentHashMap<>();
+  private static Logger logger;
+
+  private SlowQueryLog() {}
+
+  /**
+   * Returns whether or not slow statements are logged, so that parameters only need to be kept
+   * when they may be written.
+   * @return True if the log is on.
+   */
+  static boolean isEnabled() {
+    return thresholdNanos >= 0;
+  }
+
+  /**
+   * Logs the statement if it took at least as long as the threshold.
+   * @param connection The unmeasured connection, used to get the query plan.
+   * @param method The name of the database method that ran the statement.
+   * @param sql The SQL of the statement.
+   * @param parameters The parameters bound to the statement by index, starting at 1. May be null.
+   * @param query True if the statement returned results, false if it changed rows.
+   * @param rows The number of rows read from the results or changed by the statement.
+   * @param nanos The time spent on the statement, including the reading of its results.
+   */
+  static void logIfSlow(Connection connection, String method, String sql, Object[] parameters,
+      boolean query, long rows, long nanos) {
+    if (!isEnabled() || nanos < thresholdNanos || sql == null) {
+      return;
+    }
+
+    StringBuilder entry = new StringBuilder();
+    entry.append(String.format("%s %s took %.3f ms and %s %d rows%n", new Date(), method,
+        nanos / 1e6, query ? "returned" : "changed", rows));
+    entry.append("  SQL: ").append(sql).append(System.lineSeparator());
+    entry.append("  Parameters: ").append(formatParameters(sql, parameters))
+        .append(System.lineSeparator());
+    entry.append("  Plan:").append(System.lineSeparator());
+    for (String step : explain(connection, sql, parameters)) {
+      entry.append("    ").append(step).append(System.lineSeparator());
+    }
+
+    Logger slowQueryLogger = getLogger();
+    if (slowQueryLogger != null) {
+      slowQueryLogger.warning(entry.toString());
+    }
+  }
+
+  /**
+   * Formats the parameters for the log, replacing those bound to password columns.
+   * @param sql The SQL the parameters are bound to.
+   * @param parameters The parameters by index, starting at 1. May be null.
+   * @return The parameters as a list.
+   */
+  static String formatParameters(String sql, Object[] parameters) {
+    if (parameters == null) {
+      return "[]";
+    }
+
+    boolean[] redactions = redactionsBySql.computeIfAbsent(sql, SlowQueryLog::findRedactions);
+    List<String> formatted = new ArrayList<>();
+    for (int i = 1; i < parameters.length; i++) {
+      Object parameter = parameters[i];
+      // Batches can bind more parameters than the SQL has markers, so the last marker repeats.
+      int marker = Math.min(i - 1, redactions.length - 1);
+      if (marker >= 0 && redactions[marker]) {
+        formatted.add(REDACTED);
+      } else if (parameter instanceof String) {
+        String text = (String) parameter;
+        if (text.length() > MAX_PARAMETER_LENGTH) {
+          text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+        }
+        formatted.add("'" + text + "'");
+      } else {
+        formatted.add(String.valueOf(parameter));
+      }
+    }
+
+    return formatted.toString();
+  }
+
+  /**
+   * Works out which of the parameters of the SQL are bound to a password column. A parameter
+   * whose column can not be worked out is redacted if the SQL mentions a password at all.
+   * @param sql The SQL of a statement.
+   * @return Whether or not each parameter, in order, must be redacted.
+   */
+  static boolean[] findRedactions(String sql) {
+    List<Integer> markers = new ArrayList<>();
+    for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+      markers.add(i);
+    }
+
+    String[] columns = new String[markers.size()];
+
+    Matcher columnList = COLUMN_LIST.matcher(sql);
+    while (columnList.find()) {
+      String[] listed = columnList.group(1).split(",");
+      assignColumns(sql, markers, columns, columnList.end() - 1, listed);
+    }
+
+    Matcher inList = IN_LIST.matcher(sql);
+    while (inList.find()) {
+      assignColumns(sql, markers, columns, inList.end() - 1, new String[] {inList.group(1)});
+    }
+
+    Matcher comparison = COMPARISON.matcher(sql);
+    while (comparison.find()) {
+      int marker = markers.indexOf(comparison.end() - 1);
+      if (marker >= 0 && columns[marker] == null) {
+        columns[marker] = comparison.group(1);
+      }
+    }
+
+    boolean mentionsPassword = sql.toUpperCase().contains("PASSWORD");
+    boolean[] redactions = new boolean[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      redactions[i] = columns[i] == null ? mentionsPassword
+          : columns[i].trim().toUpperCase().contains("PASSWORD");
+    }
+
+    return redactions;
+  }
+
+  /**
+   * Gives the parameters inside the parenthesis opening at the given index the listed columns, in
+   * order. Later parameters all get the last column.
+   */
+  private static void assignColumns(String sql, List<Integer> markers, String[] columns,
+      int open, String[] listed) {
+    int close = sql.indexOf(')', open);
+    int column = 0;
+    for (int i = 0; i < markers.size(); i++) {
+      int marker = markers.get(i);
+      if (marker > open && (close < 0 || marker < close) && columns[i] == null) {
+        columns[i] = listed[Math.min(column++, listed.length - 1)];
+      }
+    }
+  }
+
+  /**
+   * Gets SQLite's plan for the statement with the same parameters bound.
+   * @return One line per step of the plan, indented by depth.
+   */
+  private static List<String> explain(Connection connection, String sql, Object[] parameters) {
+    List<String> steps = new ArrayList<>();
+    try (PreparedStatement explain = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+      int parameterCount = explain.getParameterMetaData().getParameterCount();
+      for (int i = 1; i <= parameterCount; i++) {
+        explain.setObject(i, parameters != null && i < parameters.length ? parameters[i] : null);
+      }
+
+      Map<Integer, Integer> depths = new HashMap<>();
+      try (ResultSet plan = explain.executeQuery()) {
+        while (plan.next()) {
+          // Rows are (id, parent, unused, detail); the parent gives the depth of the step.
+          int depth = depths.getOrDefault(plan.getInt(2), -1) + 1;
+          depths.put(plan.getInt(1), depth);
+          steps.add(new String(new char[depth * 2]).replace('\0', ' ') + plan.getString(4));
+        }
+      }
+    } catch (SQLException e) {
+      steps.add("unavailable: " + e.getMessage());
+    }
+
+    return steps;
+  }
+
+  private static synchronized Logger getLogger() {
+    if (logger == null) {
+      String file = System.getProperty(FILE_PROPERTY, DEFAULT_FILE);
+      try {
+        FileHandler handler = new FileHandler(file + ".%g", FILE_LIMIT_BYTES, FILE_COUNT, true);
+        handler.setFormatter(new Formatter() {
+          @Override
+          public String format(LogRecord record) {
+            return record.getMessage() + System.lineSeparator();
+          }
+        });
+
+        logger = Logger.getLogger(SlowQueryLog.class.getName());
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(handler);
+      } catch (IOException e) {
+        System.out.println("The slow query log " + file + " could not be opened.");
+        return null;
+      }
+    }
+
+    return logger;
+  }
+
+  private static long readThreshold() {
+    try {
+      long millis = Long.parseLong(System.getProperty(THRESHOLD_PROPERTY,
+          String.valueOf(DEFAULT_THRESHOLD_MILLIS)));
+      return millis < 0 ? -1 : millis * 1000000L;
+    } catch (NumberFormatException e) {
+      return DEFAULT_THRESHOLD_MILLIS * 1000000L;
+    }
+  }
+}
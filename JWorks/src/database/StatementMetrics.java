@@ -0,0 +1,155 @@
+package database;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.LatencyHistogram;
+import util.LatencyReport;
+
+/**
+ * Collects the call count, row count and latency of every SQL statement run through the
+ * database connection, grouped by the database method that ran it (for example
+ * DatabaseSelector.getProblems).
+ */
+public final class StatementMetrics {
+
+  /**
+   * System property naming a file the metrics are written to when the program exits.
+   */
+  public static final String DUMP_FILE_PROPERTY = "jworks.sqlmetrics.file";
+
+  /**
+   * System property that turns the metrics off when set to false.
+   */
+  public static final String ENABLED_PROPERTY = "jworks.sqlmetrics";
+
+  // One in this many statements re-checks the method its SQL was attributed to.
+  private static final int VERIFY_RATE = 256;
+  private static final String SHARED_SQL = "";
+
+  private static final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+  private static final Map<String, String> methodsBySql = new ConcurrentHashMap<>();
+  private static final AtomicBoolean dumpInstalled = new AtomicBoolean();
+
+  private StatementMetrics() {}
+
+  /**
+   * The totals of the statements run by a single method.
+   */
+  private static class Statistics {
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+  }
+
+  /**
+   * Returns whether or not statements should be measured.
+   * @return False iff the metrics were turned off with the system property.
+   */
+  static boolean isEnabled() {
+    return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+  }
+
+  /**
+   * Records a finished statement.
+   * @param method The name of the method that ran the statement.
+   * @param nanos The time spent running the statement and reading its results.
+   * @param rows The number of rows read or changed by the statement.
+   * @param failed True if the statement threw an exception.
+   */
+  static void record(String method, long nanos, long rows, boolean failed) {
+    Statistics methodStatistics = statistics.computeIfAbsent(method, key -> new Statistics());
+    methodStatistics.latency.record(nanos);
+    methodStatistics.rows.add(rows);
+    if (failed) {
+      methodStatistics.failures.increment();
+    }
+  }
+
+  /**
+   * Finds the name of the database method running the given SQL. The method is looked up from
+   * the stack the first time the SQL is seen and cached by SQL after that. Cached SQL is
+   * occasionally checked again, so SQL shared by several methods is always looked up.
+   * @param sql The SQL of the statement.
+   * @return The class and method name of the caller, such as DatabaseSelector.getProblems.
+   */
+  static String methodFor(String sql) {
+    String method = methodsBySql.get(sql);
+
+    if (method == null) {
+      method = findCaller();
+      methodsBySql.putIfAbsent(sql, method);
+    } else if (method == SHARED_SQL) {
+      method = findCaller();
+    } else if (ThreadLocalRandom.current().nextInt(VERIFY_RATE) == 0) {
+      String caller = findCaller();
+      if (!caller.equals(method)) {
+        methodsBySql.put(sql, SHARED_SQL);
+        method = caller;
+      }
+    }
+
+    return method;
+  }
+
+  private static String findCaller() {
+    for (StackTraceElement frame : new Throwable().getStackTrace()) {
+      String className = frame.getClassName();
+      if (!className.equals(StatementMetrics.class.getName())
+          && !className.startsWith(InstrumentedConnection.class.getName())
+          && !className.startsWith("java.") && !className.startsWith("jdk.")
+          && !className.startsWith("sun.")) {
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+      }
+    }
+
+    return "unknown";
+  }
+
+  /**
+   * Creates a report of every method that has run a statement so far.
+   * @return The report, with the method that spent the most time on statements first.
+   */
+  public static LatencyReport getReport() {
+    LatencyReport report = new LatencyReport("SQL statements by method");
+    for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+      Statistics methodStatistics = entry.getValue();
+      report.addRow(entry.getKey(), methodStatistics.failures.sum(), methodStatistics.rows.sum(),
+          methodStatistics.latency);
+    }
+
+    return report;
+  }
+
+  /**
+   * Forgets every statement recorded so far.
+   */
+  public static void reset() {
+    statistics.clear();
+  }
+
+  /**
+   * Writes the report to the file named by the dump system property when the program exits.
+   * Does nothing if the property is not set, or if this was already done.
+   */
+  static void dumpOnShutdown() {
+    final String file = System.getProperty(DUMP_FILE_PROPERTY);
+    if (file == null || !dumpInstalled.compareAndSet(false, true)) {
+      return;
+    }
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try (Writer writer = new FileWriter(file)) {
+        writer.write(getReport().toString());
+      } catch (IOException e) {
+        System.out.println("The SQL metrics could not be written to " + file + ".");
+      }
+    }, "sql-metrics-dump"));
+  }
+}
@@ -1,8 +1,15 @@
 package databaseAPI;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.SQLException;
+
 import database.DatabaseDriver;
+import database.StatementMetrics;
 import exceptions.ConnectionFailedException;
+import models.TagDictionary;
+import util.LatencyReport;
 
 public class DatabaseDriverAPI extends DatabaseDriver {
     public static Connection connectOrCreateDataBase() {
@@ -19,4 +26,46 @@ public class DatabaseDriverAPI extends DatabaseDriver {
         
         return connection;
     }
+
+    /**
+     * Returns the call counts, row counts and latencies of the SQL statements run so far, by database method.
+     * @return the statement metrics report
+     */
+    public static LatencyReport getStatementMetrics() {
+        return StatementMetrics.getReport();
+    }
+
+    /**
+     * Forgets the SQL statement metrics collected so far.
+     */
+    public static void resetStatementMetrics() {
+        StatementMetrics.reset();
+    }
+
+    /**
+     * Writes every row of every table to a snapshot file.
+     * @param file the snapshot file to write, replaced if it exists
+     * @return the number of rows written
+     * @throws IOException Thrown if the file could not be written
+     * @throws SQLException Thrown if the tables could not be read
+     */
+    public static long exportSnapshot(Path file) throws IOException, SQLException {
+        return DatabaseDriver.exportSnapshot(file);
+    }
+
+    /**
+     * Replaces every row of the database with the rows of a snapshot file.
+     * @param file the snapshot file to read
+     * @return the number of rows imported
+     * @throws IOException Thrown if the file could not be read or does not match the tables
+     * @throws SQLException Thrown if the rows could not be inserted
+     */
+    public static long importSnapshot(Path file) throws IOException, SQLException {
+        long rows = DatabaseDriver.importSnapshot(file);
+        // the snapshot may give the tags other ids, and has other problems and problem sets
+        TagDictionary.getShared().clearIds();
+        TagIndexes.clear();
+        SearchIndexes.clear();
+        return rows;
+    }
 }
@@ -1,18 +1,40 @@
 package databaseAPI;
 
 import database.DatabaseSelector;
+import events.HydrationEvent;
 import exceptions.DatabaseSelectException;
+import exceptions.ProblemLoadException;
 import models.*;
+import search.ProblemSearchIndex;
+import search.SimilarityIndex;
+import search.TagIndex;
+import search.TagTrie;
+import util.IntList;
+import util.IntObjectMap;
+import util.MinHash;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+
+public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI, ProblemLoader {
+    /**
+     * The maximum amount of problems requested from the database in a single statement.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * The amount of problems handed to a row consumer at once while all problems are loaded.
+     */
+    private static final int STREAM_CHUNK_SIZE = 250;
 
-public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
     private Connection connection;
     @Override
     public void actOnDatabase(){
@@ -150,7 +172,25 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
      */
     public List<Problem> actOnDatabase(List<Problem> allProblems) throws DatabaseSelectException,
             SQLException {
+        return getAllProblems(allProblems, null);
+    }
+
+    /**
+     * Gets all of the problems from the database and appends them to the given list, handing them
+     * to the given consumer in chunks while they are loaded. The list given will first be cleared
+     * of any problems already present.
+     * @param allProblems A list of problems.
+     * @param rows Receives copies of the problems loaded so far in chunks, may be null.
+     * @throws DatabaseSelectException Thrown if the result set could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public List<Problem> getAllProblems(List<Problem> allProblems, Consumer<List<Problem>> rows)
+            throws DatabaseSelectException, SQLException {
         this.actOnDatabase();
+        int streamed = 0;
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
         ResultSet problemsRaw = DatabaseSelector.getAllProblems(this.connection);
 
         allProblems.clear();
@@ -184,6 +224,10 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
                         // This is just in case in a future build we need to send the problems
                         // together to the output generator.
                         allProblems.add(problem);
+                        if (rows != null && allProblems.size() - streamed == STREAM_CHUNK_SIZE) {
+                            rows.accept(new ArrayList<>(allProblems.subList(streamed, allProblems.size())));
+                            streamed = allProblems.size();
+                        }
                         break;
                     default:
                         break;
@@ -192,8 +236,13 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
 
             // Close the result set to allow for modification of the data.
             problemsRaw.close();
+
+            if (rows != null && streamed < allProblems.size()) {
+                rows.accept(new ArrayList<>(allProblems.subList(streamed, allProblems.size())));
+            }
         }
 
+        commitHydration(event, "Problem", -1, allProblems.size());
         return allProblems;
     }
 
@@ -213,97 +262,218 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
             DatabaseSelectException, SQLException {
       
         this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        int[] problemIds = this.getProblemSetProblemIds(problemSetKey);
+
+        problemSet = new SimpleProblemSet(this.getProblems(problemIds));
+        this.populateProblemSet(problemSetKey, problemSet);
+
+        commitHydration(event, "ProblemSet", problemSetKey, 1);
+        return problemSet;
+    }
+    
+    /**
+     * Creates a problem set that only holds the IDs of its problems. The problems are loaded from
+     * the database in batches the first time they are requested.
+     * @param problemSetKey The unique ID of the problemSet.
+     * @return A lazy problem set with all of the data of the problem set based on the given ID.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public ProblemSet getLazyProblemSet(int problemSetKey) throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        ProblemSet problemSet = new LazyProblemSet(this.getProblemSetProblemIds(problemSetKey),
+                this);
+        this.populateProblemSet(problemSetKey, problemSet);
+
+        commitHydration(event, "LazyProblemSet", problemSetKey, 1);
+        return problemSet;
+    }
+
+    /**
+     * Gets the problems with the given IDs from the database, using as few statements as
+     * possible. Problems that do not exist in the database are skipped.
+     * @param problemKeys The unique IDs of the problems.
+     * @return A list of problems in the same order as the given IDs.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public List<Problem> getProblems(int[] problemKeys) throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        IntObjectMap<Problem> loadedProblems = new IntObjectMap<>(problemKeys.length);
+
+        for (int start = 0; start < problemKeys.length; start += BATCH_SIZE) {
+            int[] batch = Arrays.copyOfRange(problemKeys, start,
+                    Math.min(start + BATCH_SIZE, problemKeys.length));
+
+            ResultSet problemsRaw = DatabaseSelector.getProblems(batch, this.connection);
+
+            // If the databaseSelector failed, then we do not want to continue.
+            if (problemsRaw == null) {
+                String errorMessage = "Got a null object instead of a resultSet when trying to";
+                errorMessage += " get a batch of problems from the database.";
+                throw new DatabaseSelectException(errorMessage);
+            }
+
+            while (problemsRaw.next()) {
+                int id = problemsRaw.getInt(1);
+                int questionType = problemsRaw.getInt(2);
+                String question = problemsRaw.getString(3);
+                String answer = problemsRaw.getString(4);
+                int creatorID = problemsRaw.getInt(5);
+
+                // If we had more than one question type, this switch statement would be
+                // useful.
+                switch (questionType) {
+                    case (1):
+                        Problem problem = new SingleAnswerProblem(question, answer);
+                        problem.setId(id);
+                        problem.setCreatorID(creatorID);
+                        loadedProblems.put(id, problem);
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            problemsRaw.getStatement().close();
+
+            // Attach the tags of the whole batch with a single statement.
+            ResultSet tagsRaw = DatabaseSelector.getProblemTags(batch, this.connection);
+
+            while (tagsRaw.next()) {
+                Problem problem = loadedProblems.get(tagsRaw.getInt(1));
+                if (problem != null) {
+                    problem.addTags(Collections.singletonList(getTag(tagsRaw.getInt(2))));
+                }
+            }
+
+            tagsRaw.getStatement().close();
+        }
+
+        // Keep the order of the requested IDs.
+        List<Problem> problems = new ArrayList<>(problemKeys.length);
+        for (int problemKey : problemKeys) {
+            Problem problem = loadedProblems.get(problemKey);
+            if (problem != null) {
+                problems.add(problem);
+            }
+        }
+
+        commitHydration(event, "Problem", problemKeys.length == 1 ? problemKeys[0] : -1,
+                problems.size());
+        return problems;
+    }
+
+    /**
+     * Loads the problems with the given IDs for a lazy problem set. A problem that is no longer in
+     * the database is returned as a stub, so that the problems line up with the given IDs.
+     * @param problemIds The unique IDs of the problems.
+     * @return A list of problems in the same order as the given IDs, and of the same length.
+     * @throws ProblemLoadException Thrown if the problems could not be retrieved from the database.
+     */
+    @Override
+    public List<Problem> loadProblems(int[] problemIds) {
+        List<Problem> found;
+        try {
+            found = this.getProblems(problemIds);
+        } catch (DatabaseSelectException | SQLException e) {
+            throw new ProblemLoadException("Could not load the problems of a problem set.", e);
+        }
+
+        // getProblems skips missing problems but keeps the order, so the rest line up in turn.
+        List<Problem> problems = new ArrayList<>(problemIds.length);
+        int next = 0;
+        for (int problemId : problemIds) {
+            if (next < found.size() && found.get(next).getId() == problemId) {
+                problems.add(found.get(next++));
+            } else {
+                problems.add(new ProblemStub(problemId));
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Retrieves the IDs of all of the problems contained in the given problem set.
+     * @param problemSetKey The unique ID of the problem set.
+     * @return The IDs of the problems in the problem set, in the order they were added.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    private int[] getProblemSetProblemIds(int problemSetKey) throws DatabaseSelectException,
+            SQLException {
         ResultSet problemsRaw = DatabaseSelector.getProblemsInProblemSet(problemSetKey,
                 this.connection);
 
-        ResultSet problemSetRaw = DatabaseSelector.getProblemSet(problemSetKey, this.connection);
-
         // If the databaseSelector failed, then we do not want to continue.
         if (problemsRaw == null) {
             String errorMessage = "Got a null object instead of a resultSet when trying to get";
             errorMessage += " the problems contained in a problem set from the database.";
             throw new DatabaseSelectException(errorMessage);
-        } else if (problemSetRaw == null) {
-            String errorMessage = "Got a null object instead of a resultSet when trying to get a";
-            errorMessage += " problem set from the database.";
-            throw new DatabaseSelectException(errorMessage);
-        } else {
-            List<Problem> problems = new ArrayList<Problem>();
-
-            // For every problem in the problem set.
-            while (problemsRaw.next()) {
-                // Get the ID of the problem from the result set.
-                int id = problemsRaw.getInt(1);
+        }
 
-                // Get the data for the current problem from the database.
-                ResultSet problemRaw = DatabaseSelector.getSingleProblem(id, this.connection);
-
-                // Make sure that the problem is not null.
-                if (problemRaw == null) {
-                    String errorMessage = "Got a null object instead of a resultSet when trying to";
-                    errorMessage += " get a problem from the database.";
-                    throw new DatabaseSelectException(errorMessage);
-                } else {
-                  
-                  int questionType = problemRaw.getInt(2);
-                  String question = problemRaw.getString(3);
-                  String answer = problemRaw.getString(4);
-                  
-                  int creatorID = DatabaseSelector.getProblemCreator(id, this.connection);
-                  
-                  Problem problem = null;
-
-                  problemRaw.close();
-                  // If we had more than one question type, this switch statement would be
-                  // useful.
-                  switch (questionType) {
-                      case (1):
-                          // Instantiate the problem with data from the result set.
-                          problem = new SingleAnswerProblem(question,
-                              answer);
-                          problem.setId(id);
-                          problem.setCreatorID(creatorID);
-                          problem.addTags(this.getProblemTags(id));
-                          break;
-                      default:
-                          break;
-                  }
-                  
-                  // Make sure that we actually got a problem from the database.
-                  if (problem != null) {
-                      problems.add(problem);
-                  }
-                }
-            }
+        IntList problemIds = new IntList();
+        while (problemsRaw.next()) {
+            problemIds.add(problemsRaw.getInt(1));
+        }
 
-            problemSet = new SimpleProblemSet(problems);
+        problemsRaw.close();
 
-            // Get the data from the result set.
-            int id = problemSetRaw.getInt(1);
-            int maxAttempts = problemSetRaw.getInt(2);
-            // These values from the result set need to be multiplied by 1000 because time is
-            // stored as seconds in the database, but the Date object requires milliseconds.
-            Date startTime = new Date(problemSetRaw.getInt(3) * 1000L);
-            Date endTime = new Date(problemSetRaw.getInt(4) * 1000L);
+        return problemIds.toArray();
+    }
 
+    /**
+     * Fills in the given problem set with its ID, attempts, dates, creator and tags from the
+     * database.
+     * @param problemSetKey The unique ID of the problem set.
+     * @param problemSet The problem set to fill in.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    private void populateProblemSet(int problemSetKey, ProblemSet problemSet) throws
+            DatabaseSelectException, SQLException {
+        ResultSet problemSetRaw = DatabaseSelector.getProblemSet(problemSetKey, this.connection);
 
-            int creatorID = DatabaseSelector.getProblemSetCreator(problemSetKey, this.connection);
-            
-            problemSet.setId(id);
-            problemSet.setMaxAttempts(maxAttempts);
-            problemSet.setStartTime(startTime);
-            problemSet.setEndTime(endTime);
-            problemSet.setCreatorID(creatorID);
-            problemSet.addTags(this.getProblemSetTags(id));
-            
-            // Close the result sets to allow for modification of the data.
-            problemsRaw.close();
-            problemSetRaw.close();
+        // If the databaseSelector failed, then we do not want to continue.
+        if (problemSetRaw == null) {
+            String errorMessage = "Got a null object instead of a resultSet when trying to get a";
+            errorMessage += " problem set from the database.";
+            throw new DatabaseSelectException(errorMessage);
         }
 
-        return problemSet;
+        // Get the data from the result set.
+        int id = problemSetRaw.getInt(1);
+        int maxAttempts = problemSetRaw.getInt(2);
+        // These values from the result set need to be multiplied by 1000 because time is
+        // stored as seconds in the database, but the Date object requires milliseconds.
+        Date startTime = new Date(problemSetRaw.getInt(3) * 1000L);
+        Date endTime = new Date(problemSetRaw.getInt(4) * 1000L);
+
+        // Close the result set to allow for modification of the data.
+        problemSetRaw.close();
+
+        int creatorID = DatabaseSelector.getProblemSetCreator(problemSetKey, this.connection);
+
+        problemSet.setId(id);
+        problemSet.setMaxAttempts(maxAttempts);
+        problemSet.setStartTime(startTime);
+        problemSet.setEndTime(endTime);
+        problemSet.setCreatorID(creatorID);
+        problemSet.addTags(this.getProblemSetTags(id));
     }
-    
+
     /**
      * Retrieves all of the tags associated with the given problem from the database.
      * @param problemKey The unique ID of the problem.
@@ -317,7 +487,7 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
             ResultSet results = DatabaseSelector.getProblemTags(problemKey, this.connection);
             
             while (results.next()) {
-                tags.add(results.getString(1));
+                tags.add(getTag(results.getInt(1)));
             }
         } catch (DatabaseSelectException | SQLException e) {
             tags.clear();
@@ -338,7 +508,7 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
             ResultSet results = DatabaseSelector.getProblemSetTags(problemSetKey, this.connection);
             
             while (results.next()) {
-                tags.add(results.getString(1));
+                tags.add(getTag(results.getInt(1)));
             }
         } catch (DatabaseSelectException | SQLException e) {
             tags.clear();
@@ -347,6 +517,182 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
         return tags;
     }
 
+    /**
+     * Gets the tag with the given id from the shared tag dictionary, reading the tags of the database
+     * into it if the id is not known yet.
+     * @param tagID The id of the tag in the database.
+     * @return The shared instance of the tag.
+     * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+     * @throws SQLException Thrown if the id does not refer to a tag.
+     */
+    private String getTag(int tagID) throws DatabaseSelectException, SQLException {
+        TagDictionary dictionary = TagDictionary.getShared();
+        String tag = dictionary.getTag(tagID);
+        if (tag == null) {
+            loadTags(dictionary);
+            tag = dictionary.getTag(tagID);
+            if (tag == null) {
+                throw new SQLException("There is no tag with the id " + tagID + ".");
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Records the id of every tag in the database in the given dictionary.
+     * @param dictionary The dictionary to fill.
+     * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    private void loadTags(TagDictionary dictionary) throws DatabaseSelectException, SQLException {
+        ResultSet results = DatabaseSelector.getTags(this.connection);
+
+        while (results.next()) {
+            dictionary.put(results.getInt(1), results.getString(2));
+        }
+
+        results.getStatement().close();
+    }
+
+    /**
+     * Gets the tag index of the problems, shared by every API instance. It is built from the
+     * database the first time it is needed, and kept up to date as problems and tags are stored.
+     * @return The index from each tag to the IDs of the problems with the tag.
+     * @throws DatabaseSelectException Thrown if the index could not be built from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public TagIndex getProblemTagIndex() throws DatabaseSelectException, SQLException {
+        this.actOnDatabase();
+        return TagIndexes.getProblems(() -> {
+            TagIndex index = new TagIndex();
+            this.fillTagIndex(index, DatabaseSelector.getProblemIds(this.connection),
+                    DatabaseSelector.getAllProblemTagPairs(this.connection));
+            return index;
+        });
+    }
+
+    /**
+     * Gets the tag index of the problem sets, shared by every API instance. It is built from the
+     * database the first time it is needed, and kept up to date as problem sets and tags are stored.
+     * @return The index from each tag to the IDs of the problem sets with the tag.
+     * @throws DatabaseSelectException Thrown if the index could not be built from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public TagIndex getProblemSetTagIndex() throws DatabaseSelectException, SQLException {
+        this.actOnDatabase();
+        return TagIndexes.getProblemSets(() -> {
+            TagIndex index = new TagIndex();
+            this.fillTagIndex(index, DatabaseSelector.getProblemSetIds(this.connection),
+                    DatabaseSelector.getAllProblemSetTagPairs(this.connection));
+            return index;
+        });
+    }
+
+    /**
+     * Gets the trie of the tags in use, shared by every API instance. It is built from the tag
+     * indexes of the problems and problem sets the first time it is needed, building them if
+     * needed, and kept up to date as tags are stored.
+     * @return The trie of every tag in use with the number of problems and problem sets using it.
+     * @throws DatabaseSelectException Thrown if the trie could not be built from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public TagTrie getTagTrie() throws DatabaseSelectException, SQLException {
+        this.actOnDatabase();
+        return TagIndexes.getTrie(() -> {
+            // counted from the indexes, so that a tag is counted once whether it was stored
+            // before or after they were built
+            TagTrie trie = new TagTrie();
+            for (TagIndex index : new TagIndex[] {getProblemTagIndex(), getProblemSetTagIndex()}) {
+                for (String tag : index.getTags()) {
+                    trie.add(tag, index.count(tag));
+                }
+            }
+            return trie;
+        });
+    }
+
+    /**
+     * Gets the ranked search index of the problems, shared by every API instance. It is built from
+     * the database the first time it is needed, and kept up to date as problems and tags are stored.
+     * @return The index of the questions, answers and tags of every problem.
+     * @throws DatabaseSelectException Thrown if the index could not be built from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public ProblemSearchIndex getProblemSearchIndex() throws DatabaseSelectException, SQLException {
+        this.actOnDatabase();
+        return SearchIndexes.getProblems(() -> {
+            IntObjectMap<List<String>> tags = new IntObjectMap<>();
+            ResultSet tagPairs = DatabaseSelector.getAllProblemTagPairs(this.connection);
+            while (tagPairs.next()) {
+                int problemID = tagPairs.getInt(1);
+                List<String> problemTags = tags.get(problemID);
+                if (problemTags == null) {
+                    problemTags = new ArrayList<>();
+                    tags.put(problemID, problemTags);
+                }
+                problemTags.add(getTag(tagPairs.getInt(2)));
+            }
+            tagPairs.getStatement().close();
+
+            ProblemSearchIndex index = new ProblemSearchIndex();
+            ResultSet problems = DatabaseSelector.getAllProblems(this.connection);
+            while (problems.next()) {
+                int id = problems.getInt(1);
+                List<String> problemTags = tags.get(id);
+                index.add(id, problems.getString(3), problems.getString(4),
+                        problemTags == null ? Collections.emptyList() : problemTags);
+            }
+            problems.getStatement().close();
+            return index;
+        });
+    }
+
+    /**
+     * Gets the similarity index of the problems, shared by every API instance. It is built from the
+     * stored signatures the first time it is needed, and kept up to date as problems are stored.
+     * Problems without a stored signature, such as those of an older snapshot, are signed here.
+     * @return The index of the MinHash signatures of the questions of every problem.
+     * @throws DatabaseSelectException Thrown if the index could not be built from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public SimilarityIndex getProblemSimilarityIndex() throws DatabaseSelectException, SQLException {
+        this.actOnDatabase();
+        return SearchIndexes.getSimilarProblems(() -> {
+            SimilarityIndex index = new SimilarityIndex();
+            ResultSet signatures = DatabaseSelector.getProblemSignatures(this.connection);
+
+            while (signatures.next()) {
+                String signature = signatures.getString(3);
+                index.add(signatures.getInt(1), signature != null ? MinHash.decode(signature)
+                        : MinHash.signature(signatures.getString(2)));
+            }
+
+            signatures.getStatement().close();
+            return index;
+        });
+    }
+
+    /**
+     * Adds every ID and every ID and tag pair to the given index, closing both result sets.
+     * @param index The index to fill.
+     * @param ids A result set with the IDs in its first column.
+     * @param tagPairs A result set with the IDs in its first column and tag ids in its second.
+     * @throws DatabaseSelectException Thrown if the tags could not be retrieved from the database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    private void fillTagIndex(TagIndex index, ResultSet ids, ResultSet tagPairs)
+            throws DatabaseSelectException, SQLException {
+        while (ids.next()) {
+            index.add(ids.getInt(1));
+        }
+        ids.getStatement().close();
+
+        while (tagPairs.next()) {
+            index.addTag(tagPairs.getInt(1), getTag(tagPairs.getInt(2)));
+        }
+        tagPairs.getStatement().close();
+    }
+
     /**
      * Returns a list of all of the problems with the given tag.
      * @param problems A list of problems that will be cleared and filled with all of the problems
@@ -360,13 +706,7 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
         problems.clear();
         
         try {
-            ResultSet results = DatabaseSelector.getProblemsWithTag(tag, this.connection);
-            
-            while (results.next()) {
-                Problem newProblem = new SingleAnswerProblem();
-                
-                problems.add(this.actOnDatabase(results.getInt(1), newProblem));
-            }
+            problems.addAll(this.getProblems(this.getProblemTagIndex().get(tag).toArray()));
         } catch (DatabaseSelectException | SQLException e) {
             problems.clear();
         }
@@ -389,8 +729,7 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
             ResultSet problemSetResults = DatabaseSelector.getAllProblemSets(this.connection);
             
             while (problemSetResults.next()) {
-                ProblemSet problemSet = new SimpleProblemSet();
-                allProblemSets.add(this.actOnDatabase(problemSetResults.getInt(1), problemSet));
+                allProblemSets.add(this.getLazyProblemSet(problemSetResults.getInt(1)));
             }
         } catch (DatabaseSelectException | SQLException e) {
             allProblemSets.clear();
@@ -412,12 +751,8 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
       problemSets.clear();
       
       try {
-          ResultSet results = DatabaseSelector.getProblemSetsWithTag(tag, this.connection);
-          
-          while (results.next()) {
-              ProblemSet newProblemSet = new SimpleProblemSet();
-              
-              problemSets.add(this.actOnDatabase(results.getInt(1), newProblemSet));
+          for (int id : this.getProblemSetTagIndex().get(tag).toArray()) {
+              problemSets.add(this.getLazyProblemSet(id));
           }
       } catch (DatabaseSelectException | SQLException e) {
           problemSets.clear();
@@ -426,6 +761,95 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
       return problemSets;
     }
 
+    /**
+     * Gets a summary of every problem set in the database. None of the problems are loaded.
+     * @return A list containing the summaries of all of the problem sets in the database.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public List<ProblemSetSummary> getProblemSetSummaries() throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        IntObjectMap<ProblemSetSummary> summaries = new IntObjectMap<>();
+        List<ProblemSetSummary> orderedSummaries = new ArrayList<>();
+
+        ResultSet summaryData = DatabaseSelector.getProblemSetSummaries(this.connection);
+
+        while (summaryData.next()) {
+            int id = summaryData.getInt(1);
+            // Times are stored as seconds in the database.
+            Date startTime = new Date(summaryData.getLong(3) * 1000L);
+            Date endTime = new Date(summaryData.getLong(4) * 1000L);
+
+            ProblemSetSummary summary = new ProblemSetSummary(id, summaryData.getInt(2),
+                    startTime, endTime, summaryData.getInt(5));
+            summaries.put(id, summary);
+            orderedSummaries.add(summary);
+        }
+
+        summaryData.getStatement().close();
+
+        ResultSet tagData = DatabaseSelector.getAllProblemSetTagPairs(this.connection);
+
+        while (tagData.next()) {
+            ProblemSetSummary summary = summaries.get(tagData.getInt(1));
+            if (summary != null) {
+                summary.addTags(Collections.singletonList(getTag(tagData.getInt(2))));
+            }
+        }
+
+        tagData.getStatement().close();
+
+        commitHydration(event, "ProblemSetSummary", -1, orderedSummaries.size());
+        return orderedSummaries;
+    }
+
+    /**
+     * Gets a summary of every problem in the database. Questions are cut to the maximum summary
+     * length and answers are not loaded.
+     * @return A list containing the summaries of all of the problems in the database.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public List<ProblemSummary> getProblemSummaries() throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        IntObjectMap<ProblemSummary> summaries = new IntObjectMap<>();
+        List<ProblemSummary> orderedSummaries = new ArrayList<>();
+
+        ResultSet summaryData = DatabaseSelector.getProblemSummaries(
+                ProblemSummary.MAX_QUESTION_LENGTH, this.connection);
+
+        while (summaryData.next()) {
+            int id = summaryData.getInt(1);
+            ProblemSummary summary = new ProblemSummary(id, summaryData.getString(2));
+            summaries.put(id, summary);
+            orderedSummaries.add(summary);
+        }
+
+        summaryData.getStatement().close();
+
+        ResultSet tagData = DatabaseSelector.getAllProblemTagPairs(this.connection);
+
+        while (tagData.next()) {
+            ProblemSummary summary = summaries.get(tagData.getInt(1));
+            if (summary != null) {
+                summary.addTags(Collections.singletonList(getTag(tagData.getInt(2))));
+            }
+        }
+
+        tagData.getStatement().close();
+
+        commitHydration(event, "ProblemSummary", -1, orderedSummaries.size());
+        return orderedSummaries;
+    }
+
     /**
      * Gets the problem set attempt from the database.
      * @param problemSetAttempt A problemSetAttempt which will be filled with the data from the
@@ -463,7 +887,11 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
      */
     public List<ProblemSetAttempt> getAllAttempts() throws SQLException, DatabaseSelectException {
         this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
         List<ProblemSetAttempt> allAttempts = new ArrayList<>();
+        // Attempts of the same problem set share one lazy problem set, so it is loaded only once.
+        IntObjectMap<ProblemSet> problemSets = new IntObjectMap<>();
 
         ResultSet allAttemptData = DatabaseSelector.getAllAttemptIdentifiers(this.connection);
 
@@ -473,7 +901,11 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
             Date attemptTime = new Date(allAttemptData.getLong(3) * 1000);
 
             Student student = this.actOnDatabase(studentNumber, new Student());
-            ProblemSet problemSet = this.actOnDatabase(problemSetID, new SimpleProblemSet());
+            ProblemSet problemSet = problemSets.get(problemSetID);
+            if (problemSet == null) {
+                problemSet = this.getLazyProblemSet(problemSetID);
+                problemSets.put(problemSetID, problemSet);
+            }
 
             ProblemSetAttempt newAttempt = new ProblemSetAttempt(student, problemSet,
                     attemptTime);
@@ -484,6 +916,140 @@ public class DatabaseExtractAPI extends DatabaseSelector implements DatabaseAPI{
         allAttemptData.getStatement().close();
         allAttemptData.close();
         
+        commitHydration(event, "ProblemSetAttempt", -1, allAttempts.size());
         return allAttempts;
     }
+
+    /**
+     * Grades every attempt in the database, handing each grade to the given consumer as soon as its
+     * answers are read. Only one attempt is held in memory at a time. Attempts are ordered by student
+     * number, problem set and time.
+     * @param grades Receives the grade of each attempt.
+     * @return The number of attempts graded.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public int getAttemptGrades(Consumer<AttemptGrade> grades) throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        int attempts = 0;
+
+        ResultSet answerData = DatabaseSelector.getGradedAnswers(this.connection);
+
+        try {
+            int studentNumber = 0;
+            String studentName = null;
+            int problemSetID = 0;
+            long time = 0;
+            int correct = 0;
+            int answered = 0;
+
+            while (answerData.next()) {
+                int nextStudentNumber = answerData.getInt(1);
+                int nextProblemSetID = answerData.getInt(3);
+                long nextTime = answerData.getLong(4);
+
+                // The answers of an attempt are next to each other, so a new key starts a new attempt.
+                if (answered > 0 && (nextStudentNumber != studentNumber
+                        || nextProblemSetID != problemSetID || nextTime != time)) {
+                    grades.accept(new AttemptGrade(studentNumber, studentName, problemSetID,
+                            new Date(time * 1000L), correct, answered));
+                    attempts++;
+                    correct = 0;
+                    answered = 0;
+                }
+
+                studentNumber = nextStudentNumber;
+                studentName = answerData.getString(2);
+                problemSetID = nextProblemSetID;
+                time = nextTime;
+                answered++;
+                if (ProblemSetAttempt.isAnswerCorrect(answerData.getString(6), answerData.getString(5))) {
+                    correct++;
+                }
+            }
+
+            if (answered > 0) {
+                grades.accept(new AttemptGrade(studentNumber, studentName, problemSetID,
+                        new Date(time * 1000L), correct, answered));
+                attempts++;
+            }
+        } finally {
+            answerData.getStatement().close();
+        }
+
+        commitHydration(event, "AttemptGrade", -1, attempts);
+        return attempts;
+    }
+
+    /**
+     * Counts the correct answers of every problem that was answered in an attempt, handing each
+     * grade to the given consumer as soon as its answers are read. Problems are ordered by ID.
+     * @param grades Receives the grade of each problem.
+     * @return The number of problems graded.
+     * @throws DatabaseSelectException Thrown if a resultSet could not be retrieved from the
+     *                                 database.
+     * @throws SQLException Thrown if there was an attempt to access an inaccessible resultSet.
+     */
+    public int getProblemGrades(Consumer<ProblemGrade> grades) throws DatabaseSelectException,
+            SQLException {
+        this.actOnDatabase();
+        HydrationEvent event = new HydrationEvent();
+        event.begin();
+        int problems = 0;
+
+        ResultSet answerData = DatabaseSelector.getGradedAnswersByProblem(this.connection);
+
+        try {
+            int problemID = 0;
+            int correct = 0;
+            int answered = 0;
+
+            while (answerData.next()) {
+                int nextProblemID = answerData.getInt(1);
+                if (answered > 0 && nextProblemID != problemID) {
+                    grades.accept(new ProblemGrade(problemID, answered, correct));
+                    problems++;
+                    correct = 0;
+                    answered = 0;
+                }
+
+                problemID = nextProblemID;
+                answered++;
+                if (ProblemSetAttempt.isAnswerCorrect(answerData.getString(3), answerData.getString(2))) {
+                    correct++;
+                }
+            }
+
+            if (answered > 0) {
+                grades.accept(new ProblemGrade(problemID, answered, correct));
+                problems++;
+            }
+        } finally {
+            answerData.getStatement().close();
+        }
+
+        commitHydration(event, "ProblemGrade", -1, problems);
+        return problems;
+    }
+
+    /**
+     * Ends and commits a hydration event, if the flight recorder is recording it.
+     * @param event The event that was started before the models were loaded.
+     * @param model The type of model loaded.
+     * @param id The ID of the model loaded, -1 if several models were loaded.
+     * @param count The number of models loaded.
+     */
+    private static void commitHydration(HydrationEvent event, String model, int id, int count) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.model = model;
+            event.id = id;
+            event.count = count;
+            event.commit();
+        }
+    }
 }
@@ -3,29 +3,54 @@ package databaseAPI;
 import database.DatabaseInserter;
 import exceptions.DatabaseInsertException;
 import models.*;
+import util.MinHash;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
     private Connection connection;
     /**
-     * Inserts into the problems table in the JWorks database
+     * Inserts into the problems table in the JWorks database, unless a problem with the same content is stored already
      * @param newProblem Problem object that is to be inserted into the database
-     * @return the PrimaryKey of the problem in the table
+     * @return the PrimaryKey of the problem in the table, which is that of the stored problem with the same content if
+     * there is one
      * @throws DatabaseInsertException
      * @throws SQLException
      */
     public int actOnDatabase(Problem newProblem) throws DatabaseInsertException, SQLException{
+        storeProblem(newProblem);
+        return newProblem.getId();
+    }
+
+    /**
+     * Inserts a problem into the problems table, unless a problem with the same content is stored already. Either way
+     * the problem is given the ID it is stored with.
+     * @param newProblem the problem to store
+     * @return true if the problem was stored, false if a problem with the same content was stored already
+     * @throws DatabaseInsertException
+     * @throws SQLException
+     */
+    public boolean storeProblem(Problem newProblem) throws DatabaseInsertException, SQLException {
         this.actOnDatabase();
-        //store the primary key of row inserted
-        int result;
-        result = DatabaseInserter.insertProblem(1, newProblem.getProblem(), newProblem.getAnswer(), newProblem.getCreatorID(),connection);
+        boolean[] created = new boolean[1];
+        int result = DatabaseInserter.insertProblem(1, newProblem.getProblem(), newProblem.getAnswer(),
+                newProblem.getCreatorID(), created, connection);
         newProblem.setId(result);
-        return result;
+        if (!created[0]) {
+            // the stored problem is indexed already
+            return false;
+        }
+        TagIndexes.patchProblems(index -> index.add(result));
+        // the tags are indexed as they are stored
+        SearchIndexes.patchProblems(index -> index.add(result, newProblem.getProblem(), newProblem.getAnswer(),
+                Collections.emptyList()));
+        SearchIndexes.patchSimilarProblems(index -> index.add(result, MinHash.signature(newProblem.getProblem())));
+        return true;
     }
 
     /**
@@ -39,12 +64,10 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
         this.actOnDatabase();
         //store the primary key of row inserted
         int result;
-        int[] pIDs = new int[newPSet.getQuestions().size()];
-        for (int i = 0; i < newPSet.getQuestions().size(); i++){
-            pIDs[i] = (newPSet.getQuestions().get(i)).getId();
-        }
+        int[] pIDs = newPSet.getProblemIds();
         result = DatabaseInserter.insertProblemSet(newPSet.getMaxAttempts(), pIDs, newPSet.getStartTime(), newPSet.getEndTime(), newPSet.getCreatorID(), connection);
         newPSet.setId(result);
+        TagIndexes.patchProblemSets(index -> index.add(result));
         return result;
     }
 
@@ -96,7 +119,7 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
      * Given a list of tags, stores the given tags for this problem in the database.
      * @param newTags The tags to be associated with the problem.
      * @param problem The problem object to have the tags appended to. Must have it's ID.
-     * @return True if all of the tags were added, false otherwise.
+     * @return True if all of the tags were added or the problem already had them, false otherwise.
      */
     public boolean actOnDatabase(List<String> newTags, Problem problem) {
         this.actOnDatabase();
@@ -109,7 +132,12 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
         try {
             while (iterator.hasNext()) {
                 currentTag = iterator.next();
-                result = DatabaseInserter.insertProblemTag(problemID, currentTag, connection);
+                if (!DatabaseInserter.insertProblemTag(problemID, currentTag, connection)) {
+                    continue;
+                }
+                String tag = TagDictionary.getShared().intern(currentTag);
+                TagIndexes.addProblemTag(problemID, tag);
+                SearchIndexes.patchProblems(index -> index.addTag(problemID, tag));
             }
         } catch (DatabaseInsertException e) {
             result = false;
@@ -135,6 +163,8 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
               currentTag = iterator.next();
               result = DatabaseInserter.insertProblemSetTag(problemSetID, currentTag,
                       connection);
+              String tag = TagDictionary.getShared().intern(currentTag);
+              TagIndexes.addProblemSetTag(problemSetID, tag);
           }
       } catch (DatabaseInsertException e) {
           result = false;
@@ -158,13 +188,10 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
         int problemSetKey = problemSetAttempt.getProblemSet().getId();
         long attemptTime = (problemSetAttempt.getTimeAttempted().getTime()) / 1000L;
         
-        int problemCount = problemSetAttempt.getProblemSet().getQuestions().size();
-        
-        int[] problems = new int[problemCount];
-        String[] answers = new String[problemCount];
+        int[] problems = problemSetAttempt.getProblemSet().getProblemIds();
+        String[] answers = new String[problems.length];
 
-        for (int i = 0; i < problemCount; i++) {
-            problems[i] = problemSetAttempt.getProblemSet().getQuestions().get(i).getId();
+        for (int i = 0; i < problems.length; i++) {
             answers[i] = problemSetAttempt.getAnswers().get(i);
         }
 
@@ -174,4 +201,130 @@ public class DatabaseStoreAPI extends DatabaseInserter implements DatabaseAPI{
         return result;
     }
 
+    /**
+     * Inserts many problems and their tags into the database using batched statements. Each problem is given
+     * the ID it was stored with. Problems with the same content as a stored problem are not stored again, but get
+     * its ID and any of their tags it does not have yet, so storing the same problems twice changes nothing.
+     * @param newProblems the problems to store
+     * @return the primary keys of the problems, in the same order as the given problems
+     * @throws DatabaseInsertException thrown if the problems could not be stored
+     */
+    public int[] storeProblems(List<Problem> newProblems) throws DatabaseInsertException {
+        this.actOnDatabase();
+        String[] questions = new String[newProblems.size()];
+        String[] answers = new String[newProblems.size()];
+        int[] creatorIDs = new int[newProblems.size()];
+        int tagCount = 0;
+
+        for (int i = 0; i < newProblems.size(); i++) {
+            Problem problem = newProblems.get(i);
+            questions[i] = problem.getProblem();
+            answers[i] = problem.getAnswer();
+            creatorIDs[i] = problem.getCreatorID();
+            tagCount += problem.getTags().size();
+        }
+
+        boolean[] created = new boolean[newProblems.size()];
+        int[] result = DatabaseInserter.insertProblems(1, questions, answers, creatorIDs, created, connection);
+
+        int[] tagProblemIDs = new int[tagCount];
+        int[] tagOwners = new int[tagCount];
+        String[] tags = new String[tagCount];
+        int tagIndex = 0;
+        for (int i = 0; i < newProblems.size(); i++) {
+            Problem problem = newProblems.get(i);
+            problem.setId(result[i]);
+            for (String tag : problem.getTags()) {
+                tagProblemIDs[tagIndex] = result[i];
+                tagOwners[tagIndex] = i;
+                tags[tagIndex++] = tag;
+            }
+        }
+
+        boolean[] tagged = DatabaseInserter.insertProblemTags(tagProblemIDs, tags, connection);
+
+        // only what was stored is indexed, the rest is in the indexes already
+        TagIndexes.patchProblems(index -> {
+            for (int id : result) {
+                index.add(id);
+            }
+        });
+        for (int i = 0; i < tagProblemIDs.length; i++) {
+            if (tagged[i]) {
+                TagIndexes.addProblemTag(tagProblemIDs[i], tags[i]);
+            }
+        }
+        SearchIndexes.patchProblems(index -> {
+            for (int i = 0; i < result.length; i++) {
+                if (created[i]) {
+                    index.add(result[i], questions[i], answers[i], newProblems.get(i).getTags());
+                }
+            }
+            for (int i = 0; i < tagProblemIDs.length; i++) {
+                if (tagged[i] && !created[tagOwners[i]]) {
+                    index.addTag(tagProblemIDs[i], tags[i]);
+                }
+            }
+        });
+        SearchIndexes.patchSimilarProblems(index -> {
+            for (int i = 0; i < result.length; i++) {
+                if (created[i]) {
+                    index.add(result[i], MinHash.signature(questions[i]));
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Inserts many students into the database using batched statements.
+     * @param newStudents the students to register
+     * @return true if all of the students were stored
+     * @throws DatabaseInsertException thrown if the students could not be stored
+     */
+    public boolean storeStudents(List<Student> newStudents) throws DatabaseInsertException {
+        this.actOnDatabase();
+        int[] studentNumbers = new int[newStudents.size()];
+        String[] names = new String[newStudents.size()];
+        String[] emails = new String[newStudents.size()];
+        String[] passwords = new String[newStudents.size()];
+
+        for (int i = 0; i < newStudents.size(); i++) {
+            Student student = newStudents.get(i);
+            studentNumbers[i] = student.getStudentNumber();
+            names[i] = student.getName();
+            emails[i] = student.getEmailAddress();
+            passwords[i] = student.getPassword();
+        }
+
+        return DatabaseInserter.insertStudents(studentNumbers, names, emails, passwords, connection);
+    }
+
+    /**
+     * Inserts many problem set attempts into the database using batched statements.
+     * @param problemSetAttempts the attempts to store, each with its student, problem set, time and answers
+     * @return true if all of the attempts were stored
+     * @throws DatabaseInsertException thrown if the attempts could not be stored
+     */
+    public boolean storeAttempts(List<ProblemSetAttempt> problemSetAttempts) throws DatabaseInsertException {
+        this.actOnDatabase();
+        int[] studentNumbers = new int[problemSetAttempts.size()];
+        int[] problemSetKeys = new int[problemSetAttempts.size()];
+        long[] attemptTimes = new long[problemSetAttempts.size()];
+        int[][] problems = new int[problemSetAttempts.size()][];
+        String[][] answers = new String[problemSetAttempts.size()][];
+
+        for (int i = 0; i < problemSetAttempts.size(); i++) {
+            ProblemSetAttempt attempt = problemSetAttempts.get(i);
+            studentNumbers[i] = attempt.getStudent().getStudentNumber();
+            problemSetKeys[i] = attempt.getProblemSet().getId();
+            attemptTimes[i] = attempt.getTimeAttempted().getTime() / 1000L;
+            problems[i] = attempt.getProblemSet().getProblemIds();
+            answers[i] = attempt.getAnswers().toArray(new String[problems[i].length]);
+        }
+
+        return DatabaseInserter.insertStudentsAttempts(studentNumbers, problemSetKeys, attemptTimes, problems,
+                answers, connection);
+    }
+
 }
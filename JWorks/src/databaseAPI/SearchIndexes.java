@@ -0,0 +1,81 @@
+package databaseAPI;
+
+import exceptions.DatabaseSelectException;
+import search.ProblemSearchIndex;
+import search.SimilarityIndex;
+
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Holds the ranked search index and the similarity index of the problems in the database, shared by every API
+ * instance. Like the tag indexes, each is built from the database the first time it is needed, patched as problems
+ * and tags are stored, and dropped when the contents of the database are replaced.
+ */
+class SearchIndexes {
+
+    private static ProblemSearchIndex problems;
+    private static SimilarityIndex similarProblems;
+
+    private SearchIndexes() {
+    }
+
+    /**
+     * Gets the search index of the problems, building it if there is none.
+     * @param builder builds the index from the database
+     * @return the search index of the problems
+     * @throws DatabaseSelectException Thrown if the index could not be built
+     * @throws SQLException Thrown if the index could not be built
+     */
+    static synchronized ProblemSearchIndex getProblems(TagIndexes.Builder<ProblemSearchIndex> builder)
+            throws DatabaseSelectException, SQLException {
+        if (problems == null) {
+            problems = builder.build();
+        }
+        return problems;
+    }
+
+    /**
+     * Gets the similarity index of the problems, building it if there is none.
+     * @param builder builds the index from the database
+     * @return the similarity index of the problems
+     * @throws DatabaseSelectException Thrown if the index could not be built
+     * @throws SQLException Thrown if the index could not be built
+     */
+    static synchronized SimilarityIndex getSimilarProblems(TagIndexes.Builder<SimilarityIndex> builder)
+            throws DatabaseSelectException, SQLException {
+        if (similarProblems == null) {
+            similarProblems = builder.build();
+        }
+        return similarProblems;
+    }
+
+    /**
+     * Changes the search index of the problems, if it was built. Otherwise the change is picked up when it is built.
+     * @param patch the change to make
+     */
+    static synchronized void patchProblems(Consumer<ProblemSearchIndex> patch) {
+        if (problems != null) {
+            patch.accept(problems);
+        }
+    }
+
+    /**
+     * Changes the similarity index of the problems, if it was built. Otherwise the change is picked up when it is
+     * built.
+     * @param patch the change to make
+     */
+    static synchronized void patchSimilarProblems(Consumer<SimilarityIndex> patch) {
+        if (similarProblems != null) {
+            patch.accept(similarProblems);
+        }
+    }
+
+    /**
+     * Drops both indexes, so they are built again from the database.
+     */
+    static synchronized void clear() {
+        problems = null;
+        similarProblems = null;
+    }
+}
@@ -0,0 +1,131 @@
+package databaseAPI;
+
+import exceptions.DatabaseSelectException;
+import search.TagIndex;
+import search.TagTrie;
+
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Holds the tag indexes of the problems and problem sets in the database, and the trie of tags used for suggestions,
+ * shared by every API instance. Each is built from the database the first time it is needed, patched as problems,
+ * problem sets and tags are stored, and dropped when the contents of the database are replaced.
+ *
+ * Indexes can be built while a command stores tags, and may already hold a tag that is then patched in. Patches are
+ * therefore idempotent: the indexes hold each pair of id and tag once, and the trie is built from the indexes and only
+ * counts a pair when it is new to them.
+ */
+class TagIndexes {
+
+    /**
+     * Builds an index from the database.
+     * @param <T> the type of the index
+     */
+    interface Builder<T> {
+        T build() throws DatabaseSelectException, SQLException;
+    }
+
+    private static TagIndex problems;
+    private static TagIndex problemSets;
+    private static TagTrie trie;
+
+    private TagIndexes() {
+    }
+
+    /**
+     * Gets the index of the problems, building it if there is none.
+     * @param builder builds the index from the database
+     * @return the index of the problems
+     * @throws DatabaseSelectException Thrown if the index could not be built
+     * @throws SQLException Thrown if the index could not be built
+     */
+    static synchronized TagIndex getProblems(Builder<TagIndex> builder) throws DatabaseSelectException, SQLException {
+        if (problems == null) {
+            problems = builder.build();
+        }
+        return problems;
+    }
+
+    /**
+     * Gets the index of the problem sets, building it if there is none.
+     * @param builder builds the index from the database
+     * @return the index of the problem sets
+     * @throws DatabaseSelectException Thrown if the index could not be built
+     * @throws SQLException Thrown if the index could not be built
+     */
+    static synchronized TagIndex getProblemSets(Builder<TagIndex> builder) throws DatabaseSelectException, SQLException {
+        if (problemSets == null) {
+            problemSets = builder.build();
+        }
+        return problemSets;
+    }
+
+    /**
+     * Gets the trie of the tags in use, building it if there is none.
+     * @param builder builds the trie from the database
+     * @return the trie of the tags
+     * @throws DatabaseSelectException Thrown if the trie could not be built
+     * @throws SQLException Thrown if the trie could not be built
+     */
+    static synchronized TagTrie getTrie(Builder<TagTrie> builder) throws DatabaseSelectException, SQLException {
+        if (trie == null) {
+            trie = builder.build();
+        }
+        return trie;
+    }
+
+    /**
+     * Changes the index of the problems, if it was built. Otherwise the change is picked up when it is built.
+     * @param patch the change to make
+     */
+    static synchronized void patchProblems(Consumer<TagIndex> patch) {
+        if (problems != null) {
+            patch.accept(problems);
+        }
+    }
+
+    /**
+     * Changes the index of the problem sets, if it was built. Otherwise the change is picked up when it is built.
+     * @param patch the change to make
+     */
+    static synchronized void patchProblemSets(Consumer<TagIndex> patch) {
+        if (problemSets != null) {
+            patch.accept(problemSets);
+        }
+    }
+
+    /**
+     * Records a tag of a problem in the index of the problems and the trie of the tags, if they were built. A tag the
+     * problem has in the index already is not counted again.
+     * @param id the id of the problem
+     * @param tag the tag that was stored
+     */
+    static synchronized void addProblemTag(int id, String tag) {
+        // the trie is only built after both indexes, so it is null whenever they are
+        if (problems != null && problems.addTag(id, tag) && trie != null) {
+            trie.add(tag);
+        }
+    }
+
+    /**
+     * Records a tag of a problem set in the index of the problem sets and the trie of the tags, if they were built. A
+     * tag the problem set has in the index already is not counted again.
+     * @param id the id of the problem set
+     * @param tag the tag that was stored
+     */
+    static synchronized void addProblemSetTag(int id, String tag) {
+        if (problemSets != null && problemSets.addTag(id, tag) && trie != null) {
+            trie.add(tag);
+        }
+    }
+
+    /**
+     * Drops both indexes and the trie, so they are built again from the database.
+     */
+    static synchronized void clear() {
+        problems = null;
+        problemSets = null;
+        trie = null;
+    }
+}
@@ -1,18 +1,28 @@
 package driver;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import command.*;
 import databaseAPI.DatabaseDriverAPI;
 import databaseAPI.DatabaseExtractAPI;
 import databaseAPI.DatabaseStoreAPI;
+import events.CommandEvent;
+import exceptions.DatabaseSelectException;
 import io.GUIOutputGenerator;
 import io.OutputGen;
 import io.OutputGen.OutputMode;
 import io.OutputGenerator;
+import models.Student;
 import models.User;
+import util.CommandMetrics;
+import util.StartupTimer;
 
 /**
  * Interprets the user input and execute the execute the action
@@ -24,15 +34,6 @@ public class Interpreter {
   
   private static Interpreter referencedInterpreter = null;
 
-  private AddSimpleProblemCommand addSimpleProblem;
-  private ViewProblemsCommand viewProblem;
-  private AddSimpleProblemSetCommand addSimpleProblemSet;
-  private LoginCommand login;
-  private AddStudentCommand addStudent;
-  private AddProblemSetAttemptCommand addProblemSetAttempt;
-  private ViewAllProblemSetsCommand viewAllProblemSets;
-  private ViewAllAttemptsCommand viewAllAttempts;
-
   private Command commandObject;
   private String[] parameters;
   private String command;
@@ -43,14 +44,27 @@ public class Interpreter {
 
   private OutputGen outputGenerator;
   private User sessionUser;
+  private CommandMetrics commandMetrics = new CommandMetrics();
 
 
 
   /**
-   * Hashtable object that holds all the commands and their respective keys
+   * Hashtable object that holds all the commands created so far and their respective keys
    */
   private Hashtable<String, Command> commandList =
       new Hashtable<String, Command>();
+
+  /**
+   * The constructors of all the commands by their respective keys. A command is only created the
+   * first time it is executed.
+   */
+  private Hashtable<String, Supplier<Command>> commandFactories =
+      new Hashtable<String, Supplier<Command>>();
+
+  /**
+   * Completes once the database is open and its tables exist.
+   */
+  private CompletableFuture<Void> databaseReady;
   
   /**
    * Default constructor
@@ -58,9 +72,12 @@ public class Interpreter {
    */
 
   private Interpreter(OutputMode mode) {
-    // database stuff
-    connection = DatabaseDriverAPI.connectOrCreateDataBase();
-    DatabaseDriverAPI.initialize(connection);
+    // open the database in the background, so it overlaps with the first prompt or window
+    databaseReady = CompletableFuture.runAsync(() -> {
+      connection = DatabaseDriverAPI.connectOrCreateDataBase();
+      DatabaseDriverAPI.initialize(connection);
+      StartupTimer.mark("database ready");
+    });
 
     databaseStore = new DatabaseStoreAPI();
     databaseExtract = new DatabaseExtractAPI();
@@ -75,37 +92,91 @@ public class Interpreter {
         break;
     }
 
-    // create all command object being used
-    addSimpleProblem = new AddSimpleProblemCommand(databaseStore, outputGenerator);
-    viewProblem = new ViewProblemsCommand(databaseExtract, outputGenerator);
-    addSimpleProblemSet = new AddSimpleProblemSetCommand(databaseStore, outputGenerator);
-    login = new LoginCommand(databaseExtract, outputGenerator);
-    addStudent = new AddStudentCommand(databaseStore, outputGenerator);
-    addProblemSetAttempt = new AddProblemSetAttemptCommand(databaseStore, outputGenerator);
-    viewAllProblemSets = new ViewAllProblemSetsCommand(databaseExtract, outputGenerator);
-    viewAllAttempts = new ViewAllAttemptsCommand(databaseExtract, outputGenerator);
-
-    // add the commands into an array
-    Command[] commands = {addSimpleProblem, viewProblem, login, addStudent, addSimpleProblemSet, addProblemSetAttempt,
-                          viewAllProblemSets, viewAllAttempts};
-
-    // add the commands to the hashtable
-    
-    /* command by number
-    for (int i = 0; i < commands.length; i++) {
-      commandList.put(Integer.toString(i + 1), commands[i]);
+    // register all the commands by name
+    register("AddSimpleProblemCommand", () -> new AddSimpleProblemCommand(databaseStore, outputGenerator));
+    register("ViewProblemsCommand", () -> new ViewProblemsCommand(databaseExtract, outputGenerator));
+    register("LoginCommand", () -> new LoginCommand(databaseExtract, outputGenerator));
+    register("AddStudentCommand", () -> new AddStudentCommand(databaseStore, outputGenerator));
+    register("AddSimpleProblemSetCommand", () -> new AddSimpleProblemSetCommand(databaseStore, outputGenerator));
+    register("AddProblemSetAttemptCommand", () -> new AddProblemSetAttemptCommand(databaseStore, outputGenerator));
+    register("ViewAllProblemSetsCommand", () -> new ViewAllProblemSetsCommand(databaseExtract, outputGenerator));
+    register("ViewAllAttemptsCommand", () -> new ViewAllAttemptsCommand(databaseExtract, outputGenerator));
+    register("ViewProblemSetCommand", () -> new ViewProblemSetCommand(databaseExtract, outputGenerator));
+    register("ViewProblemSetSummariesCommand",
+        () -> new ViewProblemSetSummariesCommand(databaseExtract, outputGenerator));
+    register("ViewProblemSummariesCommand", () -> new ViewProblemSummariesCommand(databaseExtract, outputGenerator));
+    register("ViewDatabaseMetricsCommand", () -> new ViewDatabaseMetricsCommand(databaseExtract, outputGenerator));
+    register("ViewCommandMetricsCommand",
+        () -> new ViewCommandMetricsCommand(commandMetrics, databaseExtract, outputGenerator));
+    register("ExportGradebookCommand", () -> new ExportGradebookCommand(databaseExtract, outputGenerator));
+    register("ExportSnapshotCommand", () -> new ExportSnapshotCommand(databaseExtract, outputGenerator));
+    register("ImportSnapshotCommand", () -> new ImportSnapshotCommand(databaseStore, outputGenerator));
+    register("FindByTagsCommand", () -> new FindByTagsCommand(databaseExtract, outputGenerator));
+    register("SuggestTagsCommand", () -> new SuggestTagsCommand(databaseExtract, outputGenerator));
+    register("SearchProblemsCommand", () -> new SearchProblemsCommand(databaseExtract, outputGenerator));
+    register("FindSimilarProblemsCommand",
+        () -> new FindSimilarProblemsCommand(databaseExtract, outputGenerator));
+
+    // build the tag suggestions and the search indexes once the database is open, so the first
+    // suggestion and the first search are instant
+    databaseReady.thenRunAsync(this::warmSearchIndexes);
+  }
+
+  /**
+   * Builds the trie of the tags in use and the search and similarity indexes of the problems. A
+   * failure is ignored here, each is built again the first time it is used. Commands keep running
+   * meanwhile, since each index is built under its own lock rather than the interpreter's, and
+   * only a command that needs an index waits for it. A build can see tags that a command stores
+   * before the command patches them in, which is why the patches are idempotent.
+   */
+  private void warmSearchIndexes() {
+    try {
+      databaseExtract.getTagTrie();
+      databaseExtract.getProblemSearchIndex();
+      databaseExtract.getProblemSimilarityIndex();
+    } catch (DatabaseSelectException | SQLException e) {
+      // retried by the first command that needs it
     }
-    */
-    
-    // command by name
-    for (Command nextCommand : commands) {
-      String commandName =
-          nextCommand.getClass().getName().substring(8);
-      commandList.put(commandName, nextCommand);
+  }
+
+  /**
+   * Adds a command that can be executed by name.
+   * @param commandName the name the user types to execute the command
+   * @param factory creates the command when it is first executed
+   */
+  private void register(String commandName, Supplier<Command> factory) {
+    commandFactories.put(commandName, factory);
+  }
+
+  /**
+   * Gets the command with the given name, creating it if it was not executed before.
+   * @param commandName the name of the command
+   * @return the command
+   */
+  private Command getCommand(String commandName) {
+    Command namedCommand = commandList.get(commandName);
+    if (namedCommand == null) {
+      namedCommand = commandFactories.get(commandName).get();
+      commandList.put(commandName, namedCommand);
+    }
+    return namedCommand;
+  }
+
+  /**
+   * Waits until the database is open and its tables exist.
+   */
+  private void awaitDatabase() {
+    try {
+      databaseReady.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
     }
   }
   
-  public static Interpreter createNewInterpreter(OutputMode mode) {
+  public static synchronized Interpreter createNewInterpreter(OutputMode mode) {
     if(referencedInterpreter == null) {
       referencedInterpreter = new Interpreter(mode);
     }
@@ -113,26 +184,103 @@ public class Interpreter {
   }
 
   /**
-   * Execute the action base on the user input
+   * Execute the action base on the user input. Only one command runs at a time, since the GUI
+   * also runs commands on background threads.
    * 
    * @param formattedInput
    * @return Whether or not the command successfully executed
    */
-  public boolean executeAction(String[] formattedInput) {
+  public synchronized boolean executeAction(String[] formattedInput) {
     // extract the command and parameters from the formattedInput
     command = formattedInput[0];
     parameters = Arrays.copyOfRange(formattedInput, 1, formattedInput.length);
     
     // If the command is valid
-    if (commandList.containsKey(command)) {
-      // Find the corresponding command and execute it
-      commandObject = commandList.get(command);
-      return commandObject.execute(parameters);
+    if (commandFactories.containsKey(command)) {
+      return run(command, parameters.length, nextCommand -> nextCommand.execute(parameters));
     }
     // TODO: raise error for invalid commands
+    commandMetrics.record(CommandMetrics.UNKNOWN_COMMAND, 0, false);
+    return false;
+  }
+
+  /**
+   * Execute a command with a model object instead of string arguments, for callers within the
+   * process. The command must be a ModelCommand taking the type of the model.
+   *
+   * @param commandName The name of the command
+   * @param model The model to pass to the command
+   * @return Whether or not the command successfully executed
+   */
+  public synchronized boolean executeAction(String commandName, Object model) {
+    command = commandName;
+    parameters = new String[0];
+
+    if (commandFactories.containsKey(command)) {
+      return run(command, 1, nextCommand -> executeModel(nextCommand, model));
+    }
+    commandMetrics.record(CommandMetrics.UNKNOWN_COMMAND, 0, false);
     return false;
   }
 
+  /**
+   * Finds the command with the given name and executes it, timing it for the command metrics.
+   *
+   * @param commandName The name of the command
+   * @param arguments The number of arguments passed to the command
+   * @param execution Executes the command
+   * @return Whether or not the command successfully executed
+   */
+  private boolean run(String commandName, int arguments, Predicate<Command> execution) {
+    awaitDatabase();
+    commandObject = getCommand(commandName);
+    CommandEvent event = new CommandEvent();
+    boolean succeeded = false;
+    event.begin();
+    long start = System.nanoTime();
+    try {
+      succeeded = execution.test(commandObject);
+    } finally {
+      commandMetrics.record(commandName, System.nanoTime() - start, succeeded);
+      event.end();
+      if (event.shouldCommit()) {
+        event.command = commandName;
+        event.arguments = arguments;
+        event.userId = getCurrentUserId();
+        event.succeeded = succeeded;
+        event.commit();
+      }
+    }
+    return succeeded;
+  }
+
+  /**
+   * Executes a command with a model.
+   *
+   * @param modelCommand The command, which must be a ModelCommand
+   * @param model The model to pass to the command
+   * @return Whether or not the command successfully executed
+   */
+  private static boolean executeModel(Command modelCommand, Object model) {
+    if (!(modelCommand instanceof ModelCommand)) {
+      throw new IllegalArgumentException(modelCommand.getClass().getSimpleName()
+          + " can not be executed with a model");
+    }
+    return executeModel((ModelCommand<?>) modelCommand, model);
+  }
+
+  private static <T> boolean executeModel(ModelCommand<T> modelCommand, Object model) {
+    return modelCommand.execute(modelCommand.getModelType().cast(model));
+  }
+
+  /**
+   * Gets the invocation counts and latencies of the commands executed so far.
+   * @return the command metrics of this interpreter
+   */
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
   public OutputGen getOutputGenerator() {
     return outputGenerator;
   }
@@ -145,6 +293,17 @@ public class Interpreter {
     return sessionUser;
   }
 
+  /**
+   * Gets the ID of the current logged in user, which is the student number for students.
+   * @return the ID of the logged in user. -1 if no user is logged in.
+   */
+  private int getCurrentUserId() {
+    if (sessionUser instanceof Student) {
+      return ((Student) sessionUser).getStudentNumber();
+    }
+    return sessionUser == null ? -1 : sessionUser.getId();
+  }
+
   /**
    * Sets the current logged in user.
    * @param sessionUser the user to set the session to
@@ -2,6 +2,7 @@ package driver;
 
 import io.OutputGen;
 import io.UI;
+import util.StartupTimer;
 
 public class JWorks {
 
@@ -15,8 +16,11 @@ public class JWorks {
 
 
   public static void main(String[] args) {
+    StartupTimer.mark("started");
     // Keep the program running
     while (!exit) {
+      // the database is opened in the background, so it may have become ready since the last prompt
+      StartupTimer.report();
       input = ui.userChoicePrompt();
 
       if (input.trim().equals("exit")) {
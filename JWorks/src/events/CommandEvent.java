@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a command run by the interpreter.
+ */
+@Name("jworks.Command")
+@Label("Command")
+@Category("JWorks")
+@Description("A command executed by the interpreter")
+public class CommandEvent extends Event {
+
+    @Label("Command")
+    public String command;
+
+    @Label("Arguments")
+    public int arguments;
+
+    @Label("User")
+    @Description("The ID of the logged in user, -1 if nobody is logged in")
+    public int userId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
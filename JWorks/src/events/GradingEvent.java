@@ -0,0 +1,29 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for marking the answers of a problem set attempt.
+ */
+@Name("jworks.Grading")
+@Label("Grading")
+@Category("JWorks")
+@Description("The answers of a problem set attempt checked against the problems")
+public class GradingEvent extends Event {
+
+    @Label("Student Number")
+    public int studentNumber;
+
+    @Label("Problem Set")
+    public int problemSetId;
+
+    @Label("Problems")
+    public int problems;
+
+    @Label("Correct Answers")
+    public int correctAnswers;
+}
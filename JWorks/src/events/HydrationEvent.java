@@ -0,0 +1,29 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for building models from database rows.
+ */
+@Name("jworks.Hydration")
+@Label("Model Hydration")
+@Category({"JWorks", "Database"})
+@Description("Models loaded from the database")
+public class HydrationEvent extends Event {
+
+    @Label("Model")
+    @Description("The type of model loaded")
+    public String model;
+
+    @Label("ID")
+    @Description("The ID of the model loaded, -1 if several models were loaded")
+    public int id;
+
+    @Label("Count")
+    @Description("The number of models loaded")
+    public int count;
+}
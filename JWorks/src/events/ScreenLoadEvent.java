@@ -0,0 +1,31 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for loading a screen from its FXML file.
+ */
+@Name("jworks.ScreenLoad")
+@Label("Screen Load")
+@Category({"JWorks", "GUI"})
+@Description("An FXML file loaded into the window or an inner pane")
+public class ScreenLoadEvent extends Event {
+
+    @Label("FXML File")
+    public String fxmlFile;
+
+    @Label("Whole Window")
+    @Description("True if the screen replaced the whole window, false if it replaced an inner pane")
+    public boolean wholeWindow;
+
+    @Label("Cached")
+    @Description("True if the screen was parsed before, or was being preloaded")
+    public boolean cached;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
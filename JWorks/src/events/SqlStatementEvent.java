@@ -0,0 +1,39 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a SQL statement. The event lasts from the execution of the statement
+ * until its results are read to the end or closed, so it includes the time the caller spends
+ * between rows.
+ */
+@Name("jworks.SqlStatement")
+@Label("SQL Statement")
+@Category({"JWorks", "Database"})
+@Description("A SQL statement and the reading of its results")
+public class SqlStatementEvent extends Event {
+
+    @Label("Method")
+    @Description("The database method that ran the statement")
+    public String method;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    @Description("The number of rows read or changed")
+    public long rows;
+
+    @Label("Driver Time")
+    @Description("The time spent inside the database driver")
+    @Timespan(Timespan.NANOSECONDS)
+    public long driverTime;
+
+    @Label("Failed")
+    public boolean failed;
+}
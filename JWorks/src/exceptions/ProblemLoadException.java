@@ -0,0 +1,15 @@
+package exceptions;
+
+/**
+ * Thrown when the problems of a problem set could not be loaded when they were first needed. It is
+ * unchecked because problems are loaded from inside getters that can not throw checked exceptions.
+ */
+public class ProblemLoadException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ProblemLoadException(String errorMessage, Throwable cause) {
+    super(errorMessage, cause);
+  }
+
+}
@@ -0,0 +1,47 @@
+package export;
+
+/**
+ * The file formats that exported tables can be written in.
+ */
+public enum ExportFormat {
+    /**
+     * Comma separated values with a header line, quoted where needed.
+     */
+    CSV,
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    JSON_LINES;
+
+    /**
+     * Suffix of the file names of compressed exports.
+     */
+    public static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * Picks the format from the extension of a file name, ignoring a trailing ".gz". Files ending in
+     * ".jsonl", ".ndjson" or ".json" are JSON Lines, anything else is CSV.
+     * @param fileName the name of the file to export to
+     * @return the format of the file
+     */
+    public static ExportFormat forFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        if (isCompressed(name)) {
+            name = name.substring(0, name.length() - GZIP_SUFFIX.length());
+        }
+
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return JSON_LINES;
+        }
+        return CSV;
+    }
+
+    /**
+     * Returns whether or not a file name asks for a gzip compressed export.
+     * @param fileName the name of the file to export to
+     * @return whether or not the file name ends in ".gz"
+     */
+    public static boolean isCompressed(String fileName) {
+        return fileName.toLowerCase().endsWith(GZIP_SUFFIX);
+    }
+}
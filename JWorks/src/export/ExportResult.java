@@ -0,0 +1,86 @@
+package export;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What an export wrote, or an import read, and how fast it went. Printing the result gives a one line summary.
+ */
+public class ExportResult {
+
+    private final Path file;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final boolean imported;
+
+    /**
+     * Creates the result of a finished export.
+     * @param file the file that was written
+     * @param rows the number of rows written, not counting the header
+     * @param bytes the size of the file in bytes
+     * @param elapsedNanos how long the export took, in nanoseconds
+     */
+    public ExportResult(Path file, long rows, long bytes, long elapsedNanos) {
+        this(file, rows, bytes, elapsedNanos, false);
+    }
+
+    private ExportResult(Path file, long rows, long bytes, long elapsedNanos, boolean imported) {
+        this.file = file;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.imported = imported;
+    }
+
+    /**
+     * Creates the result of a finished import.
+     * @param file the file that was read
+     * @param rows the number of rows read
+     * @param bytes the size of the file in bytes
+     * @param elapsedNanos how long the import took, in nanoseconds
+     * @return the result of the import
+     */
+    public static ExportResult imported(Path file, long rows, long bytes, long elapsedNanos) {
+        return new ExportResult(file, rows, bytes, elapsedNanos, true);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns whether or not the rows were read from the file rather than written to it.
+     * @return whether or not this is the result of an import
+     */
+    public boolean isImported() {
+        return imported;
+    }
+
+    /**
+     * Returns the throughput of the export.
+     * @return the number of rows written per second
+     */
+    public long getRowsPerSecond() {
+        return elapsedNanos <= 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return (imported ? "Imported " : "Exported ") + rows + " rows (" + bytes + " bytes) "
+                + (imported ? "from " : "to ") + file + " in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms, " + getRowsPerSecond() + " rows/s";
+    }
+}
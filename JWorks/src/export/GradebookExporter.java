@@ -0,0 +1,174 @@
+package export;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+import models.AttemptGrade;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Exports the grades of the students straight from the database to a file, one row at a time, so that any number of
+ * attempts can be exported without loading them into memory.
+ */
+public class GradebookExporter {
+
+    /**
+     * The tables of grades that can be exported.
+     */
+    public enum Report {
+        /**
+         * The score of every attempt.
+         */
+        ATTEMPTS("student_number", "student_name", "problem_set", "time", "correct", "problems"),
+        /**
+         * The best score and number of attempts of every student in every problem set they attempted.
+         */
+        BEST_SCORES("student_number", "student_name", "problem_set", "attempts", "best_correct", "problems"),
+        /**
+         * How often every answered problem was answered correctly.
+         */
+        PROBLEMS("problem", "answers", "correct", "correct_rate");
+
+        private final String[] columns;
+
+        Report(String... columns) {
+            this.columns = columns;
+        }
+
+        /**
+         * Gets the report with the given name, such as "attempts" or "best-scores". Ignores casing.
+         * @param name the name of the report
+         * @return the report, null if there is no report with that name
+         */
+        public static Report forName(String name) {
+            for (Report report : values()) {
+                if (report.getName().equalsIgnoreCase(name)) {
+                    return report;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the name of the report used on the command line.
+         * @return the name of the report
+         */
+        public String getName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private final DatabaseExtractAPI api;
+
+    /**
+     * Creates an exporter that reads the grades through the given API.
+     * @param api the database extract API to read the grades with
+     */
+    public GradebookExporter(DatabaseExtractAPI api) {
+        this.api = api;
+    }
+
+    /**
+     * Exports a report, picking the format and compression from the file name.
+     * @param report the report to export
+     * @param file the file to write, replaced if it exists
+     * @return the number of rows written and the throughput of the export
+     * @throws IOException Thrown if the file could not be written
+     * @throws DatabaseSelectException Thrown if the grades could not be retrieved from the database
+     * @throws SQLException Thrown if the grades could not be read from the database
+     * @see ExportFormat#forFileName(String)
+     */
+    public ExportResult export(Report report, Path file) throws IOException, DatabaseSelectException,
+            SQLException {
+        String fileName = file.getFileName().toString();
+        return export(report, file, ExportFormat.forFileName(fileName), ExportFormat.isCompressed(fileName));
+    }
+
+    /**
+     * Exports a report.
+     * @param report the report to export
+     * @param file the file to write, replaced if it exists
+     * @param format the format of the file
+     * @param gzip whether or not to compress the file
+     * @return the number of rows written and the throughput of the export
+     * @throws IOException Thrown if the file could not be written
+     * @throws DatabaseSelectException Thrown if the grades could not be retrieved from the database
+     * @throws SQLException Thrown if the grades could not be read from the database
+     */
+    public ExportResult export(Report report, Path file, ExportFormat format, boolean gzip) throws IOException,
+            DatabaseSelectException, SQLException {
+        long start = System.nanoTime();
+        RowWriter writer = new RowWriter(file, format, gzip, report.columns);
+
+        try {
+            switch (report) {
+                case ATTEMPTS:
+                    api.getAttemptGrades(grade -> write(writer, grade.getStudentNumber(), grade.getStudentName(),
+                            grade.getProblemSetId(), grade.getTimeAttempted(), grade.getCorrectAnswers(),
+                            grade.getProblemCount()));
+                    break;
+                case BEST_SCORES:
+                    BestScores bestScores = new BestScores(writer);
+                    api.getAttemptGrades(bestScores::add);
+                    bestScores.flush();
+                    break;
+                case PROBLEMS:
+                    api.getProblemGrades(grade -> write(writer, grade.getProblemId(), grade.getAnswers(),
+                            grade.getCorrectAnswers(), grade.getCorrectRate()));
+                    break;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.close();
+        }
+
+        return new ExportResult(file, writer.getRowCount(), writer.getBytesWritten(), System.nanoTime() - start);
+    }
+
+    private static void write(RowWriter writer, Object... values) {
+        try {
+            writer.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reduces the attempt grades of each student and problem set to a single row. The grades arrive ordered by
+     * student and problem set, so only the current pair is kept.
+     */
+    private static class BestScores {
+        private final RowWriter writer;
+        private AttemptGrade best;
+        private int attempts;
+
+        BestScores(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        void add(AttemptGrade grade) {
+            if (best != null && (best.getStudentNumber() != grade.getStudentNumber()
+                    || best.getProblemSetId() != grade.getProblemSetId())) {
+                flush();
+            }
+
+            attempts++;
+            if (best == null || grade.getCorrectAnswers() > best.getCorrectAnswers()) {
+                best = grade;
+            }
+        }
+
+        void flush() {
+            if (best != null) {
+                write(writer, best.getStudentNumber(), best.getStudentName(), best.getProblemSetId(), attempts,
+                        best.getCorrectAnswers(), best.getProblemCount());
+                best = null;
+                attempts = 0;
+            }
+        }
+    }
+}
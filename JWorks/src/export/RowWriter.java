@@ -0,0 +1,218 @@
+package export;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a table to a file one row at a time, as CSV or JSON Lines, optionally gzip compressed. Rows go through a
+ * fixed size buffer straight to the file channel, so memory use does not depend on the number of rows.
+ *
+ * Numbers are written as they are, dates as ISO-8601 instants and everything else as text. Null values are left
+ * empty in CSV and written as null in JSON Lines.
+ */
+public class RowWriter implements Closeable {
+
+    /**
+     * The size in bytes of the buffer in front of the file.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final ExportFormat format;
+    private final String[] columns;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(256);
+    private long rows;
+    private long bytes = -1;
+
+    /**
+     * Creates the file, replacing it if it exists, and writes the header of the table.
+     * @param file the file to write to
+     * @param format the format of the file
+     * @param gzip whether or not to compress the file
+     * @param columns the names of the columns of the table
+     * @throws IOException Thrown if the file could not be created
+     */
+    public RowWriter(Path file, ExportFormat format, boolean gzip, String... columns) throws IOException {
+        this.file = file;
+        this.format = format;
+        this.columns = columns.clone();
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream stream = Channels.newOutputStream(channel);
+        try {
+            stream = gzip ? new GZIPOutputStream(stream, BUFFER_SIZE) : new BufferedOutputStream(stream, BUFFER_SIZE);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        this.out = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsv(columns[i]);
+            }
+            endLine();
+        }
+    }
+
+    /**
+     * Writes the next row of the table.
+     * @param values the value of each column, in the order of the columns
+     * @throws IOException Thrown if the row could not be written
+     */
+    public void writeRow(Object... values) throws IOException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, got " + values.length);
+        }
+
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                if (values[i] != null) {
+                    appendCsv(format(values[i]));
+                }
+            }
+        } else {
+            line.append('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendJsonString(columns[i]);
+                line.append(':');
+                appendJson(values[i]);
+            }
+            line.append('}');
+        }
+
+        endLine();
+        rows++;
+    }
+
+    /**
+     * Returns the number of rows written so far, not counting the header.
+     * @return the number of rows written
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Returns the size of the file once it is closed.
+     * @return the size of the file in bytes, -1 if it is still open
+     */
+    public long getBytesWritten() {
+        return bytes;
+    }
+
+    /**
+     * Flushes the remaining rows, finishes the compression and closes the file.
+     * @throws IOException Thrown if the file could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (bytes < 0) {
+            out.close();
+            bytes = file.toFile().length();
+        }
+    }
+
+    private void endLine() throws IOException {
+        line.append('\n');
+        out.append(line);
+        line.setLength(0);
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).toInstant().toString();
+        }
+        return value.toString();
+    }
+
+    private void appendCsv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendJson(Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (value instanceof Number && !isNonFinite((Number) value)) {
+            line.append(value);
+        } else {
+            appendJsonString(format(value));
+        }
+    }
+
+    private static boolean isNonFinite(Number value) {
+        return (value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue());
+    }
+
+    private void appendJsonString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -4,7 +4,6 @@ import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseEvent;
 import models.Problem;
 import models.SimpleProblemSet;
@@ -70,9 +69,11 @@ public class AddProblemSetScreenController extends Controller {
     public void initialize() {
         super.initialize();
 
+        TagSuggestions.attach(tagsField);
+
         // Initialize problem set UI components
         problemList = new ArrayList<>();
-        problemListColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        problemListColumn.setCellValueFactory(ModelPropertyAdapter.cellValue(Problem::getId));
         problemListTable.setOnMousePressed(new EventHandler<MouseEvent>() {
             @Override
             public void handle(MouseEvent event) {
@@ -102,6 +103,12 @@ public class AddProblemSetScreenController extends Controller {
         updateTableList();
     }
 
+    @Override
+    public void reset() {
+        clearFields();
+        problemTableViewController.reset();
+    }
+
     /**
      * Adds the given Problem to the Problem set list. Does nothing if the element already exists.
      * @param problem the Problem object to add
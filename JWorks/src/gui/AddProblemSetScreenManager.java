@@ -1,13 +1,8 @@
 package gui;
 
 import javafx.scene.layout.Pane;
-import models.Problem;
 import models.ProblemSet;
 
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.List;
-
 public class AddProblemSetScreenManager extends Manager {
     /**
      * Load and display the screen to view all problems.
@@ -21,24 +16,12 @@ public class AddProblemSetScreenManager extends Manager {
         controller.start(this);
     }
 
+    /**
+     * Saves the given problem set, passing it to the command as is.
+     *
+     * @param problemSet the problem set to save
+     */
     public void addProblemSet(ProblemSet problemSet) {
-        // Create string args array to call the appropriate command from interpreter
-        List<String> argList = new ArrayList<>();
-        argList.add("AddSimpleProblemSetCommand"); // add problem set command
-        SimpleDateFormat dateFormat = new SimpleDateFormat();
-
-        // Start date, end date, max attempts, followed by problem ids
-        argList.add(dateFormat.format(problemSet.getStartTime()));
-        argList.add(dateFormat.format(problemSet.getEndTime()));
-        argList.add(String.valueOf(problemSet.getMaxAttempts()));
-        argList.add(String.valueOf(problemSet.getQuestions().size()));
-
-        for (Problem p : problemSet.getQuestions()) {
-            argList.add(String.valueOf(p.getId()));
-        }
-
-        argList.addAll(problemSet.getTags());
-
-        interpreter.executeAction(argList.toArray(new String[argList.size()]));
+        interpreter.executeAction("AddSimpleProblemSetCommand", problemSet);
     }
 }
@@ -110,6 +110,15 @@ public class CompleteProblemSetScreenController extends Controller {
         });
     }
 
+    /**
+     * Starts the next attempt from the first question.
+     */
+    @Override
+    public void reset() {
+        currentProblemIndex = 0;
+        problemAnswer.clear();
+    }
+
     /**
      * Handles the state change between questions. Changes the corresponding labels, answers
      * and updates the progress bar.
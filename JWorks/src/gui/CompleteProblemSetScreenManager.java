@@ -43,8 +43,8 @@ public class CompleteProblemSetScreenManager extends Manager {
                 + score
                 + "%.");
 
-        // Serialize the attempt and submit to command
-        interpreter.executeAction(new String[] {"AddProblemSetAttemptCommand", attempt.serialize()});
+        // Submit the attempt to the command as is
+        interpreter.executeAction("AddProblemSetAttemptCommand", attempt);
         returnToMainScreen();
 
     }
@@ -2,4 +2,10 @@ package gui;
 
 public class Controller {
   public void initialize() {}
+
+  /**
+   * Called when a screen that was shown before is shown again, before the controller is started.
+   * Clears whatever the user entered the last time.
+   */
+  public void reset() {}
 }
@@ -27,6 +27,12 @@ public class CreateNewQuestionScreenController extends Controller {
 	@FXML
 	private Button importButton;
 
+	@Override
+	public void initialize() {
+		// suggest the tags already in use while they are typed
+		TagSuggestions.attach(tagField);
+	}
+
 	/**
 	 * Start the handling of actions on screen
 	 * 
@@ -77,4 +83,13 @@ public class CreateNewQuestionScreenController extends Controller {
 		});
 
 	}
+
+	@Override
+	public void reset() {
+		questionInput.setText("");
+		answerInput.setText("");
+		questionError.setText("");
+		answerError.setText("");
+		tagField.clear();
+	}
 }
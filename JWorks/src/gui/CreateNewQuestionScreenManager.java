@@ -2,9 +2,12 @@ package gui;
 
 import io.FileParser;
 import javafx.scene.layout.Pane;
+import models.StoredProblem;
+import search.SearchHit;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class CreateNewQuestionScreenManager extends Manager {
@@ -19,11 +22,20 @@ public class CreateNewQuestionScreenManager extends Manager {
 	 */
 	public void createNewQuestion(String question, String answer, String tagString) {
 		inputValues = new String[] { COMMAND, question, answer, tagString };
+		// look for duplicates before the problem is added, so that it does not find itself
+		List<Integer> duplicates = findDuplicates(question);
 		// execute the action in interpreter
-		final boolean success = interpreter.executeAction(inputValues);
+		final Object result = executeForResult(inputValues);
+		final boolean success = result instanceof StoredProblem;
 
 		// inform user of command result
-		if (success) {
+		if (success && !((StoredProblem) result).isCreated()) {
+			interpreter.getOutputGenerator().output("This problem is already in the bank as problem "
+					+ ((StoredProblem) result).getProblem().getId() + ".");
+		} else if (success && !duplicates.isEmpty()) {
+			interpreter.getOutputGenerator().output("Problem successfully added! It looks like a duplicate of "
+					+ "problem " + joinIds(duplicates) + ".");
+		} else if (success) {
 			interpreter.getOutputGenerator().output("Problem successfully added!");
 		} else {
 			interpreter.getOutputGenerator().output("Something went wrong!");
@@ -37,15 +49,65 @@ public class CreateNewQuestionScreenManager extends Manager {
 	public void createBulkProblems(File file) {
 		try {
 			List<String[]> problems = FileParser.generateArgStringFromFile(file, COMMAND);
+			List<Integer> duplicates = new ArrayList<>();
+			int duplicateCount = 0;
+			int storedCount = 0;
 			for (String[] problemCommands : problems) {
-				interpreter.executeAction(problemCommands);
+				// earlier problems of the file are in the bank by now, so duplicates within the file are found too
+				List<Integer> similar = problemCommands.length > 1 ? findDuplicates(problemCommands[1])
+						: new ArrayList<>();
+				Object result = executeForResult(problemCommands);
+				if (!(result instanceof StoredProblem)) {
+					continue;
+				}
+				if (!((StoredProblem) result).isCreated()) {
+					storedCount++;
+				} else if (!similar.isEmpty()) {
+					duplicateCount++;
+					if (!duplicates.contains(similar.get(0))) {
+						duplicates.add(similar.get(0));
+					}
+				}
 			}
-			interpreter.getOutputGenerator().output("Problems successfully imported!");
+
+			String message = "Problems successfully imported!";
+			if (storedCount > 0) {
+				message += " " + storedCount + " of them were in the bank already and were not added again.";
+			}
+			if (duplicateCount > 0) {
+				message += " " + duplicateCount + " of them look like duplicates of problems " + joinIds(duplicates)
+						+ ".";
+			}
+			interpreter.getOutputGenerator().output(message);
 		} catch (IOException e) {
 			interpreter.getOutputGenerator().output("Something went wrong! Check the format of your file");
 		}
 	}
 
+	/**
+	 * Finds the problems that are likely duplicates of a question.
+	 * @param question the question of a new problem
+	 * @return the IDs of the likely duplicates, most similar first
+	 */
+	private List<Integer> findDuplicates(String question) {
+		List<Integer> duplicates = new ArrayList<>();
+		Object hits = executeForResult("FindSimilarProblemsCommand", "duplicates", question);
+		if (hits instanceof List) {
+			for (Object hit : (List<?>) hits) {
+				duplicates.add(((SearchHit) hit).getId());
+			}
+		}
+		return duplicates;
+	}
+
+	private static String joinIds(List<Integer> ids) {
+		StringBuilder joined = new StringBuilder();
+		for (int id : ids) {
+			joined.append(joined.length() == 0 ? "" : ", ").append(id);
+		}
+		return joined.toString();
+	}
+
 	/**
 	 * Load and display the create new question screen
 	 * 
@@ -11,7 +11,7 @@ import javafx.stage.FileChooser;
 
 import java.io.File;
 
-public class CreateNewStudentAccountController {
+public class CreateNewStudentAccountController extends Controller {
 	@FXML
 	private TextField firstName;
 	@FXML
@@ -131,6 +131,11 @@ public class CreateNewStudentAccountController {
 		return result;
 	}
 
+	@Override
+	public void reset() {
+		resetFields();
+	}
+
 	private void resetFields() {
 		firstNameError.setText("");
 		lastNameError.setText("");
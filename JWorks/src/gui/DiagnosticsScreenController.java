@@ -0,0 +1,102 @@
+package gui;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import util.LatencyReport;
+
+import java.util.function.Function;
+
+public class DiagnosticsScreenController extends Controller {
+    @FXML
+    private TableView<LatencyReport.Row> commandTable;
+    @FXML
+    private TableView<LatencyReport.Row> databaseTable;
+    @FXML
+    private Label commandTitleLabel;
+    @FXML
+    private Label databaseTitleLabel;
+    @FXML
+    private Button refreshButton;
+    @FXML
+    private Button resetButton;
+
+    private DiagnosticsScreenManager manager;
+
+    /**
+     * Start the handling of actions on screen
+     *
+     * @param manager The scene manager to use for this UI controller
+     */
+    public void start(DiagnosticsScreenManager manager) {
+        this.manager = manager;
+        showReports(false);
+
+        refreshButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                showReports(false);
+            }
+        });
+
+        resetButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                // Show the metrics one last time before they are cleared
+                showReports(true);
+            }
+        });
+    }
+
+    /**
+     * Setup the columns of both tables
+     */
+    @Override
+    public void initialize() {
+        super.initialize();
+
+        addColumns(commandTable, false);
+        addColumns(databaseTable, true);
+    }
+
+    private void showReports(boolean reset) {
+        LatencyReport commandReport = manager.getCommandReport(reset);
+        LatencyReport databaseReport = manager.getDatabaseReport(reset);
+
+        commandTitleLabel.setText(commandReport.getTitle());
+        commandTable.getItems().setAll(commandReport.getRows());
+        databaseTitleLabel.setText(databaseReport.getTitle());
+        databaseTable.getItems().setAll(databaseReport.getRows());
+    }
+
+    private static void addColumns(TableView<LatencyReport.Row> table, boolean withRows) {
+        table.getColumns().add(column("Name", 200, LatencyReport.Row::getName));
+        table.getColumns().add(column("Count", 60, LatencyReport.Row::getCount));
+        table.getColumns().add(column("Failed", 60, LatencyReport.Row::getFailures));
+        if (withRows) {
+            table.getColumns().add(column("Rows", 70, LatencyReport.Row::getRows));
+        }
+        table.getColumns().add(millisColumn("Mean ms", LatencyReport.Row::getMeanNanos));
+        table.getColumns().add(millisColumn("p50 ms", LatencyReport.Row::getP50Nanos));
+        table.getColumns().add(millisColumn("p95 ms", LatencyReport.Row::getP95Nanos));
+        table.getColumns().add(millisColumn("p99 ms", LatencyReport.Row::getP99Nanos));
+        table.getColumns().add(millisColumn("Max ms", LatencyReport.Row::getMaxNanos));
+    }
+
+    private static <T> TableColumn<LatencyReport.Row, T> column(String name, double width,
+                                                               Function<LatencyReport.Row, T> getter) {
+        TableColumn<LatencyReport.Row, T> column = new TableColumn<>(name);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(ModelPropertyAdapter.cellValue(getter));
+        return column;
+    }
+
+    private static TableColumn<LatencyReport.Row, String> millisColumn(String name,
+                                                                      Function<LatencyReport.Row, Long> getter) {
+        return column(name, 70, row -> String.format("%.3f", getter.apply(row) / 1e6));
+    }
+}
@@ -0,0 +1,41 @@
+package gui;
+
+import javafx.scene.layout.Pane;
+import util.LatencyReport;
+
+public class DiagnosticsScreenManager extends Manager {
+
+    /**
+     * Load and display the screen showing the command and database metrics.
+     *
+     * @param innerPane The pane that new contents are loading into
+     */
+    public void showScreen(Pane innerPane) {
+        loader = loadNewPane(loader, innerPane, "DiagnosticsScreen.fxml");
+        DiagnosticsScreenController controller = loader.getController();
+        controller.start(this);
+    }
+
+    /**
+     * Returns the latencies of the commands run so far.
+     * @param reset whether or not to clear the metrics after reading them
+     * @return a report with one row per command
+     */
+    public LatencyReport getCommandReport(boolean reset) {
+        return getReport("ViewCommandMetricsCommand", reset);
+    }
+
+    /**
+     * Returns the latencies of the SQL statements run so far.
+     * @param reset whether or not to clear the metrics after reading them
+     * @return a report with one row per database method
+     */
+    public LatencyReport getDatabaseReport(boolean reset) {
+        return getReport("ViewDatabaseMetricsCommand", reset);
+    }
+
+    private LatencyReport getReport(String command, boolean reset) {
+        String[] args = reset ? new String[] {command, "reset"} : new String[] {command};
+        return (LatencyReport) executeForResult(args);
+    }
+}
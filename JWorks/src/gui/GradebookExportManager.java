@@ -0,0 +1,89 @@
+package gui;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import export.ExportResult;
+import export.GradebookExporter;
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+public class GradebookExportManager extends Manager {
+
+    /**
+     * Asks which report to export and where to save it, then exports it on a background thread and
+     * shows how many rows were written.
+     *
+     * @param owner The window the dialogs belong to
+     */
+    public void export(Window owner) {
+        List<String> reports = Arrays.asList(GradebookExporter.Report.ATTEMPTS.getName(),
+                GradebookExporter.Report.BEST_SCORES.getName(), GradebookExporter.Report.PROBLEMS.getName());
+        ChoiceDialog<String> reportDialog = new ChoiceDialog<>(reports.get(0), reports);
+        reportDialog.initOwner(owner);
+        reportDialog.setTitle("Export Grades");
+        reportDialog.setHeaderText("Choose the grades to export");
+        Optional<String> report = reportDialog.showAndWait();
+        if (!report.isPresent()) {
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Grades");
+        fileChooser.setInitialFileName(report.get() + ".csv");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("Compressed CSV", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"),
+                new FileChooser.ExtensionFilter("Compressed JSON Lines", "*.jsonl.gz"));
+        File file = fileChooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+
+        String path = withExtension(file, fileChooser.getSelectedExtensionFilter());
+        Task<Object> export = new Task<Object>() {
+            @Override
+            protected Object call() {
+                return executeForResult("ExportGradebookCommand", report.get(), path);
+            }
+        };
+        export.setOnSucceeded(event -> showResult(owner, export.getValue()));
+        export.setOnFailed(event -> showResult(owner, export.getException()));
+
+        Thread thread = new Thread(export, "jworks-gradebook-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds the extension of the chosen file type to a file name that does not have it yet.
+     *
+     * @param file The file chosen by the user
+     * @param filter The file type chosen by the user, may be null
+     * @return the path of the file to export to
+     */
+    private static String withExtension(File file, FileChooser.ExtensionFilter filter) {
+        String path = file.getPath();
+        if (filter == null) {
+            return path;
+        }
+
+        String extension = filter.getExtensions().get(0).substring(1);
+        return path.toLowerCase().endsWith(extension) ? path : path + extension;
+    }
+
+    private static void showResult(Window owner, Object result) {
+        Alert alert = new Alert(result instanceof ExportResult ? Alert.AlertType.INFORMATION
+                : Alert.AlertType.ERROR);
+        alert.initOwner(owner);
+        alert.setHeaderText(null);
+        alert.setContentText(String.valueOf(result));
+        alert.show();
+    }
+}
@@ -18,6 +18,10 @@ public class InstructorInnerScreenController extends Controller {
   @FXML
   private Button viewProblemSetButton;
   @FXML
+  private Button diagnosticsButton;
+  @FXML
+  private Button exportGradesButton;
+  @FXML
   private Pane innerScreen;
 
   /**
@@ -62,5 +66,19 @@ public class InstructorInnerScreenController extends Controller {
         instructorInnerScreenManager.viewProblemSets(innerScreen);
       }
     });
+
+    diagnosticsButton.setOnAction(new EventHandler<ActionEvent>() {
+      @Override
+      public void handle(ActionEvent event) {
+        instructorInnerScreenManager.viewDiagnostics(innerScreen);
+      }
+    });
+
+    exportGradesButton.setOnAction(new EventHandler<ActionEvent>() {
+      @Override
+      public void handle(ActionEvent event) {
+        instructorInnerScreenManager.exportGrades(innerScreen);
+      }
+    });
   }
 }
\ No newline at end of file
@@ -14,6 +14,10 @@ public class InstructorInnerScreenManager extends Manager {
           new AddProblemSetScreenManager();
   private ViewProblemSetScreenManager viewProblemSetScreenManager =
           new ViewProblemSetScreenManager();
+  private DiagnosticsScreenManager diagnosticsScreenManager =
+          new DiagnosticsScreenManager();
+  private GradebookExportManager gradebookExportManager =
+          new GradebookExportManager();
 
   /**
    * Go to the create new question screen
@@ -36,6 +40,24 @@ public class InstructorInnerScreenManager extends Manager {
     showViewProblemSetsScreen(innerPane);
   }
 
+  /**
+   * Go to the screen showing the command and database metrics
+   *
+   * @param innerPane The pane that needs updates
+   */
+  public void viewDiagnostics(Pane innerPane) {
+    diagnosticsScreenManager.showScreen(innerPane);
+  }
+
+  /**
+   * Export the grades of the students to a file chosen by the instructor
+   *
+   * @param innerPane The pane the export was started from
+   */
+  public void exportGrades(Pane innerPane) {
+    gradebookExportManager.export(innerPane.getScene().getWindow());
+  }
+
   /**
    * Go to the create new student account screen
    *
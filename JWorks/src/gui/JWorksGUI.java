@@ -1,11 +1,13 @@
 package gui;
 
 
+import driver.Interpreter;
 import io.OutputGen;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
+import util.StartupTimer;
 
 public class JWorksGUI extends Application {
   private Stage stage;
@@ -24,9 +26,13 @@ public class JWorksGUI extends Application {
     stage.setScene(scene);
     stage.setResizable(false);
     stage.show();
+    StartupTimer.mark("window shown");
   }
 
   public static void main(String[] args) {
+    StartupTimer.reportImmediately();
+    // start opening the database while JavaFX starts up and loads the login screen
+    Interpreter.createNewInterpreter(OutputGen.OutputMode.GUI);
     launch(args);
   }
 }
@@ -46,4 +46,11 @@ public class LoginController extends Controller {
       }
     });
   }
+
+  @Override
+  public void reset() {
+    username.clear();
+    password.clear();
+    errorMessage.setText("");
+  }
 }
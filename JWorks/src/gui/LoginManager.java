@@ -31,10 +31,16 @@ public class LoginManager extends Manager {
 
 	public boolean Login(String user, String password) {
 		String[] args = { COMMAND, user, password };
-		if (interpreter.executeAction(args)) {
+		boolean authenticated;
+		Object result;
+		synchronized (interpreter) {
+			authenticated = interpreter.executeAction(args);
+			result = interpreter.getOutputGenerator().getLastResult();
+		}
+		if (authenticated) {
 			// Auth is successful, store user appropriately
 			try {
-				User sessionUser = (User) interpreter.getOutputGenerator().getLastResult();
+				User sessionUser = (User) result;
 				interpreter.setCurrentUser(sessionUser);
 			} catch (ClassCastException e) {
 				// Instructor login case
@@ -59,6 +65,8 @@ public class LoginManager extends Manager {
 	 * Return the user to the login screen
 	 */
 	public void logout() {
+		// the cached screens were set up for the user logging out
+		ScreenCache.clear();
 		showScreen();
 	}
 
@@ -85,6 +93,9 @@ public class LoginManager extends Manager {
 		instructorMainScreenManager = new InstructorMainScreenManager(scene);
 		// show the main screen
 		instructorMainScreenManager.showScreen(this, user);
+		// parse the screens reachable from the home screen while the instructor looks at it
+		ScreenCache.preload("ViewAllProblemsScreen.fxml", "ViewProblemSetScreen.fxml",
+				"CreateNewQuestionScreen.fxml", "AddProblemSetScreen.fxml", "CreateNewStudentAccount.fxml");
 	}
 
 	/**
@@ -95,6 +106,8 @@ public class LoginManager extends Manager {
 	private void showStudentMainScreen(String user) {
 		studentMainScreenManager = new StudentMainScreenManager(scene);
 		studentMainScreenManager.showScreen(this, user);
+		// parse the screens a student opens to attempt a problem set
+		ScreenCache.preload("ViewProblemSetScreen.fxml", "CompleteProblemSetScreen.fxml");
 	}
 
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package gui;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import driver.Interpreter;
+import events.ScreenLoadEvent;
+import io.GUIOutputGenerator;
 import io.OutputGen;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -16,6 +20,41 @@ public class Manager {
   protected static Interpreter interpreter = Interpreter.createNewInterpreter(OutputGen.OutputMode.GUI);
   protected FXMLLoader loader;
 
+  /**
+   * Executes a command and returns what it output. Safe to call from a background thread, since no
+   * other command can run in between.
+   *
+   * @param args The command name followed by its arguments
+   * @return the last result of the command, null if there was none
+   */
+  protected Object executeForResult(String... args) {
+    synchronized (interpreter) {
+      interpreter.executeAction(args);
+      return interpreter.getOutputGenerator().getLastResult();
+    }
+  }
+
+  /**
+   * Executes a command that outputs a list, handing the rows to the given consumer while the list is
+   * still being loaded.
+   *
+   * @param rows Receives the rows of the list as they are loaded
+   * @param args The command name followed by its arguments
+   * @return the last result of the command, null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  protected <T> Object executeStreaming(Consumer<List<T>> rows, String... args) {
+    synchronized (interpreter) {
+      GUIOutputGenerator output = (GUIOutputGenerator) interpreter.getOutputGenerator();
+      output.setRowListener(chunk -> rows.accept((List<T>) chunk));
+      try {
+        return executeForResult(args);
+      } finally {
+        output.setRowListener(null);
+      }
+    }
+  }
+
   /**
    * Load a new layout to the screen
    * 
@@ -27,16 +66,24 @@ public class Manager {
   protected FXMLLoader loadNewScreen(FXMLLoader loader, Scene scene,
       String fxmlFile) {
 
-    // get the layout of the screen from the fxml file
-    loader = new FXMLLoader(getClass().getResource(fxmlFile));
+    ScreenLoadEvent event = new ScreenLoadEvent();
+    event.begin();
 
-    // load the new screen to the window(scene)
+    event.cached = ScreenCache.contains(fxmlFile);
+
+    // load the new screen to the window(scene), reusing it if it was loaded before
     try {
-      scene.setRoot((Parent) loader.load());
+      loader = ScreenCache.load(fxmlFile, null);
+      scene.setRoot((Parent) loader.getRoot());
+      event.succeeded = true;
     } catch (IOException ex) {
       Logger.getLogger(LoginManager.class.getName()).log(Level.SEVERE, null,
           ex);
     }
+
+    event.fxmlFile = fxmlFile;
+    event.wholeWindow = true;
+    event.commit();
     return loader;
   }
 
@@ -50,16 +97,25 @@ public class Manager {
   protected FXMLLoader loadNewPane(FXMLLoader loader, Pane innerPane,
       String fxmlFile) {
     
-    loader = new FXMLLoader(getClass().getResource(fxmlFile));
-    
-    // replace the inner pane with the fxml file content
+    ScreenLoadEvent event = new ScreenLoadEvent();
+    event.begin();
+
+    // replace the inner pane with the fxml file content, reusing it if it was loaded before
+    ScreenCache.evict(innerPane);
+    event.cached = ScreenCache.contains(fxmlFile);
     innerPane.getChildren().clear();
     try {
-      innerPane.getChildren().add(loader.load());
+      loader = ScreenCache.load(fxmlFile, innerPane);
+      innerPane.getChildren().add(loader.getRoot());
+      event.succeeded = true;
     } catch (IOException ex) {
       Logger.getLogger(LoginManager.class.getName()).log(Level.SEVERE, null,
           ex);
     }
+
+    event.fxmlFile = fxmlFile;
+    event.wholeWindow = false;
+    event.commit();
     
     return loader;
   }
@@ -0,0 +1,29 @@
+package gui;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.function.Function;
+
+/**
+ * Adapts the plain fields of the models to JavaFX properties. The models do not depend on JavaFX, so the properties
+ * are only created when a table cell asks for its value.
+ */
+public class ModelPropertyAdapter {
+
+    private ModelPropertyAdapter() {}
+
+    /**
+     * Creates a cell value factory that wraps the value returned by the given getter in a read only property.
+     * @param getter the getter of the model field to display in the column
+     * @param <S> the type of the model displayed in the table
+     * @param <T> the type of the value displayed in the column
+     * @return a cell value factory that can be used by a table column
+     */
+    public static <S, T> Callback<TableColumn.CellDataFeatures<S, T>, ObservableValue<T>> cellValue(
+            Function<S, T> getter) {
+        return param -> new ReadOnlyObjectWrapper<>(getter.apply(param.getValue()));
+    }
+}
@@ -0,0 +1,159 @@
+package gui;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+
+/**
+ * Keeps the node tree and controller of every screen loaded from an FXML file, so that navigating
+ * back to a screen reuses them instead of parsing the file again. Screens can also be parsed ahead
+ * of time on a background thread. The cache belongs to the logged in user and is cleared on logout.
+ *
+ * Screens are often loaded into the root pane of the screen before them, which removes that
+ * screen's own content. Such a screen is evicted and parsed again the next time it is shown.
+ */
+class ScreenCache {
+
+  /**
+   * The loaded screens by FXML file name. A screen that is still being preloaded has an
+   * incomplete future.
+   */
+  private static final Map<String, CompletableFuture<FXMLLoader>> screens =
+      new ConcurrentHashMap<String, CompletableFuture<FXMLLoader>>();
+
+  private static final ExecutorService preloader = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "jworks-screen-preloader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private ScreenCache() {
+  }
+
+  /**
+   * Gets the loader of a screen, parsing the FXML file if it is not cached yet. A screen that was
+   * shown before has its controller reset. Waits for the screen if it is being preloaded.
+   * @param fxmlFile The fxml file name that contains the layout
+   * @param parent The node the screen will be added to, null if it replaces the whole window
+   * @return the loader holding the root node and controller of the screen
+   * @throws IOException Thrown if the fxml file could not be loaded
+   */
+  static FXMLLoader load(String fxmlFile, Node parent) throws IOException {
+    FXMLLoader loader = getCached(fxmlFile);
+
+    // a screen can not be added inside of itself
+    if (loader != null && !isAncestor(loader.getRoot(), parent)) {
+      Object controller = loader.getController();
+      if (controller instanceof Controller) {
+        ((Controller) controller).reset();
+      }
+      return loader;
+    }
+
+    loader = parse(fxmlFile);
+    screens.put(fxmlFile, CompletableFuture.completedFuture(loader));
+    return loader;
+  }
+
+  /**
+   * Parses the given screens on a background thread, unless they are already cached.
+   * @param fxmlFiles The fxml file names of the screens the user is likely to open next
+   */
+  static void preload(String... fxmlFiles) {
+    for (String fxmlFile : fxmlFiles) {
+      CompletableFuture<FXMLLoader> screen = new CompletableFuture<FXMLLoader>();
+      if (screens.putIfAbsent(fxmlFile, screen) == null) {
+        preloader.execute(() -> {
+          try {
+            screen.complete(parse(fxmlFile));
+          } catch (IOException | RuntimeException e) {
+            screen.completeExceptionally(e);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Returns whether or not a screen was loaded or is being preloaded.
+   * @param fxmlFile The fxml file name that contains the layout
+   * @return whether or not the screen is in the cache
+   */
+  static boolean contains(String fxmlFile) {
+    return screens.containsKey(fxmlFile);
+  }
+
+  /**
+   * Forgets the screen whose root is about to have its content replaced.
+   * @param root The pane that is being cleared
+   */
+  static void evict(Node root) {
+    screens.values().removeIf(screen -> {
+      if (!screen.isDone() || screen.isCompletedExceptionally()) {
+        return false;
+      }
+      return screen.join().getRoot() == root;
+    });
+  }
+
+  /**
+   * Forgets every cached screen.
+   */
+  static void clear() {
+    screens.clear();
+  }
+
+  /**
+   * Gets a cached screen, waiting for it if it is being preloaded.
+   * @param fxmlFile The fxml file name that contains the layout
+   * @return the loader of the screen, null if it is not cached or could not be preloaded
+   */
+  private static FXMLLoader getCached(String fxmlFile) {
+    CompletableFuture<FXMLLoader> screen = screens.get(fxmlFile);
+    if (screen == null) {
+      return null;
+    }
+
+    try {
+      return screen.join();
+    } catch (CompletionException e) {
+      // parse it again on this thread, so the error is reported to the caller
+      screens.remove(fxmlFile, screen);
+      return null;
+    }
+  }
+
+  /**
+   * Parses an FXML file.
+   * @param fxmlFile The fxml file name that contains the layout
+   * @return the loader holding the root node and controller of the screen
+   * @throws IOException Thrown if the fxml file could not be loaded
+   */
+  private static FXMLLoader parse(String fxmlFile) throws IOException {
+    FXMLLoader loader = new FXMLLoader(ScreenCache.class.getResource(fxmlFile));
+    loader.load();
+    return loader;
+  }
+
+  /**
+   * Returns whether or not a node is the given node or one of its parents.
+   * @param node The node to look for
+   * @param descendant The node to start looking from
+   * @return whether or not node is descendant or one of its parents
+   */
+  private static boolean isAncestor(Node node, Node descendant) {
+    for (Node current = descendant; current != null; current = current.getParent()) {
+      if (current == node) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,7 +1,7 @@
 package gui;
 
 import javafx.scene.layout.Pane;
-import models.ProblemSet;
+import models.ProblemSetSummary;
 import models.Student;
 
 public class StudentInnerScreenManager extends Manager{
@@ -31,7 +31,7 @@ public class StudentInnerScreenManager extends Manager{
     int numUnattempted = 0;
 
     // Parse through filtered list and count how many have a max score of -1
-    for (ProblemSet ps : psScreenManager.getVisibleProblemSets()) {
+    for (ProblemSetSummary ps : psScreenManager.getVisibleProblemSets()) {
       if (psScreenManager.getBestScore(ps) == -1) {
         numUnattempted++;
       }
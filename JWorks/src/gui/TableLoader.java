@@ -0,0 +1,163 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+
+/**
+ * Fills a table on a background thread, adding the rows in chunks as they arrive so the screen stays
+ * responsive while a large table loads. A progress indicator is shown while the table is empty. Starting
+ * a new load, or removing the table from the window, cancels the load in progress.
+ *
+ * @param <T> The type of the table rows
+ */
+class TableLoader<T> {
+
+    /**
+     * The maximum amount of rows added to the table at once.
+     */
+    static final int CHUNK_SIZE = 250;
+
+    /**
+     * Produces the rows of a table.
+     *
+     * @param <T> The type of the table rows
+     */
+    interface Source<T> {
+        /**
+         * Loads the rows, handing them over in one or more lists as they become available. Runs on a
+         * background thread.
+         *
+         * @param rows Receives the rows in the order they should appear
+         * @throws Exception Thrown if the rows could not be loaded
+         */
+        void load(Consumer<List<T>> rows) throws Exception;
+    }
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jworks-table-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TableView<T> table;
+    private final Node placeholder;
+    private Task<Void> currentLoad;
+
+    /**
+     * Creates a loader for the given table.
+     *
+     * @param table The table to fill
+     */
+    TableLoader(TableView<T> table) {
+        this.table = table;
+        this.placeholder = table.getPlaceholder();
+
+        // a table that is no longer shown does not need its rows
+        table.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene == null) {
+                cancel();
+            }
+        });
+    }
+
+    /**
+     * Replaces the rows of the table with the rows of the given source.
+     *
+     * @param source Produces the new rows
+     */
+    void load(Source<T> source) {
+        load(source, null);
+    }
+
+    /**
+     * Replaces the rows of the table with the rows of the given source. Must be called on the JavaFX
+     * application thread.
+     *
+     * @param source Produces the new rows
+     * @param onLoaded Run on the JavaFX application thread once every row was added, may be null
+     */
+    void load(Source<T> source, Runnable onLoaded) {
+        cancel();
+        table.getItems().clear();
+        table.setPlaceholder(new ProgressIndicator());
+
+        Task<Void> load = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                source.load(rows -> publish(this, rows));
+                return null;
+            }
+        };
+
+        load.setOnSucceeded(event -> {
+            finish(load);
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        });
+        load.setOnFailed(event -> {
+            finish(load);
+            Logger.getLogger(TableLoader.class.getName()).log(Level.SEVERE, null, load.getException());
+        });
+        load.setOnCancelled(event -> finish(load));
+
+        currentLoad = load;
+        loader.execute(load);
+    }
+
+    /**
+     * Stops the load in progress, if any. Rows that were already added stay in the table.
+     */
+    void cancel() {
+        if (currentLoad != null) {
+            currentLoad.cancel();
+            finish(currentLoad);
+        }
+    }
+
+    /**
+     * Adds rows of the given load to the table in chunks, unless the load was cancelled. Chunks are
+     * added in order, and before the load is reported as finished.
+     *
+     * @param load The load the rows belong to
+     * @param rows The rows to add
+     */
+    private void publish(Task<Void> load, List<T> rows) {
+        for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+            if (load.isCancelled()) {
+                throw new CancellationException();
+            }
+
+            List<T> chunk = new ArrayList<>(rows.subList(start, Math.min(start + CHUNK_SIZE, rows.size())));
+            Platform.runLater(() -> {
+                if (load == currentLoad && !load.isCancelled()) {
+                    table.getItems().addAll(chunk);
+                }
+            });
+        }
+    }
+
+    /**
+     * Hides the progress indicator once the current load is over.
+     *
+     * @param load The load that is over
+     */
+    private void finish(Task<Void> load) {
+        if (load == currentLoad) {
+            currentLoad = null;
+            table.setPlaceholder(placeholder);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package gui;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.application.Platform;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+import databaseAPI.DatabaseExtractAPI;
+import exceptions.DatabaseSelectException;
+
+/**
+ * Suggests tags in a popup below a text field while the user types, completing the last word in the field with the
+ * most used tags that start with it. Choosing a suggestion replaces the word, so several tags can be entered one after
+ * another separated by spaces.
+ *
+ * The tags are looked up in the shared tag trie directly rather than through a command, so a keystroke never waits
+ * for the interpreter while it loads a table, and is not counted as a command.
+ */
+class TagSuggestions {
+
+    /**
+     * The maximum amount of tags suggested at once.
+     */
+    static final int SUGGESTION_COUNT = 8;
+
+    private static final ExecutorService suggester = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jworks-tag-suggestions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // only used on the suggester thread
+    private static final DatabaseExtractAPI api = new DatabaseExtractAPI();
+
+    private final TextField field;
+    private final ContextMenu popup = new ContextMenu();
+    private final AtomicInteger latest = new AtomicInteger();
+
+    private TagSuggestions(TextField field) {
+        this.field = field;
+    }
+
+    /**
+     * Shows tag suggestions for the given field.
+     *
+     * @param field The field the user types tags in
+     */
+    static void attach(TextField field) {
+        TagSuggestions suggestions = new TagSuggestions(field);
+        field.textProperty().addListener((observable, oldText, newText) -> suggestions.suggest(newText));
+        field.focusedProperty().addListener((observable, wasFocused, focused) -> {
+            if (!focused) {
+                suggestions.popup.hide();
+            }
+        });
+    }
+
+    /**
+     * Looks up the tags for the last word of the text in the background, and shows them unless the text changed in
+     * the meantime.
+     */
+    private void suggest(String text) {
+        int request = latest.incrementAndGet();
+        String prefix = lastWord(text);
+        if (prefix.isEmpty() || !field.isFocused()) {
+            popup.hide();
+            return;
+        }
+
+        suggester.submit(() -> {
+            List<String> tags = lookUp(prefix);
+            Platform.runLater(() -> {
+                if (request == latest.get()) {
+                    show(tags, prefix);
+                }
+            });
+        });
+    }
+
+    /**
+     * Gets the most used tags that start with the prefix.
+     * @return the tags, null if the trie could not be built from the database
+     */
+    private static List<String> lookUp(String prefix) {
+        try {
+            return api.getTagTrie().complete(prefix, SUGGESTION_COUNT);
+        } catch (DatabaseSelectException | SQLException e) {
+            return null;
+        }
+    }
+
+    private void show(List<String> tags, String prefix) {
+        popup.getItems().clear();
+        if (tags == null || tags.isEmpty()) {
+            popup.hide();
+            return;
+        }
+        // nothing to complete once the word is a whole tag
+        if (tags.size() == 1 && tags.get(0).equals(prefix)) {
+            popup.hide();
+            return;
+        }
+
+        for (String tag : tags) {
+            MenuItem item = new MenuItem(tag);
+            item.setOnAction(event -> complete(tag));
+            popup.getItems().add(item);
+        }
+        if (!popup.isShowing()) {
+            popup.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Replaces the last word of the field with the chosen tag, followed by a space for the next tag.
+     */
+    private void complete(String tag) {
+        String text = field.getText();
+        String completed = text.substring(0, text.length() - lastWord(text).length()) + tag + " ";
+        field.setText(completed);
+        field.positionCaret(completed.length());
+        popup.hide();
+    }
+
+    private static String lastWord(String text) {
+        if (text == null) {
+            return "";
+        }
+        int start = text.lastIndexOf(' ') + 1;
+        return text.substring(start);
+    }
+}
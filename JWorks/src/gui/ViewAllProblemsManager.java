@@ -6,6 +6,7 @@ import models.SingleAnswerProblem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public class ViewAllProblemsManager extends ViewProblemsManager {
@@ -15,8 +16,26 @@ public class ViewAllProblemsManager extends ViewProblemsManager {
      * @return a list of all available Problem objects
      */
     public List<Problem> getProblems() {
-        String[] args = {"ViewProblemsCommand"};
-        interpreter.executeAction(args);
-        return (List<Problem>) interpreter.getOutputGenerator().getLastResult();
+        return (List<Problem>) executeForResult("ViewProblemsCommand");
+    }
+
+    /**
+     * Loads all available problems, handing them over while they are read from the database.
+     * @param rows receives the problems in chunks
+     */
+    @Override
+    public void loadProblems(Consumer<List<Problem>> rows) {
+        executeStreaming(rows, "ViewProblemsCommand");
+    }
+
+    /**
+     * Every problem is searched, either all of them or the matches of a search the new one narrows, so no more
+     * problems can match than are given.
+     * @param candidates the problems being searched
+     * @return the number of given problems
+     */
+    @Override
+    protected int getSearchLimit(List<Problem> candidates) {
+        return candidates.size();
     }
 }
@@ -8,31 +8,31 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.Pane;
 import javafx.util.Callback;
 import models.ProblemSet;
+import models.ProblemSetSummary;
 
 import java.text.SimpleDateFormat;
 
-public class ViewProblemSetScreenController extends WrappableViewController<ProblemSet> {
+public class ViewProblemSetScreenController extends WrappableViewController<ProblemSetSummary> {
     @FXML
-    private TableView<ProblemSet> problemSetTable;
+    private TableView<ProblemSetSummary> problemSetTable;
 
     @FXML
-    private TableColumn<ProblemSet, Integer> idColumn;
+    private TableColumn<ProblemSetSummary, Integer> idColumn;
 
     @FXML
-    private TableColumn<ProblemSet, Integer> numQuestionsColumn;
+    private TableColumn<ProblemSetSummary, Integer> numQuestionsColumn;
 
     @FXML
-    private TableColumn<ProblemSet, String> releaseDateColumn;
+    private TableColumn<ProblemSetSummary, String> releaseDateColumn;
 
     @FXML
-    private TableColumn<ProblemSet, String> dueDateColumn;
+    private TableColumn<ProblemSetSummary, String> dueDateColumn;
 
     @FXML
-    private TableColumn<ProblemSet, String> bestAttemptColumn;
+    private TableColumn<ProblemSetSummary, String> bestAttemptColumn;
 
     @FXML
     private Button viewProblemsButton;
@@ -54,7 +54,7 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
      */
     public void start(ViewProblemSetScreenManager manager) {
         this.manager = manager;
-        problemSetTable.getItems().setAll(manager.getVisibleProblemSets());
+        loadRows(rows -> rows.accept(manager.getVisibleProblemSets()));
     }
 
     /**
@@ -63,41 +63,42 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
     @Override
     public void initialize() {
         super.initialize();
+        setupSearch(problemSetTable);
 
         // Wrap columns
         wrapColumnCells(releaseDateColumn);
         wrapColumnCells(dueDateColumn);
 
         // Direct property mapping
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        idColumn.setCellValueFactory(ModelPropertyAdapter.cellValue(ProblemSetSummary::getId));
 
         // Custom callbacks for table columns
-        numQuestionsColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSet, Integer>, ObservableValue<Integer>>() {
+        numQuestionsColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSetSummary, Integer>, ObservableValue<Integer>>() {
             @Override
-            public ObservableValue<Integer> call(TableColumn.CellDataFeatures<ProblemSet, Integer> param) {
-                return new ReadOnlyObjectWrapper<>(param.getValue().getQuestions().size());
+            public ObservableValue<Integer> call(TableColumn.CellDataFeatures<ProblemSetSummary, Integer> param) {
+                return new ReadOnlyObjectWrapper<>(param.getValue().getProblemCount());
             }
         });
 
         SimpleDateFormat dateFormatter = new SimpleDateFormat();
 
-        releaseDateColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSet, String>, ObservableValue<String>>() {
+        releaseDateColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSetSummary, String>, ObservableValue<String>>() {
             @Override
-            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSet, String> param) {
+            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSetSummary, String> param) {
                 return new ReadOnlyObjectWrapper<>(dateFormatter.format(param.getValue().getStartTime()));
             }
         });
 
-        dueDateColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSet, String>, ObservableValue<String>>() {
+        dueDateColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSetSummary, String>, ObservableValue<String>>() {
             @Override
-            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSet, String> param) {
+            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSetSummary, String> param) {
                 return new ReadOnlyObjectWrapper<>(dateFormatter.format(param.getValue().getEndTime()));
             }
         });
 
-        bestAttemptColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSet, String>, ObservableValue<String>>() {
+        bestAttemptColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<ProblemSetSummary, String>, ObservableValue<String>>() {
             @Override
-            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSet, String> param) {
+            public ObservableValue<String> call(TableColumn.CellDataFeatures<ProblemSetSummary, String> param) {
                 int score = manager.getBestScore(param.getValue());
                 if (score == -1) {
                     return new ReadOnlyObjectWrapper<>("N/A");
@@ -112,7 +113,7 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
             @Override
             public void handle(ActionEvent event) {
                 // Get active problem set
-                ProblemSet activeProblemSet = problemSetTable.getSelectionModel().getSelectedItem();
+                ProblemSet activeProblemSet = getSelectedProblemSet();
                 // Change to new page if selected
                 if (activeProblemSet != null) {
                     ViewProblemSetProblemsManager viewManager = new ViewProblemSetProblemsManager(activeProblemSet);
@@ -125,7 +126,7 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
             @Override
             public void handle(ActionEvent event) {
                 // Get active problem set
-                ProblemSet activeProblemSet = problemSetTable.getSelectionModel().getSelectedItem();
+                ProblemSet activeProblemSet = getSelectedProblemSet();
                 // Change to new page if selected
                 if (activeProblemSet != null) {
                     CompleteProblemSetScreenManager viewManager = new CompleteProblemSetScreenManager();
@@ -138,7 +139,7 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
             @Override
             public void handle(ActionEvent event) {
                 // Navigate to statistics screen for the given problem set
-                ProblemSet activeProblemSet = problemSetTable.getSelectionModel().getSelectedItem();
+                ProblemSet activeProblemSet = getSelectedProblemSet();
                 if (activeProblemSet != null) {
                     ViewProblemSetStatisticsScreenManager statsViewManager = new ViewProblemSetStatisticsScreenManager(activeProblemSet);
                     statsViewManager.showScreen(innerScreen);
@@ -150,21 +151,19 @@ public class ViewProblemSetScreenController extends WrappableViewController<Prob
         viewProblemsButton.setVisible(!manager.isUserStudent());
         attemptProblemsButton.setVisible(manager.isUserStudent());
         viewStatsButton.setVisible(!manager.isUserStudent());
+    }
 
-        // Setup tag filters
-        clearButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                searchField.clear();
-                problemSetTable.getItems().setAll(manager.getVisibleProblemSets());
-            }
-        });
+    /**
+     * Retrieves the problem set of the selected row. The table only holds summaries, so the problem set is
+     * requested when it is needed.
+     * @return the selected problem set, null if no row is selected
+     */
+    private ProblemSet getSelectedProblemSet() {
+        ProblemSetSummary selected = problemSetTable.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            return null;
+        }
 
-        searchButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                problemSetTable.getItems().setAll(manager.getVisibleProblemSets(searchField.getText()));
-            }
-        });
+        return manager.getProblemSet(selected.getId());
     }
 }
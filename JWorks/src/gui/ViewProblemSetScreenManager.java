@@ -2,11 +2,15 @@ package gui;
 
 import javafx.scene.layout.Pane;
 import models.*;
+import util.IntIntMap;
 
 import java.time.Instant;
 import java.util.*;
 
 public class ViewProblemSetScreenManager extends Manager {
+    // Best number of correct answers per problem set id, computed once per listing
+    private IntIntMap bestCorrectAnswers;
+
     /**
      * Load and display the screen to view all problems.
      *
@@ -23,14 +27,17 @@ public class ViewProblemSetScreenManager extends Manager {
      * Retrieves all problem sets that are saved, filtered by what the logged in user can see.
      * Students can only see problem sets that are within the assignment dates.
      * Instructors can see all problem sets.
-     * @return the list of all problem sets that are visible to the logged in user
+     * @return the summaries of all problem sets that are visible to the logged in user
      */
-    public List<ProblemSet> getVisibleProblemSets() {
-        List<ProblemSet> problemSets = getAllProblemSets();
-        List<ProblemSet> filteredProblemSets = new ArrayList<>();
+    public List<ProblemSetSummary> getVisibleProblemSets() {
+        List<ProblemSetSummary> problemSets = getAllProblemSets();
+        List<ProblemSetSummary> filteredProblemSets = new ArrayList<>();
         Date now = Date.from(Instant.now());
 
-        for (ProblemSet ps : problemSets) {
+        // Scores are recomputed along with the listing, so the table does not query them while it is drawn
+        bestCorrectAnswers = getBestCorrectAnswers();
+
+        for (ProblemSetSummary ps : problemSets) {
             // Users can only see problem sets within range
             if (isUserStudent()) {
                 if (now.after(ps.getStartTime()) && now.before(ps.getEndTime())) {
@@ -48,13 +55,13 @@ public class ViewProblemSetScreenManager extends Manager {
     /**
      * Returns a filtered list of problem sets that match the given tag string.
      * @param tagString a space separated list of search terms
-     * @return a filtered list of problem sets that match the tag string
+     * @return a filtered list of problem set summaries that match the tag string
      */
-    public List<ProblemSet> getVisibleProblemSets(String tagString) {
-        List<ProblemSet> unfilteredProblemSets = getVisibleProblemSets();
-        List<ProblemSet> filteredProblemSets = new ArrayList<>();
+    public List<ProblemSetSummary> getVisibleProblemSets(String tagString) {
+        List<ProblemSetSummary> unfilteredProblemSets = getVisibleProblemSets();
+        List<ProblemSetSummary> filteredProblemSets = new ArrayList<>();
 
-        for (ProblemSet problemSet : unfilteredProblemSets) {
+        for (ProblemSetSummary problemSet : unfilteredProblemSets) {
             if (problemSet.matchesSearchString(tagString)) {
                 filteredProblemSets.add(problemSet);
             }
@@ -68,23 +75,32 @@ public class ViewProblemSetScreenManager extends Manager {
      * @param problemSet the problem set to get the user's best score for
      * @return the best score of the user on the given Problem Set. -1 if it was not attempted.
      */
-    public int getBestScore(ProblemSet problemSet) {
-        List<ProblemSetAttempt> attempts = getStudentAttempts();
-        int max = -1;
-
-        for (ProblemSetAttempt attempt : attempts) {
-            if (attempt.getProblemSet().equals(problemSet)) {
-                if (attempt.getNumberofCorrectAnswers() > max) {
-                    max = attempt.getNumberofCorrectAnswers();
-                }
-            }
+    public int getBestScore(ProblemSetSummary problemSet) {
+        if (bestCorrectAnswers == null) {
+            bestCorrectAnswers = getBestCorrectAnswers();
         }
 
-        if (max == -1) {
+        int max = bestCorrectAnswers.get(problemSet.getId(), -1);
+
+        if (max < 0) {
             return -1;
         }
 
-        return (100 * max / problemSet.getQuestions().size());
+        return (100 * max / problemSet.getProblemCount());
+    }
+
+    /**
+     * Computes the best number of correct answers of the user for every attempted problem set in a single pass.
+     * @return a map from problem set id to the best number of correct answers on that problem set
+     */
+    private IntIntMap getBestCorrectAnswers() {
+        IntIntMap bestScores = new IntIntMap();
+
+        for (ProblemSetAttempt attempt : getStudentAttempts()) {
+            bestScores.putIfGreater(attempt.getProblemSet().getId(), attempt.getNumberofCorrectAnswers());
+        }
+
+        return bestScores;
     }
 
     /**
@@ -96,13 +112,27 @@ public class ViewProblemSetScreenManager extends Manager {
     }
 
     /**
-     * Retrieves a list of all problem sets
-     * @return a list of all the problem sets
+     * Retrieves the problem set with the given id. Its problems are loaded when they are first needed.
+     * @param problemSetId the id of the problem set
+     * @return the problem set with the given id, null if it could not be retrieved
+     */
+    public ProblemSet getProblemSet(int problemSetId) {
+        return (ProblemSet) executeForResult("ViewProblemSetCommand", String.valueOf(problemSetId));
+    }
+
+    /**
+     * Retrieves a list of the summaries of all problem sets
+     * @return a list of the summaries of all the problem sets
      */
-    private List<ProblemSet> getAllProblemSets() {
-        interpreter.executeAction(new String[] {"ViewAllProblemSetsCommand"});
-        return (List<ProblemSet>) interpreter.getOutputGenerator().getLastResult();
+    private List<ProblemSetSummary> getAllProblemSets() {
+        List<ProblemSetSummary> summaries =
+                (List<ProblemSetSummary>) executeForResult("ViewProblemSetSummariesCommand");
+
+        if (summaries == null) {
+            return Collections.EMPTY_LIST;
+        }
 
+        return summaries;
     }
 
     /**
@@ -110,8 +140,7 @@ public class ViewProblemSetScreenManager extends Manager {
      * @return a list of all problem set attempts of the current student. All attempts if the user is an instructor.
      */
     private List<ProblemSetAttempt> getStudentAttempts() {
-        interpreter.executeAction(new String[] {"ViewAllAttemptsCommand"});
-        List<ProblemSetAttempt> attempts = (List<ProblemSetAttempt>) interpreter.getOutputGenerator().getLastResult();
+        List<ProblemSetAttempt> attempts = (List<ProblemSetAttempt>) executeForResult("ViewAllAttemptsCommand");
 
         if (attempts == null) {
             return Collections.EMPTY_LIST;
@@ -33,12 +33,10 @@ public class ViewProblemSetStatisticsRow {
     public int getBestScore() {
         int max = 0;
         for (ProblemSetAttempt attempt : attempts) {
-            if (attempt.getNumberofCorrectAnswers() > max) {
-                max = attempt.getNumberofCorrectAnswers();
-            }
+            max = Math.max(max, attempt.getNumberofCorrectAnswers());
         }
 
-        return 100 * max / problemSet.getQuestions().size();
+        return 100 * max / problemSet.getProblemCount();
     }
 
     /**
@@ -55,6 +53,15 @@ public class ViewProblemSetStatisticsRow {
         }
     }
 
+    /**
+     * Adds the given problem set attempt into the object. The attempt is assumed to be for the correct student and
+     * problem set.
+     * @param attempt the attempt to add to this row
+     */
+    public void addAttempt(ProblemSetAttempt attempt) {
+        attempts.add(attempt);
+    }
+
     /**
      * Get the number of attempts stored in this row.
      * @return the number of attempts stored in this row.
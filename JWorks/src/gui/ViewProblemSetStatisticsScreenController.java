@@ -29,22 +29,25 @@ public class ViewProblemSetStatisticsScreenController extends Controller {
 
     private ViewProblemSetStatisticsScreenManager manager;
 
+    private TableLoader<ViewProblemSetStatisticsRow> rowLoader;
+
     public void start(ViewProblemSetStatisticsScreenManager manager) {
         this.manager = manager;
 
-        // Populate data
-        statisticsTable.getItems().setAll(manager.getRows());
-
-        // Set static labels
+        // Set static labels, the totals are shown once every row is loaded
         titleLabel.setText("Statistics for Problem Set " + String.valueOf(manager.getProblemSet().getId()));
-        participationLabel.setText(String.valueOf(getNumberOfStudentsParticipated()));
-        bestAttemptLabel.setText(String.format("%1$,.2f%%", getBestAttemptAverage()));
-        numAttemptsLabel.setText(String.format("%1$,.2f", getAverageAttemptsPerStudent()));
+        participationLabel.setText("");
+        bestAttemptLabel.setText("");
+        numAttemptsLabel.setText("");
+
+        // Populate data
+        rowLoader.load(rows -> rows.accept(manager.getRows()), this::showTotals);
     }
 
     @Override
     public void initialize() {
         super.initialize();
+        rowLoader = new TableLoader<>(statisticsTable);
 
         // Setup data methods for each table column:
         studentNumberColumn.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()
@@ -59,6 +62,15 @@ public class ViewProblemSetStatisticsScreenController extends Controller {
                 .getBestScore() + "%"));
     }
 
+    /**
+     * Sets the labels summarizing all of the rows.
+     */
+    private void showTotals() {
+        participationLabel.setText(String.valueOf(getNumberOfStudentsParticipated()));
+        bestAttemptLabel.setText(String.format("%1$,.2f%%", getBestAttemptAverage()));
+        numAttemptsLabel.setText(String.format("%1$,.2f", getAverageAttemptsPerStudent()));
+    }
+
     /**
      * Returns the average of the best attempts of all students.
      * @return the average of the best attempts of all students.
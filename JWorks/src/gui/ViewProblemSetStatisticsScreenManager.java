@@ -3,7 +3,7 @@ package gui;
 import javafx.scene.layout.Pane;
 import models.ProblemSet;
 import models.ProblemSetAttempt;
-import models.Student;
+import util.IntObjectMap;
 
 import java.util.*;
 
@@ -36,35 +36,29 @@ public class ViewProblemSetStatisticsScreenManager extends Manager {
      * @return a list of rows that contain all the attempts for this problem set.
      */
     public List<ViewProblemSetStatisticsRow> getRows() {
-        interpreter.executeAction(new String[] {"ViewAllAttemptsCommand"});
-        List<ProblemSetAttempt> attempts = (List<ProblemSetAttempt>) interpreter.getOutputGenerator().getLastResult();
+        List<ProblemSetAttempt> attempts = (List<ProblemSetAttempt>) executeForResult("ViewAllAttemptsCommand");
 
         if (attempts == null) {
             return Collections.EMPTY_LIST;
         }
 
-        // Create set to keep track of students that participated
-        HashSet<Integer> studentSet = new HashSet<>();
-        HashMap<Integer, Student> studentNumToStudent = new HashMap<>();
-
-        // Filter by problem set
-        List<ProblemSetAttempt> filteredAttempts = new ArrayList<>();
+        // Group the attempts of this problem set by student number in a single pass, keeping rows in the order
+        // their students first appear
+        IntObjectMap<ViewProblemSetStatisticsRow> studentRows = new IntObjectMap<>();
+        List<ViewProblemSetStatisticsRow> rows = new ArrayList<>();
 
         for (ProblemSetAttempt attempt : attempts) {
             if (attempt.getProblemSet().equals(problemSet)) {
-                filteredAttempts.add(attempt);
-                studentSet.add(attempt.getStudent().getStudentNumber());
-                studentNumToStudent.put(attempt.getStudent().getStudentNumber(), attempt.getStudent());
-            }
-        }
+                int studentNumber = attempt.getStudent().getStudentNumber();
+                ViewProblemSetStatisticsRow row = studentRows.get(studentNumber);
+                if (row == null) {
+                    row = new ViewProblemSetStatisticsRow(attempt.getStudent(), problemSet);
+                    studentRows.put(studentNumber, row);
+                    rows.add(row);
+                }
 
-        // Create rows from the student set
-        List<ViewProblemSetStatisticsRow> rows = new ArrayList<>();
-
-        for (Integer studentNum : studentSet) {
-            ViewProblemSetStatisticsRow row = new ViewProblemSetStatisticsRow(studentNumToStudent.get(studentNum), problemSet);
-            row.addAttempts(filteredAttempts);
-            rows.add(row);
+                row.addAttempt(attempt);
+            }
         }
 
         return rows;
@@ -2,16 +2,14 @@ package gui;
 
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ObservableValue;
-import javafx.event.ActionEvent;
-import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.util.Callback;
 import models.Problem;
 
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 public class ViewProblemsController extends WrappableViewController<Problem> {
     @FXML
@@ -34,34 +32,29 @@ public class ViewProblemsController extends WrappableViewController<Problem> {
      */
     public void start(ViewProblemsManager manager) {
         this.manager = manager;
-        questionTable.getItems().setAll(manager.getProblems());
+        loadRows(manager::loadProblems);
     }
 
     @Override
     public void initialize() {
         super.initialize();
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        questionColumn.setCellValueFactory(new PropertyValueFactory<>("problem"));
-        answerColumn.setCellValueFactory(new PropertyValueFactory<>("answer"));
+        setupSearch(questionTable);
+        idColumn.setCellValueFactory(ModelPropertyAdapter.cellValue(Problem::getId));
+        questionColumn.setCellValueFactory(ModelPropertyAdapter.cellValue(Problem::getProblem));
+        answerColumn.setCellValueFactory(ModelPropertyAdapter.cellValue(Problem::getAnswer));
 
         // Wrap text
         wrapColumnCells(questionColumn);
         wrapColumnCells(answerColumn);
+    }
 
-        // Setup tag filters
-        clearButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                searchField.clear();
-                questionTable.getItems().setAll(manager.getProblems());
-            }
-        });
-
-        searchButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                questionTable.getItems().setAll(manager.getProblems(searchField.getText()));
-            }
-        });
+    /**
+     * Shows the matching problems most relevant first, or filters them in their loaded order if they could not be
+     * ranked.
+     */
+    @Override
+    protected List<Problem> findMatches(String query, List<Problem> candidates, BooleanSupplier cancelled) {
+        List<Problem> ranked = manager.searchProblems(query, candidates);
+        return ranked != null ? ranked : super.findMatches(query, candidates, cancelled);
     }
 }
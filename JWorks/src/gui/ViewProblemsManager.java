@@ -2,9 +2,12 @@ package gui;
 
 import javafx.scene.layout.Pane;
 import models.Problem;
+import search.SearchHit;
+import util.IntObjectMap;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class ViewProblemsManager extends Manager {
     /**
@@ -22,12 +25,64 @@ public abstract class ViewProblemsManager extends Manager {
     public abstract List<Problem> getProblems();
 
     /**
-     * Gets the problems that match the given tag string. Tags are separated by spaces, and are not case sensitive.
+     * Loads the problems to display, handing them over in one or more lists. Called on a background thread.
+     * @param rows receives the problems in the order they are displayed
+     */
+    public void loadProblems(Consumer<List<Problem>> rows) {
+        rows.accept(getProblems());
+    }
+
+    /**
+     * Gets the given problems that match the query, most relevant first. Problems are ranked by the search index of
+     * every problem in the database, so it is only consulted for the problems that can be shown.
+     * @param query words separated by spaces, not case sensitive
+     * @param candidates the problems to search
+     * @return the matching problems, most relevant first, null if the problems could not be ranked
+     */
+    public List<Problem> searchProblems(String query, List<Problem> candidates) {
+        Object hits = executeForResult("SearchProblemsCommand", String.valueOf(getSearchLimit(candidates)), query);
+        if (!(hits instanceof List)) {
+            return null;
+        }
+
+        IntObjectMap<Problem> problemsById = new IntObjectMap<>(candidates.size());
+        for (Problem problem : candidates) {
+            problemsById.put(problem.getId(), problem);
+        }
+
+        List<Problem> ranked = new ArrayList<>();
+        for (Object hit : (List<?>) hits) {
+            Problem problem = problemsById.get(((SearchHit) hit).getId());
+            if (problem != null) {
+                ranked.add(problem);
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Gets how many of the most relevant problems in the database a search needs, to find every match among the
+     * given problems. Since the given problems can be any of the problems in the database, every match is needed.
+     * @param candidates the problems being searched
+     * @return the number of problems to ask the search index for
+     */
+    protected int getSearchLimit(List<Problem> candidates) {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the problems that match the given tag string, most relevant first. Tags are separated by spaces, and are
+     * not case sensitive.
      * @param tags a space separated list of tags
      * @return all problems that match the tag string
      */
     public List<Problem> getProblems(String tags) {
         List<Problem> unfilteredProblems = getProblems();
+        List<Problem> ranked = searchProblems(tags, unfilteredProblems);
+        if (ranked != null) {
+            return ranked;
+        }
+
         List<Problem> filteredProblems = new ArrayList<>();
 
         for (Problem problem : unfilteredProblems) {
@@ -1,20 +1,48 @@
 package gui;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.text.Text;
 import javafx.util.Callback;
+import javafx.util.Duration;
 import models.Taggable;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
 
+/**
+ * Base controller for searchable tables. The rows are loaded once in the background, and searching filters the
+ * loaded rows as the user types, without going back to the database.
+ */
 public class WrappableViewController<T extends Taggable> extends Controller{
 
+    /**
+     * How long typing has to pause before the table is searched.
+     */
+    private static final Duration SEARCH_DELAY = Duration.millis(200);
+
+    /**
+     * How many rows are filtered between checks for a newer search.
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private static final ExecutorService searcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jworks-table-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @FXML
     protected TextField searchField;
 
@@ -27,6 +55,17 @@ public class WrappableViewController<T extends Taggable> extends Controller{
     @FXML
     protected TableColumn<T, String> tagsColumn;
 
+    private TableView<T> searchTable;
+    private TableLoader<T> rowLoader;
+    private PauseTransition searchDelay;
+
+    // Every loaded row, null while the rows are loading
+    private List<T> allRows;
+    // The last search that finished, and the rows that matched it
+    private String lastQuery = "";
+    private List<T> lastMatches;
+    private Task<List<T>> currentSearch;
+
     @Override
     public void initialize() {
         super.initialize();
@@ -48,6 +87,150 @@ public class WrappableViewController<T extends Taggable> extends Controller{
         wrapColumnCells(tagsColumn);
     }
 
+    @Override
+    public void reset() {
+        searchField.clear();
+    }
+
+    /**
+     * Sets up the table that is loaded and searched, and the search field and buttons. Called by subclasses from
+     * initialize.
+     * @param table the table holding the rows
+     */
+    protected void setupSearch(TableView<T> table) {
+        searchTable = table;
+        rowLoader = new TableLoader<>(table);
+
+        // Search once typing pauses
+        searchDelay = new PauseTransition(SEARCH_DELAY);
+        searchDelay.setOnFinished(event -> search(searchField.getText()));
+        searchField.textProperty().addListener((observable, oldText, newText) -> searchDelay.playFromStart());
+        TagSuggestions.attach(searchField);
+
+        searchButton.setOnAction(event -> {
+            searchDelay.stop();
+            search(searchField.getText());
+        });
+
+        clearButton.setOnAction(event -> {
+            searchField.clear();
+            searchDelay.stop();
+            search("");
+        });
+    }
+
+    /**
+     * Replaces the rows of the table in the background. The search in the search field is applied once every row
+     * is loaded.
+     * @param source produces the rows
+     */
+    protected void loadRows(TableLoader.Source<T> source) {
+        cancelSearch();
+        allRows = null;
+        rowLoader.load(source, () -> {
+            allRows = new ArrayList<>(searchTable.getItems());
+            lastQuery = "";
+            lastMatches = allRows;
+            search(searchField.getText());
+        });
+    }
+
+    /**
+     * Shows the loaded rows that match the given search string. A search that extends the last one only filters the
+     * rows that matched the last one. Runs in the background, cancelling the search in progress.
+     * @param searchString terms separated by spaces
+     */
+    private void search(String searchString) {
+        cancelSearch();
+
+        // Rows that are still loading are searched once they are loaded
+        if (allRows == null) {
+            return;
+        }
+
+        String query = searchString.trim();
+        if (query.isEmpty()) {
+            showMatches(query, allRows);
+            return;
+        }
+
+        List<T> candidates = refines(lastQuery, query) ? lastMatches : allRows;
+        Task<List<T>> search = new Task<List<T>>() {
+            @Override
+            protected List<T> call() {
+                return findMatches(query, candidates, this::isCancelled);
+            }
+        };
+
+        search.setOnSucceeded(event -> {
+            if (search == currentSearch) {
+                currentSearch = null;
+                showMatches(query, search.getValue());
+            }
+        });
+
+        currentSearch = search;
+        searcher.execute(search);
+    }
+
+    /**
+     * Finds the rows that match the query, in the order they are shown. By default the rows that match the search
+     * string are kept in their loaded order. Runs in the background.
+     * @param query the trimmed search string
+     * @param candidates the rows that can match
+     * @param cancelled tells whether a newer search started, so this one can stop early
+     * @return the matching rows, null if the search was cancelled
+     */
+    protected List<T> findMatches(String query, List<T> candidates, BooleanSupplier cancelled) {
+        List<T> matches = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+
+            T row = candidates.get(i);
+            if (row.matchesSearchString(query)) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns whether or not every row matching the query also matches the previous query, so only the previous
+     * matches need to be searched. Terms match by being contained in a row, or by starting one of its words when the
+     * rows are ranked, so extending the text only narrows the matches, except for a number that can also be an exact
+     * ID.
+     * @param previous the last query that finished
+     * @param query the new query
+     * @return whether or not the query only narrows the previous one
+     */
+    private static boolean refines(String previous, String query) {
+        if (!query.startsWith(previous)) {
+            return false;
+        }
+
+        if (previous.isEmpty() || query.length() == previous.length() || query.charAt(previous.length()) == ' ') {
+            return true;
+        }
+
+        String[] terms = previous.split(" ");
+        return !terms[terms.length - 1].matches("[0-9]+");
+    }
+
+    private void showMatches(String query, List<T> matches) {
+        lastQuery = query;
+        lastMatches = matches;
+        searchTable.getItems().setAll(matches);
+    }
+
+    private void cancelSearch() {
+        if (currentSearch != null) {
+            currentSearch.cancel();
+            currentSearch = null;
+        }
+    }
+
     /**
      * Sets the cell factory for the given string column such that the text is wrapped.
      * @param column the column to wrap
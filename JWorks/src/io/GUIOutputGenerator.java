@@ -5,10 +5,13 @@ import models.Problem;
 import models.ProblemSet;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class GUIOutputGenerator implements OutputGen {
 
     private Object lastResult;
+    private Consumer<List<?>> rowListener;
+
     /**
      * Output a String out onto the UI by creating an alert dialog.
      *
@@ -60,6 +63,27 @@ public class GUIOutputGenerator implements OutputGen {
         this.lastResult = obj;
     }
 
+    /**
+     * Passes the rows on to the row listener, if there is one.
+     *
+     * @param rows the next rows of the list
+     */
+    @Override
+    public void outputRows(List<?> rows) {
+        if (rowListener != null) {
+            rowListener.accept(rows);
+        }
+    }
+
+    /**
+     * Sets what receives the rows of lists that are still being loaded.
+     *
+     * @param rowListener receives the rows, null to ignore them
+     */
+    public void setRowListener(Consumer<List<?>> rowListener) {
+        this.rowListener = rowListener;
+    }
+
     /**
      * Returns the last Object that was sent to this OutputGenerator and removes it from reference
      *
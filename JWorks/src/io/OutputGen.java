@@ -41,6 +41,14 @@ public interface OutputGen {
 	 */
 	void outputPayload(Object obj);
 
+	/**
+	 * Outputs part of a list that is still being loaded, before the whole list is output as a
+	 * payload. Ignored unless the output generator shows rows as they arrive.
+	 * @param rows the next rows of the list
+	 */
+	default void outputRows(List<?> rows) {
+	}
+
 	/**
 	 * Returns the last Object that was sent to this OutputGenerator and removes it from reference.
 	 * @return the last Object that was sent to this OutputGenerator
@@ -3,8 +3,13 @@ package models;
 import com.google.gson.*;
 
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AbstractModelAdapter<T> implements JsonSerializer<T>, JsonDeserializer<T> {
+    // Implementing classes by simple name, so each class is only looked up once
+    private static final Map<String, Class<?>> implementations = new ConcurrentHashMap<>();
+
     @Override
     public T deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext) throws JsonParseException {
         // Deserialize with concrete implementation
@@ -12,11 +17,28 @@ public class AbstractModelAdapter<T> implements JsonSerializer<T>, JsonDeseriali
         JsonElement fields = jsonObject.get("fields");
         String impl = jsonObject.get("impl").getAsString();
 
-        try {
-            return jsonDeserializationContext.deserialize(fields, Class.forName("models." + impl));
-        } catch (ClassNotFoundException e) {
-            throw new JsonParseException("Unknown class" + type);
+        return jsonDeserializationContext.deserialize(fields, getImplementation(impl, type));
+    }
+
+    /**
+     * Finds the implementing model class with the given simple name.
+     * @param impl the simple name of the class
+     * @param type the abstract type being deserialized, for the error message
+     * @return the class
+     * @throws JsonParseException Thrown if there is no such model class
+     */
+    private static Class<?> getImplementation(String impl, Type type) throws JsonParseException {
+        Class<?> implementation = implementations.get(impl);
+        if (implementation == null) {
+            try {
+                implementation = Class.forName("models." + impl);
+            } catch (ClassNotFoundException e) {
+                throw new JsonParseException("Unknown class" + type);
+            }
+            implementations.put(impl, implementation);
         }
+
+        return implementation;
     }
 
     @Override
@@ -0,0 +1,60 @@
+package models;
+
+import java.util.Date;
+
+/**
+ * Read-only grade of a single problem set attempt, as exported to instructors. Holds the student, problem set, time
+ * and score of the attempt, and none of its answers.
+ */
+public class AttemptGrade {
+
+    private final int studentNumber;
+    private final String studentName;
+    private final int problemSetId;
+    private final Date timeAttempted;
+    private final int correctAnswers;
+    private final int problemCount;
+
+    /**
+     * Creates a new grade of an attempt.
+     * @param studentNumber the student number of the student who made the attempt
+     * @param studentName the name of the student, null if the student no longer exists
+     * @param problemSetId the unique id of the problem set attempted
+     * @param timeAttempted the time the attempt was made
+     * @param correctAnswers the number of correct answers of the attempt
+     * @param problemCount the number of problems answered in the attempt
+     */
+    public AttemptGrade(int studentNumber, String studentName, int problemSetId, Date timeAttempted,
+                        int correctAnswers, int problemCount) {
+        this.studentNumber = studentNumber;
+        this.studentName = studentName;
+        this.problemSetId = problemSetId;
+        this.timeAttempted = timeAttempted;
+        this.correctAnswers = correctAnswers;
+        this.problemCount = problemCount;
+    }
+
+    public int getStudentNumber() {
+        return studentNumber;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public int getProblemSetId() {
+        return problemSetId;
+    }
+
+    public Date getTimeAttempted() {
+        return timeAttempted;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getProblemCount() {
+        return problemCount;
+    }
+}
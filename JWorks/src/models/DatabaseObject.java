@@ -1,9 +1,7 @@
 package models;
 
-import javafx.beans.property.SimpleIntegerProperty;
-
 public abstract class DatabaseObject {
-    protected final SimpleIntegerProperty idProperty = new SimpleIntegerProperty(-1);
+    protected int id = -1;
 
 
     protected DatabaseObject() {}
@@ -13,7 +11,7 @@ public abstract class DatabaseObject {
      * @return the unique key of this object
      */
     public int getId() {
-        return idProperty.get();
+        return id;
     }
 
     /**
@@ -22,7 +20,7 @@ public abstract class DatabaseObject {
      */
     public void setId(int id)
     {
-        idProperty.set(id);
+        this.id = id;
     }
 
     /**
@@ -30,6 +28,52 @@ public abstract class DatabaseObject {
      * @return whether or not this object has an identifier key
      */
     public boolean hasId() {
-        return idProperty.get() == -1;
+        return id == -1;
+    }
+
+    /**
+     * Returns the class that objects must share to be considered the same persisted object. Subclasses that are
+     * stored in the same table should return their common base class.
+     * @return the class that identifies the table this object is stored in
+     */
+    protected Class<?> getIdentityClass() {
+        return getClass();
+    }
+
+    /**
+     * Equality comparison by primary key. Objects that have not been given a primary key are only equal to
+     * themselves. Use a content comparison where the stored values need to be compared.
+     * @param other the other object to compare to
+     * @return true iff both objects represent the same persisted object
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof DatabaseObject)) {
+            return false;
+        }
+
+        DatabaseObject otherObject = (DatabaseObject) other;
+
+        return id != -1
+                && id == otherObject.id
+                && getIdentityClass() == otherObject.getIdentityClass();
+    }
+
+    /**
+     * Hash code consistent with the primary key equality. The primary key should not change while the object is
+     * held in a hash based collection.
+     * @return the hash code of this object
+     */
+    @Override
+    public int hashCode() {
+        if (id == -1) {
+            return System.identityHashCode(this);
+        }
+
+        return 31 * getIdentityClass().hashCode() + id;
     }
 }
@@ -24,4 +24,20 @@ public class Instructor  extends User {
     public void setInstructorID(int studentNumber) {
         this.instructorID = studentNumber;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Instructor)) {
+            return false;
+        }
+
+        Instructor otherInstructor = (Instructor) other;
+
+        return this.instructorID == otherInstructor.getInstructorID();
+    }
+
+    @Override
+    public int hashCode() {
+        return instructorID;
+    }
 }
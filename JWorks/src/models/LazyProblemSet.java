@@ -0,0 +1,80 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class to represent a Problem Set that only knows the ids of its problems until they are needed. The problems are
+ * loaded from the problem loader the first time the questions are requested.
+ */
+public class LazyProblemSet extends ProblemSet {
+
+    protected int[] problemIds;
+    protected List<Problem> problems;
+
+    // Not serialized, the loader is only valid within this process
+    private transient ProblemLoader loader;
+
+    /**
+     * Initializes a Problem Set with the given problem ids, using the given loader to load the problems on demand.
+     * @param problemIds the ids of the Problems that the Problem Set contains
+     * @param loader the loader used to retrieve the Problems when they are first needed
+     */
+    public LazyProblemSet(int[] problemIds, ProblemLoader loader) {
+        super();
+        this.problemIds = problemIds;
+        this.loader = loader;
+    }
+
+    /**
+     * Initializes a Problem Set whose Problems were already loaded, such as one read back from a serialized attempt.
+     * @param problemIds the ids of the Problems that the Problem Set contains
+     * @param problems the Problems with the given ids, in the same order
+     */
+    public LazyProblemSet(int[] problemIds, List<Problem> problems) {
+        super();
+        this.problemIds = problemIds;
+        this.problems = problems;
+    }
+
+    /**
+     * Retrieves the list of Problems contained in this Problem Set, loading them if this is the first request.
+     * If there is no loader available, the Problems are returned as stubs that only contain their ids. A failed load
+     * is not remembered, so the next request tries again.
+     * @return the list of Problems contained in this Problem Set, one for each of its ids
+     * @throws exceptions.ProblemLoadException if the Problems could not be loaded
+     */
+    @Override
+    public List<Problem> getQuestions() {
+        if (problems == null) {
+            if (loader != null) {
+                problems = loader.loadProblems(problemIds);
+            } else {
+                problems = new ArrayList<>(problemIds.length);
+                for (int id : problemIds) {
+                    problems.add(new ProblemStub(id));
+                }
+            }
+        }
+
+        return problems;
+    }
+
+    /**
+     * Returns whether or not the Problems of this Problem Set have been loaded.
+     * @return whether or not the Problems of this Problem Set have been loaded
+     */
+    public boolean isLoaded() {
+        return problems != null;
+    }
+
+    @Override
+    public int[] getProblemIds() {
+        return problemIds.clone();
+    }
+
+    @Override
+    public int getProblemCount() {
+        return problemIds.length;
+    }
+}
@@ -2,8 +2,7 @@ package models;
 
 import java.util.ArrayList;
 import java.util.List;
-
-import javafx.beans.property.SimpleStringProperty;
+import java.util.Objects;
 
 /**
  * Represents a base problem with a question and answer
@@ -11,8 +10,8 @@ import javafx.beans.property.SimpleStringProperty;
 public abstract class Problem extends DatabaseObject implements Taggable {
 
     // Properties
-    protected final SimpleStringProperty problemProperty = new SimpleStringProperty("");
-    protected final SimpleStringProperty answerProperty = new SimpleStringProperty("");
+    protected String question = "";
+    protected String answer = "";
     
     protected List<String> tags = new ArrayList<String>();
     protected int creatorID;
@@ -45,9 +44,10 @@ public abstract class Problem extends DatabaseObject implements Taggable {
     }
     
     public void addTags(List<String> newTags) {
+      TagDictionary dictionary = TagDictionary.getShared();
       for (String tag : newTags) {
         if (!(this.tags.contains(tag))) {
-          this.tags.add(tag);
+          this.tags.add(dictionary.intern(tag));
         }
       }
     }
@@ -60,6 +60,22 @@ public abstract class Problem extends DatabaseObject implements Taggable {
       this.tags.removeAll(tagsToRemove);
     }
 
+    /**
+     * Returns whether or not the given problem has the same question and answer as this problem, regardless of ids.
+     * @param other the problem to compare to
+     * @return true iff both problems have the same question and answer
+     */
+    public boolean contentEquals(Problem other) {
+        return Objects.equals(getProblem(), other.getProblem())
+                && Objects.equals(getAnswer(), other.getAnswer());
+    }
+
+    @Override
+    protected Class<?> getIdentityClass() {
+        // All problems are stored in the same table
+        return Problem.class;
+    }
+
     /**
      * Returns whether or not the tag string requested matches this problem.
      * @param tagString a space separated list of tags
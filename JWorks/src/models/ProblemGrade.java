@@ -0,0 +1,43 @@
+package models;
+
+/**
+ * Read-only correctness of a single problem over every attempt that answered it, as exported to instructors.
+ */
+public class ProblemGrade {
+
+    private final int problemId;
+    private final int answers;
+    private final int correctAnswers;
+
+    /**
+     * Creates a new grade of a problem.
+     * @param problemId the unique id of the problem
+     * @param answers the number of times the problem was answered
+     * @param correctAnswers the number of those answers that were correct
+     */
+    public ProblemGrade(int problemId, int answers, int correctAnswers) {
+        this.problemId = problemId;
+        this.answers = answers;
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getProblemId() {
+        return problemId;
+    }
+
+    public int getAnswers() {
+        return answers;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    /**
+     * Returns the fraction of the answers that were correct.
+     * @return the fraction of correct answers, 0 if the problem was never answered
+     */
+    public double getCorrectRate() {
+        return answers == 0 ? 0 : (double) correctAnswers / answers;
+    }
+}
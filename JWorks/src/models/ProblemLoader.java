@@ -0,0 +1,17 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Interface to represent a source that can load the full details of problems given only their ids.
+ */
+public interface ProblemLoader {
+    /**
+     * Loads the problems with the given ids, in the same order as the ids given. A problem that can not be found is
+     * returned as a stub, so there is always one problem for each id.
+     * @param problemIds the unique ids of the problems to load
+     * @return the loaded problems, in the order of the given ids
+     * @throws exceptions.ProblemLoadException if the problems could not be loaded
+     */
+    List<Problem> loadProblems(int[] problemIds);
+}
@@ -27,6 +27,28 @@ public abstract class ProblemSet extends DatabaseObject implements Taggable {
      */
     public abstract List<Problem> getQuestions();
 
+    /**
+     * Retrieves the ids of the Problems that the problem set contains, in order.
+     * @return the ids of the Problems in the problem set
+     */
+    public int[] getProblemIds() {
+        List<Problem> questions = getQuestions();
+        int[] problemIds = new int[questions.size()];
+        for (int i = 0; i < problemIds.length; i++) {
+            problemIds[i] = questions.get(i).getId();
+        }
+
+        return problemIds;
+    }
+
+    /**
+     * Returns the number of Problems that the problem set contains.
+     * @return the number of Problems in the problem set
+     */
+    public int getProblemCount() {
+        return getQuestions().size();
+    }
+
     /**
      * Returns the maximum number of attempts for this Problem Set.
      * @return the maximum number of attempts for this Problem Set. -1 represents no limit.
@@ -68,9 +90,10 @@ public abstract class ProblemSet extends DatabaseObject implements Taggable {
     }
     
     public void addTags(List<String> newTags) {
+      TagDictionary dictionary = TagDictionary.getShared();
       for (String tag : newTags) {
         if (!(this.tags.contains(tag))) {
-          this.tags.add(tag);
+          this.tags.add(dictionary.intern(tag));
         }
       }
     }
@@ -83,6 +106,46 @@ public abstract class ProblemSet extends DatabaseObject implements Taggable {
       this.tags.removeAll(tagsToRemove);
     }
 
+    /**
+     * Content comparison, regardless of the id of the problem sets. Problem sets have the same content if they have
+     * the same creator, dates, attempts, and problems with the same questions and answers in the same order.
+     * @param otherPs the problem set to compare to
+     * @return true iff the problem sets have the same content
+     */
+    public boolean contentEquals(ProblemSet otherPs) {
+        // Must have same creator, dates, and attempts
+        final boolean sameCreator = this.creatorID == otherPs.creatorID;
+        final boolean sameAttempts = this.maxAttempts == otherPs.maxAttempts;
+        final boolean sameDates = this.startTime.equals(otherPs.startTime) &&
+                this.endTime.equals(otherPs.endTime);
+
+        if (!(sameCreator && sameAttempts && sameDates)) {
+            return false;
+        }
+
+        // Iterate through all problems and answers
+        List<Problem> otherProblems = otherPs.getQuestions();
+        List<Problem> theseProblems = this.getQuestions();
+
+        if (otherProblems.size() != theseProblems.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < theseProblems.size(); i++) {
+            if (!theseProblems.get(i).contentEquals(otherProblems.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    protected Class<?> getIdentityClass() {
+        // All problem sets are stored in the same table
+        return ProblemSet.class;
+    }
+
     /**
      * Returns whether or not the tag string requested matches this problem.
      * @param tagString a space separated list of tags
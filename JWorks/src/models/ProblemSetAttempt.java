@@ -1,7 +1,8 @@
 package models;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import events.GradingEvent;
+import serialization.ModelCodec;
+import util.IntIntMap;
 
 import java.io.*;
 import java.time.Instant;
@@ -20,6 +21,9 @@ public class ProblemSetAttempt extends DatabaseObject {
 
     private List<String> answers;
 
+    // Index of each problem id within the problem set, built when answers are first restored by id
+    private transient IntIntMap problemIndexes;
+
     /**
      * Creates a new ProblemSetAttempt object, given the student and problem set, with a current timestamp.
      * @param student the Student attempting the Problem Set
@@ -30,9 +34,10 @@ public class ProblemSetAttempt extends DatabaseObject {
         this.problemSet = problemSet;
         this.timeAttempted = Date.from(Instant.now());
 
-        this.answers = new ArrayList<>(problemSet.getQuestions().size());
+        int problemCount = problemSet.getProblemCount();
+        this.answers = new ArrayList<>(problemCount);
         // Fill answers with blanks
-        for (int i = 0; i < problemSet.getQuestions().size(); i++) {
+        for (int i = 0; i < problemCount; i++) {
             answers.add("");
         }
     }
@@ -68,7 +73,17 @@ public class ProblemSetAttempt extends DatabaseObject {
         String expectedAnswer = problemSet.getQuestions().get(problemIndex).getAnswer();
         String actualAnswer = answers.get(problemIndex);
 
-        return expectedAnswer.equalsIgnoreCase(actualAnswer);
+        return isAnswerCorrect(expectedAnswer, actualAnswer);
+    }
+
+    /**
+     * Returns whether or not an answer matches the expected answer of a problem. Ignores casing.
+     * @param expectedAnswer the answer of the problem, null for a problem that is no longer in the bank
+     * @param actualAnswer the answer the student inputted
+     * @return whether or not the answers match, ignoring casing. Never true for a null expected answer.
+     */
+    public static boolean isAnswerCorrect(String expectedAnswer, String actualAnswer) {
+        return expectedAnswer != null && expectedAnswer.equalsIgnoreCase(actualAnswer);
     }
 
     /**
@@ -76,13 +91,26 @@ public class ProblemSetAttempt extends DatabaseObject {
      * @return the total number of answers that the user has entered correctly
      */
     public int getNumberofCorrectAnswers() {
+        GradingEvent event = new GradingEvent();
+        event.begin();
+
         int score = 0;
-        for (int i = 0; i < problemSet.getQuestions().size(); i++) {
+        int problems = problemSet.getQuestions().size();
+        for (int i = 0; i < problems; i++) {
             if (isAnswerCorrect(i)) {
                 score++;
             }
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.studentNumber = student == null ? -1 : student.getStudentNumber();
+            event.problemSetId = problemSet.getId();
+            event.problems = problems;
+            event.correctAnswers = score;
+            event.commit();
+        }
+
         return score;
     }
 
@@ -108,11 +136,7 @@ public class ProblemSetAttempt extends DatabaseObject {
      * @return the string representation of the serialized object. Empty string if failed.
      */
     public String serialize() {
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(ProblemSet.class, new AbstractModelAdapter<ProblemSet>())
-                .registerTypeAdapter(Problem.class, new AbstractModelAdapter<Problem>())
-                .create();
-        return gson.toJson(this);
+        return ModelCodec.toJson(this);
     }
 
     /**
@@ -121,11 +145,7 @@ public class ProblemSetAttempt extends DatabaseObject {
      * @return the deserialized problem set attempt object
      */
     public static ProblemSetAttempt deserialize(String serial) {
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(ProblemSet.class, new AbstractModelAdapter<ProblemSet>())
-                .registerTypeAdapter(Problem.class, new AbstractModelAdapter<Problem>())
-                .create();
-        return gson.fromJson(serial, ProblemSetAttempt.class);
+        return ModelCodec.fromJson(serial, ProblemSetAttempt.class);
     }
 
     public void setAnswerByProblemId(int problemId, String answer) {
@@ -133,12 +153,16 @@ public class ProblemSetAttempt extends DatabaseObject {
     }
 
     private int findProblemIndex(int problemId) {
-        for (int i = 0; i < problemSet.getQuestions().size(); i++) {
-            if (problemSet.getQuestions().get(i).getId() == problemId) {
-                return i;
+        // Index by id so that the problems of the set do not need to be loaded
+        if (problemIndexes == null) {
+            int[] problemIds = problemSet.getProblemIds();
+            problemIndexes = new IntIntMap(problemIds.length);
+            // Iterate backwards so that the first occurrence of a repeated id wins
+            for (int i = problemIds.length - 1; i >= 0; i--) {
+                problemIndexes.put(problemIds[i], i);
             }
         }
 
-        return -1;
+        return problemIndexes.get(problemId, -1);
     }
 }
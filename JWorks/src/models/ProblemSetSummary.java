@@ -0,0 +1,107 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Lightweight read-only view of a Problem Set used by listing screens. Holds only the id, dates, attempts, number
+ * of problems and tags of the problem set, and none of its problems.
+ */
+public class ProblemSetSummary implements Taggable {
+
+    private final int id;
+    private final int maxAttempts;
+    private final Date startTime;
+    private final Date endTime;
+    private final int problemCount;
+
+    private List<String> tags = new ArrayList<String>();
+
+    /**
+     * Creates a new summary of a problem set.
+     * @param id the unique id of the problem set
+     * @param maxAttempts the maximum number of attempts of the problem set
+     * @param startTime the release time of the problem set
+     * @param endTime the due time of the problem set
+     * @param problemCount the number of problems in the problem set
+     */
+    public ProblemSetSummary(int id, int maxAttempts, Date startTime, Date endTime, int problemCount) {
+        this.id = id;
+        this.maxAttempts = maxAttempts;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.problemCount = problemCount;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public int getProblemCount() {
+        return problemCount;
+    }
+
+    public void addTags(List<String> newTags) {
+      TagDictionary dictionary = TagDictionary.getShared();
+      for (String tag : newTags) {
+        if (!(this.tags.contains(tag))) {
+          this.tags.add(dictionary.intern(tag));
+        }
+      }
+    }
+
+    public List<String> getTags() {
+      return this.tags;
+    }
+
+    public void removeTags(List<String> tagsToRemove) {
+      this.tags.removeAll(tagsToRemove);
+    }
+
+    /**
+     * Returns whether or not the tag string requested matches this problem set.
+     * @param tagString a space separated list of tags
+     * @return True iff all of the tags in the string are present (even partially) in the problem set as tags or id.
+     */
+    public boolean matchesSearchString(String tagString) {
+        // Split args into individual tags
+        String[] tags = tagString.split(" ");
+
+        // Iterate for partial tags
+        for (int i = 0; i < tags.length; i++) {
+            boolean matchedTag = String.valueOf(getId()).equals(tags[i]);
+
+            // Match by tags
+            for (String t : getTags()) {
+                if (t.toLowerCase().contains(tags[i].toLowerCase())) {
+                    matchedTag = true;
+                    break;
+                }
+            }
+
+            if (!matchedTag) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Problem Set " + id + ": " + problemCount + " problems, tags " + tags;
+    }
+}
@@ -0,0 +1,97 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lightweight read-only view of a Problem used by listing screens. Holds only the id, the start of the question and
+ * the tags of the problem.
+ */
+public class ProblemSummary implements Taggable {
+
+    /**
+     * The maximum number of characters of the question kept in a summary.
+     */
+    public static final int MAX_QUESTION_LENGTH = 80;
+
+    private final int id;
+    private final String question;
+
+    private List<String> tags = new ArrayList<String>();
+
+    /**
+     * Creates a new summary of a problem.
+     * @param id the unique id of the problem
+     * @param question the question of the problem, truncated to at most MAX_QUESTION_LENGTH characters
+     */
+    public ProblemSummary(int id, String question) {
+        this.id = id;
+        this.question = question;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the start of the question of this problem.
+     * @return the question, truncated to at most MAX_QUESTION_LENGTH characters
+     */
+    public String getQuestion() {
+        return question;
+    }
+
+    public void addTags(List<String> newTags) {
+      TagDictionary dictionary = TagDictionary.getShared();
+      for (String tag : newTags) {
+        if (!(this.tags.contains(tag))) {
+          this.tags.add(dictionary.intern(tag));
+        }
+      }
+    }
+
+    public List<String> getTags() {
+      return this.tags;
+    }
+
+    public void removeTags(List<String> tagsToRemove) {
+      this.tags.removeAll(tagsToRemove);
+    }
+
+    /**
+     * Returns whether or not the tag string requested matches this problem.
+     * @param tagString a space separated list of tags
+     * @return True iff all of the tags in the string are present (even partially) in the problem as tags, id or
+     * question.
+     */
+    public boolean matchesSearchString(String tagString) {
+        // Split args into individual tags
+        String[] tags = tagString.split(" ");
+
+        // Iterate for partial tags
+        for (int i = 0; i < tags.length; i++) {
+            String term = tags[i].toLowerCase();
+            boolean matchedTag = String.valueOf(getId()).equals(tags[i])
+                    || question.toLowerCase().contains(term);
+
+            // Match by tags
+            for (String t : getTags()) {
+                if (t.toLowerCase().contains(term)) {
+                    matchedTag = true;
+                    break;
+                }
+            }
+
+            if (!matchedTag) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Q" + id + ":" + question;
+    }
+}
@@ -8,25 +8,25 @@ public class SingleAnswerProblem extends Problem {
 
     public SingleAnswerProblem(String question, String answer) {
         super();
-        problemProperty.set(question);
-        answerProperty.set(answer);
+        this.question = question;
+        this.answer = answer;
     }
 
     @Override
     public String getProblem() {
-        return problemProperty.get();
+        return question;
     }
 
     @Override
     public String getAnswer() {
-        return answerProperty.get();
+        return answer;
     }
 
     public void setQuestion(String question) {
-        problemProperty.set(question);
+        this.question = question;
     }
 
     public void setAnswer(String answer) {
-        answerProperty.set(answer);
+        this.answer = answer;
     }
 }
@@ -0,0 +1,38 @@
+package models;
+
+/**
+ * A problem that was added to the bank, and whether it was stored or found stored already. A problem with the same
+ * content as a stored problem is not stored again, and is given the ID of the stored problem instead.
+ */
+public class StoredProblem {
+
+    private final Problem problem;
+    private final boolean created;
+
+    /**
+     * Creates the result of adding a problem.
+     * @param problem the problem that was added, with the ID it is stored with
+     * @param created true if the problem was stored, false if a problem with the same content was stored already
+     */
+    public StoredProblem(Problem problem, boolean created) {
+        this.problem = problem;
+        this.created = created;
+    }
+
+    public Problem getProblem() {
+        return problem;
+    }
+
+    /**
+     * Returns whether or not the problem was stored, rather than found in the bank already.
+     * @return true if the problem is new to the bank
+     */
+    public boolean isCreated() {
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return (created ? "Added problem " : "Already in the bank as problem ") + problem.getId();
+    }
+}
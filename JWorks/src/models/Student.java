@@ -38,4 +38,9 @@ public class Student extends User {
 
         return this.studentNumber == otherStudent.getStudentNumber();
     }
+
+    @Override
+    public int hashCode() {
+        return studentNumber;
+    }
 }
@@ -0,0 +1,82 @@
+package models;
+
+import util.IntObjectMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps one instance of every tag string, shared by all models, together with the id of the tag in the database. Tags
+ * are added to models through the dictionary, so a tag used by thousands of problems is held in memory once, and
+ * problems with a tag can be looked up by its id instead of comparing strings.
+ */
+public class TagDictionary {
+
+    private static final TagDictionary shared = new TagDictionary();
+
+    private final Map<String, String> tags = new HashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final IntObjectMap<String> tagsById = new IntObjectMap<>();
+
+    /**
+     * Gets the dictionary used by all models.
+     * @return the shared dictionary
+     */
+    public static TagDictionary getShared() {
+        return shared;
+    }
+
+    /**
+     * Gets the shared instance of the given tag, adding it if it is new.
+     * @param tag the tag to look up
+     * @return a string equal to the tag, the same instance for every equal tag. Null if the tag is null.
+     */
+    public synchronized String intern(String tag) {
+        if (tag == null) {
+            return null;
+        }
+
+        String existing = tags.putIfAbsent(tag, tag);
+        return existing == null ? tag : existing;
+    }
+
+    /**
+     * Records the id of a tag in the database.
+     * @param id the id of the tag
+     * @param tag the tag
+     * @return the shared instance of the tag
+     */
+    public synchronized String put(int id, String tag) {
+        String interned = intern(tag);
+        ids.put(interned, id);
+        tagsById.put(id, interned);
+        return interned;
+    }
+
+    /**
+     * Gets the tag with the given id.
+     * @param id the id of the tag in the database
+     * @return the shared instance of the tag, null if the id was not recorded
+     */
+    public synchronized String getTag(int id) {
+        return tagsById.get(id);
+    }
+
+    /**
+     * Gets the id of the given tag.
+     * @param tag the tag to look up
+     * @return the id of the tag in the database, -1 if it was not recorded
+     */
+    public synchronized int getId(String tag) {
+        Integer id = ids.get(tag);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Forgets the ids of all tags, for when the tags of the database were replaced. The tag strings are kept.
+     */
+    public synchronized void clearIds() {
+        ids.clear();
+        tagsById.clear();
+    }
+}
@@ -0,0 +1,374 @@
+package search;
+
+import util.IntIntMap;
+import util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Ranked full text index of the questions, answers and tags of problems. Problems are scored with BM25, from term
+ * statistics that are kept up to date as problems are added and removed, so a search only reads the postings of its
+ * terms. Tags count twice as much as words of the question or answer.
+ *
+ * A problem matches when it has every term of the query, either as a whole word or as the start of one, or when a
+ * term is the id of the problem. Words that only start with a term count half as much as the term itself, so that a
+ * query can be searched while it is typed.
+ */
+public class ProblemSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int QUESTION_WEIGHT = 1;
+    private static final int ANSWER_WEIGHT = 1;
+    private static final int TAG_WEIGHT = 2;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final Comparator<SearchHit> WORST_FIRST =
+            Comparator.comparingDouble(SearchHit::getScore).thenComparing(SearchHit::getId, Comparator.reverseOrder());
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final IntObjectMap<Document> documents = new IntObjectMap<>();
+    private long totalLength;
+
+    /**
+     * Adds a problem, replacing it if it was added before. A tag given more than once is counted once.
+     * @param id the id of the problem
+     * @param question the question of the problem
+     * @param answer the answer of the problem
+     * @param tags the tags of the problem
+     */
+    public synchronized void add(int id, String question, String answer, Collection<String> tags) {
+        Map<String, Integer> counts = new HashMap<>();
+        count(question, QUESTION_WEIGHT, counts);
+        count(answer, ANSWER_WEIGHT, counts);
+        Set<String> distinctTags = new LinkedHashSet<>(tags);
+        for (String tag : distinctTags) {
+            count(tag, TAG_WEIGHT, counts);
+        }
+
+        remove(id);
+        insert(id, counts, distinctTags.toArray(new String[0]));
+    }
+
+    /**
+     * Adds a tag to a problem that was added before. Tags of problems that are not in the index are ignored, and so
+     * are tags the problem has already, so a tag that was indexed when the index was built is not counted twice.
+     * @param id the id of the problem
+     * @param tag the new tag of the problem
+     */
+    public synchronized void addTag(int id, String tag) {
+        Document document = documents.get(id);
+        if (document == null || Arrays.asList(document.tags).contains(tag)) {
+            return;
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < document.terms.length; i++) {
+            counts.put(document.terms[i], document.frequencies[i]);
+        }
+        count(tag, TAG_WEIGHT, counts);
+        String[] tags = Arrays.copyOf(document.tags, document.tags.length + 1);
+        tags[document.tags.length] = tag;
+
+        remove(id);
+        insert(id, counts, tags);
+    }
+
+    /**
+     * Removes a problem from the index.
+     * @param id the id of the problem
+     */
+    public synchronized void remove(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Postings postings = terms.get(term);
+            postings.remove(id);
+            if (postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of problems in the index.
+     * @return the number of problems
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Finds the problems that are most relevant to the query.
+     * @param query words separated by spaces or punctuation, in any case
+     * @param limit the maximum number of problems to return
+     * @return at most limit problems that match every term of the query, most relevant first. Problems that are
+     * equally relevant are ordered by id.
+     */
+    public synchronized List<SearchHit> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0 || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // the rarest term goes first, so that it decides how many problems are scored at all
+        Map<String, Integer> matching = new HashMap<>();
+        for (String term : queryTerms) {
+            int postingCount = 0;
+            for (Postings postings : expand(term).values()) {
+                postingCount += postings.size;
+            }
+            matching.put(term, postingCount);
+        }
+        queryTerms.sort(Comparator.comparing(matching::get));
+
+        int documentCount = documents.size();
+        double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+        Scores scores = new Scores();
+
+        for (int q = 0; q < queryTerms.size(); q++) {
+            String term = queryTerms.get(q);
+            for (Map.Entry<String, Postings> entry : expand(term).entrySet()) {
+                double weight = entry.getKey().equals(term) ? 1 : PREFIX_WEIGHT;
+                Postings postings = entry.getValue();
+                double idf = idf(documentCount, postings.size);
+
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = scores.match(postings.ids[i], q);
+                    if (slot >= 0) {
+                        double frequency = postings.frequencies[i];
+                        double length = postings.lengths[i];
+                        scores.add(slot, weight * idf * frequency * (K1 + 1)
+                                / (frequency + K1 * (1 - B + B * length / averageLength)));
+                    }
+                }
+            }
+
+            // a term can also be the id of a problem, which is as specific as a term can be
+            int id = parseId(term);
+            if (id >= 0 && documents.containsKey(id)) {
+                int slot = scores.match(id, q);
+                if (slot >= 0) {
+                    scores.add(slot, idf(documentCount, 1) * (K1 + 1));
+                }
+            }
+        }
+
+        return scores.top(queryTerms.size(), limit);
+    }
+
+    /**
+     * Splits text into lower case words, separated by anything that is not a letter or a digit.
+     * @param text the text to split
+     * @return the words of the text in order
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the words that start with the given term, including the term itself.
+     */
+    private Map<String, Postings> expand(String term) {
+        return terms.subMap(term, true, term + Character.MAX_VALUE, true);
+    }
+
+    private static void count(String text, int weight, Map<String, Integer> counts) {
+        for (String word : tokenize(text)) {
+            counts.merge(word, weight, Integer::sum);
+        }
+    }
+
+    private void insert(int id, Map<String, Integer> counts, String[] tags) {
+        Document document = new Document(counts, tags);
+        documents.put(id, document);
+        totalLength += document.length;
+
+        for (int i = 0; i < document.terms.length; i++) {
+            terms.computeIfAbsent(document.terms[i], term -> new Postings())
+                    .add(id, document.frequencies[i], document.length);
+        }
+    }
+
+    private static double idf(int documentCount, int containing) {
+        return Math.log(1 + (documentCount - containing + 0.5) / (containing + 0.5));
+    }
+
+    private static int parseId(String term) {
+        if (term.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) < '0' || term.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(term);
+    }
+
+    /**
+     * The words of a problem with how often each occurs, weighted by the field it occurs in, and the tags the words
+     * came from.
+     */
+    private static final class Document {
+        private final String[] terms;
+        private final int[] frequencies;
+        private final int length;
+        private final String[] tags;
+
+        Document(Map<String, Integer> counts, String[] tags) {
+            this.tags = tags;
+            terms = new String[counts.size()];
+            frequencies = new int[counts.size()];
+            int i = 0;
+            int total = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                terms[i] = entry.getKey();
+                frequencies[i++] = entry.getValue();
+                total += entry.getValue();
+            }
+            length = total;
+        }
+    }
+
+    /**
+     * The problems that contain a word, ordered by id, with how often the word occurs in each and the length of each.
+     * A problem that changes is removed and added again, so the lengths never go stale.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int[] frequencies = new int[2];
+        private int[] lengths = new int[2];
+        private int size;
+
+        void add(int id, int frequency, int length) {
+            // new problems have the highest ids, so this almost always appends
+            int index = -Arrays.binarySearch(ids, 0, size, id) - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            System.arraycopy(lengths, index, lengths, index + 1, size - index);
+            ids[index] = id;
+            frequencies[index] = frequency;
+            lengths[index] = length;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+                System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Sums the scores of the problems that matched every query term so far. Only problems that matched the first
+     * term get a slot, and a problem that missed a term is never scored again.
+     */
+    private static final class Scores {
+        private final IntIntMap slots = new IntIntMap();
+        private int[] ids = new int[16];
+        private int[] matched = new int[16];
+        private double[] totals = new double[16];
+        private int count;
+
+        /**
+         * Records that a problem matched the given query term.
+         * @return the slot of the problem, -1 if it missed an earlier term
+         */
+        int match(int id, int queryTerm) {
+            int slot = slots.get(id, -1);
+            if (slot < 0) {
+                if (queryTerm > 0) {
+                    return -1;
+                }
+                slot = newSlot(id);
+            }
+            if (matched[slot] < queryTerm) {
+                return -1;
+            }
+            if (matched[slot] == queryTerm) {
+                matched[slot]++;
+            }
+            return slot;
+        }
+
+        void add(int slot, double score) {
+            totals[slot] += score;
+        }
+
+        /**
+         * Selects the best problems that matched all terms with a heap that never holds more than limit problems.
+         */
+        List<SearchHit> top(int termCount, int limit) {
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(Math.min(limit, count) + 1, WORST_FIRST);
+            for (int slot = 0; slot < count; slot++) {
+                if (matched[slot] != termCount) {
+                    continue;
+                }
+                SearchHit hit = new SearchHit(ids[slot], totals[slot]);
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(WORST_FIRST.reversed());
+            return hits;
+        }
+
+        private int newSlot(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                matched = Arrays.copyOf(matched, count * 2);
+                totals = Arrays.copyOf(totals, count * 2);
+            }
+            slots.put(id, count);
+            ids[count] = id;
+            return count++;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package search;
+
+/**
+ * A problem found by a ranked search, with how relevant it is to the query.
+ */
+public final class SearchHit {
+
+    private final int id;
+    private final double score;
+
+    /**
+     * Creates a hit.
+     * @param id the id of the problem
+     * @param score the relevance of the problem, higher is more relevant
+     */
+    public SearchHit(int id, double score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d (%.2f)", id, score);
+    }
+}
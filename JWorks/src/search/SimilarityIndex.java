@@ -0,0 +1,171 @@
+package search;
+
+import util.IntIntMap;
+import util.IntList;
+import util.IntObjectMap;
+import util.IntSet;
+import util.MinHash;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds problems with similar questions from their MinHash signatures, without comparing against every problem. Each
+ * signature is cut into BANDS bands of ROWS values, and problems that have a band in common land in the same bucket.
+ * Only the problems sharing a bucket with the query are compared, so the work depends on the number of similar
+ * problems rather than the size of the bank.
+ *
+ * Two questions with a similarity of 0.8 share a bucket more than 99.9% of the time, and at 0.5 still about 2 times in
+ * 3, while unrelated questions almost never do.
+ */
+public class SimilarityIndex {
+
+    /**
+     * The similarity from which a new problem is flagged as a likely duplicate of an existing one.
+     */
+    public static final double DUPLICATE_SIMILARITY = 0.8;
+
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHash.SIGNATURE_LENGTH / BANDS;
+
+    private static final Comparator<SearchHit> WORST_FIRST =
+            Comparator.comparingDouble(SearchHit::getScore).thenComparing(SearchHit::getId, Comparator.reverseOrder());
+
+    private final IntObjectMap<int[]> signatures = new IntObjectMap<>();
+    // the buckets are linked lists threaded through bucketIds and nextEntries, starting at the entry in heads
+    private final IntIntMap heads = new IntIntMap();
+    private final IntList bucketIds = new IntList();
+    private final IntList nextEntries = new IntList();
+
+    /**
+     * Adds a problem, replacing its signature if it was added before.
+     * @param id the id of the problem
+     * @param signature the MinHash signature of the question of the problem
+     */
+    public synchronized void add(int id, int[] signature) {
+        int[] previous = signatures.put(id, signature.clone());
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bucket(signature, band);
+            if (previous != null && bucket(previous, band) == bucket) {
+                continue;
+            }
+            bucketIds.add(id);
+            nextEntries.add(heads.get(bucket, -1));
+            heads.put(bucket, bucketIds.size() - 1);
+        }
+    }
+
+    /**
+     * Removes a problem. Its bucket entries are skipped from then on.
+     * @param id the id of the problem
+     */
+    public synchronized void remove(int id) {
+        signatures.remove(id);
+    }
+
+    /**
+     * Gets the number of problems in the index.
+     * @return the number of problems
+     */
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Finds the problems most similar to a problem in the index, other than itself.
+     * @param id the id of the problem
+     * @param minimumSimilarity the lowest estimated similarity to return, from 0 to 1
+     * @param limit the maximum number of problems to return
+     * @return the similar problems with their estimated similarity, most similar first, empty if the problem is not
+     * in the index
+     */
+    public synchronized List<SearchHit> findSimilar(int id, double minimumSimilarity, int limit) {
+        int[] signature = signatures.get(id);
+        if (signature == null) {
+            return new ArrayList<>();
+        }
+        return findSimilar(signature, id, minimumSimilarity, limit);
+    }
+
+    /**
+     * Finds the problems most similar to a signature.
+     * @param signature the MinHash signature of a question
+     * @param minimumSimilarity the lowest estimated similarity to return, from 0 to 1
+     * @param limit the maximum number of problems to return
+     * @return the similar problems with their estimated similarity, most similar first
+     */
+    public synchronized List<SearchHit> findSimilar(int[] signature, double minimumSimilarity, int limit) {
+        return findSimilar(signature, -1, minimumSimilarity, limit);
+    }
+
+    private List<SearchHit> findSimilar(int[] signature, int exclude, double minimumSimilarity, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(WORST_FIRST);
+        IntSet compared = new IntSet();
+        compared.add(exclude);
+
+        for (int band = 0; band < BANDS; band++) {
+            for (int entry = heads.get(bucket(signature, band), -1); entry >= 0; entry = nextEntries.get(entry)) {
+                int id = bucketIds.get(entry);
+                if (!compared.add(id)) {
+                    continue;
+                }
+
+                int[] other = signatures.get(id);
+                // a removed problem, or one in the bucket through a hash collision or an old question
+                if (other == null || !sharesBand(signature, other)) {
+                    continue;
+                }
+
+                double similarity = MinHash.similarity(signature, other);
+                if (similarity < minimumSimilarity) {
+                    continue;
+                }
+                SearchHit hit = new SearchHit(id, similarity);
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private static boolean sharesBand(int[] first, int[] second) {
+        for (int band = 0; band < BANDS; band++) {
+            int start = band * ROWS;
+            boolean equal = true;
+            for (int i = start; i < start + ROWS && equal; i++) {
+                equal = first[i] == second[i];
+            }
+            if (equal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hashes one band of a signature, together with the number of the band, so that equal values in different bands
+     * are different buckets.
+     */
+    private static int bucket(int[] signature, int band) {
+        int hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = hash * 31 + signature[i];
+        }
+        // the finalizer of MurmurHash3, so that buckets spread evenly over the hash map
+        hash = (hash ^ (hash >>> 16)) * 0x85ebca6b;
+        hash = (hash ^ (hash >>> 13)) * 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
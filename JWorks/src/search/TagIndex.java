@@ -0,0 +1,104 @@
+package search;
+
+import util.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index from each tag to the ids of the problems, or problem sets, that have the tag. The ids are kept in
+ * compressed bitmaps, so that tag queries combine whole sets of ids instead of loading any rows. The index also knows
+ * every id, for queries that ask for the ids without a tag.
+ */
+public class TagIndex {
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> tagged = new HashMap<>();
+
+    /**
+     * Adds an id that may not have any tags.
+     * @param id the id of the problem or problem set
+     */
+    public synchronized void add(int id) {
+        all.add(id);
+    }
+
+    /**
+     * Records that the given id has the given tag.
+     * @param id the id of the problem or problem set
+     * @param tag the tag of the id
+     * @return true if the id did not have the tag yet
+     */
+    public synchronized boolean addTag(int id, String tag) {
+        all.add(id);
+        return tagged.computeIfAbsent(tag, key -> new RoaringBitmap()).add(id);
+    }
+
+    /**
+     * Records that the given id no longer has the given tag.
+     * @param id the id of the problem or problem set
+     * @param tag the tag that was removed
+     */
+    public synchronized void removeTag(int id, String tag) {
+        RoaringBitmap ids = tagged.get(tag);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            tagged.remove(tag);
+        }
+    }
+
+    /**
+     * Removes an id and all of its tags.
+     * @param id the id of the problem or problem set
+     */
+    public synchronized void remove(int id) {
+        all.remove(id);
+        tagged.values().removeIf(ids -> ids.remove(id) && ids.isEmpty());
+    }
+
+    /**
+     * Gets the ids with the given tag.
+     * @param tag the tag to look up
+     * @return a copy of the ids with the tag, empty if no id has it
+     */
+    public synchronized RoaringBitmap get(String tag) {
+        RoaringBitmap ids = tagged.get(tag);
+        return ids == null ? new RoaringBitmap() : ids.copy();
+    }
+
+    /**
+     * Gets every id in the index.
+     * @return a copy of all ids
+     */
+    public synchronized RoaringBitmap getAll() {
+        return all.copy();
+    }
+
+    /**
+     * Gets the number of ids with the given tag.
+     * @param tag the tag to look up
+     * @return the number of ids with the tag, 0 if no id has it
+     */
+    public synchronized int count(String tag) {
+        RoaringBitmap ids = tagged.get(tag);
+        return ids == null ? 0 : ids.getCardinality();
+    }
+
+    /**
+     * Gets every tag that at least one id has.
+     * @return the tags in no particular order
+     */
+    public synchronized List<String> getTags() {
+        return new ArrayList<>(tagged.keySet());
+    }
+
+    /**
+     * Finds the ids that match the given query. Changes to the index wait until the query is done.
+     * @param query the query to evaluate
+     * @return the matching ids
+     */
+    public synchronized RoaringBitmap evaluate(TagQuery query) {
+        return query.evaluate(this);
+    }
+}
@@ -0,0 +1,230 @@
+package search;
+
+import util.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A boolean query over tags, such as {@code calculus AND (midterm OR review) AND NOT retired}. The keywords AND, OR and
+ * NOT may be written in any case, and AND may be left out between two terms. NOT binds tightest and OR loosest.
+ * Tags that contain spaces, parentheses or a keyword are written in double quotes, e.g. {@code "week 1"}.
+ */
+public abstract class TagQuery {
+
+    private TagQuery() {
+    }
+
+    /**
+     * Parses a query.
+     * @param query the query text
+     * @return the parsed query
+     * @throws IllegalArgumentException Thrown if the query is not valid, with a message saying why
+     */
+    public static TagQuery parse(String query) {
+        Parser parser = new Parser(tokenize(query));
+        TagQuery result = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected " + parser.tokens.get(parser.position) + " in the query.");
+        }
+        return result;
+    }
+
+    /**
+     * Finds the ids in the index that match this query.
+     * @param index the index to search
+     * @return a new bitmap of the matching ids
+     */
+    abstract RoaringBitmap evaluate(TagIndex index);
+
+    private static final class Tag extends TagQuery {
+        private final String tag;
+
+        Tag(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        RoaringBitmap evaluate(TagIndex index) {
+            return index.get(tag);
+        }
+
+        @Override
+        public String toString() {
+            return '"' + tag + '"';
+        }
+    }
+
+    private static final class And extends TagQuery {
+        private final TagQuery left;
+        private final TagQuery right;
+
+        And(TagQuery left, TagQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        RoaringBitmap evaluate(TagIndex index) {
+            // a negated side only removes ids, so it does not need every id of the index
+            if (right instanceof Not) {
+                return RoaringBitmap.andNot(left.evaluate(index), ((Not) right).query.evaluate(index));
+            }
+            if (left instanceof Not) {
+                return RoaringBitmap.andNot(right.evaluate(index), ((Not) left).query.evaluate(index));
+            }
+            return RoaringBitmap.and(left.evaluate(index), right.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " AND " + right + ")";
+        }
+    }
+
+    private static final class Or extends TagQuery {
+        private final TagQuery left;
+        private final TagQuery right;
+
+        Or(TagQuery left, TagQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        RoaringBitmap evaluate(TagIndex index) {
+            return RoaringBitmap.or(left.evaluate(index), right.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " OR " + right + ")";
+        }
+    }
+
+    private static final class Not extends TagQuery {
+        private final TagQuery query;
+
+        Not(TagQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        RoaringBitmap evaluate(TagIndex index) {
+            return RoaringBitmap.andNot(index.getAll(), query.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + query;
+        }
+    }
+
+    /**
+     * Splits a query into parentheses, keywords and tags. Quoted tags keep their quotes, so that they are never
+     * taken for keywords.
+     */
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("The quote at position " + (i + 1) + " is never closed.");
+                }
+                tokens.add(query.substring(i, end + 1));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+                        && "()\"".indexOf(query.charAt(i)) < 0) {
+                    i++;
+                }
+                tokens.add(query.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        TagQuery parseOr() {
+            TagQuery query = parseAnd();
+            while (accept("OR")) {
+                query = new Or(query, parseAnd());
+            }
+            return query;
+        }
+
+        TagQuery parseAnd() {
+            TagQuery query = parseNot();
+            while (true) {
+                if (accept("AND")) {
+                    query = new And(query, parseNot());
+                } else if (position < tokens.size() && !nextIs("OR") && !tokens.get(position).equals(")")) {
+                    query = new And(query, parseNot());
+                } else {
+                    return query;
+                }
+            }
+        }
+
+        TagQuery parseNot() {
+            if (accept("NOT")) {
+                return new Not(parseNot());
+            }
+            return parseTerm();
+        }
+
+        TagQuery parseTerm() {
+            if (position == tokens.size()) {
+                throw new IllegalArgumentException("The query ends where a tag was expected.");
+            }
+
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                TagQuery query = parseOr();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("A parenthesis is never closed.");
+                }
+                return query;
+            }
+            if (token.equals(")") || isKeyword(token)) {
+                throw new IllegalArgumentException("Expected a tag but found " + token + ".");
+            }
+            if (token.startsWith("\"")) {
+                return new Tag(token.substring(1, token.length() - 1));
+            }
+            return new Tag(token);
+        }
+
+        private boolean accept(String expected) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean nextIs(String keyword) {
+            return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+        }
+
+        private static boolean isKeyword(String token) {
+            return token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR") || token.equalsIgnoreCase("NOT");
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix tree of the distinct tags in use, with the number of problems and problem sets using each tag. Completes a
+ * prefix with the most used tags first. Every node knows the highest count below it, so a completion only visits the
+ * branches that can still hold one of the requested tags, however many tags share the prefix.
+ *
+ * Prefixes match regardless of case. Tags that only differ in case share one entry, shown with the spelling that was
+ * added first.
+ */
+public class TagTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Records one more use of the given tag.
+     * @param tag the tag that was added to a problem or problem set
+     */
+    public synchronized void add(String tag) {
+        change(tag, 1);
+    }
+
+    /**
+     * Records the given number of uses of a tag.
+     * @param tag the tag
+     * @param uses the number of problems and problem sets using the tag
+     */
+    public synchronized void add(String tag, int uses) {
+        change(tag, uses);
+    }
+
+    /**
+     * Records one use less of the given tag. The tag is no longer suggested once it is not used anymore.
+     * @param tag the tag that was removed from a problem or problem set
+     */
+    public synchronized void remove(String tag) {
+        change(tag, -1);
+    }
+
+    /**
+     * Gets how many problems and problem sets use the given tag.
+     * @param tag the tag to look up
+     * @return the number of uses, 0 if the tag is not in use
+     */
+    public synchronized int getCount(String tag) {
+        Node node = find(tag.toLowerCase(Locale.ROOT));
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Gets the number of distinct tags in use.
+     * @return the number of tags
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the most used tags that start with the given prefix.
+     * @param prefix the start of the tag, in any case. An empty prefix matches every tag.
+     * @param limit the maximum number of tags to return
+     * @return at most limit tags, most used first
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        Node start = find(prefix.toLowerCase(Locale.ROOT));
+        if (start == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> completions = new ArrayList<>(Math.min(limit, 16));
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        candidates.add(new Candidate(start, false));
+
+        while (!candidates.isEmpty() && completions.size() < limit) {
+            Candidate candidate = candidates.poll();
+            Node node = candidate.node;
+            if (candidate.complete) {
+                completions.add(node.tag);
+                continue;
+            }
+
+            if (node.count > 0) {
+                candidates.add(new Candidate(node, true));
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                candidates.add(new Candidate(node.children[i], false));
+            }
+        }
+
+        return completions;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void change(String tag, int delta) {
+        String key = tag.toLowerCase(Locale.ROOT);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                child = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = child;
+        }
+
+        Node node = path[key.length()];
+        if (node.count == 0 && delta > 0) {
+            node.tag = tag;
+            size++;
+        }
+        node.count = Math.max(0, node.count + delta);
+        if (node.count == 0 && node.tag != null) {
+            node.tag = null;
+            size--;
+        }
+
+        // fix the highest counts on the way up, dropping branches without tags
+        for (int i = key.length(); i >= 0; i--) {
+            Node current = path[i];
+            if (i > 0 && current.count == 0 && current.childCount == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+                continue;
+            }
+            current.best = current.count;
+            for (int j = 0; j < current.childCount; j++) {
+                current.best = Math.max(current.best, current.children[j].best);
+            }
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private String tag;
+        private int count;
+        private int best;
+
+        Node child(char key) {
+            int index = indexOf(key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char key) {
+            int index = -indexOf(key) - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            keys[index] = key;
+            children[index] = new Node();
+            childCount++;
+            return children[index];
+        }
+
+        void removeChild(char key) {
+            int index = indexOf(key);
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        private int indexOf(char key) {
+            return Arrays.binarySearch(keys, 0, childCount, key);
+        }
+    }
+
+    /**
+     * A branch that may hold completions, ranked by the highest count in it, or a tag that is ready to be returned,
+     * ranked by its own count. At the same count a ready tag comes first, so no branch is opened needlessly.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final boolean complete;
+
+        Candidate(Node node, boolean complete) {
+            this.node = node;
+            this.complete = complete;
+        }
+
+        private int rank() {
+            return complete ? node.count : node.best;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (rank() != other.rank()) {
+                return Integer.compare(other.rank(), rank());
+            }
+            if (complete != other.complete) {
+                return complete ? -1 : 1;
+            }
+            return complete ? node.tag.compareToIgnoreCase(other.node.tag) : 0;
+        }
+    }
+}
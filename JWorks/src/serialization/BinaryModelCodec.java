@@ -0,0 +1,491 @@
+package serialization;
+
+import models.LazyProblemSet;
+import models.Problem;
+import models.ProblemLoader;
+import models.ProblemSet;
+import models.ProblemSetAttempt;
+import models.ProblemStub;
+import models.SimpleProblemSet;
+import models.SingleAnswerProblem;
+import models.Student;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary encoding of problem set attempts and problem sets. Numbers are written as variable length integers
+ * and strings as UTF-8, so the result is several times smaller and faster to read than JSON. A problem set shared by
+ * several attempts in the same stream is only written once.
+ *
+ * The format is not meant to be read by other programs. It starts with a version number, and data written by another
+ * version is rejected.
+ */
+public class BinaryModelCodec {
+
+    private static final int MAGIC = 0x4A57;
+    private static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int SIMPLE_PROBLEM_SET = 1;
+    private static final int LAZY_PROBLEM_SET = 2;
+    private static final int PROBLEM_SET_REFERENCE = 3;
+    private static final int SINGLE_ANSWER_PROBLEM = 1;
+    private static final int PROBLEM_STUB = 2;
+
+    private BinaryModelCodec() {
+    }
+
+    /**
+     * Encodes a single problem set attempt, including its problem set and problems.
+     * @param attempt the attempt to encode
+     * @return the encoded attempt
+     */
+    public static byte[] encode(ProblemSetAttempt attempt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            Encoder encoder = new Encoder(bytes);
+            encoder.writeAttempt(attempt);
+        } catch (IOException e) {
+            // a byte array can not fail to be written to
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a problem set attempt encoded by {@link #encode(ProblemSetAttempt)}.
+     * @param bytes the encoded attempt
+     * @return the attempt
+     * @throws IOException Thrown if the bytes are not an encoded attempt
+     */
+    public static ProblemSetAttempt decodeAttempt(byte[] bytes) throws IOException {
+        return new Decoder(new ByteArrayInputStream(bytes)).readAttempt();
+    }
+
+    /**
+     * Encodes a single problem set, including its problems.
+     * @param problemSet the problem set to encode
+     * @return the encoded problem set
+     */
+    public static byte[] encode(ProblemSet problemSet) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            Encoder encoder = new Encoder(bytes);
+            encoder.writeProblemSet(problemSet);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a problem set encoded by {@link #encode(ProblemSet)}.
+     * @param bytes the encoded problem set
+     * @return the problem set
+     * @throws IOException Thrown if the bytes are not an encoded problem set
+     */
+    public static ProblemSet decodeProblemSet(byte[] bytes) throws IOException {
+        return new Decoder(new ByteArrayInputStream(bytes)).readProblemSet();
+    }
+
+    /**
+     * Writes problem set attempts one at a time.
+     * @param attempts the attempts to write
+     * @param out where the attempts are written to. It is flushed but not closed.
+     * @throws IOException Thrown if the attempts could not be written
+     */
+    public static void writeAttempts(Iterable<ProblemSetAttempt> attempts, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        Encoder encoder = new Encoder(buffered);
+        for (ProblemSetAttempt attempt : attempts) {
+            buffered.write(1);
+            encoder.writeAttempt(attempt);
+        }
+        buffered.write(0);
+        buffered.flush();
+    }
+
+    /**
+     * Reads problem set attempts written by {@link #writeAttempts(Iterable, OutputStream)}, one at a time.
+     * @param in the attempts to read. It is not closed.
+     * @param attempts receives each attempt as soon as it is read
+     * @return the number of attempts read
+     * @throws IOException Thrown if the attempts could not be read
+     */
+    public static int readAttempts(InputStream in, Consumer<? super ProblemSetAttempt> attempts) throws IOException {
+        Decoder decoder = new Decoder(new BufferedInputStream(in));
+        int count = 0;
+        while (decoder.readByte() != 0) {
+            attempts.accept(decoder.readAttempt());
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes models to a stream, remembering which problem sets were already written.
+     */
+    private static class Encoder {
+        private final OutputStream out;
+        private final Map<ProblemSet, Integer> problemSets = new IdentityHashMap<>();
+
+        Encoder(OutputStream out) throws IOException {
+            this.out = out;
+            writeVarInt(MAGIC);
+            writeVarInt(VERSION);
+        }
+
+        void writeAttempt(ProblemSetAttempt attempt) throws IOException {
+            writeVarInt(attempt.getId());
+            writeStudent(attempt.getStudent());
+            writeDate(attempt.getTimeAttempted());
+            writeProblemSet(attempt.getProblemSet());
+            writeStrings(attempt.getAnswers());
+        }
+
+        void writeStudent(Student student) throws IOException {
+            if (student == null) {
+                out.write(0);
+                return;
+            }
+
+            out.write(1);
+            writeVarInt(student.getId());
+            writeVarInt(student.getStudentNumber());
+            writeString(student.getName());
+            writeString(student.getEmailAddress());
+            writeString(student.getPassword());
+        }
+
+        void writeProblemSet(ProblemSet problemSet) throws IOException {
+            if (problemSet == null) {
+                out.write(NULL);
+                return;
+            }
+
+            Integer index = problemSets.get(problemSet);
+            if (index != null) {
+                out.write(PROBLEM_SET_REFERENCE);
+                writeVarInt(index);
+                return;
+            }
+            problemSets.put(problemSet, problemSets.size());
+
+            List<Problem> problems;
+            if (problemSet instanceof LazyProblemSet) {
+                LazyProblemSet lazy = (LazyProblemSet) problemSet;
+                out.write(LAZY_PROBLEM_SET);
+                writeInts(lazy.getProblemIds());
+                // problems that were never loaded are left for the reader to load
+                problems = lazy.isLoaded() ? lazy.getQuestions() : null;
+            } else if (problemSet instanceof SimpleProblemSet) {
+                out.write(SIMPLE_PROBLEM_SET);
+                problems = problemSet.getQuestions();
+            } else {
+                throw new IllegalArgumentException("Unknown problem set " + problemSet.getClass());
+            }
+
+            writeVarInt(problemSet.getId());
+            writeVarInt(problemSet.getMaxAttempts());
+            writeDate(problemSet.getStartTime());
+            writeDate(problemSet.getEndTime());
+            writeVarInt(problemSet.getCreatorID());
+            writeStrings(problemSet.getTags());
+            writeProblems(problems);
+        }
+
+        void writeProblems(List<Problem> problems) throws IOException {
+            if (problems == null) {
+                writeVarInt(0);
+                return;
+            }
+
+            writeVarInt(problems.size() + 1);
+            for (Problem problem : problems) {
+                writeProblem(problem);
+            }
+        }
+
+        void writeProblem(Problem problem) throws IOException {
+            if (problem == null) {
+                out.write(NULL);
+                return;
+            }
+
+            if (problem instanceof SingleAnswerProblem) {
+                out.write(SINGLE_ANSWER_PROBLEM);
+                writeString(problem.getProblem());
+                writeString(problem.getAnswer());
+            } else if (problem instanceof ProblemStub) {
+                out.write(PROBLEM_STUB);
+            } else {
+                throw new IllegalArgumentException("Unknown problem " + problem.getClass());
+            }
+
+            writeVarInt(problem.getId());
+            writeVarInt(problem.getCreatorID());
+            writeStrings(problem.getTags());
+        }
+
+        void writeDate(Date date) throws IOException {
+            if (date == null) {
+                out.write(0);
+            } else {
+                out.write(1);
+                writeVarLong(date.getTime());
+            }
+        }
+
+        void writeInts(int[] values) throws IOException {
+            writeVarInt(values.length);
+            for (int value : values) {
+                writeVarInt(value);
+            }
+        }
+
+        void writeStrings(List<String> strings) throws IOException {
+            if (strings == null) {
+                writeVarInt(0);
+                return;
+            }
+
+            writeVarInt(strings.size() + 1);
+            for (String string : strings) {
+                writeString(string);
+            }
+        }
+
+        void writeString(String string) throws IOException {
+            if (string == null) {
+                writeVarInt(0);
+                return;
+            }
+
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            out.write(bytes);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            writeVarLong(value);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            // zigzag, so that small negative numbers such as a missing id of -1 stay small
+            long bits = (value << 1) ^ (value >> 63);
+            while ((bits & ~0x7FL) != 0) {
+                out.write((int) ((bits & 0x7F) | 0x80));
+                bits >>>= 7;
+            }
+            out.write((int) bits);
+        }
+    }
+
+    /**
+     * Reads models from a stream, remembering the problem sets that were already read.
+     */
+    private static class Decoder {
+        private final InputStream in;
+        private final List<ProblemSet> problemSets = new ArrayList<>();
+
+        Decoder(InputStream in) throws IOException {
+            this.in = in;
+            if (readVarInt() != MAGIC) {
+                throw new IOException("Not an encoded JWorks model");
+            }
+            int version = readVarInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported encoding version " + version);
+            }
+        }
+
+        ProblemSetAttempt readAttempt() throws IOException {
+            int id = readVarInt();
+            Student student = readStudent();
+            Date timeAttempted = readDate();
+            ProblemSet problemSet = readProblemSet();
+            List<String> answers = readStrings();
+
+            ProblemSetAttempt attempt = new ProblemSetAttempt(student, problemSet, timeAttempted);
+            attempt.setId(id);
+            attempt.getAnswers().clear();
+            attempt.getAnswers().addAll(answers);
+            return attempt;
+        }
+
+        Student readStudent() throws IOException {
+            if (readByte() == 0) {
+                return null;
+            }
+
+            int id = readVarInt();
+            int studentNumber = readVarInt();
+            Student student = new Student(readString(), readString(), readString(), studentNumber);
+            student.setId(id);
+            return student;
+        }
+
+        ProblemSet readProblemSet() throws IOException {
+            int type = readByte();
+            if (type == NULL) {
+                return null;
+            }
+            if (type == PROBLEM_SET_REFERENCE) {
+                int index = readVarInt();
+                if (index < 0 || index >= problemSets.size()) {
+                    throw new IOException("Unknown problem set reference " + index);
+                }
+                return problemSets.get(index);
+            }
+
+            int[] problemIds = type == LAZY_PROBLEM_SET ? readInts() : null;
+            if (type != LAZY_PROBLEM_SET && type != SIMPLE_PROBLEM_SET) {
+                throw new IOException("Unknown problem set type " + type);
+            }
+
+            int id = readVarInt();
+            int maxAttempts = readVarInt();
+            Date startTime = readDate();
+            Date endTime = readDate();
+            int creatorID = readVarInt();
+            List<String> tags = readStrings();
+            List<Problem> problems = readProblems();
+
+            ProblemSet problemSet;
+            if (type == LAZY_PROBLEM_SET) {
+                problemSet = problems == null ? new LazyProblemSet(problemIds, (ProblemLoader) null)
+                        : new LazyProblemSet(problemIds, problems);
+            } else {
+                problemSet = new SimpleProblemSet(problems == null ? new ArrayList<>() : problems);
+            }
+            problemSet.setId(id);
+            problemSet.setMaxAttempts(maxAttempts);
+            problemSet.setStartTime(startTime);
+            problemSet.setEndTime(endTime);
+            problemSet.setCreatorID(creatorID);
+            if (tags != null) {
+                problemSet.addTags(tags);
+            }
+
+            problemSets.add(problemSet);
+            return problemSet;
+        }
+
+        List<Problem> readProblems() throws IOException {
+            int count = readVarInt() - 1;
+            if (count < 0) {
+                return null;
+            }
+
+            List<Problem> problems = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                problems.add(readProblem());
+            }
+            return problems;
+        }
+
+        Problem readProblem() throws IOException {
+            int type = readByte();
+            Problem problem;
+            if (type == NULL) {
+                return null;
+            } else if (type == SINGLE_ANSWER_PROBLEM) {
+                problem = new SingleAnswerProblem(readString(), readString());
+            } else if (type == PROBLEM_STUB) {
+                problem = new ProblemStub(-1);
+            } else {
+                throw new IOException("Unknown problem type " + type);
+            }
+
+            problem.setId(readVarInt());
+            problem.setCreatorID(readVarInt());
+            List<String> tags = readStrings();
+            if (tags != null) {
+                problem.addTags(tags);
+            }
+            return problem;
+        }
+
+        Date readDate() throws IOException {
+            return readByte() == 0 ? null : new Date(readVarLong());
+        }
+
+        int[] readInts() throws IOException {
+            int[] values = new int[readVarInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readVarInt();
+            }
+            return values;
+        }
+
+        List<String> readStrings() throws IOException {
+            int count = readVarInt() - 1;
+            if (count < 0) {
+                return null;
+            }
+
+            List<String> strings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                strings.add(readString());
+            }
+            return strings;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = in.read(bytes, read, length - read);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                read += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long bits = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                bits |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (bits >>> 1) ^ -(bits & 1);
+                }
+            }
+            throw new IOException("Malformed number");
+        }
+
+        int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            return b;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import models.AbstractModelAdapter;
+import models.Problem;
+import models.ProblemSet;
+import models.ProblemSetAttempt;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Converts models to and from JSON. The Gson instance is configured once and shared, as Gson is thread safe. Lists of
+ * models can be written and read one model at a time, so a large list never has to be held as a single string.
+ */
+public class ModelCodec {
+
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ProblemSet.class, new AbstractModelAdapter<ProblemSet>())
+            .registerTypeAdapter(Problem.class, new AbstractModelAdapter<Problem>())
+            .create();
+
+    private ModelCodec() {
+    }
+
+    /**
+     * Converts a model to JSON.
+     * @param model the model to convert
+     * @return the JSON representation of the model
+     */
+    public static String toJson(Object model) {
+        return gson.toJson(model);
+    }
+
+    /**
+     * Converts JSON back to a model.
+     * @param json the JSON representation of the model
+     * @param type the class of the model
+     * @return the model
+     */
+    public static <T> T fromJson(String json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    /**
+     * Writes the given models as a JSON array, one model at a time.
+     * @param models the models to write
+     * @param type the class of the models
+     * @param out where the JSON is written to. It is flushed but not closed.
+     * @throws IOException Thrown if the JSON could not be written
+     */
+    public static <T> void writeArray(Iterable<? extends T> models, Class<T> type, Writer out) throws IOException {
+        JsonWriter writer = gson.newJsonWriter(out);
+        writer.beginArray();
+        for (T model : models) {
+            gson.toJson(model, type, writer);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Reads a JSON array of models, one model at a time.
+     * @param in the JSON array to read. It is not closed.
+     * @param type the class of the models
+     * @param models receives each model as soon as it is read
+     * @return the number of models read
+     * @throws IOException Thrown if the JSON could not be read
+     */
+    public static <T> int readArray(Reader in, Class<T> type, Consumer<? super T> models) throws IOException {
+        JsonReader reader = gson.newJsonReader(in);
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.peek() != JsonToken.END_ARRAY) {
+            T model = gson.fromJson(reader, type);
+            models.accept(model);
+            count++;
+        }
+        reader.endArray();
+
+        return count;
+    }
+
+    /**
+     * Writes problem set attempts as a JSON array.
+     * @param attempts the attempts to write
+     * @param out where the JSON is written to. It is flushed but not closed.
+     * @throws IOException Thrown if the JSON could not be written
+     */
+    public static void writeAttempts(Iterable<ProblemSetAttempt> attempts, Writer out) throws IOException {
+        writeArray(attempts, ProblemSetAttempt.class, out);
+    }
+
+    /**
+     * Reads a JSON array of problem set attempts.
+     * @param in the JSON array to read. It is not closed.
+     * @param attempts receives each attempt as soon as it is read
+     * @return the number of attempts read
+     * @throws IOException Thrown if the JSON could not be read
+     */
+    public static int readAttempts(Reader in, Consumer<? super ProblemSetAttempt> attempts) throws IOException {
+        return readArray(in, ProblemSetAttempt.class, attempts);
+    }
+}
@@ -0,0 +1,71 @@
+package util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the invocation count, failure count and latency of every command run by the interpreter, grouped by
+ * command name.
+ */
+public class CommandMetrics {
+
+    /**
+     * The name commands that do not exist are counted under, so mistyped input does not add rows.
+     */
+    public static final String UNKNOWN_COMMAND = "(unknown)";
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * The totals of a single command.
+     */
+    private static class Statistics {
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Records a finished command.
+     * @param command the name of the command
+     * @param nanos the time spent running the command
+     * @param succeeded whether or not the command succeeded
+     */
+    public void record(String command, long nanos, boolean succeeded) {
+        Statistics commandStatistics = statistics.computeIfAbsent(command, key -> new Statistics());
+        commandStatistics.latency.record(nanos);
+        if (!succeeded) {
+            commandStatistics.failures.increment();
+        }
+    }
+
+    /**
+     * Returns a report of the commands run since the metrics were created or last reset. The title of the report
+     * gives the overall throughput.
+     * @return a report with one row per command
+     */
+    public LatencyReport getReport() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long total = 0;
+        for (Statistics commandStatistics : statistics.values()) {
+            total += commandStatistics.latency.getCount();
+        }
+
+        LatencyReport report = new LatencyReport(String.format("Commands: %d in %.1f s (%.2f per second)", total,
+                seconds, seconds > 0 ? total / seconds : 0));
+        for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+            report.addRow(entry.getKey(), entry.getValue().failures.sum(), -1, entry.getValue().latency);
+        }
+
+        return report;
+    }
+
+    /**
+     * Clears all the recorded commands.
+     */
+    public void reset() {
+        statistics.clear();
+        startNanos = System.nanoTime();
+    }
+}
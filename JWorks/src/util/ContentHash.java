@@ -0,0 +1,78 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+
+/**
+ * Hashes the content of a problem, so that a problem that is stored again can be recognized by a single lookup. The
+ * question and answer are normalized first: they are put in Unicode normal form C, every run of white space becomes a
+ * single space and white space at either end is dropped. Case and punctuation are kept, because they can change the
+ * meaning of a question or an answer.
+ *
+ * Hashes are stored in the database, so the normalization must never change.
+ */
+public final class ContentHash {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hashes the content of a problem.
+     * @param type the type of the problem
+     * @param question the question of the problem, may be null
+     * @param answer the answer of the problem, may be null
+     * @return the SHA-256 of the normalized content, as 64 lower case hexadecimal digits
+     */
+    public static String of(int type, String question, String answer) {
+        // normalized text has no line breaks, so they can not be mistaken for part of the question or answer
+        String content = type + "\n" + normalize(question) + "\n" + normalize(answer);
+        byte[] digest = sha256().digest(content.getBytes(StandardCharsets.UTF_8));
+
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Normalizes text the way it is before it is hashed.
+     * @param text the text to normalize, may be null
+     * @return the normalized text, empty for null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder normalized = new StringBuilder(composed.length());
+        boolean space = false;
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = true;
+            } else {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
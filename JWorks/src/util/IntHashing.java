@@ -0,0 +1,40 @@
+package util;
+
+/**
+ * Helpers shared by the open addressing primitive collections.
+ */
+final class IntHashing {
+
+    /**
+     * The fraction of slots that may be used before the table grows.
+     */
+    static final float LOAD_FACTOR = 0.5f;
+
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private IntHashing() {}
+
+    /**
+     * Spreads the bits of the key so that sequential ids do not cluster in the table.
+     * @param key the key to hash
+     * @return the mixed hash of the key
+     */
+    static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the power of two table capacity needed to hold the expected number of keys.
+     * @param expectedSize the number of keys the table is expected to hold
+     * @return the table capacity
+     */
+    static int capacityFor(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
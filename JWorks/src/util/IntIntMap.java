@@ -0,0 +1,167 @@
+package util;
+
+/**
+ * Hash map from primitive int keys to primitive int values, such as counters or best scores keyed by id. Uses open
+ * addressing with linear probing, so neither keys nor values are boxed.
+ */
+public class IntIntMap {
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntIntMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that can hold the given number of entries without growing.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     * @param key the key to look up
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value of the key, the default value if the key is not in the map
+     */
+    public int get(int key, int defaultValue) {
+        int slot = findSlot(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Returns whether or not the given key is in the map.
+     * @param key the key to look up
+     * @return true iff the key is in the map
+     */
+    public boolean containsKey(int key) {
+        return used[findSlot(key)];
+    }
+
+    /**
+     * Associates the given value with the given key, replacing any previous value.
+     * @param key the key to store
+     * @param value the value to associate with the key
+     */
+    public void put(int key, int value) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Adds the given amount to the value of the key. Keys that are not in the map start at zero.
+     * @param key the key of the counter
+     * @param delta the amount to add
+     * @return the new value of the key
+     */
+    public int increment(int key, int delta) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            insert(slot, key, delta);
+            return delta;
+        }
+
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * Stores the given value for the key if the key is not in the map or its value is smaller.
+     * @param key the key to store
+     * @param value the candidate value
+     * @return the value of the key after the update
+     */
+    public int putIfGreater(int key, int value) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            insert(slot, key, value);
+            return value;
+        }
+
+        if (value > values[slot]) {
+            values[slot] = value;
+        }
+
+        return values[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the keys of the map, in no particular order.
+     * @return a new array holding every key of the map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[index++] = keys[slot];
+            }
+        }
+
+        return result;
+    }
+
+    private void insert(int slot, int key, int value) {
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * IntHashing.LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private int findSlot(int key) {
+        int slot = IntHashing.mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int newSlot = findSlot(oldKeys[slot]);
+                used[newSlot] = true;
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+}
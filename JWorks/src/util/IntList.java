@@ -0,0 +1,88 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive ints, used instead of a List of Integers when collecting ids.
+ */
+public class IntList {
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public IntList() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty list that can hold the given number of values without growing.
+     * @param initialCapacity the number of values the list is expected to hold
+     */
+    public IntList(int initialCapacity) {
+        elements = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Appends the given value to the end of the list.
+     * @param value the value to add
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+
+        elements[size++] = value;
+    }
+
+    /**
+     * Gets the value at the given index.
+     * @param index the index of the value
+     * @return the value at the index
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     * @param index the index of the value
+     * @param value the new value
+     */
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        elements[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value of the list, keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the values of the list.
+     * @return a new array holding the values of the list in order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
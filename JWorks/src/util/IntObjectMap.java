@@ -0,0 +1,191 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash map from primitive int keys to objects. Uses open addressing with linear probing, so keys are never boxed
+ * and entries are stored in flat arrays.
+ * @param <V> the type of the values
+ */
+public class IntObjectMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that can hold the given number of entries without growing.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     * @param key the key to look up
+     * @return the value of the key, null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = findSlot(key);
+        return used[slot] ? (V) values[slot] : null;
+    }
+
+    /**
+     * Returns whether or not the given key is in the map.
+     * @param key the key to look up
+     * @return true iff the key is in the map
+     */
+    public boolean containsKey(int key) {
+        return used[findSlot(key)];
+    }
+
+    /**
+     * Associates the given value with the given key, replacing any previous value.
+     * @param key the key to store
+     * @param value the value to associate with the key
+     * @return the previous value of the key, null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int slot = findSlot(key);
+        if (used[slot]) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * IntHashing.LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the given key from the map.
+     * @param key the key to remove
+     * @return the value the key was associated with, null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int gap = findSlot(key);
+        if (!used[gap]) {
+            return null;
+        }
+
+        V previous = (V) values[gap];
+
+        // Shift back the following entries of the probe chain so that no tombstones are needed
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = IntHashing.mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        used[gap] = false;
+        values[gap] = null;
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the keys of the map, in no particular order.
+     * @return a new array holding every key of the map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[index++] = keys[slot];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the values of the map, in the same order as the keys returned by keys().
+     * @return a new list holding every value of the map
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result.add((V) values[slot]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes every entry of the map.
+     */
+    public void clear() {
+        allocate(keys.length);
+    }
+
+    private int findSlot(int key) {
+        int slot = IntHashing.mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int newSlot = findSlot(oldKeys[slot]);
+                used[newSlot] = true;
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+}
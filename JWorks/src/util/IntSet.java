@@ -0,0 +1,145 @@
+package util;
+
+/**
+ * Hash set of primitive ints. Uses open addressing with linear probing, so values are never boxed.
+ */
+public class IntSet {
+
+    private int[] keys;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntSet() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty set that can hold the given number of values without growing.
+     * @param expectedSize the number of values the set is expected to hold
+     */
+    public IntSet(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds the given value to the set.
+     * @param value the value to add
+     * @return true iff the value was not already in the set
+     */
+    public boolean add(int value) {
+        int slot = findSlot(value);
+        if (used[slot]) {
+            return false;
+        }
+
+        used[slot] = true;
+        keys[slot] = value;
+        if (++size > keys.length * IntHashing.LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether or not the given value is in the set.
+     * @param value the value to look up
+     * @return true iff the value is in the set
+     */
+    public boolean contains(int value) {
+        return used[findSlot(value)];
+    }
+
+    /**
+     * Removes the given value from the set.
+     * @param value the value to remove
+     * @return true iff the value was in the set
+     */
+    public boolean remove(int value) {
+        int gap = findSlot(value);
+        if (!used[gap]) {
+            return false;
+        }
+
+        // Shift back the following entries of the probe chain so that no tombstones are needed
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = IntHashing.mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        used[gap] = false;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the values of the set, in no particular order.
+     * @return a new array holding every value of the set
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[index++] = keys[slot];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes every value of the set.
+     */
+    public void clear() {
+        allocate(keys.length);
+    }
+
+    private int findSlot(int value) {
+        int slot = IntHashing.mix(value) & mask;
+        while (used[slot] && keys[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int newSlot = findSlot(oldKeys[slot]);
+                used[newSlot] = true;
+                keys[newSlot] = oldKeys[slot];
+                size++;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A point in time table of latency statistics, one row per named operation. Printing the report gives an aligned
+ * text table with latencies in milliseconds.
+ */
+public class LatencyReport {
+
+    /**
+     * The statistics of a single operation.
+     */
+    public static class Row {
+        private final String name;
+        private final long count;
+        private final long failures;
+        private final long rows;
+        private final long totalNanos;
+        private final long meanNanos;
+        private final long p50Nanos;
+        private final long p95Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        private Row(String name, long failures, long rows, LatencyHistogram histogram) {
+            this.name = name;
+            this.count = histogram.getCount();
+            this.failures = failures;
+            this.rows = rows;
+            this.totalNanos = histogram.getTotalNanos();
+            this.meanNanos = histogram.getMeanNanos();
+            this.p50Nanos = histogram.getPercentileNanos(50);
+            this.p95Nanos = histogram.getPercentileNanos(95);
+            this.p99Nanos = histogram.getPercentileNanos(99);
+            this.maxNanos = histogram.getMaxNanos();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the number of rows read or written by the operation.
+         * @return the number of rows, -1 if the operation does not deal with rows
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return meanNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP95Nanos() {
+            return p95Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+
+    private static final String[] HEADERS = {"name", "count", "failed", "rows", "total ms", "mean ms", "p50 ms",
+            "p95 ms", "p99 ms", "max ms"};
+
+    private final String title;
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Creates an empty report.
+     * @param title the title printed above the table
+     */
+    public LatencyReport(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Adds a row for an operation to the report.
+     * @param name the name of the operation
+     * @param failures the number of times the operation failed
+     * @param rowCount the number of rows read or written by the operation, -1 if it does not deal with rows
+     * @param histogram the latencies of the operation
+     */
+    public void addRow(String name, long failures, long rowCount, LatencyHistogram histogram) {
+        rows.add(new Row(name, failures, rowCount, histogram));
+    }
+
+    /**
+     * Returns the rows of the report, the operation with the most total time first.
+     * @return the rows of the report
+     */
+    public List<Row> getRows() {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort((first, second) -> Long.compare(second.getTotalNanos(), first.getTotalNanos()));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String toString() {
+        List<String[]> cells = new ArrayList<>();
+        cells.add(HEADERS);
+        for (Row row : getRows()) {
+            cells.add(new String[] {row.getName(), String.valueOf(row.getCount()), String.valueOf(row.getFailures()),
+                    row.getRows() < 0 ? "-" : String.valueOf(row.getRows()), millis(row.getTotalNanos()),
+                    millis(row.getMeanNanos()), millis(row.getP50Nanos()), millis(row.getP95Nanos()),
+                    millis(row.getP99Nanos()), millis(row.getMaxNanos())});
+        }
+
+        int[] widths = new int[HEADERS.length];
+        for (String[] line : cells) {
+            for (int i = 0; i < line.length; i++) {
+                widths[i] = Math.max(widths[i], line[i].length());
+            }
+        }
+
+        StringBuilder table = new StringBuilder(title).append(System.lineSeparator());
+        for (String[] line : cells) {
+            for (int i = 0; i < line.length; i++) {
+                // Names are left aligned, numbers right aligned
+                String format = i == 0 ? "%-" + widths[i] + "s" : "  %" + widths[i] + "s";
+                table.append(String.format(format, line[i]));
+            }
+            table.append(System.lineSeparator());
+        }
+
+        return table.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,142 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * MinHash signatures of short texts, such as the question of a problem. The fraction of positions where two signatures
+ * are equal estimates the Jaccard similarity of the texts' sets of five character shingles, after the texts are
+ * lower cased and every run of characters other than letters and digits is made a single space. Texts that only
+ * differ in case, punctuation, spacing or a few words get signatures that are mostly equal.
+ *
+ * Signatures are stored in the database, so the hash functions are derived from a fixed seed and must never change.
+ */
+public final class MinHash {
+
+    /**
+     * The number of hash functions, and so the number of values in a signature.
+     */
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private static final int SHINGLE_LENGTH = 5;
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long state = 0x4a576f726b734d48L;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            state += 0x9e3779b97f4a7c15L;
+            SEEDS[i] = mix(state);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Computes the signature of a text.
+     * @param text the text to sign, may be null
+     * @return the signature, SIGNATURE_LENGTH values long
+     */
+    public static int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] signature = new int[SIGNATURE_LENGTH];
+        long[] minimums = new long[SIGNATURE_LENGTH];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+
+        // a text shorter than a shingle is a single shingle
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long value = mix(shingle ^ SEEDS[i]);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            signature[i] = (int) (minimums[i] >>> 32);
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the texts of two signatures.
+     * @param first a signature
+     * @param second another signature
+     * @return the fraction of equal values, from 0 for unrelated texts to 1 for texts with the same shingles
+     */
+    public static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    /**
+     * Encodes a signature as text, for a TEXT column.
+     * @param signature the signature to encode
+     * @return the signature in Base64
+     */
+    public static String encode(int[] signature) {
+        ByteBuffer bytes = ByteBuffer.allocate(SIGNATURE_LENGTH * Integer.BYTES);
+        bytes.asIntBuffer().put(signature);
+        return Base64.getEncoder().encodeToString(bytes.array());
+    }
+
+    /**
+     * Decodes a signature encoded with encode.
+     * @param encoded the signature in Base64
+     * @return the signature
+     * @throws IllegalArgumentException Thrown if the text is not an encoded signature
+     */
+    public static int[] decode(String encoded) {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        if (bytes.length != SIGNATURE_LENGTH * Integer.BYTES) {
+            throw new IllegalArgumentException("A signature has " + SIGNATURE_LENGTH + " values.");
+        }
+        int[] signature = new int[SIGNATURE_LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text == null ? 0 : text.length());
+        boolean space = false;
+        for (int i = 0; text != null && i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static long hash(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The finalizer of SplitMix64, which spreads every input bit over the whole result.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
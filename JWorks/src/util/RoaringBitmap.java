@@ -0,0 +1,504 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of ints, laid out like a Roaring bitmap. Values are grouped by their upper 16 bits, and each group is
+ * stored in a container holding the lower 16 bits: a sorted array while the group is small, and a bitmap of 2^16 bits
+ * once it holds more than ARRAY_LIMIT values. Sparse sets of ids take two bytes per id, dense ones one bit per id, and
+ * intersections, unions and differences work a container at a time.
+ *
+ * Values are iterated in ascending unsigned order, which is ascending order for the non-negative ids of the database.
+ */
+public class RoaringBitmap {
+
+    /**
+     * The maximum amount of values in an array container. Bigger containers are bitmaps, which take 8 KB.
+     */
+    static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public RoaringBitmap() {
+        this(4);
+    }
+
+    private RoaringBitmap(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    /**
+     * Creates a bitmap holding the given values.
+     * @param values the values to add
+     * @return the new bitmap
+     */
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds the given value.
+     * @param value the value to add
+     * @return true iff the value was not in the bitmap already
+     */
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        int index = findContainer(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new Container());
+        }
+        return containers[index].add((char) value);
+    }
+
+    /**
+     * Removes the given value.
+     * @param value the value to remove
+     * @return true iff the value was in the bitmap
+     */
+    public boolean remove(int value) {
+        int index = findContainer((char) (value >>> 16));
+        if (index < 0 || !containers[index].remove((char) value)) {
+            return false;
+        }
+
+        if (containers[index].cardinality == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether or not the given value is in the bitmap.
+     * @param value the value to look up
+     * @return true iff the value is in the bitmap
+     */
+    public boolean contains(int value) {
+        int index = findContainer((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Gets the amount of values in the bitmap.
+     * @return the amount of values
+     */
+    public int getCardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns whether or not the bitmap holds no values.
+     * @return true iff the bitmap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every value to the given action, in ascending unsigned order.
+     * @param action receives the values
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Gets every value of the bitmap.
+     * @return the values in ascending unsigned order
+     */
+    public int[] toArray() {
+        int[] values = new int[getCardinality()];
+        int[] count = new int[1];
+        forEach(value -> values[count[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Creates a copy of the bitmap that is not affected by later changes of this bitmap.
+     * @return the copy
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap(Math.max(size, 4));
+        for (int i = 0; i < size; i++) {
+            copy.keys[i] = keys[i];
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Computes the values that are in both of the given bitmaps.
+     * @param first the first bitmap
+     * @param second the second bitmap
+     * @return a new bitmap holding the intersection
+     */
+    public static RoaringBitmap and(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(Math.min(first.size, second.size), 4));
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            if (first.keys[i] < second.keys[j]) {
+                i++;
+            } else if (first.keys[i] > second.keys[j]) {
+                j++;
+            } else {
+                result.append(first.keys[i], Container.and(first.containers[i], second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the values that are in either of the given bitmaps.
+     * @param first the first bitmap
+     * @param second the second bitmap
+     * @return a new bitmap holding the union
+     */
+    public static RoaringBitmap or(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(first.size + second.size, 4));
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j == second.size || (i < first.size && first.keys[i] < second.keys[j])) {
+                result.append(first.keys[i], first.containers[i].copy());
+                i++;
+            } else if (i == first.size || first.keys[i] > second.keys[j]) {
+                result.append(second.keys[j], second.containers[j].copy());
+                j++;
+            } else {
+                result.append(first.keys[i], Container.or(first.containers[i], second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the values of the first bitmap that are not in the second one.
+     * @param first the bitmap to take values from
+     * @param second the values to leave out
+     * @return a new bitmap holding the difference
+     */
+    public static RoaringBitmap andNot(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(first.size, 4));
+        int j = 0;
+        for (int i = 0; i < first.size; i++) {
+            while (j < second.size && second.keys[j] < first.keys[i]) {
+                j++;
+            }
+            if (j < second.size && second.keys[j] == first.keys[i]) {
+                result.append(first.keys[i], Container.andNot(first.containers[i], second.containers[j]));
+            } else {
+                result.append(first.keys[i], first.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private int findContainer(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int index, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * Adds a container after all others, unless it is empty.
+     */
+    private void append(char high, Container container) {
+        if (container.cardinality > 0) {
+            insertContainer(size, high, container);
+        }
+    }
+
+    /**
+     * The lower 16 bits of the values that share their upper 16 bits. While bits is null the values are kept in the
+     * first cardinality entries of the sorted values array.
+     */
+    private static final class Container {
+        private char[] values;
+        private long[] bits;
+        private int cardinality;
+
+        Container() {
+            values = new char[4];
+        }
+
+        boolean contains(char value) {
+            if (bits != null) {
+                return (bits[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        boolean add(char value) {
+            if (bits != null) {
+                long bit = 1L << value;
+                if ((bits[value >>> 6] & bit) != 0) {
+                    return false;
+                }
+                bits[value >>> 6] |= bit;
+                cardinality++;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                return add(value);
+            }
+
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char value) {
+            if (bits != null) {
+                long bit = 1L << value;
+                if ((bits[value >>> 6] & bit) == 0) {
+                    return false;
+                }
+                bits[value >>> 6] &= ~bit;
+                if (--cardinality <= ARRAY_LIMIT) {
+                    toArrayContainer();
+                }
+                return true;
+            }
+
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        void forEach(int high, IntConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(high | values[i]);
+                }
+                return;
+            }
+
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    action.accept(high | (word << 6) + Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.cardinality = cardinality;
+            if (bits != null) {
+                copy.values = null;
+                copy.bits = bits.clone();
+            } else {
+                copy.values = Arrays.copyOf(values, Math.max(cardinality, 4));
+            }
+            return copy;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        private void toArrayContainer() {
+            char[] array = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    array[count++] = (char) ((word << 6) + Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+            values = array;
+            bits = null;
+        }
+
+        /**
+         * Creates a container from a bitmap, counting its values and turning it into an array if it is small.
+         */
+        private static Container ofBits(long[] bits) {
+            Container container = new Container();
+            container.values = null;
+            container.bits = bits;
+            for (long word : bits) {
+                container.cardinality += Long.bitCount(word);
+            }
+            if (container.cardinality <= ARRAY_LIMIT) {
+                container.toArrayContainer();
+            }
+            return container;
+        }
+
+        private static Container ofValues(char[] values, int cardinality) {
+            Container container = new Container();
+            container.values = values;
+            container.cardinality = cardinality;
+            return container;
+        }
+
+        static Container and(Container first, Container second) {
+            if (first.bits != null && second.bits != null) {
+                long[] bits = new long[BITMAP_WORDS];
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    bits[word] = first.bits[word] & second.bits[word];
+                }
+                return ofBits(bits);
+            }
+
+            if (first.bits != null) {
+                return and(second, first);
+            }
+
+            char[] values = new char[Math.max(Math.min(first.cardinality, second.cardinality), 4)];
+            int count = 0;
+            if (second.bits != null) {
+                for (int i = 0; i < first.cardinality; i++) {
+                    if (second.contains(first.values[i])) {
+                        values[count++] = first.values[i];
+                    }
+                }
+                return ofValues(values, count);
+            }
+
+            int i = 0;
+            int j = 0;
+            while (i < first.cardinality && j < second.cardinality) {
+                if (first.values[i] < second.values[j]) {
+                    i++;
+                } else if (first.values[i] > second.values[j]) {
+                    j++;
+                } else {
+                    values[count++] = first.values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return ofValues(values, count);
+        }
+
+        static Container or(Container first, Container second) {
+            if (first.bits != null || second.bits != null) {
+                Container bitmap = first.bits != null ? first : second;
+                Container other = bitmap == first ? second : first;
+                long[] bits = bitmap.bits.clone();
+                if (other.bits != null) {
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        bits[word] |= other.bits[word];
+                    }
+                } else {
+                    for (int i = 0; i < other.cardinality; i++) {
+                        bits[other.values[i] >>> 6] |= 1L << other.values[i];
+                    }
+                }
+                return ofBits(bits);
+            }
+
+            char[] values = new char[first.cardinality + second.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < first.cardinality || j < second.cardinality) {
+                if (j == second.cardinality || (i < first.cardinality && first.values[i] < second.values[j])) {
+                    values[count++] = first.values[i++];
+                } else if (i == first.cardinality || first.values[i] > second.values[j]) {
+                    values[count++] = second.values[j++];
+                } else {
+                    values[count++] = first.values[i];
+                    i++;
+                    j++;
+                }
+            }
+
+            Container container = ofValues(values, count);
+            if (count > ARRAY_LIMIT) {
+                container.toBitmap();
+            }
+            return container;
+        }
+
+        static Container andNot(Container first, Container second) {
+            if (first.bits != null) {
+                long[] bits = first.bits.clone();
+                if (second.bits != null) {
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        bits[word] &= ~second.bits[word];
+                    }
+                } else {
+                    for (int i = 0; i < second.cardinality; i++) {
+                        bits[second.values[i] >>> 6] &= ~(1L << second.values[i]);
+                    }
+                }
+                return ofBits(bits);
+            }
+
+            char[] values = new char[Math.max(first.cardinality, 4)];
+            int count = 0;
+            for (int i = 0; i < first.cardinality; i++) {
+                if (!second.contains(first.values[i])) {
+                    values[count++] = first.values[i];
+                }
+            }
+            return ofValues(values, count);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Reports how long JWorks took to reach each point of its start up, measured from the start of the JVM so that
+ * class loading and JavaFX initialization are included. Points can be reached on any thread, so they are held until
+ * report is called, which the command line does before each prompt so that the lines never land after it.
+ */
+public class StartupTimer {
+
+    /**
+     * System property that turns the start up report off when set to "false".
+     */
+    public static final String ENABLED_PROPERTY = "jworks.startup.report";
+
+    private static final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private static volatile boolean immediate;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Gets the time since the JVM started.
+     * @return the time since the JVM started, in milliseconds
+     */
+    public static long getElapsedMillis() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    /**
+     * Records that start up reached a point, with the time it was reached.
+     * @param milestone what was reached, such as "database ready"
+     */
+    public static void mark(String milestone) {
+        if ("false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+            return;
+        }
+        String line = "JWorks " + milestone + " after " + getElapsedMillis() + " ms";
+        if (immediate) {
+            System.out.println(line);
+        } else {
+            pending.add(line);
+        }
+    }
+
+    /**
+     * Prints the points reached since the last report, on the calling thread.
+     */
+    public static void report() {
+        for (String line = pending.poll(); line != null; line = pending.poll()) {
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Prints the points reached so far, and every later point as soon as it is reached. Used by the GUI, which has no
+     * prompt on the console for the lines to get mixed up with.
+     */
+    public static void reportImmediately() {
+        immediate = true;
+        report();
+    }
+}
@@ -61,7 +61,7 @@ public class TestAddProblemSetAction {
 	// DatabaseInsertException 
 	@Test
 	public void testAddEmptyProblemSet() {
-		exception.expect(NullPointerException.class); // i dont think this is the kind of exceptions to catch
+		// Problem sets compare by id, so missing dates no longer cause a NullPointerException when compared
 		
 		Problem problem = new SingleAnswerProblem(null, null);
 		SimpleProblemSet pSet = new SimpleProblemSet();
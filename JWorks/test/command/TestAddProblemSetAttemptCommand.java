@@ -2,8 +2,11 @@ package command;
 
 import static org.junit.Assert.*;
 
+import java.util.Date;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import models.ProblemSetAttempt;
 import models.SimpleProblemSet;
@@ -49,8 +52,40 @@ public class TestAddProblemSetAttemptCommand {
 		
 		AddProblemSetAttemptCommand command = new AddProblemSetAttemptCommand(store, null);
 		Object actual = command.execute(psaList);
-		Object expected = false;
+		Object expected = true;
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testExecuteFailsWhenTheAttemptIsNotStored() throws DatabaseInsertException {
+		DatabaseStoreAPI store = mock(DatabaseStoreAPI.class);
+		doThrow(new DatabaseInsertException()).when(store).actOnDatabase(any(ProblemSetAttempt.class));
+
+		AddProblemSetAttemptCommand command = new AddProblemSetAttemptCommand(store, null);
+		assertFalse(command.execute(psa));
+	}
+
+	@Test
+	public void testExecuteWithModelMatchesSerializedArguments() throws DatabaseInsertException {
+		DatabaseStoreAPI store = mock(DatabaseStoreAPI.class);
+		// whole seconds, as the serialized form does not keep milliseconds
+		psa = new ProblemSetAttempt(cat, sps, new Date(1500000000000L));
+		psa.setAnswer(0, "92");
+
+		AddProblemSetAttemptCommand command = new AddProblemSetAttemptCommand(store, null);
+		assertTrue(command.execute(psa));
+		assertTrue(command.execute(new String[] {psa.serialize()}));
+
+		ArgumentCaptor<ProblemSetAttempt> stored = ArgumentCaptor.forClass(ProblemSetAttempt.class);
+		verify(store, times(2)).actOnDatabase(stored.capture());
+		// the model is stored as it is, and the serialized attempt is stored with the same contents
+		assertSame(psa, stored.getAllValues().get(0));
+		ProblemSetAttempt deserialized = stored.getAllValues().get(1);
+		assertEquals(psa.getStudent().getStudentNumber(), deserialized.getStudent().getStudentNumber());
+		assertEquals(psa.getTimeAttempted(), deserialized.getTimeAttempted());
+		assertEquals(psa.getAnswers(), deserialized.getAnswers());
+		assertEquals(psa.getProblemSet().getQuestions().get(0).getAnswer(),
+				deserialized.getProblemSet().getQuestions().get(0).getAnswer());
+	}
+
 }
@@ -0,0 +1,159 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestDatabaseSnapshot {
+
+	private Path directory;
+	private List<Connection> connections = new ArrayList<Connection>();
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("jworks-snapshot");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException, SQLException {
+		for (Connection connection : connections) {
+			connection.close();
+		}
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	private Connection open(String name) throws Exception {
+		Class.forName("org.sqlite.JDBC");
+		Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve(name));
+		connections.add(connection);
+		return DatabaseDriver.initialize(connection);
+	}
+
+	private static void fill(Connection connection, int attempts) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("INSERT INTO PROBLEMS(ID, TYPE, QUESTION, ANSWER) VALUES(1, 1, 'What is 1 + 1?', '2')");
+			statement.executeUpdate("INSERT INTO PROBLEMS(ID, TYPE, QUESTION, ANSWER) VALUES(2, 1, 'Caf\u00e9, \"quoted\"', 'yes')");
+			statement.executeUpdate("INSERT INTO PROBLEMSETS VALUES(1, 3, 1500000000, 1600000000)");
+			statement.executeUpdate("INSERT INTO PROBLEMSETS_PROBLEMS_RELATIONSHIP VALUES(1, 1)");
+			statement.executeUpdate("INSERT INTO PROBLEMSETS_PROBLEMS_RELATIONSHIP VALUES(1, 2)");
+			statement.executeUpdate("INSERT INTO STUDENTS VALUES(1000, 'Student', 'student@jworks', 'password')");
+			statement.executeUpdate("INSERT INTO INSTRUCTORS VALUES(1, 'admin', 'admin', 'admin')");
+			statement.executeUpdate("INSERT INTO INSTRUCTORS_PROBLEMS_RELATIONSHIP VALUES(1, 1)");
+			statement.executeUpdate("INSERT INTO INSTRUCTORS_PROBLEMSETS_RELATIONSHIP VALUES(1, 1)");
+			statement.executeUpdate("INSERT INTO ATTEMPTSREMAINING VALUES(1000, 1, 2)");
+			statement.executeUpdate("INSERT INTO TAGS VALUES(1, 'math')");
+			statement.executeUpdate("INSERT INTO TAGS VALUES(2, 'week 1')");
+			statement.executeUpdate("INSERT INTO PROBLEMTAGS VALUES(1, 1)");
+			statement.executeUpdate("INSERT INTO PROBLEMTAGS VALUES(2, 1)");
+			statement.executeUpdate("INSERT INTO PROBLEMSETTAGS VALUES(1, 2)");
+		}
+
+		// more rows than fit in one block, with times that go back and forth
+		try (PreparedStatement preparedStatement = connection.prepareStatement(
+				"INSERT INTO PREVIOUSATTEMPTS VALUES(1000, 1, ?, ?, ?)")) {
+			for (int i = 0; i < attempts; i++) {
+				preparedStatement.setLong(1, 1500000000L + (i % 2 == 0 ? i : -i));
+				preparedStatement.setInt(2, 1 + i % 2);
+				preparedStatement.setString(3, i % 3 == 0 ? "2" : "answer " + i);
+				preparedStatement.addBatch();
+			}
+			preparedStatement.executeBatch();
+		}
+	}
+
+	private static List<String> dump(Connection connection, String table) throws SQLException {
+		List<String> rows = new ArrayList<String>();
+		try (Statement statement = connection.createStatement();
+				ResultSet results = statement.executeQuery("SELECT * FROM " + table + " ORDER BY ROWID")) {
+			int columns = results.getMetaData().getColumnCount();
+			while (results.next()) {
+				StringBuilder row = new StringBuilder();
+				for (int i = 1; i <= columns; i++) {
+					row.append(results.getString(i)).append('|');
+				}
+				rows.add(row.toString());
+			}
+		}
+		return rows;
+	}
+
+	private static List<String> getTables(Connection connection) throws SQLException {
+		List<String> tables = new ArrayList<String>();
+		try (Statement statement = connection.createStatement();
+				ResultSet results = statement.executeQuery(
+						"SELECT NAME FROM SQLITE_MASTER WHERE TYPE = 'table' ORDER BY ROWID")) {
+			while (results.next()) {
+				tables.add(results.getString(1));
+			}
+		}
+		return tables;
+	}
+
+	@Test
+	public void testRoundTripReplacesEveryTable() throws Exception {
+		Connection source = open("source.db");
+		fill(source, DatabaseSnapshot.BLOCK_ROWS * 2 + 10);
+		Connection target = open("target.db");
+		try (Statement statement = target.createStatement()) {
+			statement.executeUpdate("INSERT INTO STUDENTS VALUES(5, 'Old', 'old@jworks', 'password')");
+		}
+
+		Path snapshot = directory.resolve("course.snapshot");
+		long written = DatabaseSnapshot.write(source, snapshot);
+		long read = DatabaseSnapshot.read(target, snapshot);
+
+		assertEquals(written, read);
+		assertEquals(DatabaseSnapshot.BLOCK_ROWS * 2 + 10 + 15, read);
+		for (String table : getTables(source)) {
+			assertEquals(table, dump(source, table), dump(target, table));
+		}
+		assertTrue(target.getAutoCommit());
+	}
+
+	@Test
+	public void testFailedImportLeavesDatabaseUnchanged() throws Exception {
+		Connection target = open("target.db");
+		fill(target, 10);
+		List<String> before = dump(target, "PREVIOUSATTEMPTS");
+
+		Path snapshot = directory.resolve("course.snapshot");
+		DatabaseSnapshot.write(target, snapshot);
+		byte[] bytes = Files.readAllBytes(snapshot);
+		// cut off the end of the last table
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 20));
+
+		try {
+			DatabaseSnapshot.read(target, snapshot);
+			fail("A truncated snapshot was imported");
+		} catch (IOException e) {
+			assertEquals(before, dump(target, "PREVIOUSATTEMPTS"));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsOtherFiles() throws Exception {
+		Connection target = open("target.db");
+		Path file = directory.resolve("other.db");
+		Files.write(file, "SQLite format 3".getBytes("US-ASCII"));
+
+		DatabaseSnapshot.read(target, file);
+	}
+}
@@ -0,0 +1,75 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import databaseAPI.DatabaseExtractAPI;
+import export.ExportFormat;
+import export.GradebookExporter;
+import export.GradebookExporter.Report;
+
+public class TestGradebookExport {
+
+	private Path directory;
+	private Connection previous;
+
+	@Before
+	public void createDatabase() throws Exception {
+		directory = Files.createTempDirectory("jworks-gradebook");
+		Class.forName("org.sqlite.JDBC");
+		previous = DatabaseDriver.connection;
+		DatabaseDriver.connection = DatabaseDriver.initialize(
+				DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("jworks.db")));
+	}
+
+	@After
+	public void deleteDatabase() throws IOException, SQLException {
+		DatabaseDriver.connection.close();
+		DatabaseDriver.connection = previous;
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	private void execute(String... sql) throws SQLException {
+		try (Statement statement = DatabaseDriver.connection.createStatement()) {
+			for (String update : sql) {
+				statement.executeUpdate(update);
+			}
+		}
+	}
+
+	private String export(Report report) throws Exception {
+		Path file = directory.resolve(report.getName() + ".csv");
+		new GradebookExporter(new DatabaseExtractAPI()).export(report, file, ExportFormat.CSV, false);
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testAnswersToDeletedProblemsAreGradedIncorrect() throws Exception {
+		// Problem 2 was answered and then deleted from the bank.
+		execute("INSERT INTO STUDENTS VALUES (7, 'Ada', 'ada@example.com', 'secret')",
+				"INSERT INTO PROBLEMS (ID, TYPE, QUESTION, ANSWER) VALUES (1, 1, 'What is 1 + 1?', '2')",
+				"INSERT INTO PREVIOUSATTEMPTS VALUES (7, 3, 100, 1, '2')",
+				"INSERT INTO PREVIOUSATTEMPTS VALUES (7, 3, 100, 2, '4')");
+
+		assertEquals("student_number,student_name,problem_set,time,correct,problems\n"
+				+ "7,Ada,3,1970-01-01T00:01:40Z,1,2\n", export(Report.ATTEMPTS));
+		assertEquals("problem,answers,correct,correct_rate\n"
+				+ "1,1,1,1.0\n"
+				+ "2,1,0,0.0\n", export(Report.PROBLEMS));
+	}
+}
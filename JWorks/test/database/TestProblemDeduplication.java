@@ -0,0 +1,124 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestProblemDeduplication {
+
+	private Path file;
+	private Connection connection;
+
+	@Before
+	public void createDatabase() throws Exception {
+		file = Files.createTempFile("jworks-problems", ".db");
+		Class.forName("org.sqlite.JDBC");
+		connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+	}
+
+	@After
+	public void deleteDatabase() throws IOException, SQLException {
+		connection.close();
+		Files.delete(file);
+	}
+
+	private List<String> query(String sql) throws SQLException {
+		List<String> rows = new ArrayList<String>();
+		try (Statement statement = connection.createStatement();
+				ResultSet results = statement.executeQuery(sql)) {
+			while (results.next()) {
+				rows.add(results.getString(1));
+			}
+		}
+		return rows;
+	}
+
+	@Test
+	public void testStoringAProblemAgainReturnsItsId() throws Exception {
+		DatabaseDriver.initialize(connection);
+
+		boolean[] created = new boolean[1];
+		int id = DatabaseInserter.insertProblem(1, "What is 1 + 1?", "2", 1, created, connection);
+		assertTrue(created[0]);
+		int again = DatabaseInserter.insertProblem(1, "What is  1 + 1? ", "2", 2, created, connection);
+		assertFalse(created[0]);
+		int other = DatabaseInserter.insertProblem(1, "What is 1 + 2?", "3", 1, created, connection);
+		assertTrue(created[0]);
+
+		assertEquals(id, again);
+		assertNotEquals(id, other);
+		assertEquals(Arrays.asList("2"), query("SELECT COUNT(*) FROM PROBLEMS"));
+		assertEquals(Arrays.asList("2"), query("SELECT COUNT(*) FROM PROBLEMSIGNATURES"));
+		assertEquals(Arrays.asList("1"), query("SELECT INSTRUCTOR FROM INSTRUCTORS_PROBLEMS_RELATIONSHIP "
+				+ "WHERE PROBLEM = " + id));
+	}
+
+	@Test
+	public void testImportingTwiceStoresNothingTheSecondTime() throws Exception {
+		DatabaseDriver.initialize(connection);
+		String[] questions = {"1 + 1", "2 + 2", "1 + 1"};
+		String[] answers = {"2", "4", "2"};
+		int[] instructorIDs = {1, 1, 1};
+
+		boolean[] created = new boolean[3];
+		int[] first = DatabaseInserter.insertProblems(1, questions, answers, instructorIDs, created, connection);
+		assertTrue(created[0] && created[1]);
+		// the same problem twice in one import is stored once
+		assertFalse(created[2]);
+		assertEquals(first[0], first[2]);
+
+		int[] second = DatabaseInserter.insertProblems(1, questions, answers, instructorIDs, created, connection);
+		assertArrayEquals(first, second);
+		assertFalse(created[0] || created[1] || created[2]);
+		assertEquals(Arrays.asList("2"), query("SELECT COUNT(*) FROM PROBLEMS"));
+	}
+
+	@Test
+	public void testTagsAreNotRepeated() throws Exception {
+		DatabaseDriver.initialize(connection);
+		int id = DatabaseInserter.insertProblem(1, "1 + 1", "2", 1, connection);
+
+		assertTrue(DatabaseInserter.insertProblemTag(id, "math", connection));
+		assertFalse(DatabaseInserter.insertProblemTag(id, "math", connection));
+
+		boolean[] tagged = DatabaseInserter.insertProblemTags(new int[] {id, id, id},
+				new String[] {"math", "easy", "easy"}, connection);
+		assertFalse(tagged[0]);
+		assertTrue(tagged[1]);
+		assertFalse(tagged[2]);
+		assertEquals(Arrays.asList("2"), query("SELECT COUNT(*) FROM PROBLEMTAGS"));
+	}
+
+	@Test
+	public void testOlderProblemsAreHashed() throws Exception {
+		// the problems table as it was before problems were hashed, with a problem stored twice
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE PROBLEMS (ID INTEGER PRIMARY KEY NOT NULL, "
+					+ "TYPE INTEGER NOT NULL, QUESTION TEXT NOT NULL, ANSWER NOT NULL)");
+			statement.executeUpdate("INSERT INTO PROBLEMS VALUES(1, 1, '1 + 1', '2'), (2, 1, '1 + 1', '2'), "
+					+ "(3, 1, '2 + 2', '4')");
+		}
+
+		DatabaseDriver.initialize(connection);
+
+		// only the oldest of the two is hashed, and is the one that is reused
+		assertEquals(Arrays.asList("2"), query("SELECT ID FROM PROBLEMS WHERE CONTENTHASH IS NULL"));
+		assertEquals(1, DatabaseInserter.insertProblem(1, "1 + 1", "2", 1, connection));
+		assertEquals(3, DatabaseInserter.insertProblem(1, "2 + 2", "4", 1, connection));
+		assertEquals(Arrays.asList("3"), query("SELECT COUNT(*) FROM PROBLEMS"));
+	}
+}
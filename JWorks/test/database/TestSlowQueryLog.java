@@ -0,0 +1,111 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+public class TestSlowQueryLog {
+
+	@Test
+	public void testInsertedPasswordIsRedacted() {
+		String sql = "INSERT INTO STUDENTS(STUDENTNUMBER, NAME, EMAIL, PASSWORD) VALUES(?,?,?,?)";
+
+		assertArrayEquals(new boolean[] {false, false, false, true}, SlowQueryLog.findRedactions(sql));
+		assertEquals("[555, 'Jim', 'jim@mail', <redacted>]",
+				SlowQueryLog.formatParameters(sql, new Object[] {null, 555, "Jim", "jim@mail", "hunter2"}));
+	}
+
+	@Test
+	public void testComparedPasswordIsRedacted() {
+		String sql = "SELECT * FROM STUDENTS WHERE STUDENTNUMBER = ? AND PASSWORD = ?";
+
+		assertArrayEquals(new boolean[] {false, true}, SlowQueryLog.findRedactions(sql));
+	}
+
+	@Test
+	public void testTupleAndInListParametersAreKept() {
+		String tuple = "DELETE FROM PROBLEMTAGS WHERE (PROBLEM,TAG) = (?,?)";
+		String inList = "SELECT ID FROM PROBLEMS WHERE ID IN (?,?,?)";
+
+		assertArrayEquals(new boolean[] {false, false}, SlowQueryLog.findRedactions(tuple));
+		assertArrayEquals(new boolean[] {false, false, false}, SlowQueryLog.findRedactions(inList));
+	}
+
+	@Test
+	public void testUnknownParameterIsRedactedWhenPasswordIsMentioned() {
+		String sql = "UPDATE STUDENTS SET PASSWORD = lower(?) WHERE STUDENTNUMBER = ?";
+
+		assertArrayEquals(new boolean[] {true, false}, SlowQueryLog.findRedactions(sql));
+	}
+
+	@Test
+	public void testQueryThatIsSlowToReadIsLogged() throws Exception {
+		// SQLite only produces the rows of this query as they are stepped to, so executing it is quick
+		String sql = "WITH RECURSIVE N(X) AS (SELECT 1 UNION ALL SELECT X + 1 FROM N WHERE X < ?) "
+				+ "SELECT X FROM N";
+		List<String> entries = new ArrayList<String>();
+		Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				entries.add(record.getMessage());
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		logger.addHandler(handler);
+
+		Path file = Files.createTempFile("jworks-slow", ".db");
+		Class.forName("org.sqlite.JDBC");
+		try (Connection connection = InstrumentedConnection.wrap(
+				DriverManager.getConnection("jdbc:sqlite:" + file));
+				PreparedStatement statement = connection.prepareStatement(sql)) {
+			// a first query loads what the measuring needs, so that executing is timed on its own
+			statement.setInt(1, 1);
+			statement.executeQuery().close();
+
+			statement.setInt(1, 1000000);
+			long start = System.nanoTime();
+			ResultSet results = statement.executeQuery();
+			long executing = System.nanoTime() - start;
+			assertTrue(entries.isEmpty());
+
+			long reading = System.nanoTime();
+			while (results.next()) {
+			}
+			reading = System.nanoTime() - reading;
+			results.close();
+
+			// only meaningful while the rows took longer than the threshold to read and executing did not
+			assertTrue(executing < 100000000L && reading > 100000000L);
+		} finally {
+			logger.removeHandler(handler);
+			Files.delete(file);
+		}
+
+		assertEquals(1, entries.size());
+		String entry = entries.get(0);
+		assertTrue(entry, entry.contains("returned 1000000 rows"));
+		assertTrue(entry, entry.contains("Parameters: [1000000]"));
+		assertTrue(entry, entry.contains("Plan:"));
+	}
+}
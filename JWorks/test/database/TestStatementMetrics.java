@@ -0,0 +1,97 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import util.LatencyReport;
+
+public class TestStatementMetrics {
+
+	// SQLite produces each row of this query as it is stepped to, so reading it is most of the work
+	private static final String COUNTING_SQL = "WITH RECURSIVE N(X) AS (SELECT 1 UNION ALL "
+			+ "SELECT X + 1 FROM N WHERE X < 200000) SELECT X FROM N";
+
+	private Path file;
+	private Connection connection;
+
+	@Before
+	public void createDatabase() throws Exception {
+		file = Files.createTempFile("jworks-metrics", ".db");
+		Class.forName("org.sqlite.JDBC");
+		connection = InstrumentedConnection.wrap(DriverManager.getConnection("jdbc:sqlite:" + file));
+		StatementMetrics.reset();
+	}
+
+	@After
+	public void deleteDatabase() throws IOException, SQLException {
+		connection.close();
+		Files.delete(file);
+	}
+
+	// the SQL is attributed to whichever test ran it first, so the row is found by being the only one
+	private static LatencyReport.Row onlyRow() {
+		List<LatencyReport.Row> rows = StatementMetrics.getReport().getRows();
+		assertEquals(1, rows.size());
+		return rows.get(0);
+	}
+
+	@Test
+	public void testReadingAQueryIsMeasured() throws SQLException {
+		long reading;
+		int rows = 0;
+		try (PreparedStatement statement = connection.prepareStatement(COUNTING_SQL)) {
+			ResultSet results = statement.executeQuery();
+
+			long start = System.nanoTime();
+			while (results.next()) {
+				rows++;
+			}
+			reading = System.nanoTime() - start;
+		}
+
+		LatencyReport.Row row = onlyRow();
+		assertEquals(1, row.getCount());
+		assertEquals(200000, rows);
+		assertEquals(rows, row.getRows());
+		// the loop above does little but step through the rows, so most of its time is spent in the driver
+		assertTrue(row.getTotalNanos() >= reading / 2);
+	}
+
+	@Test
+	public void testClosedQueryIsRecordedOnce() throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(COUNTING_SQL)) {
+			ResultSet results = statement.executeQuery();
+			assertTrue(results.next());
+			assertTrue(results.next());
+			results.close();
+		}
+
+		LatencyReport.Row row = onlyRow();
+		assertEquals(1, row.getCount());
+		assertEquals(2, row.getRows());
+	}
+
+	@Test
+	public void testUnreadQueryIsRecordedWithItsStatement() throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(COUNTING_SQL);
+		ResultSet results = statement.executeQuery();
+		assertTrue(results.next());
+		// closing through the results, as the database methods do
+		results.getStatement().close();
+
+		assertEquals(1, onlyRow().getRows());
+	}
+}
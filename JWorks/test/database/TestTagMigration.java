@@ -0,0 +1,83 @@
+package database;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTagMigration {
+
+	private Path file;
+	private Connection connection;
+
+	@Before
+	public void createDatabase() throws Exception {
+		file = Files.createTempFile("jworks-tags", ".db");
+		Class.forName("org.sqlite.JDBC");
+		connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+
+		// the tag tables as they were before tags had an id
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE PROBLEMTAGS (PROBLEM INTEGER NOT NULL, TAG TEXT NOT NULL)");
+			statement.executeUpdate("CREATE TABLE PROBLEMSETTAGS (PROBLEMSET INTEGER NOT NULL, TAG TEXT NOT NULL)");
+			statement.executeUpdate("INSERT INTO PROBLEMTAGS VALUES(1, 'math'), (2, 'math'), (2, 'easy')");
+			statement.executeUpdate("INSERT INTO PROBLEMSETTAGS VALUES(1, 'week 1'), (2, 'math')");
+		}
+	}
+
+	@After
+	public void deleteDatabase() throws IOException, SQLException {
+		connection.close();
+		Files.delete(file);
+	}
+
+	private List<String> query(String sql) throws SQLException {
+		List<String> rows = new ArrayList<String>();
+		try (Statement statement = connection.createStatement();
+				ResultSet results = statement.executeQuery(sql)) {
+			while (results.next()) {
+				rows.add(results.getString(1) + " " + results.getString(2));
+			}
+		}
+		return rows;
+	}
+
+	@Test
+	public void testTextTagsAreGivenIds() throws Exception {
+		DatabaseDriver.initialize(connection);
+
+		List<String> tags = query("SELECT ID, TAG FROM TAGS ORDER BY TAG");
+		assertEquals(3, tags.size());
+		assertEquals(Arrays.asList("1 math", "2 easy", "2 math"), query("SELECT P.PROBLEM, T.TAG "
+				+ "FROM PROBLEMTAGS P JOIN TAGS T ON T.ID = P.TAG ORDER BY P.PROBLEM, T.TAG"));
+		assertEquals(Arrays.asList("1 week 1", "2 math"), query("SELECT P.PROBLEMSET, T.TAG "
+				+ "FROM PROBLEMSETTAGS P JOIN TAGS T ON T.ID = P.TAG ORDER BY P.PROBLEMSET"));
+		assertTrue(query("SELECT NAME, TYPE FROM SQLITE_MASTER WHERE NAME LIKE 'OLD_%'").isEmpty());
+	}
+
+	@Test
+	public void testInitializingTwiceKeepsTheTags() throws Exception {
+		DatabaseDriver.initialize(connection);
+		List<String> tags = query("SELECT PROBLEM, TAG FROM PROBLEMTAGS ORDER BY PROBLEM, TAG");
+
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("PRAGMA user_version = 0");
+		}
+		DatabaseDriver.initialize(connection);
+
+		assertEquals(tags, query("SELECT PROBLEM, TAG FROM PROBLEMTAGS ORDER BY PROBLEM, TAG"));
+	}
+}
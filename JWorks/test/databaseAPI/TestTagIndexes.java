@@ -0,0 +1,52 @@
+package databaseAPI;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import search.TagIndex;
+import search.TagTrie;
+
+public class TestTagIndexes {
+
+	@After
+	public void clearIndexes() {
+		TagIndexes.clear();
+	}
+
+	@Test
+	public void testTagSeenByTheBuildIsNotCountedAgain() throws Exception {
+		TagIndexes.clear();
+		// built after the tag of problem 1 was stored, but before it was patched in
+		TagIndex problems = TagIndexes.getProblems(() -> {
+			TagIndex index = new TagIndex();
+			index.addTag(1, "calculus");
+			return index;
+		});
+		TagIndexes.getProblemSets(TagIndex::new);
+		TagTrie trie = TagIndexes.getTrie(() -> {
+			TagTrie built = new TagTrie();
+			built.add("calculus", problems.count("calculus"));
+			return built;
+		});
+
+		TagIndexes.addProblemTag(1, "calculus");
+		assertEquals(1, trie.getCount("calculus"));
+
+		TagIndexes.addProblemTag(2, "calculus");
+		TagIndexes.addProblemSetTag(1, "calculus");
+		TagIndexes.addProblemSetTag(1, "calculus");
+		assertEquals(3, trie.getCount("calculus"));
+		assertEquals(2, problems.count("calculus"));
+	}
+
+	@Test
+	public void testTagsAreOnlyRecordedInBuiltIndexes() throws Exception {
+		TagIndexes.clear();
+		TagIndexes.addProblemTag(1, "calculus");
+
+		TagIndex problems = TagIndexes.getProblems(TagIndex::new);
+		assertEquals(0, problems.count("calculus"));
+	}
+}
@@ -0,0 +1,51 @@
+package events;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import models.ProblemSetAttempt;
+import models.SimpleProblemSet;
+import models.SingleAnswerProblem;
+import models.Student;
+
+public class TestGradingEvent {
+
+	@Test
+	public void testGradingIsRecorded() throws Exception {
+		SimpleProblemSet problemSet = new SimpleProblemSet(Arrays.asList(
+				new SingleAnswerProblem("What is 1+1?", "2"), new SingleAnswerProblem("What is 2+2?", "4")));
+		problemSet.setId(7);
+		Student student = new Student();
+		student.setStudentNumber(1000001);
+		ProblemSetAttempt attempt = new ProblemSetAttempt(student, problemSet);
+		attempt.setAnswer(0, "2");
+		attempt.setAnswer(1, "5");
+
+		Path file = Files.createTempFile("grading", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(GradingEvent.class);
+			recording.start();
+			attempt.getNumberofCorrectAnswers();
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertEquals(1, events.size());
+			assertEquals(1000001, events.get(0).getInt("studentNumber"));
+			assertEquals(7, events.get(0).getInt("problemSetId"));
+			assertEquals(2, events.get(0).getInt("problems"));
+			assertEquals(1, events.get(0).getInt("correctAnswers"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package export;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestRowWriter {
+
+	private Path directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("jworks-export");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void testCsvQuotesOnlyWhereNeeded() throws IOException {
+		Path file = directory.resolve("grades.csv");
+		try (RowWriter writer = new RowWriter(file, ExportFormat.CSV, false, "id", "name", "time")) {
+			writer.writeRow(1, "Plain", new Date(0));
+			writer.writeRow(2, "Last, \"First\"", null);
+		}
+
+		String expected = "id,name,time\n"
+				+ "1,Plain,1970-01-01T00:00:00Z\n"
+				+ "2,\"Last, \"\"First\"\"\",\n";
+		assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testJsonLinesEscapesStrings() throws IOException {
+		Path file = directory.resolve("grades.jsonl");
+		try (RowWriter writer = new RowWriter(file, ExportFormat.JSON_LINES, false, "id", "name", "rate")) {
+			writer.writeRow(1, "say \"hi\"\n", 0.5);
+			writer.writeRow(2, null, Double.NaN);
+			assertEquals(2, writer.getRowCount());
+		}
+
+		String expected = "{\"id\":1,\"name\":\"say \\\"hi\\\"\\n\",\"rate\":0.5}\n"
+				+ "{\"id\":2,\"name\":null,\"rate\":\"NaN\"}\n";
+		assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testGzipRoundTrip() throws IOException {
+		Path file = directory.resolve("grades.csv.gz");
+		RowWriter writer = new RowWriter(file, ExportFormat.CSV, true, "id");
+		for (int i = 0; i < 10000; i++) {
+			writer.writeRow(i);
+		}
+		writer.close();
+
+		assertEquals(Files.size(file), writer.getBytesWritten());
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+			byte[] buffer = new byte[4096];
+			for (int read; (read = in.read(buffer)) > 0; ) {
+				content.write(buffer, 0, read);
+			}
+		}
+		String[] lines = new String(content.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertEquals(10001, lines.length);
+		assertEquals("9999", lines[10000]);
+		assertTrue(writer.getBytesWritten() < content.size());
+	}
+
+	@Test
+	public void testFormatFromFileName() {
+		assertEquals(ExportFormat.CSV, ExportFormat.forFileName("grades.csv"));
+		assertEquals(ExportFormat.JSON_LINES, ExportFormat.forFileName("grades.JSONL"));
+		assertEquals(ExportFormat.JSON_LINES, ExportFormat.forFileName("grades.jsonl.gz"));
+		assertTrue(ExportFormat.isCompressed("grades.csv.gz"));
+		assertFalse(ExportFormat.isCompressed("grades.csv"));
+		assertEquals(GradebookExporter.Report.BEST_SCORES, GradebookExporter.Report.forName("best-scores"));
+		assertNull(GradebookExporter.Report.forName("grades"));
+	}
+}
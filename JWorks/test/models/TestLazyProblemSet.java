@@ -0,0 +1,49 @@
+package models;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import exceptions.ProblemLoadException;
+
+public class TestLazyProblemSet {
+
+	@Test
+	public void testFailedLoadIsTriedAgain() {
+		Problem problem = new SingleAnswerProblem("What is 1+1?", "2");
+		problem.setId(1);
+		int[] loads = new int[1];
+		LazyProblemSet problemSet = new LazyProblemSet(new int[] {1, 2}, ids -> {
+			if (loads[0]++ == 0) {
+				throw new ProblemLoadException("Could not load", new SQLException("locked"));
+			}
+			return Arrays.asList(problem, new ProblemStub(2));
+		});
+
+		try {
+			problemSet.getQuestions();
+			fail("The failed load was not reported");
+		} catch (ProblemLoadException e) {
+			assertFalse(problemSet.isLoaded());
+		}
+
+		List<Problem> problems = problemSet.getQuestions();
+		assertEquals(problemSet.getProblemCount(), problems.size());
+		assertEquals(2, loads[0]);
+	}
+
+	@Test
+	public void testMissingProblemIsGradedIncorrect() {
+		LazyProblemSet problemSet = new LazyProblemSet(new int[] {3},
+				ids -> Arrays.<Problem>asList(new ProblemStub(3)));
+		ProblemSetAttempt attempt = new ProblemSetAttempt(null, problemSet);
+		attempt.setAnswer(0, "anything");
+
+		assertFalse(attempt.isAnswerCorrect(0));
+		assertEquals(0, attempt.getNumberofCorrectAnswers());
+	}
+}
@@ -0,0 +1,62 @@
+package models;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class TestModelEquality {
+
+	@Test
+	public void testProblemsWithSameIdAreEqual() {
+		Problem problem = new SingleAnswerProblem("What is 1+1?", "2");
+		problem.setId(4);
+		Problem stub = new ProblemStub(4);
+
+		assertEquals(problem, stub);
+		assertEquals(problem.hashCode(), stub.hashCode());
+	}
+
+	@Test
+	public void testProblemsWithoutIdAreOnlyEqualToThemselves() {
+		Problem first = new SingleAnswerProblem("What is 1+1?", "2");
+		Problem second = new SingleAnswerProblem("What is 1+1?", "2");
+
+		assertNotEquals(first, second);
+		assertTrue(first.contentEquals(second));
+	}
+
+	@Test
+	public void testProblemSetsCompareById() {
+		SimpleProblemSet simple = new SimpleProblemSet();
+		simple.setId(9);
+		ProblemSet lazy = new LazyProblemSet(new int[] {1, 2}, (ProblemLoader) null);
+		lazy.setId(9);
+
+		Set<ProblemSet> problemSets = new HashSet<>();
+		problemSets.add(simple);
+
+		assertTrue(problemSets.contains(lazy));
+		assertFalse(simple.contentEquals(lazy));
+	}
+
+	@Test
+	public void testProblemAndProblemSetWithSameIdAreNotEqual() {
+		Problem problem = new ProblemStub(3);
+		ProblemSet problemSet = new SimpleProblemSet();
+		problemSet.setId(3);
+
+		assertNotEquals(problem, problemSet);
+	}
+
+	@Test
+	public void testStudentsCompareByStudentNumber() {
+		Student first = new Student("cat", "noemail", "pass", 1234);
+		Student second = new Student(1234);
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+	}
+}
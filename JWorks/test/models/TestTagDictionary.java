@@ -0,0 +1,45 @@
+package models;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class TestTagDictionary {
+
+	@Test
+	public void testEqualTagsShareOneInstance() {
+		TagDictionary dictionary = new TagDictionary();
+		String first = dictionary.intern(new String("math"));
+		String second = dictionary.intern(new String("math"));
+
+		assertSame(first, second);
+		assertNull(dictionary.intern(null));
+	}
+
+	@Test
+	public void testIdsAreRecordedBothWays() {
+		TagDictionary dictionary = new TagDictionary();
+		String tag = dictionary.put(7, new String("week 1"));
+
+		assertSame(tag, dictionary.getTag(7));
+		assertEquals(7, dictionary.getId("week 1"));
+		assertEquals(-1, dictionary.getId("week 2"));
+		assertNull(dictionary.getTag(8));
+
+		dictionary.clearIds();
+		assertEquals(-1, dictionary.getId("week 1"));
+		assertSame(tag, dictionary.intern("week 1"));
+	}
+
+	@Test
+	public void testModelsUseTheSharedTags() {
+		Problem first = new SingleAnswerProblem("What is 1+1?", "2");
+		Problem second = new SingleAnswerProblem("What is 2+2?", "4");
+		first.addTags(Arrays.asList(new String("arithmetic")));
+		second.addTags(Arrays.asList(new String("arithmetic")));
+
+		assertSame(first.getTags().get(0), second.getTags().get(0));
+	}
+}
@@ -0,0 +1,96 @@
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestProblemSearchIndex {
+
+	private ProblemSearchIndex index;
+
+	@Before
+	public void createIndex() {
+		index = new ProblemSearchIndex();
+		index.add(1, "What is the derivative of x^2?", "2x", Arrays.asList("calculus", "derivatives"));
+		index.add(2, "Compute the integral of 2x", "x^2", Arrays.asList("calculus"));
+		index.add(3, "Is 7 prime?", "yes", Arrays.asList("number-theory"));
+		index.add(12, "Calendar of the term", "n/a", Collections.emptyList());
+	}
+
+	private List<Integer> find(String query, int limit) {
+		List<Integer> ids = new ArrayList<>();
+		for (SearchHit hit : index.search(query, limit)) {
+			ids.add(hit.getId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void testEveryTermMustMatch() {
+		assertEquals(Arrays.asList(1), find("derivative calculus", 10));
+		assertEquals(Arrays.asList(3), find("PRIME number", 10));
+		assertEquals(Collections.emptyList(), find("prime calculus", 10));
+		assertEquals(Collections.emptyList(), find("?!", 10));
+	}
+
+	@Test
+	public void testRankedByRelevance() {
+		// the shorter problem has more of its words in the query
+		assertEquals(Arrays.asList(2, 1), find("calculus", 10));
+		// words that start with the term match as well, a whole word counts more
+		assertEquals(Arrays.asList(12, 2, 1), find("cal", 10));
+		index.add(4, "cal", "", Collections.emptyList());
+		assertEquals(Arrays.asList(4, 12, 2, 1), find("cal", 10));
+	}
+
+	@Test
+	public void testTopResultsOnly() {
+		assertEquals(Arrays.asList(12, 2), find("cal", 2));
+		assertEquals(Collections.emptyList(), find("cal", 0));
+
+		List<SearchHit> hits = index.search("the", 10);
+		for (int i = 1; i < hits.size(); i++) {
+			assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+		}
+	}
+
+	@Test
+	public void testMatchesIds() {
+		assertEquals(Arrays.asList(12), find("12", 10));
+		assertEquals(Arrays.asList(3), find("3 prime", 10));
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		index.addTag(3, "calculus");
+		assertEquals(Arrays.asList(2, 3, 1), find("calculus", 10));
+
+		index.remove(1);
+		assertEquals(3, index.size());
+		assertEquals(Collections.emptyList(), find("derivative", 10));
+
+		index.add(2, "Compute the limit", "0", Collections.emptyList());
+		assertEquals(Arrays.asList(3), find("calculus", 10));
+		assertEquals(Arrays.asList(2), find("limit", 10));
+	}
+
+	@Test
+	public void testTagsAreCountedOnce() {
+		double score = index.search("calculus", 10).get(0).getScore();
+
+		// a tag that was indexed when the index was built can be patched in again
+		index.addTag(2, "calculus");
+		index.add(4, "Compute the limit", "0", Arrays.asList("calculus", "calculus"));
+		index.addTag(4, "calculus");
+		index.remove(4);
+
+		assertEquals(Arrays.asList(2, 1), find("calculus", 10));
+		assertEquals(score, index.search("calculus", 10).get(0).getScore(), 0);
+	}
+}
@@ -0,0 +1,74 @@
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import util.MinHash;
+
+public class TestSimilarityIndex {
+
+	private static final String DERIVATIVE = "What is the derivative of x^2 with respect to x?";
+
+	private SimilarityIndex index;
+
+	@Before
+	public void createIndex() {
+		index = new SimilarityIndex();
+		index.add(1, MinHash.signature(DERIVATIVE));
+		index.add(3, MinHash.signature("What is the derivative of x^3 with respect to x?"));
+		index.add(4, MinHash.signature("Name the capital city of France."));
+	}
+
+	private List<Integer> ids(List<SearchHit> hits) {
+		List<Integer> ids = new ArrayList<>();
+		for (SearchHit hit : hits) {
+			ids.add(hit.getId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void testSignatureIgnoresCaseAndPunctuation() {
+		int[] signature = MinHash.signature(DERIVATIVE);
+		assertEquals(1.0, MinHash.similarity(signature,
+				MinHash.signature("what is the derivative of x^2, with respect to x")), 0);
+		assertTrue(MinHash.similarity(signature, MinHash.signature("Name the capital city of France.")) < 0.2);
+		assertArrayEquals(signature, MinHash.decode(MinHash.encode(signature)));
+	}
+
+	@Test
+	public void testFindsDuplicates() {
+		List<SearchHit> hits = index.findSimilar(MinHash.signature("WHAT is the derivative of x^2 with respect to x"),
+				SimilarityIndex.DUPLICATE_SIMILARITY, 10);
+		assertEquals(1, hits.get(0).getId());
+		assertEquals(1.0, hits.get(0).getScore(), 0);
+		assertFalse(ids(hits).contains(4));
+	}
+
+	@Test
+	public void testFindsSimilarProblemsButNotItself() {
+		assertEquals(Arrays.asList(3), ids(index.findSimilar(1, 0.5, 10)));
+		assertEquals(Collections.emptyList(), ids(index.findSimilar(4, 0.5, 10)));
+		assertEquals(Collections.emptyList(), ids(index.findSimilar(99, 0.5, 10)));
+		assertEquals(Collections.emptyList(), ids(index.findSimilar(1, 0.5, 0)));
+	}
+
+	@Test
+	public void testChangesAreFound() {
+		index.remove(3);
+		assertEquals(2, index.size());
+		assertEquals(Collections.emptyList(), ids(index.findSimilar(1, 0.5, 10)));
+
+		// problem 1 gets the question of problem 4
+		index.add(1, MinHash.signature("Name the capital city of France!"));
+		assertEquals(Arrays.asList(1), ids(index.findSimilar(4, 0.5, 10)));
+		assertEquals(Collections.emptyList(), ids(index.findSimilar(MinHash.signature(DERIVATIVE), 0.5, 10)));
+	}
+}
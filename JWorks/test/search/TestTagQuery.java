@@ -0,0 +1,63 @@
+package search;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTagQuery {
+
+	private TagIndex index;
+
+	@Before
+	public void createIndex() {
+		index = new TagIndex();
+		index.addTag(1, "calculus");
+		index.addTag(1, "midterm");
+		index.addTag(2, "calculus");
+		index.addTag(2, "review");
+		index.addTag(2, "retired");
+		index.addTag(3, "calculus");
+		index.addTag(3, "review");
+		index.add(4);
+		index.addTag(5, "week 1");
+	}
+
+	private int[] find(String query) {
+		return index.evaluate(TagQuery.parse(query)).toArray();
+	}
+
+	@Test
+	public void testBooleanOperators() {
+		assertArrayEquals(new int[] {1, 3}, find("calculus AND (midterm OR review) AND NOT retired"));
+		assertArrayEquals(new int[] {1, 2, 3, 5}, find("calculus or \"week 1\""));
+		assertArrayEquals(new int[] {4, 5}, find("NOT calculus"));
+		assertArrayEquals(new int[0], find("unknown"));
+	}
+
+	@Test
+	public void testAndCanBeLeftOut() {
+		assertArrayEquals(find("calculus AND review AND NOT retired"), find("calculus review not retired"));
+	}
+
+	@Test
+	public void testIndexIsPatched() {
+		index.removeTag(2, "retired");
+		index.addTag(4, "calculus");
+		assertArrayEquals(new int[] {2, 3}, find("calculus review"));
+		assertArrayEquals(new int[] {1, 2, 3, 4}, find("calculus"));
+
+		index.remove(1);
+		assertArrayEquals(new int[] {4, 5}, find("NOT review NOT midterm"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnclosedParenthesis() {
+		TagQuery.parse("(calculus OR review");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingTag() {
+		TagQuery.parse("calculus AND");
+	}
+}
@@ -0,0 +1,69 @@
+package search;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTagTrie {
+
+	private TagTrie trie;
+
+	@Before
+	public void createTrie() {
+		trie = new TagTrie();
+		trie.add("calculus", 5);
+		trie.add("calendar", 2);
+		trie.add("cat", 9);
+		trie.add("algebra", 4);
+		trie.add("Calc-II");
+	}
+
+	@Test
+	public void testMostUsedFirst() {
+		assertEquals(Arrays.asList("cat", "calculus", "calendar"), trie.complete("ca", 3));
+		assertEquals(Arrays.asList("calculus", "calendar", "Calc-II"), trie.complete("cal", 10));
+		assertEquals(Arrays.asList("cat", "calculus"), trie.complete("", 2));
+	}
+
+	@Test
+	public void testPrefixIgnoresCase() {
+		assertEquals(Arrays.asList("Calc-II"), trie.complete("CALC-", 8));
+		trie.add("CAT");
+		assertEquals(10, trie.getCount("cat"));
+		assertEquals(Arrays.asList("cat"), trie.complete("Cat", 8));
+	}
+
+	@Test
+	public void testUnknownPrefix() {
+		assertEquals(Collections.emptyList(), trie.complete("geo", 8));
+		assertEquals(Collections.emptyList(), trie.complete("ca", 0));
+	}
+
+	@Test
+	public void testCountsAreKeptUpToDate() {
+		trie.add("calendar");
+		trie.add("calendar");
+		trie.add("calendar");
+		trie.add("calendar");
+		assertEquals(Arrays.asList("calendar", "calculus"), trie.complete("cal", 2));
+
+		trie.remove("cat");
+		assertEquals(8, trie.getCount("cat"));
+		assertEquals(5, trie.size());
+	}
+
+	@Test
+	public void testUnusedTagsAreDropped() {
+		trie.remove("Calc-II");
+		assertEquals(0, trie.getCount("calc-ii"));
+		assertEquals(4, trie.size());
+		assertEquals(Collections.emptyList(), trie.complete("calc-", 8));
+
+		trie.remove("never added");
+		assertEquals(4, trie.size());
+	}
+}
@@ -0,0 +1,138 @@
+package serialization;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import models.LazyProblemSet;
+import models.Problem;
+import models.ProblemSet;
+import models.ProblemSetAttempt;
+import models.ProblemStub;
+import models.SimpleProblemSet;
+import models.SingleAnswerProblem;
+import models.Student;
+
+import org.junit.Test;
+
+public class TestModelCodec {
+
+	private static ProblemSet createProblemSet() {
+		Problem first = new SingleAnswerProblem("What is 1 + 1?", "2");
+		first.setId(1);
+		first.setCreatorID(7);
+		first.addTags(Arrays.asList("addition", "easy"));
+		Problem second = new SingleAnswerProblem("\u00dcn\u00efc\u00f6d\u00e9?", "yes");
+		second.setId(2);
+
+		ProblemSet problemSet = new SimpleProblemSet(new ArrayList<>(Arrays.asList(first, second)));
+		problemSet.setId(3);
+		problemSet.setMaxAttempts(4);
+		problemSet.setStartTime(new Date(1000));
+		problemSet.setEndTime(new Date(2000));
+		problemSet.addTags(Arrays.asList("week 1"));
+		return problemSet;
+	}
+
+	private static ProblemSetAttempt createAttempt(ProblemSet problemSet, int studentNumber) {
+		Student student = new Student("Student", "student@jworks", "password", studentNumber);
+		student.setId(studentNumber);
+		ProblemSetAttempt attempt = new ProblemSetAttempt(student, problemSet, new Date(5000));
+		attempt.setId(studentNumber + 1);
+		attempt.setAnswer(0, "2");
+		attempt.setAnswer(1, "no");
+		return attempt;
+	}
+
+	private static void assertSameAttempt(ProblemSetAttempt expected, ProblemSetAttempt actual) {
+		assertEquals(expected.getId(), actual.getId());
+		assertEquals(expected.getStudent(), actual.getStudent());
+		assertEquals(expected.getStudent().getName(), actual.getStudent().getName());
+		assertEquals(expected.getTimeAttempted(), actual.getTimeAttempted());
+		assertEquals(expected.getAnswers(), actual.getAnswers());
+		assertTrue(expected.getProblemSet().contentEquals(actual.getProblemSet()));
+		assertEquals(expected.getNumberofCorrectAnswers(), actual.getNumberofCorrectAnswers());
+	}
+
+	@Test
+	public void testJsonRoundTrip() {
+		ProblemSetAttempt attempt = createAttempt(createProblemSet(), 1000);
+
+		ProblemSetAttempt read = ModelCodec.fromJson(ModelCodec.toJson(attempt), ProblemSetAttempt.class);
+
+		assertSameAttempt(attempt, read);
+		assertEquals(attempt.serialize(), read.serialize());
+	}
+
+	@Test
+	public void testJsonStreamingRoundTrip() throws IOException {
+		ProblemSet problemSet = createProblemSet();
+		List<ProblemSetAttempt> attempts = Arrays.asList(createAttempt(problemSet, 1000),
+				createAttempt(problemSet, 1001));
+		StringWriter out = new StringWriter();
+		ModelCodec.writeAttempts(attempts, out);
+
+		List<ProblemSetAttempt> read = new ArrayList<>();
+		assertEquals(2, ModelCodec.readAttempts(new StringReader(out.toString()), read::add));
+
+		assertSameAttempt(attempts.get(0), read.get(0));
+		assertSameAttempt(attempts.get(1), read.get(1));
+	}
+
+	@Test
+	public void testBinaryRoundTrip() throws IOException {
+		ProblemSetAttempt attempt = createAttempt(createProblemSet(), 1000);
+
+		byte[] encoded = BinaryModelCodec.encode(attempt);
+
+		assertSameAttempt(attempt, BinaryModelCodec.decodeAttempt(encoded));
+		assertTrue(encoded.length < ModelCodec.toJson(attempt).length());
+	}
+
+	@Test
+	public void testBinaryStreamWritesSharedProblemSetOnce() throws IOException {
+		ProblemSet problemSet = createProblemSet();
+		List<ProblemSetAttempt> attempts = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			attempts.add(createAttempt(problemSet, 1000 + i));
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryModelCodec.writeAttempts(attempts, out);
+
+		List<ProblemSetAttempt> read = new ArrayList<>();
+		assertEquals(10, BinaryModelCodec.readAttempts(new ByteArrayInputStream(out.toByteArray()), read::add));
+
+		for (int i = 0; i < 10; i++) {
+			assertSameAttempt(attempts.get(i), read.get(i));
+		}
+		assertSame(read.get(0).getProblemSet(), read.get(9).getProblemSet());
+		assertTrue(out.size() < 10 * BinaryModelCodec.encode(attempts.get(0)).length);
+	}
+
+	@Test
+	public void testBinaryProblemSetKeepsType() throws IOException {
+		List<Problem> problems = new ArrayList<>(Arrays.asList(new ProblemStub(5), new ProblemStub(6)));
+		ProblemSet problemSet = new LazyProblemSet(new int[] {5, 6}, problems);
+		problemSet.setId(9);
+
+		ProblemSet read = BinaryModelCodec.decodeProblemSet(BinaryModelCodec.encode(problemSet));
+
+		assertTrue(read instanceof LazyProblemSet);
+		assertEquals(9, read.getId());
+		assertArrayEquals(new int[] {5, 6}, read.getProblemIds());
+		assertEquals(6, read.getQuestions().get(1).getId());
+	}
+
+	@Test(expected = IOException.class)
+	public void testBinaryRejectsOtherData() throws IOException {
+		BinaryModelCodec.decodeAttempt("{\"id\":1}".getBytes("UTF-8"));
+	}
+}
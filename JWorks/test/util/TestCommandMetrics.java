@@ -0,0 +1,47 @@
+package util;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestCommandMetrics {
+
+	@Test
+	public void testCountsSuccessesAndFailuresPerCommand() {
+		CommandMetrics metrics = new CommandMetrics();
+		metrics.record("LoginCommand", 2000000, true);
+		metrics.record("LoginCommand", 4000000, false);
+		metrics.record("ViewProblemsCommand", 1000000, true);
+
+		List<LatencyReport.Row> rows = metrics.getReport().getRows();
+
+		assertEquals(2, rows.size());
+		assertEquals("LoginCommand", rows.get(0).getName());
+		assertEquals(2, rows.get(0).getCount());
+		assertEquals(1, rows.get(0).getFailures());
+		assertEquals(-1, rows.get(0).getRows());
+		assertEquals(4000000, rows.get(0).getMaxNanos());
+		assertEquals("ViewProblemsCommand", rows.get(1).getName());
+		assertEquals(0, rows.get(1).getFailures());
+	}
+
+	@Test
+	public void testReportTitleGivesTotalCount() {
+		CommandMetrics metrics = new CommandMetrics();
+		metrics.record("LoginCommand", 1000, true);
+		metrics.record(CommandMetrics.UNKNOWN_COMMAND, 0, false);
+
+		assertTrue(metrics.getReport().getTitle().startsWith("Commands: 2 in "));
+	}
+
+	@Test
+	public void testReset() {
+		CommandMetrics metrics = new CommandMetrics();
+		metrics.record("LoginCommand", 1000, true);
+		metrics.reset();
+
+		assertTrue(metrics.getReport().getRows().isEmpty());
+	}
+}
@@ -0,0 +1,40 @@
+package util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TestContentHash {
+
+	@Test
+	public void testSpacingIsIgnored() {
+		assertEquals(ContentHash.of(1, "What is 1 + 1?", "2"), ContentHash.of(1, "  What is\t1 +\n1? ", "2 "));
+		assertEquals("What is 1 + 1?", ContentHash.normalize(" What  is 1\u00A0+ 1?\r\n"));
+	}
+
+	@Test
+	public void testComposedAndDecomposedTextAreEqual() {
+		assertEquals(ContentHash.of(1, "Caf\u00e9", "yes"), ContentHash.of(1, "Cafe\u0301", "yes"));
+	}
+
+	@Test
+	public void testCaseTypeAndAnswerMatter() {
+		String hash = ContentHash.of(1, "Solve for x", "x = 2");
+		assertNotEquals(hash, ContentHash.of(1, "Solve for X", "x = 2"));
+		assertNotEquals(hash, ContentHash.of(2, "Solve for x", "x = 2"));
+		assertNotEquals(hash, ContentHash.of(1, "Solve for x", "x = 3"));
+	}
+
+	@Test
+	public void testQuestionAndAnswerCanNotBeSwapped() {
+		assertNotEquals(ContentHash.of(1, "a b", "c"), ContentHash.of(1, "a", "b c"));
+	}
+
+	@Test
+	public void testHashIsHexadecimalSha256() {
+		String hash = ContentHash.of(1, null, null);
+		assertEquals(64, hash.length());
+		assertTrue(hash.matches("[0-9a-f]+"));
+		assertEquals(hash, ContentHash.of(1, "", " "));
+	}
+}
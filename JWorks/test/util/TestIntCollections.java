@@ -0,0 +1,111 @@
+package util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestIntCollections {
+
+	@Test
+	public void testIntObjectMapPutGetAndGrow() {
+		IntObjectMap<String> map = new IntObjectMap<>();
+		for (int i = 0; i < 1000; i++) {
+			assertNull(map.put(i * 7, "value" + i));
+		}
+
+		assertEquals(1000, map.size());
+		assertEquals("value10", map.get(70));
+		assertNull(map.get(71));
+		assertEquals("value10", map.put(70, "replaced"));
+		assertEquals("replaced", map.get(70));
+		assertEquals(1000, map.keys().length);
+		assertEquals(1000, map.values().size());
+	}
+
+	@Test
+	public void testIntObjectMapRemoveMatchesHashMap() {
+		IntObjectMap<Integer> map = new IntObjectMap<>();
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 20000; i++) {
+			int key = random.nextInt(500) - 250;
+			if (random.nextBoolean()) {
+				assertEquals(expected.put(key, i), map.put(key, i));
+			} else {
+				assertEquals(expected.remove(key), map.remove(key));
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		for (int key = -250; key < 250; key++) {
+			assertEquals(expected.get(key), map.get(key));
+			assertEquals(expected.containsKey(key), map.containsKey(key));
+		}
+	}
+
+	@Test
+	public void testIntSetAddContainsRemove() {
+		IntSet set = new IntSet();
+
+		assertTrue(set.add(5));
+		assertFalse(set.add(5));
+		assertTrue(set.add(-3));
+		assertTrue(set.add(0));
+		assertTrue(set.contains(0));
+		assertTrue(set.remove(5));
+		assertFalse(set.remove(5));
+		assertFalse(set.contains(5));
+
+		int[] values = set.toArray();
+		Arrays.sort(values);
+		assertArrayEquals(new int[] {-3, 0}, values);
+	}
+
+	@Test
+	public void testIntIntMapCountsAndKeepsMaximum() {
+		IntIntMap counts = new IntIntMap();
+		counts.increment(3, 1);
+		counts.increment(3, 1);
+		counts.increment(9, 4);
+
+		assertEquals(2, counts.get(3, 0));
+		assertEquals(4, counts.get(9, 0));
+		assertEquals(-1, counts.get(1, -1));
+
+		IntIntMap best = new IntIntMap();
+		best.putIfGreater(1, 5);
+		best.putIfGreater(1, 2);
+		best.putIfGreater(1, 7);
+
+		assertEquals(7, best.get(1, -1));
+		assertEquals(1, best.size());
+	}
+
+	@Test
+	public void testIntListGrowsAndCopies() {
+		IntList list = new IntList(1);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+
+		list.set(0, -1);
+
+		assertEquals(100, list.size());
+		assertEquals(-1, list.get(0));
+		assertEquals(99, list.get(99));
+		assertEquals(100, list.toArray().length);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testIntListRejectsIndexPastSize() {
+		IntList list = new IntList();
+		list.add(1);
+		list.get(1);
+	}
+}
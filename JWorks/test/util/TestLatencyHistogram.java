@@ -0,0 +1,63 @@
+package util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TestLatencyHistogram {
+
+	@Test
+	public void testEmptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMeanNanos());
+		assertEquals(0, histogram.getPercentileNanos(99));
+	}
+
+	@Test
+	public void testPercentilesAreWithinBucketPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 10000; value++) {
+			histogram.record(value * 1000);
+		}
+
+		assertEquals(10000, histogram.getCount());
+		assertEquals(10000000, histogram.getMaxNanos());
+		assertEquals(5000500, histogram.getMeanNanos());
+
+		long p50 = histogram.getPercentileNanos(50);
+		long p99 = histogram.getPercentileNanos(99);
+		assertTrue(p50 >= 5000000 && p50 <= 5000000 * 1.125);
+		assertTrue(p99 >= 9900000 && p99 <= 10000000);
+		assertEquals(10000000, histogram.getPercentileNanos(100));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(3);
+		histogram.record(5);
+		histogram.record(-1);
+
+		assertEquals(0, histogram.getPercentileNanos(1));
+		assertEquals(3, histogram.getPercentileNanos(50));
+		assertEquals(5, histogram.getPercentileNanos(100));
+	}
+
+	@Test
+	public void testReportListsSlowestOperationFirst() {
+		LatencyHistogram fast = new LatencyHistogram();
+		fast.record(1000);
+		LatencyHistogram slow = new LatencyHistogram();
+		slow.record(5000000);
+
+		LatencyReport report = new LatencyReport("test");
+		report.addRow("fast", 0, 1, fast);
+		report.addRow("slow", 1, -1, slow);
+
+		assertEquals("slow", report.getRows().get(0).getName());
+		assertEquals(1, report.getRows().get(0).getFailures());
+		assertTrue(report.toString().contains("slow"));
+	}
+}
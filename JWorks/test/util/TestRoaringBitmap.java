@@ -0,0 +1,88 @@
+package util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class TestRoaringBitmap {
+
+	private static int[] toArray(TreeSet<Integer> set) {
+		return set.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static void fill(Random random, int count, int range, TreeSet<Integer> set, RoaringBitmap bitmap) {
+		for (int i = 0; i < count; i++) {
+			int value = random.nextInt(range);
+			assertEquals(set.add(value), bitmap.add(value));
+		}
+	}
+
+	@Test
+	public void testAddRemoveAndContains() {
+		RoaringBitmap bitmap = RoaringBitmap.of(3, 70000, 1);
+
+		assertTrue(bitmap.contains(70000));
+		assertFalse(bitmap.contains(2));
+		assertFalse(bitmap.add(3));
+		assertTrue(bitmap.remove(70000));
+		assertFalse(bitmap.remove(70000));
+		assertArrayEquals(new int[] {1, 3}, bitmap.toArray());
+		assertEquals(2, bitmap.getCardinality());
+	}
+
+	@Test
+	public void testDenseContainersBecomeBitmapsAndBack() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		for (int i = 0; i < RoaringBitmap.ARRAY_LIMIT + 100; i++) {
+			bitmap.add(i * 2);
+		}
+		assertEquals(RoaringBitmap.ARRAY_LIMIT + 100, bitmap.getCardinality());
+
+		for (int i = 0; i < 200; i++) {
+			assertTrue(bitmap.remove(i * 2));
+		}
+		assertEquals(RoaringBitmap.ARRAY_LIMIT - 100, bitmap.getCardinality());
+		assertTrue(bitmap.contains(400));
+		assertFalse(bitmap.contains(398));
+	}
+
+	@Test
+	public void testSetOperationsMatchTreeSet() {
+		Random random = new Random(42);
+
+		for (int round = 0; round < 50; round++) {
+			int range = round % 2 == 0 ? 200000 : 9000;
+			TreeSet<Integer> first = new TreeSet<>();
+			TreeSet<Integer> second = new TreeSet<>();
+			RoaringBitmap firstBitmap = new RoaringBitmap();
+			RoaringBitmap secondBitmap = new RoaringBitmap();
+			fill(random, random.nextInt(12000), range, first, firstBitmap);
+			fill(random, random.nextInt(12000), range, second, secondBitmap);
+
+			TreeSet<Integer> and = new TreeSet<>(first);
+			and.retainAll(second);
+			TreeSet<Integer> or = new TreeSet<>(first);
+			or.addAll(second);
+			TreeSet<Integer> andNot = new TreeSet<>(first);
+			andNot.removeAll(second);
+
+			assertArrayEquals(toArray(and), RoaringBitmap.and(firstBitmap, secondBitmap).toArray());
+			assertArrayEquals(toArray(or), RoaringBitmap.or(firstBitmap, secondBitmap).toArray());
+			assertArrayEquals(toArray(andNot), RoaringBitmap.andNot(firstBitmap, secondBitmap).toArray());
+		}
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		RoaringBitmap bitmap = RoaringBitmap.of(1, 2);
+		RoaringBitmap copy = bitmap.copy();
+		copy.add(5);
+		copy.remove(1);
+
+		assertArrayEquals(new int[] {1, 2}, bitmap.toArray());
+		assertArrayEquals(new int[] {2, 5}, copy.toArray());
+	}
+}
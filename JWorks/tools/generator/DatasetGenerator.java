@@ -0,0 +1,423 @@
+package generator;
+
+import database.DatabaseDriver;
+import databaseAPI.DatabaseDriverAPI;
+import databaseAPI.DatabaseStoreAPI;
+import models.*;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills a database with synthetic instructors, students, problems, problem sets and attempts for load and scale
+ * testing. Everything is derived from the seed, so the same settings always produce the same database. Rows are
+ * stored through the batch inserts of DatabaseStoreAPI.
+ *
+ * Usage: java generator.DatasetGenerator --output file.db [--seed n] [--students n] [--instructors n]
+ * [--problems n] [--tags n] [--tag-skew s] [--problem-sets n] [--problems-per-set n] [--attempts n]
+ * [--set-skew s] [--correct-rate r] [--term-start seconds]
+ */
+public class DatasetGenerator {
+
+    private static final String[] TOPICS = {"algebra", "geometry", "calculus", "probability", "statistics",
+            "logic", "sets", "graphs", "recursion", "induction", "vectors", "matrices", "limits", "series",
+            "integrals", "derivatives", "proofs", "counting", "modular", "complex"};
+    private static final String[] OPERATIONS = {"+", "-", "*"};
+
+    private static final int FIRST_INSTRUCTOR_ID = 1;
+    private static final int FIRST_STUDENT_NUMBER = 1000000;
+    private static final String PASSWORD = "password";
+    private static final int BATCH_SIZE = 1000;
+    private static final long DAY_SECONDS = 24 * 60 * 60;
+    // Fraction of answers that are left blank
+    private static final double BLANK_RATE = 0.05;
+
+    private long seed = 42;
+    private int instructors = 5;
+    private int students = 1000;
+    private int problems = 2000;
+    private int tags = 100;
+    private double tagSkew = 1.0;
+    private int problemSets = 100;
+    private int problemsPerSet = 20;
+    private int attempts = 3000;
+    private double setSkew = 0.8;
+    private double correctRate = 0.7;
+    // Start of the term, in seconds from the epoch. Problem sets open within the first 90 days of it.
+    private long termStart = 1504224000L;
+
+    private Random random;
+    private String[] tagNames;
+    private double[] tagWeights;
+    private String[] problemAnswers;
+    private double[] problemDifficulty;
+    private int[] problemIds;
+    private int[] problemSetIds;
+    private int[][] setProblemIndexes;
+
+    /**
+     * Creates a generator with the default sizes and the given seed.
+     * @param seed the seed all of the generated data is derived from
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(42);
+        String output = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--output": output = value; break;
+                case "--seed": generator.setSeed(Long.parseLong(value)); break;
+                case "--instructors": generator.setInstructors(Integer.parseInt(value)); break;
+                case "--students": generator.setStudents(Integer.parseInt(value)); break;
+                case "--problems": generator.setProblems(Integer.parseInt(value)); break;
+                case "--tags": generator.setTags(Integer.parseInt(value)); break;
+                case "--tag-skew": generator.setTagSkew(Double.parseDouble(value)); break;
+                case "--problem-sets": generator.setProblemSets(Integer.parseInt(value)); break;
+                case "--problems-per-set": generator.setProblemsPerSet(Integer.parseInt(value)); break;
+                case "--attempts": generator.setAttempts(Integer.parseInt(value)); break;
+                case "--set-skew": generator.setSetSkew(Double.parseDouble(value)); break;
+                case "--correct-rate": generator.setCorrectRate(Double.parseDouble(value)); break;
+                case "--term-start": generator.setTermStart(Long.parseLong(value)); break;
+                default:
+                    System.out.println("Unknown option " + args[i]);
+                    return;
+            }
+        }
+
+        if (output == null) {
+            System.out.println("The database file to create must be given with --output.");
+            return;
+        }
+
+        if (new File(output).exists()) {
+            System.out.println(output + " already exists, the generator only creates new databases.");
+            return;
+        }
+
+        System.setProperty(DatabaseDriver.DATABASE_FILE_PROPERTY, output);
+        Connection connection = DatabaseDriverAPI.initialize(DatabaseDriverAPI.connectOrCreateDataBase());
+        generator.generate(connection);
+        connection.close();
+    }
+
+    /**
+     * Fills the database of the given connection. The tables must already exist.
+     * @param connection the connection to the database to fill
+     * @throws Exception thrown if any of the rows could not be stored
+     */
+    public void generate(Connection connection) throws Exception {
+        random = new Random(seed);
+        createTagDistribution();
+        DatabaseStoreAPI store = new DatabaseStoreAPI();
+
+        long start = System.nanoTime();
+        generateInstructors(store, connection);
+        report("instructors", instructors, start);
+
+        start = System.nanoTime();
+        generateProblems(store);
+        report("problems", problems, start);
+
+        // Problem sets come before students, so that storing the students fills in their attempt counts.
+        start = System.nanoTime();
+        generateProblemSets(store, connection);
+        report("problem sets", problemSets, start);
+
+        start = System.nanoTime();
+        generateStudents(store);
+        report("students", students, start);
+
+        start = System.nanoTime();
+        generateAttempts(store);
+        report("attempts", attempts, start);
+    }
+
+    /**
+     * Creates a problem with a question about one of the generated tags. The problem is not stored.
+     * @param index the index of the problem, used in its question
+     * @return the new problem, tagged with one to three of the generated tags
+     */
+    public Problem createProblem(int index) {
+        if (tagNames == null) {
+            random = new Random(seed);
+            createTagDistribution();
+        }
+
+        List<String> problemTags = new ArrayList<>();
+        int tagCount = 1 + random.nextInt(3);
+        while (problemTags.size() < Math.min(tagCount, tagNames.length)) {
+            String tag = tagNames[sample(tagWeights)];
+            if (!problemTags.contains(tag)) {
+                problemTags.add(tag);
+            }
+        }
+
+        int left = random.nextInt(100);
+        int right = random.nextInt(100);
+        String operation = OPERATIONS[random.nextInt(OPERATIONS.length)];
+        int answer = operation.equals("+") ? left + right : operation.equals("-") ? left - right : left * right;
+
+        Problem problem = new SingleAnswerProblem("Q" + index + " (" + problemTags.get(0) + "): what is " + left
+                + " " + operation + " " + right + "?", String.valueOf(answer));
+        problem.addTags(problemTags);
+        return problem;
+    }
+
+    /**
+     * Returns the ids of the generated problem sets.
+     * @return the ids of the problem sets stored by generate
+     */
+    public int[] getProblemSetIds() {
+        return problemSetIds.clone();
+    }
+
+    public int getFirstStudentNumber() {
+        return FIRST_STUDENT_NUMBER;
+    }
+
+    private void generateInstructors(DatabaseStoreAPI store, Connection connection) throws Exception {
+        connection.setAutoCommit(false);
+        for (int i = 0; i < instructors; i++) {
+            store.actOnDatabase(new Instructor("Instructor " + i, "instructor" + i + "@jworks.test", PASSWORD,
+                    FIRST_INSTRUCTOR_ID + i));
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void generateProblems(DatabaseStoreAPI store) throws Exception {
+        problemIds = new int[problems];
+        problemAnswers = new String[problems];
+        problemDifficulty = new double[problems];
+
+        List<Problem> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < problems; i++) {
+            Problem problem = createProblem(i);
+            problem.setCreatorID(FIRST_INSTRUCTOR_ID + random.nextInt(Math.max(instructors, 1)));
+            problemAnswers[i] = problem.getAnswer();
+            problemDifficulty[i] = random.nextGaussian() * 0.1;
+            batch.add(problem);
+
+            if (batch.size() == BATCH_SIZE || i == problems - 1) {
+                int[] ids = store.storeProblems(batch);
+                System.arraycopy(ids, 0, problemIds, i + 1 - ids.length, ids.length);
+                batch.clear();
+            }
+        }
+    }
+
+    private void generateProblemSets(DatabaseStoreAPI store, Connection connection) throws Exception {
+        problemSetIds = new int[problemSets];
+        setProblemIndexes = new int[problemSets][];
+
+        connection.setAutoCommit(false);
+        for (int i = 0; i < problemSets; i++) {
+            setProblemIndexes[i] = pickDistinct(problems, Math.min(problemsPerSet, problems));
+            List<Problem> setProblems = new ArrayList<>(setProblemIndexes[i].length);
+            for (int problemIndex : setProblemIndexes[i]) {
+                setProblems.add(new ProblemStub(problemIds[problemIndex]));
+            }
+
+            long startTime = termStart + random.nextInt(90) * DAY_SECONDS;
+            long endTime = startTime + (7 + random.nextInt(15)) * DAY_SECONDS;
+
+            ProblemSet problemSet = new SimpleProblemSet(setProblems);
+            problemSet.setMaxAttempts(1 + random.nextInt(5));
+            problemSet.setStartTime(new Date(startTime * 1000L));
+            problemSet.setEndTime(new Date(endTime * 1000L));
+            problemSet.setCreatorID(FIRST_INSTRUCTOR_ID + random.nextInt(Math.max(instructors, 1)));
+            problemSet.addTags(Collections.singletonList(tagNames[sample(tagWeights)]));
+
+            problemSetIds[i] = store.actOnDatabase(problemSet);
+            store.actOnDatabase(problemSet.getTags(), problemSet);
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void generateStudents(DatabaseStoreAPI store) throws Exception {
+        List<Student> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < students; i++) {
+            batch.add(new Student("Student " + i, "student" + i + "@jworks.test", PASSWORD,
+                    FIRST_STUDENT_NUMBER + i));
+
+            if (batch.size() == BATCH_SIZE || i == students - 1) {
+                store.storeStudents(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void generateAttempts(DatabaseStoreAPI store) throws Exception {
+        if (students == 0 || problemSets == 0) {
+            return;
+        }
+
+        // Each student has an ability around the correct rate, and each problem a small difficulty offset.
+        double[] ability = new double[students];
+        for (int i = 0; i < students; i++) {
+            ability[i] = correctRate + random.nextGaussian() * 0.15;
+        }
+
+        double[] setWeights = zipfWeights(problemSets, setSkew);
+        ProblemSet[] sets = new ProblemSet[problemSets];
+        for (int i = 0; i < problemSets; i++) {
+            List<Problem> setProblems = new ArrayList<>();
+            for (int problemIndex : setProblemIndexes[i]) {
+                setProblems.add(new ProblemStub(problemIds[problemIndex]));
+            }
+            sets[i] = new SimpleProblemSet(setProblems);
+            sets[i].setId(problemSetIds[i]);
+        }
+
+        List<ProblemSetAttempt> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < attempts; i++) {
+            int student = random.nextInt(students);
+            int set = sample(setWeights);
+            int[] problemIndexes = setProblemIndexes[set];
+
+            // Attempts are spread over the first three weeks of the term, one second apart so they stay distinct.
+            long attemptTime = termStart + random.nextInt(21) * DAY_SECONDS + i;
+            ProblemSetAttempt attempt = new ProblemSetAttempt(new Student(FIRST_STUDENT_NUMBER + student), sets[set],
+                    new Date(attemptTime * 1000L));
+
+            for (int j = 0; j < problemIndexes.length; j++) {
+                double roll = random.nextDouble();
+                if (roll < BLANK_RATE) {
+                    continue;
+                }
+
+                double chance = ability[student] - problemDifficulty[problemIndexes[j]];
+                if (random.nextDouble() < chance) {
+                    attempt.setAnswer(j, problemAnswers[problemIndexes[j]]);
+                } else {
+                    attempt.setAnswer(j, String.valueOf(random.nextInt(200) - 100));
+                }
+            }
+
+            batch.add(attempt);
+            if (batch.size() == BATCH_SIZE || i == attempts - 1) {
+                store.storeAttempts(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void createTagDistribution() {
+        tagNames = new String[Math.max(tags, 1)];
+        for (int i = 0; i < tagNames.length; i++) {
+            String topic = TOPICS[i % TOPICS.length];
+            tagNames[i] = i < TOPICS.length ? topic : topic + (i / TOPICS.length);
+        }
+
+        tagWeights = zipfWeights(tagNames.length, tagSkew);
+    }
+
+    /**
+     * Returns the cumulative weights of a Zipf distribution, where the k-th item has weight 1 / k^skew.
+     */
+    private static double[] zipfWeights(int count, double skew) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+
+        return cumulative;
+    }
+
+    private int sample(double[] cumulativeWeights) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        index = index < 0 ? -index - 1 : index;
+        return Math.min(index, cumulativeWeights.length - 1);
+    }
+
+    private int[] pickDistinct(int bound, int count) {
+        int[] picked = new int[count];
+        int found = 0;
+        // Floyd's algorithm picks distinct values without shuffling the whole range
+        for (int candidate = bound - count; candidate < bound; candidate++) {
+            int value = random.nextInt(candidate + 1);
+            boolean seen = false;
+            for (int i = 0; i < found; i++) {
+                if (picked[i] == value) {
+                    seen = true;
+                    break;
+                }
+            }
+            picked[found++] = seen ? candidate : value;
+        }
+
+        return picked;
+    }
+
+    private static void report(String table, int rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Generated %d %s in %.2fs (%.0f rows/s)%n", rows, table, seconds,
+                seconds > 0 ? rows / seconds : 0);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setInstructors(int instructors) {
+        this.instructors = instructors;
+    }
+
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    public void setProblems(int problems) {
+        this.problems = problems;
+    }
+
+    public void setTags(int tags) {
+        this.tags = tags;
+    }
+
+    public void setTagSkew(double tagSkew) {
+        this.tagSkew = tagSkew;
+    }
+
+    public void setProblemSets(int problemSets) {
+        this.problemSets = problemSets;
+    }
+
+    public void setProblemsPerSet(int problemsPerSet) {
+        this.problemsPerSet = problemsPerSet;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public void setSetSkew(double setSkew) {
+        this.setSkew = setSkew;
+    }
+
+    public void setCorrectRate(double correctRate) {
+        this.correctRate = correctRate;
+    }
+
+    public void setTermStart(long termStart) {
+        this.termStart = termStart;
+    }
+}